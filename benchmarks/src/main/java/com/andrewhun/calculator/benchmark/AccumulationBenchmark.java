@@ -0,0 +1,61 @@
+/*
+* This file contains the benchmarks for long chains of additions and subtractions, the way a long column
+* of numbers is summed up. The same million terms are handed to an engine in the DOUBLE, DOUBLE_DOUBLE
+* and DECIMAL number modes, to show what the extra precision of the double-double numbers costs next to
+* plain doubles and next to BigDecimals. The terms have three decimals (0.1 to 1.099), so none of them
+* is a double a BigDecimal could skip.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.NumberMode;
+import com.andrewhun.calculator.CalculationEngine;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccumulationBenchmark {
+
+    // The number of terms in the chain
+    private static final int CHAIN_LENGTH = 1_000_000;
+
+    private static final double[] TERMS = new double[CHAIN_LENGTH];
+
+    static {
+
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+
+            TERMS[i] = 0.1 + i % 1000 * 0.001;
+        }
+    }
+
+    @Param({"DOUBLE", "DOUBLE_DOUBLE", "DECIMAL"})
+    public NumberMode mode;
+
+    private final CalculationEngine engine = new CalculationEngine();
+
+    @Setup(Level.Trial)
+    public void selectMode() {
+
+        engine.setNumberMode(mode);
+    }
+
+    // Add two terms and take away the third one, over and over
+    @Benchmark
+    public double sumChain() {
+
+        engine.setFirstNumber(0.0);
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+
+            engine.setSecondNumber(TERMS[i]);
+            engine.executeOperation(i % 3 == 2 ? Operation.SUBTRACTION : Operation.ADDITION);
+            engine.useResultAsFirstNumber();
+        }
+        return engine.getFirstNumber();
+    }
+}
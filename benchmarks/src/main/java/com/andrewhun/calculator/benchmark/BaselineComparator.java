@@ -0,0 +1,170 @@
+/*
+* This file contains the BaselineComparator class. It reads two JMH result files in CSV
+* format (a stored baseline and a fresh run) and reports every benchmark that got slower,
+* or started allocating more memory per operation, by more than the given threshold.
+*   Benchmarks are matched by name, mode and parameters. Benchmarks that only appear in one
+* of the files are listed, but they do not count as regressions.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.util.Map;
+import java.util.List;
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+public class BaselineComparator {
+
+    // The secondary result of the GC profiler that does not depend on the speed of the machine
+    private static final String ALLOCATION_PER_OPERATION = "gc.alloc.rate.norm";
+
+    // Allocation differences below this many bytes per operation are ignored
+    private static final double ALLOCATION_TOLERANCE = 8.0;
+
+    private final double threshold;
+
+    public BaselineComparator(double threshold) {
+
+        this.threshold = threshold;
+    }
+
+    // Compare the two files, print a report and return the keys of the regressed benchmarks
+    public List<String> compare(Path baselineFile, Path resultFile, PrintStream report) throws IOException {
+
+        Map<String, Double> baseline = readScores(baselineFile);
+        Map<String, Double> results = readScores(resultFile);
+        List<String> regressions = new ArrayList<>();
+
+        report.println();
+        report.printf("Comparison with %s (threshold %.0f%%)%n", baselineFile, threshold * 100);
+
+        for (Map.Entry<String, Double> result : results.entrySet()) {
+
+            String key = result.getKey();
+            Double baselineScore = baseline.get(key);
+
+            if (baselineScore == null) {
+
+                report.printf("  NEW        %s = %.3f%n", key, result.getValue());
+                continue;
+            }
+
+            // Only the primary scores and the allocation per operation are compared
+            boolean isAllocation = key.contains(ALLOCATION_PER_OPERATION);
+            if (key.contains("gc.") && !isAllocation) {
+
+                continue;
+            }
+
+            double change = relativeChange(baselineScore, result.getValue());
+            boolean regressed = isAllocation
+                    ? result.getValue() - baselineScore > Math.max(ALLOCATION_TOLERANCE, baselineScore * threshold)
+                    : isRegression(key, change);
+
+            if (regressed) {
+
+                regressions.add(key);
+            }
+            report.printf("  %-10s %s: %.3f -> %.3f (%+.1f%%)%n", regressed ? "REGRESSED" : "ok",
+                    key, baselineScore, result.getValue(), change * 100);
+        }
+
+        for (String key : baseline.keySet()) {
+
+            if (!results.containsKey(key)) {
+
+                report.printf("  MISSING    %s%n", key);
+            }
+        }
+
+        report.printf("%d regression(s) found.%n", regressions.size());
+        return regressions;
+    }
+
+    // Throughput should not go down; every other mode measures time, which should not go up
+    private boolean isRegression(String key, double change) {
+
+        if (key.contains("|thrpt|")) {
+
+            return change < -threshold;
+        }
+        return change > threshold;
+    }
+
+    private static double relativeChange(double baselineScore, double score) {
+
+        if (baselineScore == 0.0) {
+
+            return score == 0.0 ? 0.0 : 1.0;
+        }
+        return (score - baselineScore) / baselineScore;
+    }
+
+    // Read the scores of a CSV result file, keyed by benchmark name, mode and parameters
+    static Map<String, Double> readScores(Path file) throws IOException {
+
+        Map<String, Double> scores = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(file);
+        if (lines.isEmpty()) {
+
+            return scores;
+        }
+
+        List<String> header = splitCsvLine(lines.get(0));
+        int benchmarkColumn = header.indexOf("Benchmark");
+        int modeColumn = header.indexOf("Mode");
+        int scoreColumn = header.indexOf("Score");
+
+        for (String line : lines.subList(1, lines.size())) {
+
+            if (line.isBlank()) {
+
+                continue;
+            }
+            List<String> values = splitCsvLine(line);
+
+            StringBuilder key = new StringBuilder(values.get(benchmarkColumn))
+                    .append('|').append(values.get(modeColumn)).append('|');
+            for (int column = 0; column < header.size() && column < values.size(); column++) {
+
+                if (header.get(column).startsWith("Param: ") && !values.get(column).isEmpty()) {
+
+                    key.append(header.get(column).substring(7)).append('=').append(values.get(column)).append(';');
+                }
+            }
+            scores.put(key.toString(), Double.parseDouble(values.get(scoreColumn)));
+        }
+        return scores;
+    }
+
+    // Split a line of the CSV file, keeping commas that are inside quotes
+    private static List<String> splitCsvLine(String line) {
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+
+            char character = line.charAt(i);
+            if (character == '"') {
+
+                quoted = !quoted;
+            }
+            else if (character == ',' && !quoted) {
+
+                values.add(value.toString());
+                value.setLength(0);
+            }
+            else {
+
+                value.append(character);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+* This file contains the scaling benchmark of the batch mode. The same file of calculations is
+* evaluated with a growing number of threads; plotting the average time against the thread count
+* gives the scaling curve of the ParallelBatchEvaluator. One thread uses the sequential
+* BatchEvaluator, so the first point of the curve shows the overhead of splitting the file.
+*   The results are written to a channel that throws them away, so the benchmark measures the
+* evaluation and not the speed of the disk.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.util.Random;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.io.IOException;
+import java.io.BufferedWriter;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.WritableByteChannel;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.batch.BatchEvaluator;
+import com.andrewhun.calculator.batch.ParallelBatchEvaluator;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchScalingBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"1000000"})
+    public int lines;
+
+    private Path inputFile;
+    private FileChannel input;
+    private ForkJoinPool pool;
+    private ParallelBatchEvaluator parallelEvaluator;
+    private BatchEvaluator sequentialEvaluator;
+
+    // A channel that accepts all results without keeping them
+    private final WritableByteChannel discard = new WritableByteChannel() {
+
+        @Override
+        public int write(ByteBuffer source) {
+
+            int count = source.remaining();
+            source.position(source.limit());
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    // Write a file of random calculations and set up the evaluators
+    @Setup(Level.Trial)
+    public void createInput() throws IOException {
+
+        String[] operators = {" + ", " - ", " * ", " / "};
+        Random random = new Random(42);
+        inputFile = Files.createTempFile("calculations", ".txt");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(inputFile, StandardCharsets.US_ASCII)) {
+
+            for (int i = 0; i < lines; i++) {
+
+                writer.write(Integer.toString(random.nextInt(100_000)));
+                writer.write('.');
+                writer.write(Integer.toString(random.nextInt(100)));
+                for (int j = 0; j < 3; j++) {
+
+                    writer.write(operators[random.nextInt(4)]);
+                    writer.write(Integer.toString(1 + random.nextInt(999)));
+                }
+                writer.write('\n');
+            }
+        }
+
+        input = FileChannel.open(inputFile);
+        pool = new ForkJoinPool(threads);
+        parallelEvaluator = new ParallelBatchEvaluator(pool, ParallelBatchEvaluator.DEFAULT_CHUNK_SIZE / 8);
+        sequentialEvaluator = new BatchEvaluator();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteInput() throws IOException {
+
+        pool.shutdown();
+        input.close();
+        Files.delete(inputFile);
+    }
+
+    // Evaluate the whole file
+    @Benchmark
+    public long evaluateFile() throws IOException {
+
+        if (threads == 1) {
+
+            return sequentialEvaluator.evaluate(input, discard);
+        }
+        return parallelEvaluator.evaluate(input, discard);
+    }
+}
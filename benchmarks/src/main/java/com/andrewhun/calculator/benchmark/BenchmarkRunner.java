@@ -0,0 +1,74 @@
+/*
+* This file contains the BenchmarkRunner class, the entry point of benchmarks.jar. It runs the
+* selected benchmarks (all of them by default) in throughput and average time mode with the
+* GC profiler switched on, so the allocation rate is reported next to the timings. The results
+* are written to a CSV file and compared against the stored baseline, so regressions between
+* releases show up right after the run.
+*   Any of the usual JMH command line options can be passed in, for example a regular
+* expression to pick benchmarks or "-f 3" for more forks. The following system properties
+* change the behavior of the runner itself:
+*   benchmark.result          - where to write the results (default: target/jmh-result.csv)
+*   benchmark.baseline        - the baseline to compare with (default: baseline/jmh-baseline.csv)
+*   benchmark.threshold       - the relative change that counts as a regression (default: 0.10)
+*   benchmark.failOnRegression - exit with an error code when there is a regression (default: false)
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        // Leave listing and help to the regular JMH entry point
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()) {
+
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        Path resultFile = Paths.get(System.getProperty("benchmark.result", "target/jmh-result.csv"));
+        Path baselineFile = Paths.get(System.getProperty("benchmark.baseline", "baseline/jmh-baseline.csv"));
+        double threshold = Double.parseDouble(System.getProperty("benchmark.threshold", "0.10"));
+        boolean failOnRegression = Boolean.getBoolean("benchmark.failOnRegression");
+
+        if (resultFile.getParent() != null) {
+
+            Files.createDirectories(resultFile.getParent());
+        }
+
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.CSV)
+                .result(resultFile.toString())
+                .build();
+        new Runner(options).run();
+
+        // Compare the fresh results with the baseline, if there is one
+        if (!Files.exists(baselineFile)) {
+
+            System.out.println("No baseline found at " + baselineFile + ", skipping the comparison.");
+            return;
+        }
+
+        BaselineComparator comparator = new BaselineComparator(threshold);
+        List<String> regressions = comparator.compare(baselineFile, resultFile, System.out);
+
+        if (!regressions.isEmpty() && failOnRegression) {
+
+            System.exit(1);
+        }
+    }
+}
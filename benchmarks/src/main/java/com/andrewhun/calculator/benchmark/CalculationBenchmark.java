@@ -0,0 +1,62 @@
+/*
+* This file contains the benchmarks for the calculation engine. Every operation of the
+* Operation enum is measured, both through the static CalculationHandler facade (which boxes
+* its numbers) and through a CalculationEngine instance (which does not).
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.CalculationEngine;
+import com.andrewhun.calculator.CalculationHandler;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculationBenchmark {
+
+    @Param({"ADDITION", "SUBTRACTION", "MULTIPLICATION", "DIVISION", "MODULO", "AND", "OR", "XOR", "SHIFT_LEFT",
+            "SHIFT_RIGHT", "ROTATE_LEFT", "ROTATE_RIGHT", "POWER"})
+    public Operation operation;
+
+    private final CalculationEngine engine = new CalculationEngine();
+
+    // Numbers that change between invocations, so the JIT cannot fold the calculation away
+    private double firstNumber = 1.5;
+    private double secondNumber = 3.25;
+
+    @Setup(Level.Iteration)
+    public void resetNumbers() {
+
+        firstNumber = 1.5;
+        secondNumber = 3.25;
+    }
+
+    // One step of a chain, driven through the static facade like the Controller used to do it
+    @Benchmark
+    public Double handlerExecuteOperation() {
+
+        CalculationHandler.setFirstNumber(firstNumber);
+        CalculationHandler.setSecondNumber(secondNumber);
+        CalculationHandler.executeOperation(operation);
+        CalculationHandler.setFirstNumber(CalculationHandler.getResult());
+        secondNumber += 1.0;
+        return CalculationHandler.getFirstNumber();
+    }
+
+    // The same step of a chain, driven through an engine instance
+    @Benchmark
+    public double engineExecuteOperation() {
+
+        engine.setFirstNumber(firstNumber);
+        engine.setSecondNumber(secondNumber);
+        engine.executeOperation(operation);
+        engine.useResultAsFirstNumber();
+        secondNumber += 1.0;
+        return engine.getFirstNumber();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+* This file contains the benchmarks for the double fast path of the DECIMAL number mode. Each chain is
+* calculated by an engine in the DECIMAL mode, which keeps the numbers a double holds exactly as doubles,
+* and with nothing but BigDecimals, the way the mode would work without the fast path. The whole-number
+* chain never leaves the doubles, while the prices (2.99 and so on) never fit into them, so the two show
+* what the fast path saves and what its checks cost when they fail.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.NumberMode;
+import com.andrewhun.calculator.CalculationEngine;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecimalModeBenchmark {
+
+    // The number of operations in the chains
+    private static final int CHAIN_LENGTH = 1000;
+
+    private static final Operation[] OPERATIONS = {
+            Operation.ADDITION, Operation.MULTIPLICATION, Operation.SUBTRACTION, Operation.DIVISION
+    };
+
+    private static final double[] WHOLE_NUMBERS = new double[CHAIN_LENGTH];
+    private static final double[] PRICES = new double[CHAIN_LENGTH];
+
+    static {
+
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+
+            int number = i / 4 % 97 + 2;
+            WHOLE_NUMBERS[i] = (i & 1) == 1 ? 3 : (i & 3) == 0 ? number : 3 * number;
+
+            // Add a price, add the tax, take off a discount and the tax again
+            PRICES[i] = (i & 1) == 1 ? 1.07 : (i & 3) == 0 ? number + 0.99 : number - 0.49;
+        }
+    }
+
+    private final CalculationEngine engine = new CalculationEngine();
+
+    @Setup(Level.Trial)
+    public void selectMode() {
+
+        engine.setNumberMode(NumberMode.DECIMAL);
+    }
+
+    @Benchmark
+    public double engineWholeNumberChain() {
+
+        return calculateWithEngine(WHOLE_NUMBERS);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalWholeNumberChain() {
+
+        return calculateWithBigDecimals(WHOLE_NUMBERS);
+    }
+
+    @Benchmark
+    public double enginePriceChain() {
+
+        return calculateWithEngine(PRICES);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalPriceChain() {
+
+        return calculateWithBigDecimals(PRICES);
+    }
+
+    private double calculateWithEngine(double[] numbers) {
+
+        engine.setFirstNumber(1000.0);
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+
+            engine.setSecondNumber(numbers[i]);
+            engine.executeOperation(OPERATIONS[i & 3]);
+            engine.useResultAsFirstNumber();
+        }
+        return engine.getFirstNumber();
+    }
+
+    // The same chain with BigDecimals only, taking the doubles the same way the engine does (BigDecimal.valueOf)
+    private static BigDecimal calculateWithBigDecimals(double[] numbers) {
+
+        MathContext mathContext = MathContext.DECIMAL128;
+        BigDecimal result = BigDecimal.valueOf(1000);
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+
+            BigDecimal number = BigDecimal.valueOf(numbers[i]);
+            switch (i & 3) {
+
+                case 0:
+
+                    result = result.add(number, mathContext);
+                    break;
+
+                case 1:
+
+                    result = result.multiply(number, mathContext);
+                    break;
+
+                case 2:
+
+                    result = result.subtract(number, mathContext);
+                    break;
+
+                default:
+
+                    result = result.divide(number, mathContext);
+            }
+        }
+        return result;
+    }
+}
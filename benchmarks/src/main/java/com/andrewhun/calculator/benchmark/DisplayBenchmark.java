@@ -0,0 +1,92 @@
+/*
+* This file contains the benchmarks for the display handling. The chain length parameter controls
+* how many operations are put on the top display before the measurement starts, which shows how
+* the cost of the top display functions grows with long calculations. Since the top display only
+* keeps a limited number of operations, adding and changing operations should cost the same for
+* every chain length; only setting the whole chain from a string still grows with its length.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.DisplayHandler;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisplayBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int chainLength;
+
+    private static final Operation[] OPERATIONS = {Operation.ADDITION, Operation.SUBTRACTION,
+            Operation.MULTIPLICATION, Operation.DIVISION};
+
+    // About as many characters as the top display label can show
+    private static final int VISIBLE_CHARACTERS = 48;
+
+    private static final String[] RESULTS = {"5.0", "3.14159", "-12.0", "1.0E10"};
+
+    private String topDisplay;
+    private int counter;
+
+    // Build a top display with the given number of operations on it
+    @Setup(Level.Trial)
+    public void buildTopDisplay() {
+
+        DisplayHandler.resetTopDisplayString();
+        for (int i = 0; i < chainLength; i++) {
+
+            DisplayHandler.setDisplayedNumberString(Integer.toString(100 + i));
+            DisplayHandler.addOperationToDisplay(OPERATIONS[i & 3]);
+        }
+        topDisplay = DisplayHandler.getTopDisplayString();
+    }
+
+    // Type one more digit into a number that already has a few
+    @Benchmark
+    public String appendDigit() {
+
+        DisplayHandler.setDisplayedNumberString("1234");
+        DisplayHandler.appendDigit("5");
+        return DisplayHandler.getDisplayedNumberString();
+    }
+
+    /* Move the displayed number and a new operation onto the top display and get the text shown
+    on the label. The chain keeps growing, just like it does while the user keeps calculating.*/
+    @Benchmark
+    public String addOperationToDisplay() {
+
+        DisplayHandler.setDisplayedNumberString("1234");
+        DisplayHandler.addOperationToDisplay(OPERATIONS[counter++ & 3]);
+        return DisplayHandler.getDisplay().getVisibleTopDisplayString(VISIBLE_CHARACTERS);
+    }
+
+    // Replace the last operation on the top display and get the text shown on the label
+    @Benchmark
+    public String changeDisplayedOperation() {
+
+        DisplayHandler.changeDisplayedOperation(OPERATIONS[counter++ & 3]);
+        return DisplayHandler.getDisplay().getVisibleTopDisplayString(VISIBLE_CHARACTERS);
+    }
+
+    // Set the whole chain from a string, which has to take the string apart again
+    @Benchmark
+    public String setTopDisplayString() {
+
+        DisplayHandler.setTopDisplayString(topDisplay);
+        return DisplayHandler.getTopDisplayString();
+    }
+
+    // Show a result, some of which need their ".0" ending removed
+    @Benchmark
+    public String showResult() {
+
+        DisplayHandler.showResult(RESULTS[counter++ & 3]);
+        return DisplayHandler.getDisplayedNumberString();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+* This file contains the benchmarks for the expression subsystem. The same calculation with two
+* placeholders is evaluated through the syntax tree, through the compiled expression and as a
+* hand-written Java formula, so the compiled expression can be compared with native code. Every
+* invocation takes the next set of arguments from a prepared table, so the JIT compiler cannot fold
+* the result away.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.expression.Expression;
+import com.andrewhun.calculator.expression.ExpressionParser;
+import com.andrewhun.calculator.expression.ExpressionCompiler;
+import com.andrewhun.calculator.expression.CompiledExpression;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    private static final String CALCULATION = "2 * 3 + x * 1.5 - y / 4 + 100 * x";
+
+    private static final int ARGUMENT_SETS = 1024;
+
+    private Expression syntaxTree;
+    private CompiledExpression compiledExpression;
+    private final double[][] argumentSets = new double[ARGUMENT_SETS][];
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void compile() {
+
+        syntaxTree = new ExpressionParser().parse(CALCULATION);
+        compiledExpression = ExpressionCompiler.compile(CALCULATION);
+        for (int i = 0; i < ARGUMENT_SETS; i++) {
+
+            argumentSets[i] = new double[] {i * 0.75, 1000.0 / (i + 1)};
+        }
+    }
+
+    private double[] nextArguments() {
+
+        return argumentSets[counter++ & (ARGUMENT_SETS - 1)];
+    }
+
+    // Compile the calculation from its text
+    @Benchmark
+    public CompiledExpression compileExpression() {
+
+        return ExpressionCompiler.compile(CALCULATION);
+    }
+
+    @Benchmark
+    public double evaluateSyntaxTree() {
+
+        return syntaxTree.evaluate(nextArguments());
+    }
+
+    @Benchmark
+    public double evaluateCompiledExpression() {
+
+        return compiledExpression.evaluate(nextArguments());
+    }
+
+    // The same calculation written in Java, from left to right
+    @Benchmark
+    public double evaluateNative() {
+
+        double[] arguments = nextArguments();
+        double x = arguments[0];
+        double y = arguments[1];
+        return (((6.0 + x) * 1.5 - y) / 4 + 100) * x;
+    }
+}
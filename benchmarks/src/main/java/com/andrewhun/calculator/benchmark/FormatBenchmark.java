@@ -0,0 +1,77 @@
+/*
+* This file contains the benchmarks for turning results into text. Each path is measured twice:
+* the old way, with Double.toString and the removal of the ".0" ending, and with the DoubleFormatter.
+* The display path puts the result on a CalculatorDisplay and gets the String the label needs,
+* while the batch path writes the result into a byte buffer, like the BatchEvaluator does.
+*   The results cycle through whole numbers, decimals and numbers in scientific notation, since
+* their text is built differently.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.DoubleFormatter;
+import com.andrewhun.calculator.CalculatorDisplay;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    private static final double[] RESULTS = {42.0, 0.30000000000000004, -12.5, 1.0E10,
+            3.141592653589793, 1234567.0, 2.5E-5, -0.001};
+
+    private final CalculatorDisplay display = new CalculatorDisplay();
+    private final DoubleFormatter formatter = new DoubleFormatter();
+    private final ByteBuffer output = ByteBuffer.allocateDirect(64);
+    private int counter;
+
+    private double nextResult() {
+
+        return RESULTS[counter++ & 7];
+    }
+
+    @Benchmark
+    public String displayDoubleToString() {
+
+        display.showResult(Double.toString(nextResult()));
+        return display.getDisplayedNumberString();
+    }
+
+    @Benchmark
+    public String displayFormatter() {
+
+        display.showResult(nextResult());
+        return display.getDisplayedNumberString();
+    }
+
+    @Benchmark
+    public ByteBuffer batchDoubleToString() {
+
+        output.clear();
+        String text = Double.toString(nextResult());
+        int length = text.endsWith(".0") ? text.length() - 2 : text.length();
+        for (int i = 0; i < length; i++) {
+
+            output.put((byte) text.charAt(i));
+        }
+        return output;
+    }
+
+    @Benchmark
+    public ByteBuffer batchFormatter() {
+
+        output.clear();
+        int length = formatter.format(nextResult());
+        char[] characters = formatter.getCharacters();
+        for (int i = 0; i < length; i++) {
+
+            output.put((byte) characters[i]);
+        }
+        return output;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+* This file contains the benchmarks for the scientific functions. Every function is applied to a table of
+* arguments spread over the range it is used in, with each FunctionPrecision of the engine and with Math
+* (which the JIT compiler may replace with its own intrinsics, so its results depend on the machine).
+*   At the end of every trial the accuracy of FastMath and Math is measured on the same kind of arguments,
+* as the largest difference from StrictMath in units in the last place, and printed next to the results.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.FunctionPrecision;
+import com.andrewhun.calculator.CalculationEngine;
+import com.andrewhun.calculator.ScientificFunction;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FunctionBenchmark {
+
+    // The number of arguments in the table (a power of two, so the index can wrap around with a mask)
+    private static final int ARGUMENTS = 1024;
+
+    // The number of arguments the accuracy is measured on
+    private static final int ACCURACY_SAMPLES = 1_000_000;
+
+    @Param({"EXPONENTIAL", "NATURAL_LOGARITHM", "POWER_OF_TEN", "LOGARITHM", "SINE", "COSINE", "TANGENT",
+            "ARCSINE", "ARCCOSINE", "ARCTANGENT"})
+    public ScientificFunction function;
+
+    private final double[] arguments = new double[ARGUMENTS];
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void createArguments() {
+
+        Random random = new Random(25);
+        for (int i = 0; i < ARGUMENTS; i++) {
+
+            arguments[i] = argument(function, random.nextDouble());
+        }
+    }
+
+    // Measure the accuracy of FastMath and Math against StrictMath
+    @TearDown(Level.Trial)
+    public void measureAccuracy() {
+
+        Random random = new Random(26);
+        long fastError = 0;
+        long mathError = 0;
+        for (int i = 0; i < ACCURACY_SAMPLES; i++) {
+
+            double x = argument(function, random.nextDouble());
+            double strict = CalculationEngine.calculate(function, x, FunctionPrecision.STRICT);
+            fastError = Math.max(fastError, ulpsBetween(strict, CalculationEngine.calculate(function, x,
+                    FunctionPrecision.FAST)));
+            mathError = Math.max(mathError, ulpsBetween(strict, math(function, x)));
+        }
+        System.out.printf("%n%s on %d arguments: FastMath within %d ulp of StrictMath, Math within %d ulp%n",
+                function.getName(), ACCURACY_SAMPLES, fastError, mathError);
+    }
+
+    @Benchmark
+    public double strict() {
+
+        return CalculationEngine.calculate(function, arguments[counter++ & ARGUMENTS - 1], FunctionPrecision.STRICT);
+    }
+
+    @Benchmark
+    public double fast() {
+
+        return CalculationEngine.calculate(function, arguments[counter++ & ARGUMENTS - 1], FunctionPrecision.FAST);
+    }
+
+    @Benchmark
+    public double math() {
+
+        return math(function, arguments[counter++ & ARGUMENTS - 1]);
+    }
+
+    // An argument in the range the function is usually applied to, from a random number between 0 and 1
+    private static double argument(ScientificFunction function, double random) {
+
+        switch (function) {
+
+            case EXPONENTIAL:
+
+                return (random - 0.5) * 100.0;
+
+            case POWER_OF_TEN:
+
+                return (random - 0.5) * 40.0;
+
+            case NATURAL_LOGARITHM:
+            case LOGARITHM:
+
+                return Math.exp((random - 0.5) * 100.0);
+
+            case ARCSINE:
+            case ARCCOSINE:
+
+                return random * 2.0 - 1.0;
+
+            case ARCTANGENT:
+
+                return (random - 0.5) * 20.0;
+
+            default:
+
+                return (random - 0.5) * 20.0 * Math.PI;
+        }
+    }
+
+    // The function as Math calculates it
+    private static double math(ScientificFunction function, double x) {
+
+        switch (function) {
+
+            case EXPONENTIAL:
+
+                return Math.exp(x);
+
+            case NATURAL_LOGARITHM:
+
+                return Math.log(x);
+
+            case POWER_OF_TEN:
+
+                return Math.pow(10.0, x);
+
+            case LOGARITHM:
+
+                return Math.log10(x);
+
+            case SINE:
+
+                return Math.sin(x);
+
+            case COSINE:
+
+                return Math.cos(x);
+
+            case TANGENT:
+
+                return Math.tan(x);
+
+            case ARCSINE:
+
+                return Math.asin(x);
+
+            case ARCCOSINE:
+
+                return Math.acos(x);
+
+            case ARCTANGENT:
+
+                return Math.atan(x);
+
+            default:
+
+                return CalculationEngine.calculate(function, x, FunctionPrecision.STRICT);
+        }
+    }
+
+    // The distance between two doubles, in units in the last place
+    private static long ulpsBetween(double first, double second) {
+
+        long firstBits = Double.doubleToLongBits(first);
+        long secondBits = Double.doubleToLongBits(second);
+        firstBits = firstBits < 0 ? Long.MIN_VALUE - firstBits : firstBits;
+        secondBits = secondBits < 0 ? Long.MIN_VALUE - secondBits : secondBits;
+        return Math.abs(firstBits - secondBits);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+* This file contains the benchmarks for whole calculations typed in key by key. The keys are
+* fed to a CalculatorSession, which holds the same logic the Controller runs when the buttons
+* of the GUI are pressed (prepareForOperation, calculateResult and so on), so no JavaFX toolkit
+* is needed to run them. The paste benchmark hands a text of about 100000 characters to the session at
+* once, the way the GUI does when the user pastes it from the clipboard. Every calculation is run in
+* both evaluation orders, since the waiting operations of OPERATOR_PRECEDENCE should not cost more per key.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.EvaluationOrder;
+import com.andrewhun.calculator.CalculatorSession;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeystrokeBenchmark {
+
+    // A short calculation and a long chain of operations, written the way the keys are pressed
+    private static final String SHORT_CALCULATION = "123+45*6-7/8=";
+    private static final String LONG_CALCULATION = buildLongCalculation(50);
+    private static final String PASTED_TEXT = buildLongCalculation(25_000);
+
+    private static final String[] DIGITS = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"};
+
+    @Param({"LEFT_TO_RIGHT", "OPERATOR_PRECEDENCE"})
+    public EvaluationOrder order;
+
+    private final CalculatorSession session = new CalculatorSession();
+
+    @Setup(Level.Trial)
+    public void selectOrder() {
+
+        session.setEvaluationOrder(order);
+    }
+
+    private static String buildLongCalculation(int operations) {
+
+        StringBuilder calculation = new StringBuilder("1");
+        String operators = "+-*/";
+        for (int i = 0; i < operations; i++) {
+
+            calculation.append(operators.charAt(i & 3)).append(i % 9 + 1).append('.').append(i % 10);
+        }
+        return calculation.append('=').toString();
+    }
+
+    // Press the keys of a calculation one after the other
+    static void pressKeys(CalculatorSession session, String keys) {
+
+        for (int i = 0; i < keys.length(); i++) {
+
+            char key = keys.charAt(i);
+            switch (key) {
+
+                case '+':
+
+                    session.prepareForOperation(Operation.ADDITION);
+                    break;
+
+                case '-':
+
+                    session.prepareForOperation(Operation.SUBTRACTION);
+                    break;
+
+                case '*':
+
+                    session.prepareForOperation(Operation.MULTIPLICATION);
+                    break;
+
+                case '/':
+
+                    session.prepareForOperation(Operation.DIVISION);
+                    break;
+
+                case '.':
+
+                    session.addDecimalPoint();
+                    break;
+
+                case '=':
+
+                    session.calculateResult();
+                    break;
+
+                default:
+
+                    session.enterDigit(DIGITS[key - '0']);
+            }
+        }
+    }
+
+    @Benchmark
+    public String shortCalculation() {
+
+        pressKeys(session, SHORT_CALCULATION);
+        return session.getDisplayedNumberString();
+    }
+
+    @Benchmark
+    public String longCalculation() {
+
+        pressKeys(session, LONG_CALCULATION);
+        return session.getDisplayedNumberString();
+    }
+
+    @Benchmark
+    public String pasteLongText() {
+
+        session.pasteText(PASTED_TEXT);
+        return session.getDisplayedNumberString();
+    }
+}
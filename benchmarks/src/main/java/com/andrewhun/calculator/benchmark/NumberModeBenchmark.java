@@ -0,0 +1,98 @@
+/*
+* This file contains the benchmarks for the number modes of the calculator (see NumberMode). The same
+* calculations are pasted into a session in every mode, so the cost of keeping the numbers exact can
+* be compared with the plain doubles. The whole-number chain is the common case of the users, and
+* the engine chain leaves out the display to measure the arithmetic on its own.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.NumberMode;
+import com.andrewhun.calculator.CalculationEngine;
+import com.andrewhun.calculator.CalculatorSession;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberModeBenchmark {
+
+    // The number of operations in the chains
+    private static final int CHAIN_LENGTH = 1000;
+
+    private static final String WHOLE_NUMBER_CHAIN = buildWholeNumberChain();
+
+    private static final Operation[] OPERATIONS = {
+            Operation.ADDITION, Operation.MULTIPLICATION, Operation.SUBTRACTION, Operation.DIVISION
+    };
+
+    @Param({"DOUBLE", "INTEGER", "DECIMAL", "RATIONAL"})
+    public NumberMode mode;
+
+    private final CalculatorSession session = new CalculatorSession();
+    private final CalculationEngine engine = new CalculationEngine();
+
+    /* Whole numbers added, multiplied, subtracted and divided in turn ("+ 7 * 3 - 21 / 3" and so on),
+    which never leave the longs: every division goes without a remainder and nothing overflows.*/
+    private static String buildWholeNumberChain() {
+
+        StringBuilder calculation = new StringBuilder("1000");
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+
+            calculation.append("+*-/".charAt(i & 3)).append((long) secondNumber(i));
+        }
+        return calculation.append('=').toString();
+    }
+
+    // The second number of the i-th operation of the chains
+    private static double secondNumber(int i) {
+
+        int number = i / 4 % 97 + 2;
+        switch (i & 3) {
+
+            case 0:
+
+                return number;
+
+            case 2:
+
+                return 3 * number;
+
+            default:
+
+                return 3;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void selectMode() {
+
+        session.setNumberMode(mode);
+        engine.setNumberMode(mode);
+    }
+
+    @Benchmark
+    public String pasteWholeNumberChain() {
+
+        session.pasteText(WHOLE_NUMBER_CHAIN);
+        return session.getDisplayedNumberString();
+    }
+
+    // The same kind of chain, handed to the engine as doubles
+    @Benchmark
+    public double engineWholeNumberChain() {
+
+        engine.setFirstNumber(1000.0);
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+
+            engine.setSecondNumber(secondNumber(i));
+            engine.executeOperation(OPERATIONS[i & 3]);
+            engine.useResultAsFirstNumber();
+        }
+        return engine.getFirstNumber();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+* This file contains the benchmarks for showing the numbers of the PROGRAMMER number mode in every radix.
+* Each keystroke changes the number on the display and switches its radix, after which the number is
+* written in all four radices, the way a display that shows all of them at once is refreshed. This is
+* measured with the CalculatorDisplay (through the RadixFormatter, into a reused char array) and with
+* Strings: the methods of Long write the number in every radix, and the number on the display is parsed
+* back from its text when the radix is switched.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.Radix;
+import com.andrewhun.calculator.CalculatorDisplay;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RadixBenchmark {
+
+    private static final Radix[] RADICES = Radix.values();
+    private static final int[] BASES = {2, 8, 10, 16};
+
+    private final CalculatorDisplay display = new CalculatorDisplay();
+    private final char[] digits = new char[64];
+    private long number = 1;
+    private int counter;
+
+    // The next number on the display, spread over all 64 bits
+    private long nextNumber() {
+
+        number = number * 0x9E3779B97F4A7C15L + 1;
+        return number >> (counter & 63);
+    }
+
+    @Benchmark
+    public int displayEveryRadix() {
+
+        display.showWord(nextNumber());
+        display.setRadix(RADICES[counter++ & 3]);
+        int length = 0;
+        for (Radix radix : RADICES) {
+
+            length += display.writeDisplayedWord(radix, digits);
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int stringsEveryRadix() {
+
+        Radix shownRadix = RADICES[(counter - 1) & 3];
+        display.showResult(toString(nextNumber(), shownRadix));
+        long word = shownRadix == Radix.DECIMAL ? Long.parseLong(display.getDisplayedNumberString())
+                : Long.parseUnsignedLong(display.getDisplayedNumberString(), BASES[shownRadix.ordinal()]);
+        display.showResult(toString(word, RADICES[counter++ & 3]));
+
+        int length = 0;
+        for (Radix everyRadix : RADICES) {
+
+            length += toString(word, everyRadix).length();
+        }
+        return length;
+    }
+
+    private static String toString(long word, Radix radix) {
+
+        switch (radix) {
+
+            case BINARY:
+
+                return Long.toBinaryString(word);
+
+            case OCTAL:
+
+                return Long.toOctalString(word);
+
+            case DECIMAL:
+
+                return Long.toString(word);
+
+            default:
+
+                return Long.toHexString(word);
+        }
+    }
+}
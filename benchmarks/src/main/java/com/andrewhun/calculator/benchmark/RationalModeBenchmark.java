@@ -0,0 +1,132 @@
+/*
+* This file contains the benchmarks for the RATIONAL number mode. The fraction chain divides by 7 and
+* multiplies back, so its numbers are fractions that never fit into a double or a short decimal, but
+* always into longs. It is calculated by an engine in the RATIONAL and one in the DECIMAL mode, and with
+* fractions of BigIntegers, the way the mode would work without its long fast path. The denominators of
+* the growing chain outgrow the longs after 20 divisions, to show the cost of the BigIntegers.
+ */
+package com.andrewhun.calculator.benchmark;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.NumberMode;
+import com.andrewhun.calculator.CalculationEngine;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RationalModeBenchmark {
+
+    // The number of operations in the fraction chain, and the last divisor of the growing chain
+    private static final int CHAIN_LENGTH = 1000;
+    private static final int GROWING_CHAIN_LENGTH = 100;
+
+    private static final Operation[] OPERATIONS = {
+            Operation.ADDITION, Operation.DIVISION, Operation.SUBTRACTION, Operation.MULTIPLICATION
+    };
+
+    private static final long[] NUMBERS = new long[CHAIN_LENGTH];
+
+    static {
+
+        // Add a number, divide by 7, take away another one and multiply by 7 again
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+
+            NUMBERS[i] = (i & 1) == 1 ? 7 : i / 4 % 97 + 2;
+        }
+    }
+
+    private final CalculationEngine rationalEngine = new CalculationEngine();
+    private final CalculationEngine decimalEngine = new CalculationEngine();
+
+    @Setup(Level.Trial)
+    public void selectModes() {
+
+        rationalEngine.setNumberMode(NumberMode.RATIONAL);
+        decimalEngine.setNumberMode(NumberMode.DECIMAL);
+    }
+
+    @Benchmark
+    public double rationalFractionChain() {
+
+        return calculateFractionChain(rationalEngine);
+    }
+
+    @Benchmark
+    public double decimalFractionChain() {
+
+        return calculateFractionChain(decimalEngine);
+    }
+
+    // The same chain with fractions of BigIntegers, reduced with BigInteger.gcd after every operation
+    @Benchmark
+    public BigInteger bigIntegerFractionChain() {
+
+        BigInteger numerator = BigInteger.valueOf(1000);
+        BigInteger denominator = BigInteger.ONE;
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+
+            BigInteger number = BigInteger.valueOf(NUMBERS[i]);
+            switch (i & 3) {
+
+                case 0:
+
+                    numerator = numerator.add(number.multiply(denominator));
+                    break;
+
+                case 1:
+
+                    denominator = denominator.multiply(number);
+                    break;
+
+                case 2:
+
+                    numerator = numerator.subtract(number.multiply(denominator));
+                    break;
+
+                default:
+
+                    numerator = numerator.multiply(number);
+            }
+            BigInteger divisor = numerator.gcd(denominator);
+            numerator = numerator.divide(divisor);
+            denominator = denominator.divide(divisor);
+        }
+        return numerator.add(denominator);
+    }
+
+    // Divide by 2, 3, 4 and so on, adding 1 after each division, so the denominator is the factorial of i
+    @Benchmark
+    public double rationalGrowingFractionChain() {
+
+        CalculationEngine engine = rationalEngine;
+        engine.setFirstNumber(1.0);
+        for (int i = 2; i <= GROWING_CHAIN_LENGTH; i++) {
+
+            engine.setSecondNumber(i);
+            engine.executeOperation(Operation.DIVISION);
+            engine.useResultAsFirstNumber();
+            engine.setSecondNumber(1.0);
+            engine.executeOperation(Operation.ADDITION);
+            engine.useResultAsFirstNumber();
+        }
+        return engine.getFirstNumber();
+    }
+
+    private static double calculateFractionChain(CalculationEngine engine) {
+
+        engine.setFirstNumber(1000.0);
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+
+            engine.setSecondNumber(NUMBERS[i]);
+            engine.executeOperation(OPERATIONS[i & 3]);
+            engine.useResultAsFirstNumber();
+        }
+        return engine.getFirstNumber();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+* This file contains the startup benchmark, which measures the time from starting the JavaFX
+* toolkit to the first frame of the calculator window, once with the window loaded from the FXML
+* file at runtime (the way the application used to start) and once built by the code generated
+* from it. Every measurement needs a fresh JVM, since the toolkit can only be started once, so the
+* benchmark runs a single shot in each of many forks. The first frame is taken to be the first
+* pulse after the window is shown, right after its layout and before it is drawn.
+*   The application itself no longer needs javafx.fxml, so the FXML file is loaded by an FXMLLoader here,
+* with the javafx-fxml dependency of the benchmarks module.
+*   Unlike the other benchmarks, this one needs a display (or the Monocle headless platform).
+ */
+package com.andrewhun.calculator.benchmark;
+
+import javafx.stage.Stage;
+import javafx.scene.Scene;
+import javafx.scene.Parent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import javafx.fxml.FXMLLoader;
+import javafx.application.Platform;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CountDownLatch;
+import org.openjdk.jmh.annotations.*;
+import com.andrewhun.calculator.gui.Main;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    @Param({"fxml", "generated"})
+    public String scene;
+
+    // Show the calculator window and wait until its first frame is about to be drawn
+    @Benchmark
+    public void timeToFirstFrame() throws InterruptedException {
+
+        CountDownLatch firstFrame = new CountDownLatch(1);
+        Platform.startup(() -> {
+
+            Scene window = new Scene(createRoot(), 300, 665);
+            window.addPostLayoutPulseListener(firstFrame::countDown);
+
+            Stage stage = new Stage();
+            stage.setScene(window);
+            stage.show();
+        });
+        firstFrame.await();
+    }
+
+    // Let the forked JVM exit once the window was measured
+    @TearDown(Level.Trial)
+    public void stopToolkit() {
+
+        Platform.exit();
+    }
+
+    private Parent createRoot() {
+
+        if (scene.equals("generated")) {
+
+            return Main.createRoot();
+        }
+        try {
+
+            return FXMLLoader.load(Main.class.getResource("/fxml/calculator.fxml"));
+        }
+        catch (IOException exception) {
+
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
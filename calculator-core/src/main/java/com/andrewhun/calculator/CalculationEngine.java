@@ -0,0 +1,356 @@
+/*
+* This file contains the CalculationEngine class. It does the same job as the CalculationHandler
+* class used to do on its own: it stores the two numbers of the current operation along with
+* the result, and carries out the operation the user selected. The difference is that the
+* engine is an ordinary object that keeps its numbers as primitive doubles. This way nothing
+* gets boxed or allocated when a calculation is carried out, which matters when the engine is
+* driven by automated input instead of a person clicking buttons.
+*   Every operation also sets the error of its result (see CalculationError), so a division by zero or
+* an overflow can be told apart from a number without looking at the result any further.
+*   In a number mode other than DOUBLE (see NumberMode) the numbers are also kept in the exact form of
+* that mode, by an ExactArithmetic, which carries out the operations in place of the doubles. The doubles
+* are still kept up to date (as the nearest double to each exact number) for the code that reads them.
+*   The scientific functions (see ScientificFunction) are carried out on a single double, whatever the
+* number mode is, with StrictMath or with the faster FastMath, depending on the FunctionPrecision.
+*   The CalculationHandler class is kept as a thin static facade over a single engine instance,
+* so the rest of the application (and its tests) can keep using the familiar static functions.
+ */
+package com.andrewhun.calculator;
+
+import java.math.MathContext;
+
+public class CalculationEngine {
+
+    // Initializing class member data
+    private double firstNumber = 0.0;
+    private double secondNumber = 0.0;
+    private double result = 0.0;
+
+    // The error the last operation ended with (NONE if its result is a finite number)
+    private CalculationError error = CalculationError.NONE;
+
+    // The kind of numbers to calculate with, and the arithmetic that keeps them (null for DOUBLE)
+    private NumberMode numberMode = NumberMode.DOUBLE;
+    private ExactArithmetic arithmetic;
+
+    // The digits (and the rounding) of the results of the DECIMAL mode
+    private MathContext mathContext = MathContext.DECIMAL128;
+
+    // The backend the scientific functions are calculated with
+    private FunctionPrecision functionPrecision = FunctionPrecision.STRICT;
+
+    public NumberMode getNumberMode() {
+
+        return numberMode;
+    }
+
+    // Calculate with another kind of numbers from now on (the numbers are reset)
+    public void setNumberMode(NumberMode newMode) {
+
+        numberMode = newMode;
+        arithmetic = ExactArithmetic.forMode(newMode);
+        if (arithmetic != null) {
+
+            arithmetic.setMathContext(mathContext);
+        }
+        resetNumbers();
+    }
+
+    public MathContext getMathContext() {
+
+        return mathContext;
+    }
+
+    // Round the results of the DECIMAL mode with another MathContext from now on
+    public void setMathContext(MathContext newMathContext) {
+
+        mathContext = newMathContext;
+        if (arithmetic != null) {
+
+            arithmetic.setMathContext(newMathContext);
+        }
+    }
+
+    public FunctionPrecision getFunctionPrecision() {
+
+        return functionPrecision;
+    }
+
+    public void setFunctionPrecision(FunctionPrecision newPrecision) {
+
+        functionPrecision = newPrecision;
+    }
+
+    // Getters, setters and reset functions for the member data
+    public double getFirstNumber() {
+
+        return firstNumber;
+    }
+
+    public void setFirstNumber(double newNumber) {
+
+        firstNumber = newNumber;
+        if (arithmetic != null) {
+
+            arithmetic.setFirstNumber(newNumber);
+        }
+    }
+
+    // Take the first number from the display, with all of its digits
+    void setFirstNumber(NumberEntryBuffer number) {
+
+        if (arithmetic != null) {
+
+            arithmetic.setFirstNumber(number);
+            firstNumber = arithmetic.getFirstNumber();
+        }
+        else {
+
+            firstNumber = number.getValue();
+        }
+    }
+
+    public void resetFirstNumber() {
+
+        setFirstNumber(0.0);
+    }
+
+    public double getSecondNumber() {
+
+        return secondNumber;
+    }
+
+    public void setSecondNumber(double newNumber) {
+
+        secondNumber = newNumber;
+        if (arithmetic != null) {
+
+            arithmetic.setSecondNumber(newNumber);
+        }
+    }
+
+    // Take the second number from the display, with all of its digits
+    void setSecondNumber(NumberEntryBuffer number) {
+
+        if (arithmetic != null) {
+
+            arithmetic.setSecondNumber(number);
+            secondNumber = arithmetic.getSecondNumber();
+        }
+        else {
+
+            secondNumber = number.getValue();
+        }
+    }
+
+    // Take the first number of another engine (in the same number mode) as the second number, with all of its digits
+    void setSecondNumber(CalculationEngine other) {
+
+        secondNumber = other.firstNumber;
+        if (arithmetic != null) {
+
+            arithmetic.setSecondNumber(other.arithmetic);
+        }
+    }
+
+    public void resetSecondNumber() {
+
+        setSecondNumber(0.0);
+    }
+
+    public double getResult() {
+
+        return result;
+    }
+
+    public void setResult(double testResult) {
+
+        // Use this setter for testing purposes only
+        result = testResult;
+    }
+
+    public void resetResult() {
+
+        result = 0.0;
+        error = CalculationError.NONE;
+    }
+
+    public CalculationError getError() {
+
+        return error;
+    }
+
+    // Calculate the result of the selected operation and hand it back to the caller as well
+    public double executeOperation(Operation selectedOperation) {
+
+        // Without a selected operation there is nothing to calculate, the old result stays in place
+        if (selectedOperation != Operation.NONE) {
+
+            if (arithmetic != null) {
+
+                error = arithmetic.executeOperation(selectedOperation);
+                result = arithmetic.getResult();
+            }
+            else {
+
+                result = calculate(selectedOperation, firstNumber, secondNumber);
+                error = CalculationError.of(selectedOperation, secondNumber, result);
+            }
+        }
+        return result;
+    }
+
+    // Apply a scientific function to a number with the function precision of the engine (its numbers are left as they are)
+    public double applyFunction(ScientificFunction function, double number) {
+
+        return calculate(function, number, functionPrecision);
+    }
+
+    // Store the result of the earlier calculation as the first number of the next one
+    public void useResultAsFirstNumber() {
+
+        firstNumber = result;
+        if (arithmetic != null) {
+
+            arithmetic.useResultAsFirstNumber();
+        }
+    }
+
+    // Show the first number on the display (with every digit the number mode keeps)
+    void showFirstNumber(CalculatorDisplay display) {
+
+        if (arithmetic != null) {
+
+            arithmetic.showFirstNumber(display);
+        }
+        else {
+
+            display.showResult(firstNumber);
+        }
+    }
+
+    // Show the result on the display (with every digit the number mode keeps)
+    void showResult(CalculatorDisplay display) {
+
+        if (arithmetic != null) {
+
+            arithmetic.showResult(display);
+        }
+        else {
+
+            display.showResult(result);
+        }
+    }
+
+    // Reset all variables
+    public void resetNumbers() {
+
+        firstNumber = 0.0;
+        secondNumber = 0.0;
+        result = 0.0;
+        error = CalculationError.NONE;
+        if (arithmetic != null) {
+
+            arithmetic.resetNumbers();
+        }
+    }
+
+    /* Carry out a single operation on two numbers. The result of the NONE operation is
+    the first number, since there is nothing to do with the second one yet. The bitwise
+    operations are carried out on the whole parts of the numbers, as longs, and POWER with
+    StrictMath, so it gives the same digits everywhere.*/
+    public static double calculate(Operation selectedOperation, double firstNumber, double secondNumber) {
+
+        switch (selectedOperation) {
+
+            case ADDITION:
+
+                return firstNumber + secondNumber;
+
+            case SUBTRACTION:
+
+                return firstNumber - secondNumber;
+
+            case MULTIPLICATION:
+
+                return firstNumber * secondNumber;
+
+            case DIVISION:
+
+                return firstNumber / secondNumber;
+
+            case MODULO:
+
+                return firstNumber % secondNumber;
+
+            case POWER:
+
+                return StrictMath.pow(firstNumber, secondNumber);
+
+            case NONE:
+
+                return firstNumber;
+
+            default:
+
+                return ProgrammerArithmetic.calculate(selectedOperation, (long) firstNumber, (long) secondNumber);
+        }
+    }
+
+    /* Apply a scientific function to a number, with StrictMath or FastMath. The square root and the square
+    are the same in both, since Math.sqrt and a multiplication already give the nearest double.*/
+    public static double calculate(ScientificFunction function, double number, FunctionPrecision precision) {
+
+        boolean fast = precision == FunctionPrecision.FAST;
+        switch (function) {
+
+            case SQUARE_ROOT:
+
+                return Math.sqrt(number);
+
+            case SQUARE:
+
+                return number * number;
+
+            case EXPONENTIAL:
+
+                return fast ? FastMath.exp(number) : StrictMath.exp(number);
+
+            case NATURAL_LOGARITHM:
+
+                return fast ? FastMath.log(number) : StrictMath.log(number);
+
+            case POWER_OF_TEN:
+
+                return fast ? FastMath.exp10(number) : StrictMath.pow(10.0, number);
+
+            case LOGARITHM:
+
+                return fast ? FastMath.log10(number) : StrictMath.log10(number);
+
+            case SINE:
+
+                return fast ? FastMath.sin(number) : StrictMath.sin(number);
+
+            case COSINE:
+
+                return fast ? FastMath.cos(number) : StrictMath.cos(number);
+
+            case TANGENT:
+
+                return fast ? FastMath.tan(number) : StrictMath.tan(number);
+
+            case ARCSINE:
+
+                return fast ? FastMath.asin(number) : StrictMath.asin(number);
+
+            case ARCCOSINE:
+
+                return fast ? FastMath.acos(number) : StrictMath.acos(number);
+
+            default:
+
+                return fast ? FastMath.atan(number) : StrictMath.atan(number);
+        }
+    }
+}
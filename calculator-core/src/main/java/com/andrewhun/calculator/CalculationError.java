@@ -0,0 +1,94 @@
+/*
+* This file contains the CalculationError enum, the errors a calculation can end with. The engine
+* works out the error together with the result of every operation, so the rest of the program can
+* check for errors by comparing enum constants, instead of looking for an error message among the
+* displayed digits. The message is only needed when the error is shown to the user (or written to
+* the output of a batch), and it is the same constant String every time.
+*   NONE means the result is a finite number. A division by zero is reported as such even though the
+* division itself gives infinity (or NaN for 0 / 0), and so is the remainder of a division by zero and an
+* infinite negative power (0 ^ -1, or a number so close to 0 that its positive power is 0);
+* any other infinite result is an overflow, and any other NaN (such as infinity minus infinity) is
+* NOT_A_NUMBER. A scientific function applied to a number outside of its domain (the logarithm of 0 or
+* of a negative number, the square root of a negative number, the arcsine of 2) is INVALID_INPUT instead,
+* even though its result is NaN or infinity as well; a function whose result is only too large (such as
+* exp 1000) is an overflow.
+*   FAILURE is not the result of any calculation: it is shown when an action of the calculator failed
+* unexpectedly (see the CalculationRunner of the GUI), so the user can start over like after any other error.
+ */
+package com.andrewhun.calculator;
+
+public enum CalculationError {
+
+    NONE(""),
+    DIVISION_BY_ZERO("Error: Division by zero"),
+    OVERFLOW("Error: Overflow"),
+    NOT_A_NUMBER("Error: Result is not a number"),
+    INVALID_INPUT("Error: Invalid input"),
+    FAILURE("Error: Calculation failed");
+
+    private final String message;
+
+    CalculationError(String message) {
+
+        this.message = message;
+    }
+
+    public String getMessage() {
+
+        return message;
+    }
+
+    // Find the error of an operation from its result (only the infinite and NaN results are looked at closely)
+    public static CalculationError of(Operation operation, double secondNumber, double result) {
+
+        if (Double.isFinite(result)) {
+
+            return NONE;
+        }
+
+        if ((operation == Operation.DIVISION || operation == Operation.MODULO) && secondNumber == 0.0) {
+
+            return DIVISION_BY_ZERO;
+        }
+        if (operation == Operation.POWER && secondNumber < 0.0 && Double.isInfinite(result)) {
+
+            return DIVISION_BY_ZERO;
+        }
+        return Double.isNaN(result) ? NOT_A_NUMBER : OVERFLOW;
+    }
+
+    // Find the error of a result that has nothing to do with a division
+    public static CalculationError of(double result) {
+
+        if (Double.isFinite(result)) {
+
+            return NONE;
+        }
+        return Double.isNaN(result) ? NOT_A_NUMBER : OVERFLOW;
+    }
+
+    /* Find the error of the result of a ScientificFunction from the number it was applied to. Only a
+    result that grew beyond the largest double is an overflow: the functions give NaN (or negative
+    infinity, for the logarithms of 0) for the numbers outside of their domain.*/
+    public static CalculationError of(double argument, double result) {
+
+        if (Double.isFinite(result) || !Double.isFinite(argument)) {
+
+            return of(result);
+        }
+        return result == Double.POSITIVE_INFINITY ? OVERFLOW : INVALID_INPUT;
+    }
+
+    // Find the error whose message the text is (NONE if it is not an error message)
+    public static CalculationError fromMessage(String text) {
+
+        for (CalculationError error : values()) {
+
+            if (error != NONE && error.message.equals(text)) {
+
+                return error;
+            }
+        }
+        return NONE;
+    }
+}
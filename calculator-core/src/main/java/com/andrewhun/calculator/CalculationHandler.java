@@ -0,0 +1,87 @@
+/*
+* This file contains the CalculationHandler class. It is responsible for carrying out
+* operations according to the user's instructions. The goal of creating this class (and
+* the DisplayHandler class) was to reduce the overall complexity of the application by
+* hiding lower-level implementation details.
+*   The actual work is done by a CalculationEngine instance, which keeps its numbers as
+* primitive doubles. This class is only a static facade over that instance, so the getters
+* below box their values. Code that runs often should use the engine directly instead.
+ */
+package com.andrewhun.calculator;
+
+public class CalculationHandler {
+
+    // The engine that carries out the calculations behind the static functions of this class
+    private static final CalculationEngine engine = new CalculationEngine();
+
+    // Grant access to the engine behind the facade, for code that wants to avoid boxing
+    public static CalculationEngine getEngine() {
+
+        return engine;
+    }
+
+    // Getters, setters and reset functions for the member data
+    public static Double getFirstNumber() {
+
+        return engine.getFirstNumber();
+    }
+
+    public static void setFirstNumber(Double newNumber) {
+
+        engine.setFirstNumber(newNumber);
+    }
+
+    public static void resetFirstNumber() {
+
+        engine.resetFirstNumber();
+    }
+
+    public static Double getSecondNumber() {
+
+        return engine.getSecondNumber();
+    }
+
+    public static void setSecondNumber(Double newNumber) {
+
+        engine.setSecondNumber(newNumber);
+    }
+
+    public static void resetSecondNumber() {
+
+        engine.resetSecondNumber();
+    }
+
+    public static Double getResult() {
+
+        return engine.getResult();
+    }
+
+    public static void setResult(Double testResult) {
+
+        // Use this setter for testing purposes only
+        engine.setResult(testResult);
+    }
+
+    public static void resetResult() {
+
+        engine.resetResult();
+    }
+
+    // The error the last operation ended with
+    public static CalculationError getError() {
+
+        return engine.getError();
+    }
+
+    // Calculate the result of the selected operation
+    public static void executeOperation(Operation selectedOperation) {
+
+        engine.executeOperation(selectedOperation);
+    }
+
+    // Reset all variables
+    public static void resetNumbers() {
+
+        engine.resetNumbers();
+    }
+}
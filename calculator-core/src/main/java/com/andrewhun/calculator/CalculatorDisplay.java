@@ -0,0 +1,339 @@
+/*
+* This file contains the CalculatorDisplay class. It holds the two strings that make up the
+* calculator's display (the number in focus and the chain of operations above it) and does
+* the string manipulation on them, exactly as the DisplayHandler class used to do with its
+* static variables. Every CalculatorSession owns its own display, so independent calculations
+* no longer overwrite each other's numbers. The DisplayHandler class is kept as a static
+* facade over the display of the session shown in the GUI.
+*   The number on the bottom of the display is kept in a NumberEntryBuffer rather than a String,
+* so typing, deleting digits and changing the sign do not create new strings on every keystroke.
+* Likewise, the chain of operations on the top display is kept in a TopDisplayHistory, so long
+* chains are not copied over and over again whenever an operation is added or changed.
+*   When a calculation ends with an error, the display keeps the CalculationError next to its message,
+* so checking for an error is a comparison of enum constants rather than of Strings.
+*   In the PROGRAMMER number mode the number is a 64-bit word, typed and shown in the Radix of the display.
+* The word can be written in every other radix as well (for showing all of them at once), through a
+* RadixFormatter that reuses the same char array every time.
+ */
+package com.andrewhun.calculator;
+
+public class CalculatorDisplay {
+
+    // Initialize class member data
+    static final String DEFAULT_DISPLAYED_NUMBER = "0";
+    static final String EMPTY = "";
+
+    private final TopDisplayHistory topDisplay = new TopDisplayHistory();
+    private final NumberEntryBuffer displayedNumber = new NumberEntryBuffer();
+    private final DoubleFormatter resultFormatter = new DoubleFormatter();
+    private final RadixFormatter radixFormatter = new RadixFormatter();
+
+    // Named constants, for internal use only
+    private static final char DECIMAL_POINT = '.';
+
+    private static final String ZERO_WITH_DECIMAL_POINT = DEFAULT_DISPLAYED_NUMBER + DECIMAL_POINT;
+
+    static final String DIVISION_BY_ZERO_MESSAGE = CalculationError.DIVISION_BY_ZERO.getMessage();
+
+    // The error shown on the display instead of a number (NONE while a number is shown)
+    private CalculationError error = CalculationError.NONE;
+
+    // The radix the number is typed and shown in (only the PROGRAMMER number mode uses another than DECIMAL)
+    private Radix radix = Radix.DECIMAL;
+
+    // Start with the default number on the display
+    public CalculatorDisplay() {
+
+        resetDisplayedNumberString();
+    }
+
+    // Create setters, getters and reset functions for the class member data
+    public String getTopDisplayString() {
+
+        return topDisplay.getText();
+    }
+
+    // Get the end of the top display that fits into the given number of characters
+    public String getVisibleTopDisplayString(int maxCharacters) {
+
+        return topDisplay.getVisibleText(maxCharacters);
+    }
+
+    public void setTopDisplayString(String newOperation) {
+
+        topDisplay.setText(newOperation);
+    }
+
+    public void resetTopDisplayString() {
+
+        topDisplay.clear();
+    }
+
+    // The String is only created here, when it is needed (usually by the label that shows it)
+    public String getDisplayedNumberString() {
+
+        return displayedNumber.getText();
+    }
+
+    // The displayed number itself, for the engine to take exact values (such as longs) from
+    NumberEntryBuffer getDisplayedNumberEntry() {
+
+        return displayedNumber;
+    }
+
+    /* The value of the displayed number, the same as Double.parseDouble(getDisplayedNumberString())
+    but without creating and parsing a String. It is worked out while the number is being typed in.*/
+    public double getDisplayedNumber() {
+
+        return displayedNumber.getValue();
+    }
+
+    // Text set from the outside may be an error message as well
+    public void setDisplayedNumberString(String newNumber) {
+
+        displayedNumber.setText(newNumber);
+        error = CalculationError.fromMessage(newNumber);
+    }
+
+    public void resetDisplayedNumberString() {
+
+        displayedNumber.setText(DEFAULT_DISPLAYED_NUMBER);
+        error = CalculationError.NONE;
+    }
+
+    // The error on the display, if there is one
+    public CalculationError getError() {
+
+        return error;
+    }
+
+    // Append the selected digit to the displayed number
+    public void appendDigit(String selectedDigit) {
+
+        for (int i = 0; i < selectedDigit.length(); i++) {
+
+            displayedNumber.append(selectedDigit.charAt(i));
+        }
+    }
+
+    // Append a single digit character, for callers that do not have the digit as a String
+    public void appendDigit(char selectedDigit) {
+
+        displayedNumber.append(selectedDigit);
+    }
+
+    // Replace the currently displayed number with the selected digit
+    public void replaceNumber(String selectedDigit) {
+
+        displayedNumber.setText(selectedDigit);
+        error = CalculationError.NONE;
+    }
+
+    public void showErrorMessage(String errorMessage) {
+
+        displayedNumber.setText(errorMessage);
+        error = CalculationError.fromMessage(errorMessage);
+    }
+
+    // Show the message of the error instead of the displayed number
+    public void showError(CalculationError newError) {
+
+        displayedNumber.setText(newError.getMessage());
+        error = newError;
+    }
+
+    // Decide if the currently displayed number has only one digit
+    public boolean isLastDigit() {
+
+        return (displayedNumber.textLength() == 1 || displayedNumber.textEquals(ZERO_WITH_DECIMAL_POINT));
+    }
+
+    // Delete the last digit of the currently displayed number
+    public void deleteDigit() {
+
+        displayedNumber.deleteLast();
+    }
+
+    // Find out if the user has deleted the number which had a minus sign assigned
+    public boolean onlyMinusSignIsDisplayed() {
+
+        return (displayedNumber.isNegative() && displayedNumber.digitCount() == 0);
+    }
+
+    // Find out if the displayed number is positive or negative
+    public boolean numberIsNegative() {
+
+        return displayedNumber.isNegative();
+    }
+
+    // Add a minus sign to the displayed number
+    public void addMinusSign() {
+
+        displayedNumber.setNegative(true);
+    }
+
+    // Remove the minus sign from the displayed number
+    public void removeMinusSign() {
+
+        displayedNumber.setNegative(false);
+    }
+
+    // Find out if the displayed number is has a decimal point
+    public boolean hasNoDecimalPoint() {
+
+        return (!displayedNumber.hasDecimalPoint());
+    }
+
+    // Add a decimal point to the displayed number (an error message is replaced by "0.")
+    public void addDecimalPoint() {
+
+        if (error != CalculationError.NONE) {
+
+            displayedNumber.setText(ZERO_WITH_DECIMAL_POINT);
+            error = CalculationError.NONE;
+            return;
+        }
+        displayedNumber.append(DECIMAL_POINT);
+    }
+
+    // Add the selected number and operation to the top display
+    public void addOperationToDisplay(Operation newOperation) {
+
+        // Substitute zero for zero with decimal point
+        if (displayedNumber.textEquals(ZERO_WITH_DECIMAL_POINT)) {
+
+            resetDisplayedNumberString();
+        }
+
+        // Without an operation there is nothing to add (the top display did not change before either)
+        if (newOperation != Operation.NONE) {
+
+            topDisplay.add(displayedNumber.getText(), newOperation);
+        }
+    }
+
+    // Change the operation shown on the top display
+    public void changeDisplayedOperation(Operation newOperation) {
+
+        topDisplay.replaceLastOperation(newOperation);
+    }
+
+    // Find out if the top display is empty
+    public boolean topDisplayIsNotEmpty() {
+
+        return (!topDisplay.isEmpty());
+    }
+
+    // Find out if the user is trying to divide numbers by zero
+    public boolean denominatorIsZero() {
+
+        return (displayedNumber.textEquals(DEFAULT_DISPLAYED_NUMBER) ||
+                displayedNumber.textEquals(ZERO_WITH_DECIMAL_POINT));
+    }
+
+    // Find out if there was an error (such as a division by zero) during the calculation
+    public boolean errorFreeCalculation() {
+
+        return error == CalculationError.NONE;
+    }
+
+    // Show the result of the calculation
+    public void showResult(String result) {
+
+        String EXCESS_DECIMAL_VALUE = ".0";
+        // Remove decimal values if the result is a whole number
+        error = CalculationError.NONE;
+        if (result.endsWith(EXCESS_DECIMAL_VALUE)) {
+
+            displayedNumber.setText(result.substring(0, result.length() - 2));
+        }
+
+        // Show result as is otherwise
+        else {
+
+            displayedNumber.setText(result);
+        }
+    }
+
+    /* Show a result straight from the calculation. This gives the same text as showing the result
+    of Double.toString, but the digits are written into the display without any Strings in between.*/
+    public void showResult(double result) {
+
+        int length = resultFormatter.format(result);
+        displayedNumber.setNumber(result, resultFormatter.getCharacters(), length);
+        error = CalculationError.NONE;
+    }
+
+    // Show a whole number, with every one of its digits
+    public void showResult(long result) {
+
+        int length = resultFormatter.format(result);
+        displayedNumber.setDigits(resultFormatter.getCharacters(), length);
+        error = CalculationError.NONE;
+    }
+
+    public Radix getRadix() {
+
+        return radix;
+    }
+
+    // Show the number on the display in another radix from now on (an error message stays as it is)
+    public void setRadix(Radix newRadix) {
+
+        if (newRadix == radix) {
+
+            return;
+        }
+
+        long word = error == CalculationError.NONE ? getDisplayedWord() : 0;
+        radix = newRadix;
+        displayedNumber.setRadix(newRadix);
+        if (error == CalculationError.NONE) {
+
+            showWord(word);
+        }
+    }
+
+    // Find out if the character is a digit of the radix of the display ("A" is only one in HEXADECIMAL)
+    public boolean acceptsDigit(char digit) {
+
+        return RadixFormatter.digitValue(digit, radix) >= 0;
+    }
+
+    // The displayed number as a 64-bit word (see NumberEntryBuffer.toWord)
+    public long getDisplayedWord() {
+
+        return displayedNumber.toWord();
+    }
+
+    // Show a 64-bit word in the radix of the display
+    public void showWord(long result) {
+
+        int length = radixFormatter.format(result, radix);
+        displayedNumber.setWord(result, radixFormatter.getCharacters(), length);
+        error = CalculationError.NONE;
+    }
+
+    /* Write the displayed number in the given radix into the array and return the number of characters,
+    without creating any objects. The array needs room for 64 characters (the binary digits of a word).*/
+    public int writeDisplayedWord(Radix wordRadix, char[] destination) {
+
+        int length = radixFormatter.format(getDisplayedWord(), wordRadix);
+        System.arraycopy(radixFormatter.getCharacters(), 0, destination, 0, length);
+        return length;
+    }
+
+    // The displayed number in the given radix, as a String for a label
+    public String getDisplayedWordString(Radix wordRadix) {
+
+        int length = radixFormatter.format(getDisplayedWord(), wordRadix);
+        return new String(radixFormatter.getCharacters(), 0, length);
+    }
+
+    // Bring the display back to its default state
+    public void reset() {
+
+        resetTopDisplayString();
+        resetDisplayedNumberString();
+    }
+}
@@ -0,0 +1,7 @@
+package com.andrewhun.calculator;
+/*
+This enum contains the input symbols of the calculator's state machine: every button
+(and every key the calculator understands) is one of these. The digit that was typed,
+the operator and the scientific function that was pressed are handed over next to the symbol.
+ */
+public enum CalculatorInput {DIGIT, DECIMAL_POINT, CHANGE_SIGN, BACKSPACE, OPERATOR, EQUALS, CLEAR, FUNCTION}
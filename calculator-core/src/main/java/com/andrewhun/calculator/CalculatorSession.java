@@ -0,0 +1,511 @@
+/*
+* This file contains the CalculatorSession class. A session is one independent calculation:
+* it owns the operation the user selected, the state of the display, the display strings
+* (through a CalculatorDisplay) and the numbers (through a CalculationEngine). The logic that
+* used to live in the Controller class, deciding how the calculator reacts to each button,
+* lives here now, so a session can be driven without any JavaFX objects. The Controller is
+* bound to a single session and only copies its display strings onto the labels.
+*   Besides the methods for the buttons, a session can be driven by characters: pressKey takes a single
+* key typed on the keyboard, and pasteText applies a whole text (such as a pasted expression or a column
+* of numbers) in one go, so the GUI does not have to replay every character as a separate event.
+*   How the session reacts to a button is decided by the transition table of the CalculatorStateMachine:
+* the state of the display and the selected operation make up the state of the machine, and every button
+* is an input symbol. The functions that carry out a single step (setupDisplayForNextNumber, changeOperation,
+* executeOperation and resetCalculator) are still public, for the callers that want to use them directly.
+*   The operations of a chain go through an OperationStack, which carries them out from left to right by
+* default. With EvaluationOrder.OPERATOR_PRECEDENCE multiplications and divisions are carried out first,
+* and the additions and subtractions before them wait on the stack until their second number is known.
+*   A scientific function (see ScientificFunction) is applied to the number on the display as soon as its
+* button is pressed. Its result can be used like any other number, and when it stands in for the second
+* number of an operation the machine keeps it in the FUNCTION_RESULT state. Functions are ignored in the
+* PROGRAMMER mode.
+*   While the display shows an error the machine is in the ERROR state, where the digits and the decimal point
+* start a new number, "C" and backspace reset the display to 0, and every other input is ignored, since
+* the error message is not a number it could work with.
+*   In the PROGRAMMER number mode the numbers can be typed and shown in any Radix. Digits that do not belong
+* to the radix of the display (such as "A" in DECIMAL, or "2" in BINARY) are ignored, and so is the decimal
+* point, since the numbers of the mode are whole.
+*   Sessions are not thread-safe. A session may be handed from one thread to another (for
+* example through the CalculatorSessionPool), but it must only be used by one thread at a time.
+ */
+package com.andrewhun.calculator;
+
+import java.math.MathContext;
+
+public class CalculatorSession {
+
+    // Class variables that indicate the current state of the calculation
+    private Operation selectedOperation = Operation.NONE;
+    private DisplayState displayState = DisplayState.DEFAULT;
+
+    private final CalculationEngine engine;
+    private final CalculatorDisplay display;
+    private final OperationStack operations;
+
+    // The digits as Strings (by their value), so typing a digit character does not create a new one
+    private static final String[] DIGITS = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9",
+            "A", "B", "C", "D", "E", "F"};
+
+    // The number of pasted characters between two looks at the interrupt flag of the thread
+    private static final int INTERRUPT_CHECK_INTERVAL = 1024;
+
+    // Create a session with its own engine and display
+    public CalculatorSession() {
+
+        this(new CalculationEngine(), new CalculatorDisplay());
+    }
+
+    // Create a session around an existing engine and display (used for the session shown in the GUI)
+    public CalculatorSession(CalculationEngine engine, CalculatorDisplay display) {
+
+        this.engine = engine;
+        this.display = display;
+        this.operations = new OperationStack(engine);
+    }
+
+    // Create getters and setters for the status variables
+    public Operation getSelectedOperation() {
+
+        return selectedOperation;
+    }
+
+    public void setSelectedOperation(Operation newOperation) {
+
+        selectedOperation = newOperation;
+    }
+
+    public DisplayState getDisplayState() {
+
+        return displayState;
+    }
+
+    public void setDisplayState(DisplayState newState) {
+
+        displayState = newState;
+    }
+
+    // Calculate with another kind of numbers (see NumberMode), starting over with a clear calculator
+    public void setNumberMode(NumberMode newMode) {
+
+        engine.setNumberMode(newMode);
+        clearCalculator();
+        if (newMode != NumberMode.PROGRAMMER) {
+
+            display.setRadix(Radix.DECIMAL);
+        }
+    }
+
+    public NumberMode getNumberMode() {
+
+        return engine.getNumberMode();
+    }
+
+    // Calculate the scientific functions with another backend (see FunctionPrecision)
+    public void setFunctionPrecision(FunctionPrecision newPrecision) {
+
+        engine.setFunctionPrecision(newPrecision);
+    }
+
+    public FunctionPrecision getFunctionPrecision() {
+
+        return engine.getFunctionPrecision();
+    }
+
+    // Calculate chains in another order (see EvaluationOrder), starting over with a clear calculator
+    public void setEvaluationOrder(EvaluationOrder newOrder) {
+
+        operations.setEvaluationOrder(newOrder);
+        clearCalculator();
+    }
+
+    public EvaluationOrder getEvaluationOrder() {
+
+        return operations.getEvaluationOrder();
+    }
+
+    // Type and show the numbers in another radix; the number on the display is shown in the new radix right away
+    public void setRadix(Radix newRadix) {
+
+        if (newRadix != Radix.DECIMAL && getNumberMode() != NumberMode.PROGRAMMER) {
+
+            throw new IllegalStateException("Only the PROGRAMMER number mode can show numbers in " + newRadix);
+        }
+        display.setRadix(newRadix);
+    }
+
+    public Radix getRadix() {
+
+        return display.getRadix();
+    }
+
+    public CalculationEngine getEngine() {
+
+        return engine;
+    }
+
+    public CalculatorDisplay getDisplay() {
+
+        return display;
+    }
+
+    // Shorthands for the two strings that should be shown to the user
+    public String getDisplayedNumberString() {
+
+        return display.getDisplayedNumberString();
+    }
+
+    public String getTopDisplayString() {
+
+        return display.getTopDisplayString();
+    }
+
+    // The end of the top display that fits into the given number of characters
+    public String getVisibleTopDisplayString(int maxCharacters) {
+
+        return display.getVisibleTopDisplayString(maxCharacters);
+    }
+
+    // The state of the state machine, which follows from the state of the display, the selected operation and the error
+    public InputState getInputState() {
+
+        return InputState.of(displayState, selectedOperation, display.getError());
+    }
+
+    // React to a digit being typed in
+    public void enterDigit(String selectedDigit) {
+
+        handleInput(CalculatorInput.DIGIT, selectedDigit, Operation.NONE);
+    }
+
+    // React to a digit character being typed in, without turning it into a new String
+    public void enterDigit(char selectedDigit) {
+
+        int value = RadixFormatter.digitValue(selectedDigit, Radix.HEXADECIMAL);
+        enterDigit(value >= 0 ? DIGITS[value] : String.valueOf(selectedDigit));
+    }
+
+    /* React to a key typed on the keyboard: digits, the decimal point (or a comma), the operators,
+    "=" or a line break for the result, backspace and escape. Returns false for keys that mean nothing
+    to the calculator (such as spaces, or digits of another radix), which are ignored.*/
+    public boolean pressKey(char key) {
+
+        CalculatorInput input = CalculatorStateMachine.inputForKey(key);
+        if (input == null || (input == CalculatorInput.DIGIT && !display.acceptsDigit(key))) {
+
+            return false;
+        }
+
+        String digit = input == CalculatorInput.DIGIT ? DIGITS[RadixFormatter.digitValue(key, Radix.HEXADECIMAL)] : null;
+        handleInput(input, digit, CalculatorStateMachine.operationForKey(key));
+        return true;
+    }
+
+    /* Apply every character of the text as if its key had been typed, and return the number of characters
+    used up. Each line of a column of numbers ends with "=", so the last number stays on the display.
+    The text is only applied up to an error (such as a division by zero), since the error message is not
+    a number the next operation could work with, or until the thread is interrupted (looked at every
+    INTERRUPT_CHECK_INTERVAL characters), which is how a long paste can be stopped.*/
+    public int pasteText(CharSequence text) {
+
+        for (int i = 0; i < text.length(); i++) {
+
+            if (i % INTERRUPT_CHECK_INTERVAL == 0 && Thread.currentThread().isInterrupted()) {
+
+                return i;
+            }
+            char key = text.charAt(i);
+            if (pressKey(key) && display.getError() != CalculationError.NONE) {
+
+                return i + 1;
+            }
+        }
+        return text.length();
+    }
+
+    // React to the backspace button being pushed
+    public void deleteDigit() {
+
+        handleInput(CalculatorInput.BACKSPACE, null, Operation.NONE);
+    }
+
+    // Add or remove the minus sign to/from the displayed number
+    public void changeSignOfNumber() {
+
+        handleInput(CalculatorInput.CHANGE_SIGN, null, Operation.NONE);
+    }
+
+    // React to the decimal point being typed in
+    public void addDecimalPoint() {
+
+        handleInput(CalculatorInput.DECIMAL_POINT, null, Operation.NONE);
+    }
+
+    // Prepare the display for the next number
+    public void setupDisplayForNextNumber(Operation nextOperation) {
+
+        // Add the next operation and its first number to the top display
+        display.addOperationToDisplay(nextOperation);
+
+        // Make way for the new number on the bottom display
+        display.resetDisplayedNumberString();
+
+        // Let the calculator know a new number is coming up (presumably)
+        displayState = DisplayState.DEFAULT;
+    }
+
+    /* Change the operation that was selected earlier to match the last choice the user made
+    and change the top display to show the correct operation to the user*/
+    public void changeOperation(Operation newOperation) {
+
+        display.changeDisplayedOperation(newOperation);
+        selectedOperation = newOperation;
+    }
+
+    /* Set up the calculator for executing the selected operation, or initiate the execution of
+    an earlier operation if the user is chaining multiple operations in a calculation */
+    public void prepareForOperation(Operation newOperation) {
+
+        handleInput(CalculatorInput.OPERATOR, null, newOperation);
+    }
+
+    /* Execute the selected operation (or let it wait for the next one, see OperationStack) and set up
+    for the next task*/
+    public void executeOperation(Operation newOperation) {
+
+        // The result of the earlier calculation becomes the first number of the next one
+        operations.execute(selectedOperation, display.getDisplayedNumberEntry(), newOperation);
+
+        // Set up for the next operation if there is one
+        if (newOperation != Operation.NONE) {
+
+            // Let the user and the program know which operation is next
+            setupDisplayForNextNumber(newOperation);
+            selectedOperation = newOperation;
+        }
+    }
+
+    // Apply a scientific function to the displayed number
+    public void applyFunction(ScientificFunction function) {
+
+        handleInput(CalculatorInput.FUNCTION, null, Operation.NONE, function);
+    }
+
+    // Calculate the final result of the calculation when the "=" button is pressed
+    public void calculateResult() {
+
+        handleInput(CalculatorInput.EQUALS, null, Operation.NONE);
+    }
+
+    // Reset the calculator to its default state, except for the displayed number
+    public void resetCalculator() {
+
+        engine.resetNumbers();
+        operations.reset();
+        display.resetTopDisplayString();
+
+        displayState = DisplayState.DEFAULT;
+        selectedOperation = Operation.NONE;
+    }
+
+    // Erase all information regarding the current calculation when the "C" button is pressed
+    public void clearCalculator() {
+
+        handleInput(CalculatorInput.CLEAR, null, Operation.NONE);
+    }
+
+    /* Put the session back into the state of a new one: clear the calculator and set the number mode, the
+    MathContext, the function precision, the evaluation order and the radix back to their defaults*/
+    public void reset() {
+
+        engine.setMathContext(MathContext.DECIMAL128);
+        engine.setFunctionPrecision(FunctionPrecision.STRICT);
+        operations.setEvaluationOrder(EvaluationOrder.LEFT_TO_RIGHT);
+        setNumberMode(NumberMode.DOUBLE);
+    }
+
+    // React to any input other than a function
+    private void handleInput(CalculatorInput input, String digit, Operation operation) {
+
+        handleInput(input, digit, operation, null);
+    }
+
+    /* Look up what the input means in the current state, carry out the action and move on to the
+    next state. The digit is only given for digits, the operation only for operators and the function
+    only for functions.*/
+    private void handleInput(CalculatorInput input, String digit, Operation operation, ScientificFunction function) {
+
+        if (ignores(input, digit)) {
+
+            return;
+        }
+        InputState state = getInputState();
+        boolean completed = carryOut(CalculatorStateMachine.action(state, input), digit, operation, function);
+        displayState = CalculatorStateMachine.nextState(state, input, completed).getDisplayState();
+    }
+
+    // Carry out an action of the state machine; return false if it could not go the usual way
+    private boolean carryOut(CalculatorStateMachine.Action action, String digit, Operation operation,
+                             ScientificFunction function) {
+
+        switch (action) {
+
+            // Start a new number with the selected digit
+            case REPLACE_NUMBER:
+
+                display.replaceNumber(digit);
+                return true;
+
+            case APPEND_DIGIT:
+
+                display.appendDigit(digit);
+                return true;
+
+            // Only add a decimal point if the displayed number does not have one yet
+            case ADD_DECIMAL_POINT:
+
+                if (display.hasNoDecimalPoint()) {
+
+                    display.addDecimalPoint();
+                    return true;
+                }
+                return false;
+
+            /*
+             * Reset the display when only the minus sign is left (the digits of a negative number were
+             * deleted). Removing the sign would leave the display completely empty, and the next press
+             * on the +/- button would then fail to find the first character of the displayed number.
+             */
+            case CHANGE_SIGN:
+
+                if (display.onlyMinusSignIsDisplayed()) {
+
+                    display.resetDisplayedNumberString();
+                    return false;
+                }
+
+                if (display.numberIsNegative()) {
+
+                    display.removeMinusSign();
+                }
+                else {
+
+                    display.addMinusSign();
+                }
+                return true;
+
+            // Reset the display instead of deleting the last digit, to avoid completely emptying it
+            case DELETE_DIGIT:
+
+                if (display.isLastDigit()) {
+
+                    display.resetDisplayedNumberString();
+                    return false;
+                }
+                display.deleteDigit();
+                return true;
+
+            // Save the user's input as the first number and indicate which operation is selected
+            case SELECT_OPERATION:
+
+                engine.setFirstNumber(display.getDisplayedNumberEntry());
+                selectedOperation = operation;
+                setupDisplayForNextNumber(operation);
+                return true;
+
+            // The user pressed multiple operator buttons without typing in any numbers
+            case CHANGE_OPERATION:
+
+                operations.dropSelectedOperation(operation);
+                if (operations.getError() != CalculationError.NONE) {
+
+                    return showError();
+                }
+                changeOperation(operation);
+                return true;
+
+            // Carry out the selected operation and select the next one, or reset the calculator after an error
+            case EXECUTE_OPERATION:
+
+                executeOperation(operation);
+                if (operations.getError() != CalculationError.NONE) {
+
+                    return showError();
+                }
+                return true;
+
+            // Show the first number if the user hit "=" before entering the second one
+            case SHOW_FIRST_NUMBER:
+
+                operations.dropSelectedOperation(Operation.NONE);
+                if (operations.getError() != CalculationError.NONE) {
+
+                    return showError();
+                }
+                engine.showFirstNumber(display);
+                resetCalculator();
+                return true;
+
+            case SHOW_RESULT:
+
+                executeOperation(Operation.NONE);
+                if (operations.getError() != CalculationError.NONE) {
+
+                    return showError();
+                }
+                engine.showResult(display);
+                resetCalculator();
+                return true;
+
+            // Keep the number on the display ("=" was pressed without an operation) and reset the calculator
+            case RESET:
+
+                resetCalculator();
+                return true;
+
+            case CLEAR:
+
+                resetCalculator();
+                display.resetDisplayedNumberString();
+                return true;
+
+            // Replace the displayed number with the result of the function, or reset the calculator after an error
+            case APPLY_FUNCTION:
+
+                double argument = display.getDisplayedNumber();
+                double value = engine.applyFunction(function, argument);
+                CalculationError error = CalculationError.of(argument, value);
+                if (error != CalculationError.NONE) {
+
+                    resetCalculator();
+                    display.showError(error);
+                    return false;
+                }
+                display.showResult(value);
+                return true;
+
+            default:
+
+                return true;
+        }
+    }
+
+    // Find out if the input means nothing in the radix (or the number mode) of the session
+    private boolean ignores(CalculatorInput input, String digit) {
+
+        if (input == CalculatorInput.DIGIT) {
+
+            return digit.isEmpty() || !display.acceptsDigit(digit.charAt(0));
+        }
+        return (input == CalculatorInput.FUNCTION || input == CalculatorInput.DECIMAL_POINT)
+                && getNumberMode() == NumberMode.PROGRAMMER;
+    }
+
+    // Reset the calculator after an error and leave its message on the display (the action did not go the usual way)
+    private boolean showError() {
+
+        CalculationError error = operations.getError();
+        resetCalculator();
+        display.showError(error);
+        return false;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+* This file contains the CalculatorSessionPool class. It hands out CalculatorSession objects
+* to any number of threads and takes them back once a calculation is finished, so sessions
+* can be recycled instead of being created for every calculation.
+*   To keep threads from fighting over a single queue, the pool is split into a number of
+* stripes. Each thread prefers the stripe picked by its id, and only looks at the other
+* stripes when its own one is empty. Sessions are reset when they are released (see
+* CalculatorSession.reset), so the next user always gets a calculator in its default state,
+* whatever mode, order or radix the last one chose.
+ */
+package com.andrewhun.calculator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class CalculatorSessionPool {
+
+    // The stripes of idle sessions; the number of stripes is always a power of two
+    private final ConcurrentLinkedQueue<CalculatorSession>[] stripes;
+    private final int stripeMask;
+
+    // The number of sessions this pool has created so far
+    private final AtomicInteger createdSessions = new AtomicInteger();
+
+    // Create an empty pool with enough stripes for the processors of this machine
+    public CalculatorSessionPool() {
+
+        this(0);
+    }
+
+    // Create a pool that already holds the given number of idle sessions
+    @SuppressWarnings("unchecked")
+    public CalculatorSessionPool(int initialSessions) {
+
+        int stripeCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) * 2;
+        stripes = new ConcurrentLinkedQueue[stripeCount];
+        stripeMask = stripeCount - 1;
+
+        for (int i = 0; i < stripeCount; i++) {
+
+            stripes[i] = new ConcurrentLinkedQueue<>();
+        }
+
+        for (int i = 0; i < initialSessions; i++) {
+
+            stripes[i & stripeMask].offer(createSession());
+        }
+    }
+
+    // Hand out an idle session, or create a new one if there are none left
+    public CalculatorSession acquire() {
+
+        int home = homeStripe();
+        for (int i = 0; i <= stripeMask; i++) {
+
+            CalculatorSession session = stripes[(home + i) & stripeMask].poll();
+            if (session != null) {
+
+                return session;
+            }
+        }
+        return createSession();
+    }
+
+    // Take back a session that is no longer in use
+    public void release(CalculatorSession session) {
+
+        session.reset();
+        stripes[homeStripe()].offer(session);
+    }
+
+    // Find out how many sessions the pool has created
+    public int getCreatedSessions() {
+
+        return createdSessions.get();
+    }
+
+    // Find out how many sessions are waiting to be handed out (an estimate while the pool is in use)
+    public int getIdleSessions() {
+
+        int idleSessions = 0;
+        for (ConcurrentLinkedQueue<CalculatorSession> stripe : stripes) {
+
+            idleSessions += stripe.size();
+        }
+        return idleSessions;
+    }
+
+    private CalculatorSession createSession() {
+
+        createdSessions.incrementAndGet();
+        return new CalculatorSession();
+    }
+
+    // Pick the stripe the current thread should use first
+    private int homeStripe() {
+
+        long threadId = Thread.currentThread().getId();
+        return (int) (threadId ^ (threadId >>> 16)) & stripeMask;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+* This file contains the CalculatorStateMachine class, the transition table behind the buttons of the
+* calculator. Every button (or key) is an input symbol (CalculatorInput) and the calculator is always
+* in one of the InputStates. For every pair of the two the table holds the action the session has
+* to carry out and the state it ends up in, so reacting to a button is two array lookups and a single
+* switch on the action, instead of the nested checks of the display state and the selected operation
+* that used to be spread over the button handlers.
+*   Some actions depend on the number on the display: the last digit may be deleted, only a minus sign
+* may be left after a change of sign, the number may already have a decimal point, or the operation may
+* end with an error (see CalculationError). These actions report whether they went the usual way, and the table holds
+* a second state for when they did not. After an error the display shows its message, and the machine stays in
+* the ERROR state until a new number is started or the calculator is cleared.
+*   The tables are filled once, when the class is loaded, and are never changed afterwards, so every
+* session (whether it belongs to the GUI, the benchmarks or any other headless code) shares them.
+* The mapping of keyboard characters to input symbols is kept here as well.
+ */
+package com.andrewhun.calculator;
+
+import static com.andrewhun.calculator.InputState.*;
+import static com.andrewhun.calculator.CalculatorInput.*;
+
+final class CalculatorStateMachine {
+
+    // The actions the session carries out on an input
+    enum Action {
+        NOTHING, REPLACE_NUMBER, APPEND_DIGIT, ADD_DECIMAL_POINT, CHANGE_SIGN, DELETE_DIGIT,
+        SELECT_OPERATION, CHANGE_OPERATION, EXECUTE_OPERATION, SHOW_FIRST_NUMBER, SHOW_RESULT, RESET, CLEAR,
+        APPLY_FUNCTION
+    }
+
+    private static final InputState[] STATES = InputState.values();
+    private static final int INPUT_COUNT = CalculatorInput.values().length;
+
+    // The tables, indexed by the state and the input (state.ordinal() * INPUT_COUNT + input.ordinal())
+    private static final Action[] ACTIONS = new Action[STATES.length * INPUT_COUNT];
+    private static final InputState[] NEXT_STATES = new InputState[STATES.length * INPUT_COUNT];
+    private static final InputState[] FALLBACK_STATES = new InputState[STATES.length * INPUT_COUNT];
+
+    // The input symbols and the operations that belong to the characters of the keyboard (Latin-1 is enough)
+    private static final CalculatorInput[] KEY_INPUTS = new CalculatorInput[256];
+    private static final Operation[] KEY_OPERATIONS = new Operation[256];
+
+    static {
+
+        add(READY, DIGIT, Action.REPLACE_NUMBER, FIRST_NUMBER);
+        add(READY, DECIMAL_POINT, Action.ADD_DECIMAL_POINT, FIRST_NUMBER, READY);
+        add(READY, CHANGE_SIGN, Action.NOTHING, READY);
+        add(READY, BACKSPACE, Action.NOTHING, READY);
+        add(READY, OPERATOR, Action.SELECT_OPERATION, OPERATOR_SELECTED);
+        add(READY, EQUALS, Action.RESET, READY);
+        add(READY, CLEAR, Action.CLEAR, READY);
+        add(READY, FUNCTION, Action.APPLY_FUNCTION, READY, ERROR);
+
+        add(FIRST_NUMBER, DIGIT, Action.APPEND_DIGIT, FIRST_NUMBER);
+        add(FIRST_NUMBER, DECIMAL_POINT, Action.ADD_DECIMAL_POINT, FIRST_NUMBER, FIRST_NUMBER);
+        add(FIRST_NUMBER, CHANGE_SIGN, Action.CHANGE_SIGN, FIRST_NUMBER, READY);
+        add(FIRST_NUMBER, BACKSPACE, Action.DELETE_DIGIT, FIRST_NUMBER, READY);
+        add(FIRST_NUMBER, OPERATOR, Action.SELECT_OPERATION, OPERATOR_SELECTED);
+        add(FIRST_NUMBER, EQUALS, Action.RESET, READY);
+        add(FIRST_NUMBER, CLEAR, Action.CLEAR, READY);
+        add(FIRST_NUMBER, FUNCTION, Action.APPLY_FUNCTION, READY, ERROR);
+
+        /* Pressing another operator before typing the next number replaces the operator (which may carry
+        out the operations waiting for it, see OperationStack, and end with an error)*/
+        add(OPERATOR_SELECTED, DIGIT, Action.REPLACE_NUMBER, SECOND_NUMBER);
+        add(OPERATOR_SELECTED, DECIMAL_POINT, Action.ADD_DECIMAL_POINT, SECOND_NUMBER, OPERATOR_SELECTED);
+        add(OPERATOR_SELECTED, CHANGE_SIGN, Action.NOTHING, OPERATOR_SELECTED);
+        add(OPERATOR_SELECTED, BACKSPACE, Action.NOTHING, OPERATOR_SELECTED);
+        add(OPERATOR_SELECTED, OPERATOR, Action.CHANGE_OPERATION, OPERATOR_SELECTED, ERROR);
+        add(OPERATOR_SELECTED, EQUALS, Action.SHOW_FIRST_NUMBER, READY, ERROR);
+        add(OPERATOR_SELECTED, CLEAR, Action.CLEAR, READY);
+        add(OPERATOR_SELECTED, FUNCTION, Action.NOTHING, OPERATOR_SELECTED);
+
+        // An error (such as a division by zero) resets the calculator and leaves its message on the display
+        add(SECOND_NUMBER, DIGIT, Action.APPEND_DIGIT, SECOND_NUMBER);
+        add(SECOND_NUMBER, DECIMAL_POINT, Action.ADD_DECIMAL_POINT, SECOND_NUMBER, SECOND_NUMBER);
+        add(SECOND_NUMBER, CHANGE_SIGN, Action.CHANGE_SIGN, SECOND_NUMBER, OPERATOR_SELECTED);
+        add(SECOND_NUMBER, BACKSPACE, Action.DELETE_DIGIT, SECOND_NUMBER, OPERATOR_SELECTED);
+        add(SECOND_NUMBER, OPERATOR, Action.EXECUTE_OPERATION, OPERATOR_SELECTED, ERROR);
+        add(SECOND_NUMBER, EQUALS, Action.SHOW_RESULT, READY, ERROR);
+        add(SECOND_NUMBER, CLEAR, Action.CLEAR, READY);
+        add(SECOND_NUMBER, FUNCTION, Action.APPLY_FUNCTION, FUNCTION_RESULT, ERROR);
+
+        /* The result of a function stands in for the second number: the next digit starts a new one, and it
+        can only be changed by applying another function to it*/
+        add(FUNCTION_RESULT, DIGIT, Action.REPLACE_NUMBER, SECOND_NUMBER);
+        add(FUNCTION_RESULT, DECIMAL_POINT, Action.ADD_DECIMAL_POINT, SECOND_NUMBER, FUNCTION_RESULT);
+        add(FUNCTION_RESULT, CHANGE_SIGN, Action.NOTHING, FUNCTION_RESULT);
+        add(FUNCTION_RESULT, BACKSPACE, Action.NOTHING, FUNCTION_RESULT);
+        add(FUNCTION_RESULT, OPERATOR, Action.EXECUTE_OPERATION, OPERATOR_SELECTED, ERROR);
+        add(FUNCTION_RESULT, EQUALS, Action.SHOW_RESULT, READY, ERROR);
+        add(FUNCTION_RESULT, CLEAR, Action.CLEAR, READY);
+        add(FUNCTION_RESULT, FUNCTION, Action.APPLY_FUNCTION, FUNCTION_RESULT, ERROR);
+
+        /* The message of an error is not a number: a digit or a decimal point starts a new one, backspace resets
+        the display to 0 like "C" does, and the operators, the change of sign and the functions are ignored*/
+        add(ERROR, DIGIT, Action.REPLACE_NUMBER, FIRST_NUMBER);
+        add(ERROR, DECIMAL_POINT, Action.ADD_DECIMAL_POINT, FIRST_NUMBER, ERROR);
+        add(ERROR, CHANGE_SIGN, Action.NOTHING, ERROR);
+        add(ERROR, BACKSPACE, Action.CLEAR, READY);
+        add(ERROR, OPERATOR, Action.NOTHING, ERROR);
+        add(ERROR, EQUALS, Action.NOTHING, ERROR);
+        add(ERROR, CLEAR, Action.CLEAR, READY);
+        add(ERROR, FUNCTION, Action.NOTHING, ERROR);
+
+        for (int i = 0; i < ACTIONS.length; i++) {
+
+            if (ACTIONS[i] == null) {
+
+                throw new IllegalStateException("The transition table has no entry for "
+                        + STATES[i / INPUT_COUNT] + " and " + CalculatorInput.values()[i % INPUT_COUNT]);
+            }
+        }
+
+        for (char digit = '0'; digit <= '9'; digit++) {
+
+            addKey(digit, DIGIT, Operation.NONE);
+        }
+
+        // The hexadecimal digits of the PROGRAMMER mode (the session ignores them in the other radices)
+        for (char digit = 'A'; digit <= 'F'; digit++) {
+
+            addKey(digit, DIGIT, Operation.NONE);
+            addKey(Character.toLowerCase(digit), DIGIT, Operation.NONE);
+        }
+        addKey('.', DECIMAL_POINT, Operation.NONE);
+        addKey(',', DECIMAL_POINT, Operation.NONE);
+        addKey('+', OPERATOR, Operation.ADDITION);
+        addKey('-', OPERATOR, Operation.SUBTRACTION);
+        addKey('*', OPERATOR, Operation.MULTIPLICATION);
+        addKey('/', OPERATOR, Operation.DIVISION);
+        addKey('%', OPERATOR, Operation.MODULO);
+        addKey('&', OPERATOR, Operation.AND);
+        addKey('|', OPERATOR, Operation.OR);
+        addKey('^', OPERATOR, Operation.XOR);
+        addKey('<', OPERATOR, Operation.SHIFT_LEFT);
+        addKey('>', OPERATOR, Operation.SHIFT_RIGHT);
+
+        // The rotations have the symbols of the top display, so a pasted chain reads the way it is shown
+        addKey('\u00ab', OPERATOR, Operation.ROTATE_LEFT);
+        addKey('\u00bb', OPERATOR, Operation.ROTATE_RIGHT);
+        addKey('=', EQUALS, Operation.NONE);
+        addKey('\n', EQUALS, Operation.NONE);
+        addKey('\r', EQUALS, Operation.NONE);
+        addKey('\b', BACKSPACE, Operation.NONE);
+        addKey('\u001b', CLEAR, Operation.NONE);
+    }
+
+    private CalculatorStateMachine() {}
+
+    // The action to carry out on the input in the given state
+    static Action action(InputState state, CalculatorInput input) {
+
+        return ACTIONS[state.ordinal() * INPUT_COUNT + input.ordinal()];
+    }
+
+    // The state after the action, depending on whether it went the usual way
+    static InputState nextState(InputState state, CalculatorInput input, boolean completed) {
+
+        int index = state.ordinal() * INPUT_COUNT + input.ordinal();
+        return completed ? NEXT_STATES[index] : FALLBACK_STATES[index];
+    }
+
+    // The input symbol of a key typed on the keyboard, or null if the key means nothing to the calculator
+    static CalculatorInput inputForKey(char key) {
+
+        return key < KEY_INPUTS.length ? KEY_INPUTS[key] : null;
+    }
+
+    // The operation of an operator key (NONE for every other key)
+    static Operation operationForKey(char key) {
+
+        return key < KEY_OPERATIONS.length && KEY_OPERATIONS[key] != null ? KEY_OPERATIONS[key] : Operation.NONE;
+    }
+
+    // Add a transition whose action always goes the usual way
+    private static void add(InputState state, CalculatorInput input, Action action, InputState nextState) {
+
+        add(state, input, action, nextState, nextState);
+    }
+
+    private static void add(InputState state, CalculatorInput input, Action action, InputState nextState,
+                            InputState fallbackState) {
+
+        int index = state.ordinal() * INPUT_COUNT + input.ordinal();
+        ACTIONS[index] = action;
+        NEXT_STATES[index] = nextState;
+        FALLBACK_STATES[index] = fallbackState;
+    }
+
+    private static void addKey(char key, CalculatorInput input, Operation operation) {
+
+        KEY_INPUTS[key] = input;
+        KEY_OPERATIONS[key] = operation;
+    }
+}
@@ -0,0 +1,285 @@
+/*
+* This file contains the DecimalAccumulator class. It builds up a decimal number one character
+* at a time (digits, a decimal point, a sign and an optional exponent), keeping the digits in a
+* long mantissa and the position of the decimal point in a power-of-ten exponent. This way the
+* value of a number can be worked out without creating a String and calling Double.parseDouble.
+*   Numbers whose mantissa and power of ten can both be represented exactly as doubles are
+* converted with a single multiplication or division (the "fast path" described by William D.
+* Clinger). The rest are converted with the algorithm of Michael Eisel and Daniel Lemire, which
+* multiplies the mantissa by a 128 bit approximation of the power of ten. Both give exactly the same
+* double as Double.parseDouble. In the rare cases neither of them can decide (a number with more
+* than 18 significant digits, or a product too close to halfway between two doubles) toDouble
+* returns NaN, and the caller has to parse the text of the number instead.
+*   The last digit can be taken back again, so the accumulator can follow a number while it is
+* being typed in and corrected with backspace.
+ */
+package com.andrewhun.calculator;
+
+public class DecimalAccumulator {
+
+    // The largest mantissa that a double can represent exactly
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    // The number of digits that always fit into a long
+    private static final int MAX_MANTISSA_DIGITS = 18;
+
+    // The powers of ten that a double can represent exactly
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // The value of the number is (negative ? -1 : 1) * mantissa * 10^exponent
+    private long mantissa;
+    private int exponent;
+    private boolean negative;
+
+    // The number of digits stored in the mantissa, not counting leading zeros
+    private int mantissaDigits;
+
+    private boolean hasDecimalPoint;
+
+    // Set when a non-zero digit did not fit into the mantissa
+    private boolean truncated;
+
+    // The number of digits that did not fit into the mantissa
+    private int droppedDigits;
+
+    // Start a new number
+    public void reset() {
+
+        mantissa = 0;
+        exponent = 0;
+        negative = false;
+        mantissaDigits = 0;
+        hasDecimalPoint = false;
+        truncated = false;
+        droppedDigits = 0;
+    }
+
+    // Add the next digit (0-9) of the number
+    public void appendDigit(int digit) {
+
+        if (mantissaDigits < MAX_MANTISSA_DIGITS) {
+
+            mantissa = mantissa * 10 + digit;
+            if (mantissa != 0) {
+
+                mantissaDigits++;
+            }
+            if (hasDecimalPoint) {
+
+                exponent--;
+            }
+        }
+
+        // Digits that do not fit only shift the decimal point (before it) or get dropped (after it)
+        else {
+
+            truncated |= digit != 0;
+            droppedDigits++;
+            if (!hasDecimalPoint) {
+
+                exponent++;
+            }
+        }
+    }
+
+    /* Take back the last digit. This is only possible as long as every digit fit into the mantissa;
+    otherwise false is returned and the number has to be accumulated again from the start.*/
+    public boolean removeLastDigit() {
+
+        if (droppedDigits > 0) {
+
+            return false;
+        }
+        if (mantissa != 0) {
+
+            mantissaDigits--;
+        }
+        mantissa /= 10;
+
+        // Every digit after the decimal point moved the decimal point by one place
+        if (hasDecimalPoint && exponent < 0) {
+
+            exponent++;
+        }
+        return true;
+    }
+
+    // Mark the position of the decimal point
+    public void addDecimalPoint() {
+
+        hasDecimalPoint = true;
+    }
+
+    // Take back the decimal point (only once the digits after it have been taken back)
+    public void removeDecimalPoint() {
+
+        hasDecimalPoint = false;
+    }
+
+    public boolean hasDecimalPoint() {
+
+        return hasDecimalPoint;
+    }
+
+    public void setNegative(boolean isNegative) {
+
+        negative = isNegative;
+    }
+
+    public boolean isNegative() {
+
+        return negative;
+    }
+
+    // Apply the exponent written after an "E" in scientific notation
+    public void addExponent(int writtenExponent) {
+
+        exponent += writtenExponent;
+    }
+
+    public long getMantissa() {
+
+        return mantissa;
+    }
+
+    public int getExponent() {
+
+        return exponent;
+    }
+
+    // Find out if the number is zero, whatever its sign or number of decimal places
+    public boolean isZero() {
+
+        return mantissa == 0 && !truncated;
+    }
+
+    // Find out if toDouble() gives exactly the same value as Double.parseDouble would
+    public boolean fitsFastPath() {
+
+        if (mantissa == 0) {
+
+            return !truncated;
+        }
+        return !truncated && mantissa <= MAX_EXACT_MANTISSA
+                && exponent >= -22 && exponent <= 22;
+    }
+
+    /* Convert the number to a double, giving exactly the same value as Double.parseDouble, or NaN
+    if the number has to be parsed from its text instead.*/
+    public double toDouble() {
+
+        if (mantissa == 0 && !truncated) {
+
+            return negative ? -0.0 : 0.0;
+        }
+        if (truncated) {
+
+            return Double.NaN;
+        }
+        if (!fitsFastPath()) {
+
+            return toDoubleEiselLemire();
+        }
+
+        // A single multiplication or division of two exactly represented values is correctly rounded
+        double value = mantissa;
+        if (exponent < 0) {
+
+            value /= POWERS_OF_TEN[-exponent];
+        }
+        else if (exponent > 0) {
+
+            value *= POWERS_OF_TEN[exponent];
+        }
+        return negative ? -value : value;
+    }
+
+    /* Convert the number with the Eisel-Lemire algorithm, as described by Nigel Tao ("The Eisel-Lemire
+    ParseNumberF64 Algorithm", 2020). Returns NaN when the 128 bit approximation of the power of ten
+    is not precise enough to decide the rounding.*/
+    private double toDoubleEiselLemire() {
+
+        if (exponent < DecimalAccumulatorTable.MIN_EXPONENT) {
+
+            return negative ? -0.0 : 0.0;
+        }
+        if (exponent > DecimalAccumulatorTable.MAX_EXPONENT) {
+
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+
+        // Normalize the mantissa, so its highest bit is set
+        int leadingZeros = Long.numberOfLeadingZeros(mantissa);
+        long normalizedMantissa = mantissa << leadingZeros;
+        long binaryExponent = ((217_706L * exponent) >> 16) + 64 + 1023 - leadingZeros;
+
+        // Multiply by the higher 64 bits of the power of ten
+        long powerHigh = DecimalAccumulatorTable.high(exponent);
+        long productHigh = unsignedMultiplyHigh(normalizedMantissa, powerHigh);
+        long productLow = normalizedMantissa * powerHigh;
+
+        // If the lower bits might carry into the ones that matter, take the lower 64 bits of the power into account
+        if ((productHigh & 0x1FF) == 0x1FF && Long.compareUnsigned(productLow + normalizedMantissa, normalizedMantissa) < 0) {
+
+            long powerLow = DecimalAccumulatorTable.low(exponent);
+            long lowProductHigh = unsignedMultiplyHigh(normalizedMantissa, powerLow);
+            long lowProductLow = normalizedMantissa * powerLow;
+
+            long mergedHigh = productHigh;
+            long mergedLow = productLow + lowProductHigh;
+            if (Long.compareUnsigned(mergedLow, productLow) < 0) {
+
+                mergedHigh++;
+            }
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow == -1L
+                    && Long.compareUnsigned(lowProductLow + normalizedMantissa, normalizedMantissa) < 0) {
+
+                return Double.NaN;
+            }
+            productHigh = mergedHigh;
+            productLow = mergedLow;
+        }
+
+        // Keep the 54 most significant bits of the product
+        long mostSignificantBit = productHigh >>> 63;
+        long significand = productHigh >>> (mostSignificantBit + 9);
+        binaryExponent -= 1 ^ mostSignificantBit;
+
+        // The product may be exactly halfway between two doubles, which the approximation cannot tell
+        if (productLow == 0 && (productHigh & 0x1FF) == 0 && (significand & 3) == 1) {
+
+            return Double.NaN;
+        }
+
+        // Round to 53 bits
+        significand += significand & 1;
+        significand >>>= 1;
+        if ((significand >>> 53) > 0) {
+
+            significand >>>= 1;
+            binaryExponent++;
+        }
+
+        // Subnormal numbers and infinity are left to Double.parseDouble
+        if (binaryExponent <= 0 || binaryExponent >= 0x7FF) {
+
+            return Double.NaN;
+        }
+
+        long bits = binaryExponent << 52 | significand & 0x000F_FFFF_FFFF_FFFFL;
+        if (negative) {
+
+            bits |= Long.MIN_VALUE;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    // The higher 64 bits of the product of two unsigned longs
+    private static long unsignedMultiplyHigh(long first, long second) {
+
+        return Math.multiplyHigh(first, second) + ((first >> 63) & second) + ((second >> 63) & first);
+    }
+}
@@ -0,0 +1,355 @@
+/*
+* This file contains the DecimalArithmetic class, the arithmetic of the DECIMAL number mode. Numbers are
+* calculated as decimals, with as many digits as the MathContext of the engine allows (34 by default, see
+* MathContext.DECIMAL128), so 0.1 + 0.2 is 0.3 and not 0.30000000000000004.
+*   BigDecimals are slow, though, and most numbers typed into a calculator are short enough for a double
+* to hold them exactly (whole numbers, and fractions such as 0.5 or 2.25). Such numbers are kept as
+* doubles only, and before an operation is carried out with BigDecimals, it is carried out with the
+* doubles: if the result is exact (checked with the error term of the sum or Math.fma for the product
+* and the quotient) and still short, it is the same number BigDecimal would have given, and no BigDecimal
+* is created at all. Every other number keeps its BigDecimal, and a BigDecimal result that turns out to
+* be short again (0.1 + 0.9, for example) goes back to being a double.
+*   "Short" means at most 15 significant digits (a whole number below 10^15, or a number below 10^5 with
+* at most 10 binary digits after the point), so the fast path gives the same result as BigDecimal for
+* every MathContext with at least that many digits. A MathContext with fewer digits turns it off.
+*   The double kept next to a BigDecimal is worked out from its unscaled value and a power of ten, which
+* may be off by up to two units in the last place. BigDecimal.doubleValue would give the nearest double,
+* but it writes out and parses the digits of every decimal longer than 15 digits, which takes several
+* times longer than the operation itself. It is still used when the unscaled value is too large for a
+* double. A result beyond the range of a double is an overflow, the same as in the other modes, even
+* though the BigDecimal could hold it.
+ */
+package com.andrewhun.calculator;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+final class DecimalArithmetic extends ExactArithmetic {
+
+    // The digits a MathContext needs for the double fast path (see isShortDouble)
+    private static final int FAST_PATH_DIGITS = 15;
+
+    // The exponents of the results shown with plain digits (the others are shown as 1.5E+40)
+    private static final int MIN_PLAIN_EXPONENT = -7;
+    private static final int MAX_PLAIN_EXPONENT = 40;
+
+    // The powers of ten a double can hold (the nearest doubles to them, above 10^22)
+    private static final double[] POWERS_OF_TEN = new double[309];
+
+    static {
+
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+
+            POWERS_OF_TEN[i] = Double.parseDouble("1e" + i);
+        }
+    }
+
+    private MathContext mathContext = MathContext.DECIMAL128;
+    private boolean fastPath = true;
+
+    // Each number as a double, and as a BigDecimal only if the double is not exactly the number
+    private double firstNumber;
+    private double secondNumber;
+    private double result;
+
+    private BigDecimal firstDecimal;
+    private BigDecimal secondDecimal;
+    private BigDecimal resultDecimal;
+
+    @Override
+    void setMathContext(MathContext newMathContext) {
+
+        mathContext = newMathContext;
+        fastPath = newMathContext.getPrecision() == 0 || newMathContext.getPrecision() >= FAST_PATH_DIGITS;
+    }
+
+    // A double is taken as the decimal Double.toString gives for it, so 0.1 is 0.1
+    @Override
+    void setFirstNumber(double value) {
+
+        firstNumber = value;
+        firstDecimal = toDecimal(value);
+    }
+
+    @Override
+    void setFirstNumber(NumberEntryBuffer number) {
+
+        firstNumber = number.getValue();
+        firstDecimal = number.hasExactValue() && isShortDouble(firstNumber) ? null : number.toBigDecimal();
+    }
+
+    @Override
+    void setSecondNumber(double value) {
+
+        secondNumber = value;
+        secondDecimal = toDecimal(value);
+    }
+
+    @Override
+    void setSecondNumber(NumberEntryBuffer number) {
+
+        secondNumber = number.getValue();
+        secondDecimal = number.hasExactValue() && isShortDouble(secondNumber) ? null : number.toBigDecimal();
+    }
+
+    @Override
+    void setSecondNumber(ExactArithmetic other) {
+
+        DecimalArithmetic source = (DecimalArithmetic) other;
+        secondNumber = source.firstNumber;
+        secondDecimal = source.firstDecimal;
+    }
+
+    @Override
+    CalculationError executeOperation(Operation selectedOperation) {
+
+        resultDecimal = null;
+        if (!isBasicOperation(selectedOperation)) {
+
+            result = CalculationEngine.calculate(selectedOperation, firstNumber, secondNumber);
+            resultDecimal = toDecimal(result);
+            return CalculationError.of(selectedOperation, secondNumber, result);
+        }
+        if (selectedOperation == Operation.DIVISION
+                && (secondDecimal == null ? secondNumber == 0.0 : secondDecimal.signum() == 0)) {
+
+            result = CalculationEngine.calculate(selectedOperation, firstNumber, secondNumber);
+            return CalculationError.DIVISION_BY_ZERO;
+        }
+
+        if (firstDecimal == null && secondDecimal == null) {
+
+            if (fastPath && calculateWithDoubles(selectedOperation)) {
+
+                return CalculationError.NONE;
+            }
+
+            // Infinity and NaN (which can only come from the setters) have no decimal
+            if (!Double.isFinite(firstNumber) || !Double.isFinite(secondNumber)) {
+
+                result = CalculationEngine.calculate(selectedOperation, firstNumber, secondNumber);
+                return CalculationError.of(selectedOperation, secondNumber, result);
+            }
+        }
+
+        try {
+
+            BigDecimal decimal = calculateWithDecimals(selectedOperation,
+                    firstDecimal != null ? firstDecimal : new BigDecimal(firstNumber),
+                    secondDecimal != null ? secondDecimal : new BigDecimal(secondNumber));
+            result = toDouble(decimal);
+            if (!Double.isFinite(result)) {
+
+                return CalculationError.OVERFLOW;
+            }
+
+            // Keep the decimal, unless the double is the same number
+            if (!isShortDouble(result) || decimal.compareTo(new BigDecimal(result)) != 0) {
+
+                resultDecimal = decimal;
+            }
+            return CalculationError.NONE;
+        }
+
+        // The exponent of the result does not fit into an int
+        catch (ArithmeticException overflow) {
+
+            result = CalculationEngine.calculate(selectedOperation, firstNumber, secondNumber);
+            return CalculationError.OVERFLOW;
+        }
+    }
+
+    @Override
+    double getFirstNumber() {
+
+        return firstNumber;
+    }
+
+    @Override
+    double getSecondNumber() {
+
+        return secondNumber;
+    }
+
+    @Override
+    double getResult() {
+
+        return result;
+    }
+
+    @Override
+    void useResultAsFirstNumber() {
+
+        firstNumber = result;
+        firstDecimal = resultDecimal;
+    }
+
+    @Override
+    void showFirstNumber(CalculatorDisplay display) {
+
+        show(display, firstNumber, firstDecimal);
+    }
+
+    @Override
+    void showResult(CalculatorDisplay display) {
+
+        show(display, result, resultDecimal);
+    }
+
+    @Override
+    void resetNumbers() {
+
+        firstNumber = 0.0;
+        secondNumber = 0.0;
+        result = 0.0;
+        firstDecimal = null;
+        secondDecimal = null;
+        resultDecimal = null;
+    }
+
+    // Calculate the result as a double; return false if the double result is not exact (or not short)
+    private boolean calculateWithDoubles(Operation selectedOperation) {
+
+        switch (selectedOperation) {
+
+            case ADDITION:
+
+                return calculateSum(firstNumber, secondNumber);
+
+            case SUBTRACTION:
+
+                return calculateSum(firstNumber, -secondNumber);
+
+            case MULTIPLICATION:
+
+                result = firstNumber * secondNumber;
+                return Math.fma(firstNumber, secondNumber, -result) == 0.0 && isShortDouble(result);
+
+            // The quotient is exact if multiplying it back gives the first number without any rounding
+            case DIVISION:
+
+                result = firstNumber / secondNumber;
+                return Math.fma(result, secondNumber, -firstNumber) == 0.0 && isShortDouble(result);
+
+            default:
+
+                result = firstNumber;
+                return true;
+        }
+    }
+
+    // Add the numbers, and find the rounding error of the sum the same way Knuth's TwoSum does
+    private boolean calculateSum(double a, double b) {
+
+        result = a + b;
+        double roundedB = result - a;
+        double error = (a - (result - roundedB)) + (b - roundedB);
+        return error == 0.0 && isShortDouble(result);
+    }
+
+    private BigDecimal calculateWithDecimals(Operation selectedOperation, BigDecimal first, BigDecimal second) {
+
+        switch (selectedOperation) {
+
+            case ADDITION:
+
+                return first.add(second, mathContext);
+
+            case SUBTRACTION:
+
+                return first.subtract(second, mathContext);
+
+            case MULTIPLICATION:
+
+                return first.multiply(second, mathContext);
+
+            case DIVISION:
+
+                return divide(first, second);
+
+            default:
+
+                return first;
+        }
+    }
+
+    /* Divide with the MathContext. An unlimited MathContext cannot hold a quotient such as 1 / 3,
+    which is rounded to the digits of DECIMAL128 instead.*/
+    private BigDecimal divide(BigDecimal first, BigDecimal second) {
+
+        if (mathContext.getPrecision() != 0) {
+
+            return first.divide(second, mathContext);
+        }
+
+        try {
+
+            return first.divide(second);
+        }
+        catch (ArithmeticException nonTerminatingQuotient) {
+
+            return first.divide(second, MathContext.DECIMAL128);
+        }
+    }
+
+    // Show a number: doubles the same way as in the other modes (but whole numbers with every digit)
+    private static void show(CalculatorDisplay display, double number, BigDecimal decimal) {
+
+        if (decimal != null) {
+
+            display.showResult(format(decimal));
+        }
+        else if (number == Math.rint(number) && Math.abs(number) < 0x1p63) {
+
+            display.showResult((long) number);
+        }
+        else {
+
+            display.showResult(number);
+        }
+    }
+
+    // Write a decimal without trailing zeros, with plain digits unless its exponent is very large or small
+    static String format(BigDecimal decimal) {
+
+        BigDecimal stripped = decimal.stripTrailingZeros();
+        int exponent = stripped.precision() - stripped.scale() - 1;
+        if (exponent >= MIN_PLAIN_EXPONENT && exponent < MAX_PLAIN_EXPONENT) {
+
+            return stripped.toPlainString();
+        }
+        return stripped.toString();
+    }
+
+    // Turn a decimal into a double, without writing out its digits (unless there are too many for a double)
+    private static double toDouble(BigDecimal decimal) {
+
+        int scale = decimal.scale();
+        if (scale < 0 || scale >= POWERS_OF_TEN.length) {
+
+            return decimal.doubleValue();
+        }
+        double value = decimal.unscaledValue().doubleValue() / POWERS_OF_TEN[scale];
+        return Double.isFinite(value) ? value : decimal.doubleValue();
+    }
+
+    // The decimal of a double from the setters, or null if the double is short (or has no decimal at all)
+    private static BigDecimal toDecimal(double value) {
+
+        return isShortDouble(value) || !Double.isFinite(value) ? null : BigDecimal.valueOf(value);
+    }
+
+    /* Find out if a double holds a short number: a whole number below 10^15, or a number below 10^5
+    with at most 10 binary digits after the point. Either way the number has at most 15 significant
+    digits, so any MathContext with FAST_PATH_DIGITS digits holds it without rounding.*/
+    private static boolean isShortDouble(double value) {
+
+        double absoluteValue = Math.abs(value);
+        if (absoluteValue < 1e15 && value == Math.rint(value)) {
+
+            return true;
+        }
+        double scaledValue = value * 1024.0;
+        return absoluteValue < 1e5 && scaledValue == Math.rint(scaledValue);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+* This file contains the DisplayHandler class, which is responsible for handling the calculator's
+* display element. The Controller class relays relevant information to the user through the
+* usage of the member data and functions of this class. The purpose of creating this class
+* (along with the CalculationHandler class), was to reduce the overall complexity of the application.
+* The DisplayHandler class is equipped with basic getter and setter functions for all of its variables,
+* as well as functions that carry out specific tasks on the display (such as displaying new
+* operations and changing existing ones). To simplify the process of resetting the calculator
+* when the user requests it, reset functions were also created for individual variables.
+*   The display strings themselves are kept by a CalculatorDisplay instance. This class is a static
+* facade over the display that belongs to the session shown in the GUI; other sessions have
+* displays of their own.
+*   The hexadecimal, octal and binary digits of the PROGRAMMER number mode are typed in through the
+* same functions as the decimal ones, once the radix of the display is set.
+ */
+package com.andrewhun.calculator;
+
+ public class DisplayHandler {
+
+     // The display behind the static functions of this class
+     private static final CalculatorDisplay display = new CalculatorDisplay();
+
+     // Grant access to the display behind the facade
+     public static CalculatorDisplay getDisplay() {
+
+         return display;
+     }
+
+     // Create setters, getters and reset functions for the class member data
+     public static String getTopDisplayString() {
+
+         return display.getTopDisplayString();
+     }
+
+     public static void setTopDisplayString(String newOperation) {
+
+         display.setTopDisplayString(newOperation);
+     }
+
+     public static void resetTopDisplayString() {
+
+         display.resetTopDisplayString();
+     }
+
+     public static String getDisplayedNumberString() {
+
+         return display.getDisplayedNumberString();
+     }
+
+     public static void setDisplayedNumberString(String newNumber) {
+
+         display.setDisplayedNumberString(newNumber);
+     }
+
+     public static void resetDisplayedNumberString () {
+
+         display.resetDisplayedNumberString();
+     }
+
+     // Append the selected digit to the displayed number
+     public static void appendDigit(String selectedDigit) {
+
+         display.appendDigit(selectedDigit);
+     }
+
+     // Replace the currently displayed number with the selected digit
+     public static void replaceNumber(String selectedDigit) {
+
+         display.replaceNumber(selectedDigit);
+     }
+
+     public static void showErrorMessage(String errorMessage) {
+
+         display.showErrorMessage(errorMessage);
+     }
+
+     // Decide if the currently displayed number has only one digit
+     public static Boolean isLastDigit() {
+
+         return display.isLastDigit();
+     }
+
+     // Delete the last digit of the currently displayed number
+     public static void deleteDigit() {
+
+         display.deleteDigit();
+     }
+
+     // Find out if the user has deleted the number which had a minus sign assigned
+     public static Boolean onlyMinusSignIsDisplayed(){
+
+         return display.onlyMinusSignIsDisplayed();
+     }
+
+     // Find out if the displayed number is positive or negative
+     public static Boolean numberIsNegative() {
+
+         return display.numberIsNegative();
+     }
+
+     // Add a minus sign to the displayed number
+     public static void addMinusSign() {
+
+         display.addMinusSign();
+     }
+
+     // Remove the minus sign from the displayed number
+     public static void removeMinusSign() {
+
+         display.removeMinusSign();
+     }
+
+     // Find out if the displayed number is has a decimal point
+     public static Boolean hasNoDecimalPoint() {
+
+         return display.hasNoDecimalPoint();
+     }
+
+     // Add a decimal point to the displayed number
+     public static void addDecimalPoint() {
+
+         display.addDecimalPoint();
+     }
+
+     // Add the selected number and operation to the top display
+     public static void addOperationToDisplay(Operation newOperation) {
+
+         display.addOperationToDisplay(newOperation);
+     }
+
+     // Change the operation shown on the top display
+     public static void changeDisplayedOperation(Operation newOperation) {
+
+         display.changeDisplayedOperation(newOperation);
+     }
+
+     // Find out if the top display is empty
+     public static Boolean topDisplayIsNotEmpty() {
+
+         return display.topDisplayIsNotEmpty();
+     }
+
+     // Find out if the user is trying to divide numbers by zero
+     public static Boolean denominatorIsZero() {
+
+         return display.denominatorIsZero();
+     }
+
+     // Find out if there was a division by zero error during the calculation
+     public static Boolean errorFreeCalculation() {
+
+         return display.errorFreeCalculation();
+     }
+
+     // Show the result of the calculation
+     public static void showResult(String result) {
+
+         display.showResult(result);
+     }
+
+     public static Radix getRadix() {
+
+         return display.getRadix();
+     }
+
+     // Show the displayed number in another radix, and take the digits of that radix from now on
+     public static void setRadix(Radix newRadix) {
+
+         display.setRadix(newRadix);
+     }
+
+     // Find out if the selected digit can be typed in the radix of the display
+     public static Boolean acceptsDigit(String selectedDigit) {
+
+         return !selectedDigit.isEmpty() && display.acceptsDigit(selectedDigit.charAt(0));
+     }
+
+     // Get the displayed number in any radix, for showing all of them at once
+     public static String getDisplayedNumberString(Radix radix) {
+
+         return display.getDisplayedWordString(radix);
+     }
+}
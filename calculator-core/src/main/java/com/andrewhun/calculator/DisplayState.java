@@ -0,0 +1,9 @@
+package com.andrewhun.calculator;
+/*
+* This enum contains the possible states the calculator's display can have:
+* either it is default (displaying 0, the result of a calculation or an error message)
+* or it is changed, meaning the user is in the middle of a calculation (presumably).
+* FUNCTION_RESULT means the display shows the result of a scientific function, which
+* is the second number of the selected operation, but cannot be typed on any further.
+ */
+public enum DisplayState {DEFAULT, CHANGED, FUNCTION_RESULT}
@@ -0,0 +1,219 @@
+/*
+* This file contains the DoubleDoubleArithmetic class, the arithmetic of the DOUBLE_DOUBLE number mode.
+* Every number is kept as the unevaluated sum of two doubles, the high part (the nearest double to the
+* number) and the low part (what is left of the number after the high part), which gives about 106 bits
+* of precision, twice as many as a double. The operations are built on two error-free transformations:
+* TwoSum, which gives the rounding error of a sum with a few more additions, and TwoProduct, which gets
+* the rounding error of a product from a single Math.fma. A long column of additions therefore does not
+* drift the way it does with doubles: adding 0.1 ten times gives 1, not 0.9999999999999999.
+*   The operations allocate nothing and involve no BigDecimal, so an operation costs a few times as much as
+* with a double (about 20 floating point operations for an addition, a few more for a division). Reading a
+* number from the display does not need one either, as long as it has at most 15 digits; the low part of a
+* longer one is worked out with a BigDecimal (see NumberEntryBuffer.getValueError). The results are shown
+* (and handed to the code that only knows doubles) as their high part, which is the nearest double to the
+* result. The algorithms are the ones of the QD library of Hida, Li and Bailey.
+ */
+package com.andrewhun.calculator;
+
+final class DoubleDoubleArithmetic extends ExactArithmetic {
+
+    // The high and the low part of each number
+    private double firstHigh;
+    private double firstLow;
+    private double secondHigh;
+    private double secondLow;
+    private double resultHigh;
+    private double resultLow;
+
+    // The high and the low part of the last two-part result of a helper function
+    private double high;
+    private double low;
+
+    @Override
+    void setFirstNumber(double value) {
+
+        firstHigh = value;
+        firstLow = 0.0;
+    }
+
+    // The digits on the display give the low part as well (0.1 is more than the double 0.1)
+    @Override
+    void setFirstNumber(NumberEntryBuffer number) {
+
+        firstHigh = number.getValue();
+        firstLow = Double.isFinite(firstHigh) ? number.getValueError() : 0.0;
+    }
+
+    @Override
+    void setSecondNumber(double value) {
+
+        secondHigh = value;
+        secondLow = 0.0;
+    }
+
+    @Override
+    void setSecondNumber(NumberEntryBuffer number) {
+
+        secondHigh = number.getValue();
+        secondLow = Double.isFinite(secondHigh) ? number.getValueError() : 0.0;
+    }
+
+    @Override
+    void setSecondNumber(ExactArithmetic other) {
+
+        DoubleDoubleArithmetic source = (DoubleDoubleArithmetic) other;
+        secondHigh = source.firstHigh;
+        secondLow = source.firstLow;
+    }
+
+    @Override
+    CalculationError executeOperation(Operation selectedOperation) {
+
+        switch (selectedOperation) {
+
+            case ADDITION:
+
+                add(firstHigh, firstLow, secondHigh, secondLow);
+                break;
+
+            case SUBTRACTION:
+
+                add(firstHigh, firstLow, -secondHigh, -secondLow);
+                break;
+
+            case MULTIPLICATION:
+
+                multiply(firstHigh, firstLow, secondHigh, secondLow);
+                break;
+
+            case DIVISION:
+
+                divide(firstHigh, firstLow, secondHigh, secondLow);
+                break;
+
+            case NONE:
+
+                high = firstHigh;
+                low = firstLow;
+                break;
+
+            // MODULO, the bitwise operations and POWER are left to the doubles
+            default:
+
+                high = CalculationEngine.calculate(selectedOperation, firstHigh, secondHigh);
+                low = 0.0;
+        }
+
+        resultHigh = high;
+        resultLow = low;
+
+        // Infinite and NaN results (and the NaN low parts that come with them) are left to the doubles
+        if (!Double.isFinite(resultHigh) || !Double.isFinite(resultLow)) {
+
+            resultHigh = CalculationEngine.calculate(selectedOperation, firstHigh, secondHigh);
+            resultLow = 0.0;
+        }
+        return CalculationError.of(selectedOperation, secondHigh, resultHigh);
+    }
+
+    @Override
+    double getFirstNumber() {
+
+        return firstHigh;
+    }
+
+    @Override
+    double getSecondNumber() {
+
+        return secondHigh;
+    }
+
+    @Override
+    double getResult() {
+
+        return resultHigh;
+    }
+
+    // The low part of the result (for testing the precision of the mode)
+    double getResultLow() {
+
+        return resultLow;
+    }
+
+    @Override
+    void useResultAsFirstNumber() {
+
+        firstHigh = resultHigh;
+        firstLow = resultLow;
+    }
+
+    @Override
+    void showFirstNumber(CalculatorDisplay display) {
+
+        display.showResult(firstHigh);
+    }
+
+    @Override
+    void showResult(CalculatorDisplay display) {
+
+        display.showResult(resultHigh);
+    }
+
+    @Override
+    void resetNumbers() {
+
+        firstHigh = 0.0;
+        firstLow = 0.0;
+        secondHigh = 0.0;
+        secondLow = 0.0;
+        resultHigh = 0.0;
+        resultLow = 0.0;
+    }
+
+    // Add two numbers: the high parts with TwoSum, then the low parts, with the error of each sum kept
+    private void add(double aHigh, double aLow, double bHigh, double bLow) {
+
+        twoSum(aHigh, bHigh);
+        double sumHigh = high;
+        double sumLow = low;
+        twoSum(aLow, bLow);
+        double lowSum = high;
+        double lowError = low;
+
+        quickTwoSum(sumHigh, sumLow + lowSum);
+        quickTwoSum(high, low + lowError);
+    }
+
+    // Multiply two numbers: the product of the high parts with TwoProduct, plus the cross products
+    private void multiply(double aHigh, double aLow, double bHigh, double bLow) {
+
+        double product = aHigh * bHigh;
+        double error = Math.fma(aHigh, bHigh, -product);
+        quickTwoSum(product, error + (aHigh * bLow + aLow * bHigh));
+    }
+
+    /* Divide two numbers with long division: the first digit of the quotient is the quotient of the
+    high parts, and the second one is the quotient of the remainder left by the first.*/
+    private void divide(double aHigh, double aLow, double bHigh, double bLow) {
+
+        double quotient = aHigh / bHigh;
+        multiply(bHigh, bLow, quotient, 0.0);
+        add(aHigh, aLow, -high, -low);
+        quickTwoSum(quotient, high / bHigh);
+    }
+
+    // Knuth's TwoSum: the sum of two doubles and its rounding error, for any two doubles
+    private void twoSum(double a, double b) {
+
+        high = a + b;
+        double roundedB = high - a;
+        low = (a - (high - roundedB)) + (b - roundedB);
+    }
+
+    // Dekker's Fast2Sum: the same as TwoSum with fewer operations, but only if |a| >= |b| (or a is 0)
+    private void quickTwoSum(double a, double b) {
+
+        high = a + b;
+        low = b - (high - a);
+    }
+}
@@ -0,0 +1,412 @@
+/*
+* This file contains the DoubleFormatter class, which turns results into the text shown on the
+* display. It replaces Double.toString followed by the removal of the ".0" ending: the digits are
+* written straight into a char array that is reused for every result, and whole numbers are written
+* without the ".0" in the first place.
+*   The digits are found with the Schubfach algorithm by Raffaello Giulietti ("The Schubfach way to
+* render doubles", 2020), the same algorithm Double.toString uses from Java 19 on. It gives the
+* shortest decimal that reads back as exactly the same double, and the one closest to the exact
+* value when there are several. The layout is the one of Double.toString: plain decimals between
+* 10^-3 and 10^7, scientific notation (such as "1.0E10") outside that range, and "NaN", "Infinity"
+* and "-Infinity" for the special values.
+*   A formatter is not thread-safe, since all results share the same char array; every thread (or
+* every session) needs its own.
+ */
+package com.andrewhun.calculator;
+
+public class DoubleFormatter {
+
+    // The length of the longest text a double can turn into ("-2.2250738585072014E-308")
+    public static final int MAX_LENGTH = 24;
+
+    // The number of bits of the significand and of the exponent of a double
+    private static final int P = 53;
+    private static final int W = 11;
+
+    // The smallest and largest binary exponent of the significand, taken as an integer
+    private static final int Q_MIN = (-1 << (W - 1)) - P + 3;
+
+    // The smallest significand of a normal double, and the limit below which subnormals get an extra digit
+    private static final long C_MIN = 1L << (P - 1);
+    private static final long C_TINY = 3;
+
+    // The number of decimal digits the significand is scaled to before writing it out
+    private static final int H = 17;
+
+    private static final int BQ_MASK = (1 << W) - 1;
+    private static final long T_MASK = (1L << (P - 1)) - 1;
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final int MASK_28 = (1 << 28) - 1;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L
+    };
+
+    private final char[] characters = new char[MAX_LENGTH];
+    private int length;
+
+    // Write the text of the value into the char array of the formatter and return its length
+    public int format(double value) {
+
+        length = 0;
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+
+        if (bq == BQ_MASK) {
+
+            if (t != 0) {
+
+                return append("NaN");
+            }
+            return append(bits > 0 ? "Infinity" : "-Infinity");
+        }
+
+        if (bits < 0) {
+
+            append('-');
+        }
+
+        // Normal values
+        if (bq != 0) {
+
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+
+            // Whole numbers below 2^53 are written as they are
+            if (0 < mq && mq < P) {
+
+                long f = c >> mq;
+                if (f << mq == c) {
+
+                    writeDigits(f, 0);
+                    return length;
+                }
+            }
+            findDigits(-mq, c, 0);
+        }
+
+        // Subnormal values, the smallest of which need an extra digit to be told apart
+        else if (t != 0) {
+
+            if (t < C_TINY) {
+
+                findDigits(Q_MIN, 10 * t, -1);
+            }
+            else {
+
+                findDigits(Q_MIN, t, 0);
+            }
+        }
+
+        // Zero, written as "0" or "-0" like the display shows it
+        else {
+
+            append('0');
+        }
+        return length;
+    }
+
+    // Write a whole number into the char array and return its length (used for the results of the integer mode)
+    public int format(long value) {
+
+        length = 0;
+
+        // The digits are taken from the negative value, which also works for Long.MIN_VALUE
+        long remaining = value;
+        if (value < 0) {
+
+            append('-');
+        }
+        else {
+
+            remaining = -value;
+        }
+
+        int start = length;
+        do {
+
+            characters[length++] = (char) ('0' - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+
+            char digit = characters[i];
+            characters[i] = characters[j];
+            characters[j] = digit;
+        }
+        return length;
+    }
+
+    // The char array the last value was written into; only the first format(...) characters are valid
+    public char[] getCharacters() {
+
+        return characters;
+    }
+
+    public int getLength() {
+
+        return length;
+    }
+
+    // Format the value and return the text as a String
+    public String toString(double value) {
+
+        return new String(characters, 0, format(value));
+    }
+
+    /* Find the shortest decimal significand for the value c * 2^q (section 9 of the paper) and write
+    it out. The decimal is chosen from the interval of values that round to the same double: first
+    with one digit less than the value needs, then with all of its digits.*/
+    private void findDigits(int q, long c, int dk) {
+
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+
+        // The interval is lopsided for the powers of two, since the next smaller double is closer
+        if (c != C_MIN || q == Q_MIN) {
+
+            cbl = cb - 2;
+            k = floorLog10Pow2(q);
+        }
+        else {
+
+            cbl = cb - 1;
+            k = floorLog10ThreeQuartersPow2(q);
+        }
+        int h = q + floorLog2Pow10(-k) + 2;
+
+        long g1 = DoubleFormatterTable.g1(k);
+        long g0 = DoubleFormatterTable.g0(k);
+
+        long vb = roundToOdd(g1, g0, cb << h);
+        long vbl = roundToOdd(g1, g0, cbl << h);
+        long vbr = roundToOdd(g1, g0, cbr << h);
+
+        // Try to do with one digit less
+        long s = vb >> 2;
+        if (s >= 100) {
+
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+
+                writeDigits(upin ? sp10 : tp10, k);
+                return;
+            }
+        }
+
+        // Pick the candidate in the interval, or the closer one when both of them are in it
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+
+            writeDigits(uin ? s : t, k + dk);
+            return;
+        }
+        long cmp = vb - ((s + t) << 1);
+        writeDigits(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk);
+    }
+
+    // Multiply by the 126 bit power of ten and round the result to odd
+    private static long roundToOdd(long g1, long g0, long cp) {
+
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+    }
+
+    // Write the decimal f * 10^e in the layout of Double.toString (section 10 of the paper)
+    private void writeDigits(long f, int e) {
+
+        // Find the number of digits of f, then scale it to exactly H digits
+        int digits = floorLog10Pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+        if (f >= POWERS_OF_TEN[digits]) {
+
+            digits++;
+        }
+        f *= POWERS_OF_TEN[H - digits];
+        e += digits;
+
+        // Split the 17 digits into the first one (h), the next eight (m) and the last eight (l)
+        long hm = Math.multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+        int l = (int) (f - 100_000_000L * hm);
+        int h = (int) (hm * 1_441_151_881L >>> 57);
+        int m = (int) (hm - 100_000_000 * h);
+
+        if (0 < e && e <= 7) {
+
+            writePlain(h, m, l, e);
+        }
+        else if (-3 < e && e <= 0) {
+
+            writeWithLeadingZeros(h, m, l, e);
+        }
+        else {
+
+            writeScientific(h, m, l, e);
+        }
+    }
+
+    // Numbers of at least one: the digits before the decimal point and, unless it is a whole number, the ones after it
+    private void writePlain(int h, int m, int l, int e) {
+
+        appendDigit(h);
+        int y = scaleForDigits(m);
+        int t;
+        int i = 1;
+        for (; i < e; i++) {
+
+            t = 10 * y;
+            appendDigit(t >>> 28);
+            y = t & MASK_28;
+        }
+        append('.');
+        for (; i <= 8; i++) {
+
+            t = 10 * y;
+            appendDigit(t >>> 28);
+            y = t & MASK_28;
+        }
+        writeLowDigits(l);
+
+        // Whole numbers are shown without a decimal point
+        if (characters[length - 1] == '0' && characters[length - 2] == '.') {
+
+            length -= 2;
+        }
+    }
+
+    // Numbers between 10^-3 and 1, written with a zero before the decimal point
+    private void writeWithLeadingZeros(int h, int m, int l, int e) {
+
+        appendDigit(0);
+        append('.');
+        for (; e < 0; e++) {
+
+            appendDigit(0);
+        }
+        appendDigit(h);
+        appendEightDigits(m);
+        writeLowDigits(l);
+    }
+
+    // Very small and very large numbers, written in scientific notation
+    private void writeScientific(int h, int m, int l, int e) {
+
+        appendDigit(h);
+        append('.');
+        appendEightDigits(m);
+        writeLowDigits(l);
+        writeExponent(e - 1);
+    }
+
+    // Write the last eight digits, then remove the zeros at the end (all but the one after the decimal point)
+    private void writeLowDigits(int l) {
+
+        if (l != 0) {
+
+            appendEightDigits(l);
+        }
+        while (characters[length - 1] == '0') {
+
+            length--;
+        }
+        if (characters[length - 1] == '.') {
+
+            length++;
+        }
+    }
+
+    // Write the eight digits of the number from left to right, without dividing by ten
+    private void appendEightDigits(int m) {
+
+        int y = scaleForDigits(m);
+        for (int i = 0; i < 8; i++) {
+
+            int t = 10 * y;
+            appendDigit(t >>> 28);
+            y = t & MASK_28;
+        }
+    }
+
+    /* Turn an eight digit number into a fixed point fraction with 28 bits after the binary point,
+    from which the digits are taken out one by one by multiplying by ten.*/
+    private static int scaleForDigits(int a) {
+
+        return (int) (Math.multiplyHigh((long) (a + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+    }
+
+    private void writeExponent(int e) {
+
+        append('E');
+        if (e < 0) {
+
+            append('-');
+            e = -e;
+        }
+        if (e < 10) {
+
+            appendDigit(e);
+            return;
+        }
+        int d;
+        if (e >= 100) {
+
+            d = e * 1_311 >>> 17;
+            appendDigit(d);
+            e -= 100 * d;
+        }
+        d = e * 103 >>> 10;
+        appendDigit(d);
+        appendDigit(e - 10 * d);
+    }
+
+    private void appendDigit(int digit) {
+
+        characters[length++] = (char) ('0' + digit);
+    }
+
+    private void append(char character) {
+
+        characters[length++] = character;
+    }
+
+    private int append(String text) {
+
+        text.getChars(0, text.length(), characters, length);
+        length += text.length();
+        return length;
+    }
+
+    // floor(e * log10(2)), exact for |e| <= 5456721
+    private static int floorLog10Pow2(int e) {
+
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    // floor(e * log10(2) + log10(3/4)), exact for |e| <= 5456721
+    private static int floorLog10ThreeQuartersPow2(int e) {
+
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    // floor(e * log2(10)), exact for |e| <= 1838394
+    private static int floorLog2Pow10(int e) {
+
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+}
@@ -0,0 +1,9 @@
+package com.andrewhun.calculator;
+/*
+This enum contains the orders a chain of operations can be calculated in.
+LEFT_TO_RIGHT is the default: every operation is carried out as soon as the
+next operator is pressed, so 2 + 3 * 4 is 20, like on a pocket calculator.
+OPERATOR_PRECEDENCE carries out multiplications and divisions before additions
+and subtractions, so 2 + 3 * 4 is 14, like in a spreadsheet.
+ */
+public enum EvaluationOrder {LEFT_TO_RIGHT, OPERATOR_PRECEDENCE}
@@ -0,0 +1,102 @@
+/*
+* This file contains the ExactArithmetic class, the base class of the number modes that keep their
+* numbers in a form other than a double (see NumberMode). The CalculationEngine hands every number,
+* operation and reset to the arithmetic of its mode, and keeps the doubles it has always had next to
+* it (as a double as near to each exact number as it can tell), so the code that only knows doubles keeps working.
+*   Numbers arrive either as doubles (from the setters of the engine) or straight from the display,
+* where the exact digits the user typed are still available. Results go back to the display the same
+* way, without being turned into a double first.
+*   MODULO and the bitwise operations are meant for the PROGRAMMER mode (see ProgrammerArithmetic). The
+* INTEGER mode carries them out on its longs as well, through ProgrammerArithmetic.calculate, while the
+* DECIMAL, DOUBLE_DOUBLE and RATIONAL modes only calculate the four basic operations in their exact form
+* and leave the others to the doubles (see isBasicOperation). POWER is calculated exactly by the INTEGER
+* and PROGRAMMER modes (as long as the result is a whole number), and with doubles by the rest.
+ */
+package com.andrewhun.calculator;
+
+import java.math.MathContext;
+
+abstract class ExactArithmetic {
+
+    // Create the arithmetic of the mode, or return null for DOUBLE, which needs none
+    static ExactArithmetic forMode(NumberMode mode) {
+
+        switch (mode) {
+
+            case INTEGER:
+
+                return new IntegerArithmetic();
+
+            case DECIMAL:
+
+                return new DecimalArithmetic();
+
+            case DOUBLE_DOUBLE:
+
+                return new DoubleDoubleArithmetic();
+
+            case RATIONAL:
+
+                return new RationalArithmetic();
+
+            case PROGRAMMER:
+
+                return new ProgrammerArithmetic();
+
+            default:
+
+                return null;
+        }
+    }
+
+    // Round the results to the digits of the MathContext (only the modes that round their results need it)
+    void setMathContext(MathContext newMathContext) {}
+
+    abstract void setFirstNumber(double value);
+
+    abstract void setFirstNumber(NumberEntryBuffer number);
+
+    abstract void setSecondNumber(double value);
+
+    abstract void setSecondNumber(NumberEntryBuffer number);
+
+    // Take the first number of another arithmetic of the same kind as the second number
+    abstract void setSecondNumber(ExactArithmetic other);
+
+    // Carry out the operation on the two numbers and return the error it ended with
+    abstract CalculationError executeOperation(Operation selectedOperation);
+
+    // The doubles of the exact numbers (the nearest ones, or as near as the mode can tell without much work)
+    abstract double getFirstNumber();
+
+    abstract double getSecondNumber();
+
+    abstract double getResult();
+
+    abstract void useResultAsFirstNumber();
+
+    abstract void showFirstNumber(CalculatorDisplay display);
+
+    abstract void showResult(CalculatorDisplay display);
+
+    abstract void resetNumbers();
+
+    // Find out if the operation is one of the four basic ones (or NONE), which every mode calculates exactly
+    static boolean isBasicOperation(Operation operation) {
+
+        switch (operation) {
+
+            case ADDITION:
+            case SUBTRACTION:
+            case MULTIPLICATION:
+            case DIVISION:
+            case NONE:
+
+                return true;
+
+            default:
+
+                return false;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+/*
+* This file contains the FastMath class, the fast backend of the scientific functions (see
+* FunctionPrecision). Every function works the same way: the argument is reduced to a small number r
+* next to a point whose value is kept in a table (FastMathTable), and the value at r is worked out
+* with a short polynomial, so a function costs a table lookup and a few multiplications instead of
+* the long polynomials and divisions of StrictMath.
+*   - exp(x) is 2^k * 2^(j/64) * e^r, with |r| <= ln(2)/128 and a polynomial of degree 6 for e^r - 1,
+*   - ln(x) is k*ln(2) + ln(1 + j/128) + ln(1 + u), with |u| <= 1/256 and a polynomial of degree 7,
+*   - sin(x) and cos(x) take the sine and cosine of j*pi/32 from the table and combine them with the
+*     sine and cosine of r, with |r| <= pi/64 (tan(x) divides the two),
+*   - atan(x) is atan(j/32) + atan(t), with |t| <= 1/64 (and pi/2 - atan(1/x) above 1), and asin and
+*     acos are worked out from atan.
+* The log10 and exp10 functions work with ln(10) in two parts, so they are as accurate as ln and exp,
+* and the powers of ten that a double holds exactly are exact. The square root needs no backend of its
+* own, since Math.sqrt is a single instruction and always gives the nearest double.
+*   The table values carry about 106 bits, and each step keeps the part its rounding lost, so the results
+* differ from StrictMath by at most (in units in the last place of the result, measured by the test case
+* of the class on millions of arguments):
+*     exp, exp10, ln, sin, cos, atan - 1 ulp,   log10, tan, asin, acos - 2 ulp.
+* (Most of the differences of log10 are the error of StrictMath.log10, which is up to 1.5 ulp from the
+* exact result next to 1, where the result here is within 1 ulp.)
+* Arguments outside the fast ranges (exp beyond +-708, where the result is close to the limits of the
+* doubles, sin, cos and tan beyond 65536, subnormal logarithms) are handed to StrictMath, and so are
+* the rare arguments that lie within 2^-30 of a multiple of pi/32, where the reduced argument would lose
+* too many of its bits. The special values (NaN, the infinities and the signed zeros) give the same
+* results as StrictMath.
+ */
+package com.andrewhun.calculator;
+
+public final class FastMath {
+
+    // ln(2) in two parts; the high part has 42 bits, so multiplying it by an exponent never rounds
+    private static final double LN2_HIGH = 0x1.62e42fefa38p-1;
+    private static final double LN2_LOW = 0x1.ef35793c7673p-45;
+
+    // ln(2)/64 in two parts (the high part has 36 bits) and its inverse, for the reduction of exp
+    private static final double LN2_BY_64_HIGH = 0x1.62e42fefap-7;
+    private static final double LN2_BY_64_LOW = 0x1.cf79abc9e3b3ap-46;
+    private static final double INVERSE_LN2_BY_64 = 0x1.71547652b82fep6;
+
+    // ln(10) and 1/ln(10) in two parts, for exp10 and log10
+    private static final double LN10_HIGH = 0x1.26bb1bbb55516p1;
+    private static final double LN10_LOW = -0x1.f48ad494ea3e9p-53;
+    private static final double INVERSE_LN10_HIGH = 0x1.bcb7b1526e50ep-2;
+    private static final double INVERSE_LN10_LOW = 0x1.95355baaafad3p-57;
+
+    // pi/32 in three parts (the first two have at most 32 bits) and its inverse, for the reduction of sin and cos
+    private static final double PI_BY_32_1 = 0x1.921fb544p-4;
+    private static final double PI_BY_32_2 = 0x1.0b4611a8p-38;
+    private static final double PI_BY_32_3 = -0x1.d9cceba3f91f2p-70;
+    private static final double INVERSE_PI_BY_32 = 0x1.45f306dc9c883p3;
+
+    // pi/2 in two parts
+    private static final double PI_BY_2_HIGH = 0x1.921fb54442d18p0;
+    private static final double PI_BY_2_LOW = 0x1.1a62633145c07p-54;
+
+    // The limits of the fast ranges
+    private static final double EXP_LIMIT = 708.0;
+    private static final double EXP10_LIMIT = 307.0;
+    private static final double TRIG_LIMIT = 65536.0;
+    private static final double REDUCTION_LIMIT = 0x1p-30;
+
+    // Below these, sin(x), tan(x), atan(x) and asin(x) are x, and cos(x) and exp(x) are 1 (after rounding)
+    private static final double TINY = 0x1p-27;
+    private static final double EXP_TINY = 0x1p-54;
+
+    // The bits of the exponent and the mantissa of a double, and the exponent bits of 1
+    private static final long EXPONENT_BITS = 0x7FF0000000000000L;
+    private static final long MANTISSA_BITS = 0x000FFFFFFFFFFFFFL;
+    private static final long ONE_BITS = 0x3FF0000000000000L;
+
+    // The powers of ten a double holds exactly
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private FastMath() {
+    }
+
+    public static double exp(double x) {
+
+        if (!(Math.abs(x) <= EXP_LIMIT)) {
+
+            return StrictMath.exp(x);
+        }
+        if (Math.abs(x) < EXP_TINY) {
+
+            return 1.0 + x;
+        }
+        return exp(x, 0.0);
+    }
+
+    // 10^x, with the exact powers of ten for the whole numbers up to 22
+    public static double exp10(double x) {
+
+        if (x >= 0.0 && x < POWERS_OF_TEN.length && x == (int) x) {
+
+            return POWERS_OF_TEN[(int) x];
+        }
+        if (!(Math.abs(x) <= EXP10_LIMIT)) {
+
+            return StrictMath.pow(10.0, x);
+        }
+        if (Math.abs(x) < EXP_TINY) {
+
+            return 1.0 + x;
+        }
+
+        // x * ln(10) with the rounding error of the product (Math.fma gives it exactly)
+        double high = x * LN10_HIGH;
+        double low = Math.fma(x, LN10_HIGH, -high) + x * LN10_LOW;
+        return exp(high, low);
+    }
+
+    public static double log(double x) {
+
+        return log(x, false);
+    }
+
+    public static double log10(double x) {
+
+        return log(x, true);
+    }
+
+    public static double sin(double x) {
+
+        if (Math.abs(x) < TINY) {
+
+            return x;
+        }
+        if (!(Math.abs(x) <= TRIG_LIMIT)) {
+
+            return StrictMath.sin(x);
+        }
+
+        double multiple = Math.rint(x * INVERSE_PI_BY_32);
+        int k = (int) multiple;
+        double r = reduce(x, multiple);
+        if (k != 0 && Math.abs(r) < REDUCTION_LIMIT) {
+
+            return StrictMath.sin(x);
+        }
+        return sine(k & 63, r, reductionError(x, multiple, r));
+    }
+
+    public static double cos(double x) {
+
+        if (Math.abs(x) < TINY) {
+
+            return 1.0;
+        }
+        if (!(Math.abs(x) <= TRIG_LIMIT)) {
+
+            return StrictMath.cos(x);
+        }
+
+        double multiple = Math.rint(x * INVERSE_PI_BY_32);
+        int k = (int) multiple;
+        double r = reduce(x, multiple);
+        if (k != 0 && Math.abs(r) < REDUCTION_LIMIT) {
+
+            return StrictMath.cos(x);
+        }
+
+        // cos(x) = sin(x + pi/2), which is 16 steps of pi/32 further on
+        return sine(k + 16 & 63, r, reductionError(x, multiple, r));
+    }
+
+    public static double tan(double x) {
+
+        if (Math.abs(x) < TINY) {
+
+            return x;
+        }
+        if (!(Math.abs(x) <= TRIG_LIMIT)) {
+
+            return StrictMath.tan(x);
+        }
+
+        double multiple = Math.rint(x * INVERSE_PI_BY_32);
+        int k = (int) multiple;
+        double r = reduce(x, multiple);
+        if (k != 0 && Math.abs(r) < REDUCTION_LIMIT) {
+
+            return StrictMath.tan(x);
+        }
+        double rLow = reductionError(x, multiple, r);
+        return sine(k & 63, r, rLow) / sine(k + 16 & 63, r, rLow);
+    }
+
+    public static double atan(double x) {
+
+        if (Math.abs(x) < TINY || x != x) {
+
+            return x;
+        }
+
+        double absoluteValue = Math.abs(x);
+        double result;
+        if (absoluteValue <= 1.0) {
+
+            result = arctangent(absoluteValue, 0.0);
+        }
+        else {
+
+            // atan(x) = pi/2 - atan(1/x), where 1/x is 0 for the infinities (Math.fma gives the remainder of 1/x)
+            double inverse = 1.0 / absoluteValue;
+            double inverseLow = absoluteValue == Double.POSITIVE_INFINITY ? 0.0
+                    : Math.fma(-inverse, absoluteValue, 1.0) * inverse;
+            result = PI_BY_2_HIGH - (arctangent(inverse, inverseLow) - PI_BY_2_LOW);
+        }
+        return Math.copySign(result, x);
+    }
+
+    // asin(x) = atan(x / sqrt(1 - x^2)), where 1 - x^2 is rounded once (by Math.fma)
+    public static double asin(double x) {
+
+        if (Math.abs(x) < TINY) {
+
+            return x;
+        }
+        if (!(Math.abs(x) <= 1.0)) {
+
+            return StrictMath.asin(x);
+        }
+        return atan(x / Math.sqrt(Math.fma(-x, x, 1.0)));
+    }
+
+    // acos(x) = 2 * atan(sqrt((1 - x) / (1 + x))), which stays accurate next to 1 and -1 as well
+    public static double acos(double x) {
+
+        if (!(Math.abs(x) <= 1.0)) {
+
+            return StrictMath.acos(x);
+        }
+        return 2.0 * atan(Math.sqrt((1.0 - x) / (1.0 + x)));
+    }
+
+    /* e^(x + correction) for |x| <= EXP_LIMIT, where the correction is much smaller than x. The argument is
+    split into n*ln(2)/64 + r, and the result is 2^(n/64) * e^r, with 2^(n/64) taken from the table.*/
+    private static double exp(double x, double correction) {
+
+        double multiple = Math.rint(x * INVERSE_LN2_BY_64);
+        int n = (int) multiple;
+        int j = n & 63;
+        int k = n >> 6;
+
+        // n * LN2_BY_64_HIGH has at most 53 bits, and x is close to it, so the first subtraction does not round
+        double r = (x - multiple * LN2_BY_64_HIGH) - multiple * LN2_BY_64_LOW + correction;
+
+        // e^r - 1
+        double p = r + r * r * (0.5 + r * (1.0 / 6 + r * (1.0 / 24 + r * (1.0 / 120 + r * (1.0 / 720)))));
+
+        double powerOfTwoHigh = FastMathTable.powerOfTwoHigh(j);
+        double mantissa = powerOfTwoHigh + (FastMathTable.powerOfTwoLow(j) + powerOfTwoHigh * p);
+        return mantissa * Double.longBitsToDouble((long) (k + 1023) << 52);
+    }
+
+    /* ln(x), or log10(x). The argument is split into 2^k * m (with m next to the point 1 + j/128 of the table)
+    and ln(x) = k*ln(2) + ln(1 + j/128) + ln(1 + u), where u = (m - (1 + j/128)) / (1 + j/128).*/
+    private static double log(double x, boolean base10) {
+
+        long bits = Double.doubleToRawLongBits(x);
+        if (bits <= 0 || (bits & EXPONENT_BITS) == 0 || (bits & EXPONENT_BITS) == EXPONENT_BITS) {
+
+            return base10 ? StrictMath.log10(x) : StrictMath.log(x);
+        }
+
+        int k = (int) (bits >>> 52) - 1023;
+        double m = Double.longBitsToDouble(bits & MANTISSA_BITS | ONE_BITS);
+
+        // The nearest point of the table, from the first 8 bits of the mantissa; m next to 2 is halved instead
+        int j = ((int) (bits >>> 44) & 0xFF) + 1 >> 1;
+        if (j == 128) {
+
+            m *= 0.5;
+            k++;
+            j = 0;
+        }
+
+        // The point 1 + j/128 is built from its bits, and m - point is exact (the two are less than a factor of 2 apart)
+        double point = Double.longBitsToDouble(ONE_BITS | (long) j << 45);
+        double u = (m - point) * FastMathTable.inverse(j);
+
+        // ln(1 + u) - u, with the terms of the polynomial taken in pairs, so they can be worked out side by side
+        double u2 = u * u;
+        double u4 = u2 * u2;
+        double tail = u2 * ((-0.5 + u * (1.0 / 3)) + u2 * (-0.25 + u * 0.2) + u4 * (-1.0 / 6 + u * (1.0 / 7)));
+
+        // The high parts are multiples of 2^-42, so their sum does not round
+        double high = k * LN2_HIGH + FastMathTable.logarithmHigh(j);
+        double sum = high + u;
+        double low = (high - sum) + u + (k * LN2_LOW + FastMathTable.logarithmLow(j) + tail);
+        if (!base10) {
+
+            return sum + low;
+        }
+
+        // (sum + low) / ln(10), with the rounding error of the main product
+        double product = sum * INVERSE_LN10_HIGH;
+        return product + (Math.fma(sum, INVERSE_LN10_HIGH, -product) + sum * INVERSE_LN10_LOW
+                + low * INVERSE_LN10_HIGH);
+    }
+
+    /* Subtract k*pi/32 from x, for |x| <= TRIG_LIMIT. The whole number k is kept in a double, since turning an
+    int into a double is slow on some processors. The first two parts of pi/32 have at most 32 bits, so
+    multiplying them by k does not round, and the first subtraction does not round either.*/
+    private static double reduce(double x, double k) {
+
+        return ((x - k * PI_BY_32_1) - k * PI_BY_32_2) - k * PI_BY_32_3;
+    }
+
+    /* The part of x - k*pi/32 that the reduced argument r = reduce(x, k) lost to rounding. The error of the
+    second subtraction is found with the TwoSum steps; the third part of pi/32 is too small to need them.*/
+    private static double reductionError(double x, double k, double r) {
+
+        double first = x - k * PI_BY_32_1;
+        double second = -k * PI_BY_32_2;
+        double sum = first + second;
+        double firstPart = sum - second;
+        double error = (first - firstPart) + (second - (sum - firstPart));
+        return (sum - r) - k * PI_BY_32_3 + error;
+    }
+
+    /* sin(j*pi/32 + r) = sin(j*pi/32) + sin(j*pi/32) * (cos(r) - 1) + cos(j*pi/32) * sin(r), with |r| <= pi/64
+    and rLow the part of the reduced argument that r lost. The two largest terms (the sine of the point and
+    cos(j*pi/32) * r) are added with the TwoSum steps, since they can cancel each other out, and every
+    rounding error of the sum is added back at the end.*/
+    private static double sine(int j, double r, double rLow) {
+
+        double r2 = r * r;
+        double sineOfRMinusR = r * r2 * (-1.0 / 6 + r2 * (1.0 / 120 + r2 * (-1.0 / 5040 + r2 * (1.0 / 362880))));
+        double cosineOfRMinusOne = r2 * (-0.5 + r2 * (1.0 / 24 + r2 * (-1.0 / 720 + r2 * (1.0 / 40320))));
+
+        int cosineIndex = j + 16 & 63;
+        double sineHigh = FastMathTable.sineHigh(j);
+        double cosineHigh = FastMathTable.sineHigh(cosineIndex);
+        double product = cosineHigh * r;
+        double sum = sineHigh + product;
+        double sinePart = sum - product;
+        double error = (sineHigh - sinePart) + (product - (sum - sinePart)) + Math.fma(cosineHigh, r, -product);
+
+        return sum + (error + FastMathTable.sineLow(j) + sineHigh * cosineOfRMinusOne
+                + cosineHigh * (sineOfRMinusR + rLow) + FastMathTable.sineLow(cosineIndex) * r);
+    }
+
+    /* atan(x + xLow) for 0 <= x <= 1, where xLow is much smaller than x: atan(x) = atan(c) + atan(t), where c = j/32
+    is the nearest point of the table and t = (x - c) / (1 + x*c). The part of t that the rounding of the
+    division and of its denominator lost is worked out from the remainder of the division.*/
+    private static double arctangent(double x, double xLow) {
+
+        double c = Math.rint(x * 32.0) * 0x1p-5;
+        int j = (int) (c * 32.0);
+
+        // x - c does not round, and neither does 1 - denominator, so Math.fma gives what the denominator lost
+        double numerator = x - c;
+        double denominator = 1.0 + x * c;
+        double denominatorLow = Math.fma(x, c, 1.0 - denominator) + xLow * c;
+        double inverse = 1.0 / denominator;
+        double t = numerator * inverse;
+        double tLow = (Math.fma(-t, denominator, numerator) + xLow - t * denominatorLow) * inverse;
+
+        double t2 = t * t;
+        double p = t + (t * t2 * (-1.0 / 3 + t2 * (0.2 + t2 * (-1.0 / 7 + t2 * (1.0 / 9)))) + tLow);
+        return FastMathTable.arctangentHigh(j) + (FastMathTable.arctangentLow(j) + p);
+    }
+}
@@ -0,0 +1,374 @@
+/*
+* This file contains the tables used by FastMath. Every value is the nearest double to an exact
+* number (the high part), followed by the nearest double to what is left of it (the low part), so
+* the sum of the two carries about 106 bits. The values were calculated with 80 significant decimal
+* digits and rounded once.
+*   The high parts of the logarithms are rounded to a multiple of 2^-42 instead (just like the high part
+* of ln(2) in FastMath), so adding them to a multiple of ln(2) never rounds.
+ */
+package com.andrewhun.calculator;
+
+final class FastMathTable {
+
+    private FastMathTable() {
+    }
+
+    // The high part of 2^(j/64), for j between 0 and 63
+    static double powerOfTwoHigh(int j) {
+
+        return POWERS_OF_TWO[j << 1];
+    }
+
+    // The low part of 2^(j/64)
+    static double powerOfTwoLow(int j) {
+
+        return POWERS_OF_TWO[j << 1 | 1];
+    }
+
+    // The high part of ln(1 + j/128) (a multiple of 2^-42), for j between 0 and 127
+    static double logarithmHigh(int j) {
+
+        return LOGARITHMS[3 * j];
+    }
+
+    // The low part of ln(1 + j/128)
+    static double logarithmLow(int j) {
+
+        return LOGARITHMS[3 * j + 1];
+    }
+
+    // The nearest double to 1 / (1 + j/128)
+    static double inverse(int j) {
+
+        return LOGARITHMS[3 * j + 2];
+    }
+
+    // The high part of sin(j * pi/32), for j between 0 and 63 (cos(j * pi/32) is sineHigh(j + 16 & 63))
+    static double sineHigh(int j) {
+
+        return SINES[j << 1];
+    }
+
+    // The low part of sin(j * pi/32)
+    static double sineLow(int j) {
+
+        return SINES[j << 1 | 1];
+    }
+
+    // The high part of atan(j/32), for j between 0 and 32
+    static double arctangentHigh(int j) {
+
+        return ARCTANGENTS[j << 1];
+    }
+
+    // The low part of atan(j/32)
+    static double arctangentLow(int j) {
+
+        return ARCTANGENTS[j << 1 | 1];
+    }
+
+    // The high and low part of 2^(j/64) for every j
+    private static final double[] POWERS_OF_TWO = {
+            0x1.0p0, 0.0, //  0
+            0x1.02c9a3e778061p0, -0x1.19083535b085dp-56, //  1
+            0x1.059b0d3158574p0, 0x1.d73e2a475b465p-55, //  2
+            0x1.0874518759bc8p0, 0x1.186be4bb284ffp-57, //  3
+            0x1.0b5586cf9890fp0, 0x1.8a62e4adc610bp-54, //  4
+            0x1.0e3ec32d3d1a2p0, 0x1.03a1727c57b53p-59, //  5
+            0x1.11301d0125b51p0, -0x1.6c51039449b3ap-54, //  6
+            0x1.1429aaea92dep0, -0x1.32fbf9af1369ep-54, //  7
+            0x1.172b83c7d517bp0, -0x1.19041b9d78a76p-55, //  8
+            0x1.1a35beb6fcb75p0, 0x1.e5b4c7b4968e4p-55, //  9
+            0x1.1d4873168b9aap0, 0x1.e016e00a2643cp-54, // 10
+            0x1.2063b88628cd6p0, 0x1.dc775814a8495p-55, // 11
+            0x1.2387a6e756238p0, 0x1.9b07eb6c70573p-54, // 12
+            0x1.26b4565e27cddp0, 0x1.2bd339940e9d9p-55, // 13
+            0x1.29e9df51fdee1p0, 0x1.612e8afad1255p-55, // 14
+            0x1.2d285a6e4030bp0, 0x1.0024754db41d5p-54, // 15
+            0x1.306fe0a31b715p0, 0x1.6f46ad23182e4p-55, // 16
+            0x1.33c08b26416ffp0, 0x1.32721843659a6p-54, // 17
+            0x1.371a7373aa9cbp0, -0x1.63aeabf42eae2p-54, // 18
+            0x1.3a7db34e59ff7p0, -0x1.5e436d661f5e3p-56, // 19
+            0x1.3dea64c123422p0, 0x1.ada0911f09ebcp-55, // 20
+            0x1.4160a21f72e2ap0, -0x1.ef3691c309278p-58, // 21
+            0x1.44e086061892dp0, 0x1.89b7a04ef80dp-59, // 22
+            0x1.486a2b5c13cdp0, 0x1.3c1a3b69062fp-56, // 23
+            0x1.4bfdad5362a27p0, 0x1.d4397afec42e2p-56, // 24
+            0x1.4f9b2769d2ca7p0, -0x1.4b309d25957e3p-54, // 25
+            0x1.5342b569d4f82p0, -0x1.07abe1db13cadp-55, // 26
+            0x1.56f4736b527dap0, 0x1.9bb2c011d93adp-54, // 27
+            0x1.5ab07dd485429p0, 0x1.6324c054647adp-54, // 28
+            0x1.5e76f15ad2148p0, 0x1.ba6f93080e65ep-54, // 29
+            0x1.6247eb03a5585p0, -0x1.383c17e40b497p-54, // 30
+            0x1.6623882552225p0, -0x1.bb60987591c34p-54, // 31
+            0x1.6a09e667f3bcdp0, -0x1.bdd3413b26456p-54, // 32
+            0x1.6dfb23c651a2fp0, -0x1.bbe3a683c88abp-57, // 33
+            0x1.71f75e8ec5f74p0, -0x1.16e4786887a99p-55, // 34
+            0x1.75feb564267c9p0, -0x1.0245957316dd3p-54, // 35
+            0x1.7a11473eb0187p0, -0x1.41577ee04992fp-55, // 36
+            0x1.7e2f336cf4e62p0, 0x1.05d02ba15797ep-56, // 37
+            0x1.82589994cce13p0, -0x1.d4c1dd41532d8p-54, // 38
+            0x1.868d99b4492edp0, -0x1.fc6f89bd4f6bap-54, // 39
+            0x1.8ace5422aa0dbp0, 0x1.6e9f156864b27p-54, // 40
+            0x1.8f1ae99157736p0, 0x1.5cc13a2e3976cp-55, // 41
+            0x1.93737b0cdc5e5p0, -0x1.75fc781b57ebcp-57, // 42
+            0x1.97d829fde4e5p0, -0x1.d185b7c1b85d1p-54, // 43
+            0x1.9c49182a3f09p0, 0x1.c7c46b071f2bep-56, // 44
+            0x1.a0c667b5de565p0, -0x1.359495d1cd533p-54, // 45
+            0x1.a5503b23e255dp0, -0x1.d2f6edb8d41e1p-54, // 46
+            0x1.a9e6b5579fdbfp0, 0x1.0fac90ef7fd31p-54, // 47
+            0x1.ae89f995ad3adp0, 0x1.7a1cd345dcc81p-54, // 48
+            0x1.b33a2b84f15fbp0, -0x1.2805e3084d708p-57, // 49
+            0x1.b7f76f2fb5e47p0, -0x1.5584f7e54ac3bp-56, // 50
+            0x1.bcc1e904bc1d2p0, 0x1.23dd07a2d9e84p-55, // 51
+            0x1.c199bdd85529cp0, 0x1.11065895048ddp-55, // 52
+            0x1.c67f12e57d14bp0, 0x1.2884dff483cadp-54, // 53
+            0x1.cb720dcef9069p0, 0x1.503cbd1e949dbp-56, // 54
+            0x1.d072d4a07897cp0, -0x1.cbc3743797a9cp-54, // 55
+            0x1.d5818dcfba487p0, 0x1.2ed02d75b3707p-55, // 56
+            0x1.da9e603db3285p0, 0x1.c2300696db532p-54, // 57
+            0x1.dfc97337b9b5fp0, -0x1.1a5cd4f184b5cp-54, // 58
+            0x1.e502ee78b3ff6p0, 0x1.39e8980a9cc8fp-55, // 59
+            0x1.ea4afa2a490dap0, -0x1.e9c23179c2893p-54, // 60
+            0x1.efa1bee615a27p0, 0x1.dc7f486a4b6bp-54, // 61
+            0x1.f50765b6e454p0, 0x1.9d3e12dd8a18bp-54, // 62
+            0x1.fa7c1819e90d8p0, 0x1.74853f3a5931ep-55  // 63
+    };
+
+    // The high and low part of ln(1 + j/128) and the inverse of 1 + j/128 for every j
+    private static final double[] LOGARITHMS = {
+            0.0, 0.0, 0x1.0p0, //   0
+            0x1.fe02a6b1p-8, 0x1.9e23f0dda40e4p-46, 0x1.fc07f01fc07fp-1, //   1
+            0x1.fc0a8b0fcp-7, 0x1.f1e7cf6d3a69cp-50, 0x1.f81f81f81f82p-1, //   2
+            0x1.7b91b07d6p-6, -0x1.3b955b602ace4p-44, 0x1.f44659e4a4271p-1, //   3
+            0x1.f829b0e78p-6, 0x1.980267c7e09e4p-45, 0x1.f07c1f07c1f08p-1, //   4
+            0x1.39e87b9fe8p-5, 0x1.eafd480ad9015p-44, 0x1.ecc07b301eccp-1, //   5
+            0x1.77458f633p-5, -0x1.181dce586af09p-44, 0x1.e9131abf0b767p-1, //   6
+            0x1.b42dd71198p-5, -0x1.c827ae5d6704cp-46, 0x1.e573ac901e574p-1, //   7
+            0x1.f0a30c0118p-5, -0x1.d599e83368e91p-45, 0x1.e1e1e1e1e1e1ep-1, //   8
+            0x1.16536eea38p-4, -0x1.47c5e768fa309p-46, 0x1.de5d6e3f8868ap-1, //   9
+            0x1.341d7961bcp-4, 0x1.1d0929983761p-44, 0x1.dae6076b981dbp-1, //  10
+            0x1.51b073f06p-4, 0x1.83f69278e686ap-44, 0x1.d77b654b82c34p-1, //  11
+            0x1.6f0d28ae58p-4, -0x1.4b4641b664613p-44, 0x1.d41d41d41d41dp-1, //  12
+            0x1.8c345d6318p-4, 0x1.b20f5acb42a66p-44, 0x1.d0cb58f6ec074p-1, //  13
+            0x1.a926d3a4acp-4, 0x1.563650bd22a9cp-44, 0x1.cd85689039b0bp-1, //  14
+            0x1.c5e548f5bcp-4, 0x1.d0c57585fbe06p-46, 0x1.ca4b3055ee191p-1, //  15
+            0x1.e27076e2bp-4, -0x1.a342c2af0003cp-45, 0x1.c71c71c71c71cp-1, //  16
+            0x1.fec9131dcp-4, -0x1.54555d1ae6607p-44, 0x1.c3f8f01c3f8fp-1, //  17
+            0x1.0d77e7cd08p-3, 0x1.cb2cd2ee2f482p-44, 0x1.c0e070381c0ep-1, //  18
+            0x1.1b72ad52f6p-3, 0x1.e80a41811a396p-45, 0x1.bdd2b899406f7p-1, //  19
+            0x1.29552f82p-3, -0x1.5b967f4471dfcp-44, 0x1.bacf914c1badp-1, //  20
+            0x1.371fc201e8p-3, 0x1.ee8779b2d8abcp-44, 0x1.b7d6c3dda338bp-1, //  21
+            0x1.44d2b6ccb8p-3, -0x1.70cc16135783cp-46, 0x1.b4e81b4e81b4fp-1, //  22
+            0x1.526e5e3a1cp-3, -0x1.790ba37fc5238p-44, 0x1.b2036406c80d9p-1, //  23
+            0x1.5ff3070a7ap-3, -0x1.8586f183bebf2p-44, 0x1.af286bca1af28p-1, //  24
+            0x1.6d60fe719ep-3, -0x1.bc6e557134767p-44, 0x1.ac5701ac5701bp-1, //  25
+            0x1.7ab890210ep-3, -0x1.bdb9072534a58p-45, 0x1.a98ef606a63bep-1, //  26
+            0x1.87fa06520cp-3, 0x1.22120401202fcp-44, 0x1.a6d01a6d01a6dp-1, //  27
+            0x1.9525a9cf46p-3, -0x1.297137d9f158fp-44, 0x1.a41a41a41a41ap-1, //  28
+            0x1.a23bc1fe2cp-3, -0x1.539cd91dc9f0bp-44, 0x1.a16d3f97a4b02p-1, //  29
+            0x1.af3c94e80cp-3, -0x1.a4e633fcd9066p-52, 0x1.9ec8e951033d9p-1, //  30
+            0x1.bc286742d8p-3, 0x1.9ac53f39d121cp-44, 0x1.9c2d14ee4a102p-1, //  31
+            0x1.c8ff7c79aap-3, -0x1.7794f689f8434p-45, 0x1.999999999999ap-1, //  32
+            0x1.d5c216b4fcp-3, -0x1.1ba91bbca681bp-45, 0x1.970e4f80cb872p-1, //  33
+            0x1.e27076e2bp-3, -0x1.a342c2af0003cp-44, 0x1.948b0fcd6e9ep-1, //  34
+            0x1.ef0adcbdc6p-3, -0x1.b26b79c86af24p-45, 0x1.920fb49d0e229p-1, //  35
+            0x1.fb9186d5e4p-3, -0x1.d572aab993c87p-47, 0x1.8f9c18f9c18fap-1, //  36
+            0x1.0402594b4dp-2, 0x1.036b89ef42d7fp-48, 0x1.8d3018d3018d3p-1, //  37
+            0x1.0a324e2739p-2, 0x1.c6bee7ef4030ep-47, 0x1.8acb90f6bf3aap-1, //  38
+            0x1.1058bf9ae5p-2, -0x1.4ab9d817d52cdp-44, 0x1.886e5f0abb04ap-1, //  39
+            0x1.1675cababap-2, 0x1.8380e731f55c4p-44, 0x1.8618618618618p-1, //  40
+            0x1.1c898c169ap-2, -0x1.81410e5c62affp-44, 0x1.83c977ab2beddp-1, //  41
+            0x1.22941fbcf8p-2, -0x1.a6976f5eb0963p-44, 0x1.8181818181818p-1, //  42
+            0x1.2895a13de8p-2, 0x1.a8d7ad24c13fp-44, 0x1.7f405fd017f4p-1, //  43
+            0x1.2e8e2bae12p-2, -0x1.67b1e99b72bd8p-45, 0x1.7d05f417d05f4p-1, //  44
+            0x1.347dd9a988p-2, -0x1.5594dd4c58092p-45, 0x1.7ad2208e0ecc3p-1, //  45
+            0x1.3a64c55694p-2, 0x1.7a71cbcd735dp-44, 0x1.78a4c8178a4c8p-1, //  46
+            0x1.404308686ap-2, 0x1.f8ef43049f7d3p-44, 0x1.767dce434a9b1p-1, //  47
+            0x1.4618bc21c6p-2, -0x1.3d82f484c84ccp-46, 0x1.745d1745d1746p-1, //  48
+            0x1.4be5f95778p-2, -0x1.d7c92cd9ad824p-44, 0x1.724287f46debcp-1, //  49
+            0x1.51aad872ep-2, -0x1.f4bd8db0a7cc1p-44, 0x1.702e05c0b817p-1, //  50
+            0x1.5767717456p-2, -0x1.64ead9524d7cap-44, 0x1.6e1f76b4337c7p-1, //  51
+            0x1.5d1bdbf581p-2, -0x1.8d6bdc9c7c238p-44, 0x1.6c16c16c16c17p-1, //  52
+            0x1.62c82f2b9cp-2, 0x1.e54bdbd7c8a98p-44, 0x1.6a13cd153729p-1, //  53
+            0x1.686c81e9b1p-2, 0x1.2bb110af84054p-44, 0x1.6816816816817p-1, //  54
+            0x1.6e08eaa2bap-2, 0x1.e38c139318d71p-46, 0x1.661ec6a5122f9p-1, //  55
+            0x1.739d7f6bbdp-2, 0x1.a7389314feb5p-52, 0x1.642c8590b2164p-1, //  56
+            0x1.792a55fdd4p-2, 0x1.e89f057691feap-44, 0x1.623fa7701624p-1, //  57
+            0x1.7eaf83b82bp-2, -0x1.e4da62d0c25adp-49, 0x1.6058160581606p-1, //  58
+            0x1.842d1da1e9p-2, -0x1.3a2db13ae687cp-44, 0x1.5e75bb8d015e7p-1, //  59
+            0x1.89a3386c14p-2, 0x1.2d5ad38c40882p-45, 0x1.5c9882b931057p-1, //  60
+            0x1.8f11e87366p-2, 0x1.63bf0bb4eab4cp-45, 0x1.5ac056b015acp-1, //  61
+            0x1.947941c211p-2, 0x1.beae9337451f4p-44, 0x1.58ed2308158edp-1, //  62
+            0x1.99d958117ep-2, 0x1.1597525dd88fp-47, 0x1.571ed3c506b3ap-1, //  63
+            0x1.9f323ecbfap-2, -0x1.ed03525ca2643p-44, 0x1.5555555555555p-1, //  64
+            0x1.a484090e5cp-2, -0x1.3d7500d6523c5p-44, 0x1.5390948f40febp-1, //  65
+            0x1.a9cec9a9a1p-2, -0x1.ed9cadec02b43p-44, 0x1.51d07eae2f815p-1, //  66
+            0x1.af12932478p-2, -0x1.e53bb31eed7a9p-44, 0x1.5015015015015p-1, //  67
+            0x1.b44f77bcc9p-2, -0x1.3ae68224aa2cep-47, 0x1.4e5e0a72f0539p-1, //  68
+            0x1.b985896931p-2, 0x1.f6b31f629f11ep-47, 0x1.4cab88725af6ep-1, //  69
+            0x1.beb4d9da72p-2, -0x1.21021e78b2151p-44, 0x1.4afd6a052bf5bp-1, //  70
+            0x1.c3dd7a7cdbp-2, -0x1.5946261f5a42bp-45, 0x1.49539e3b2d067p-1, //  71
+            0x1.c8ff7c79aap-2, -0x1.7794f689f8434p-44, 0x1.47ae147ae147bp-1, //  72
+            0x1.ce1af0b85fp-2, 0x1.f5bdbe95e5568p-45, 0x1.460cbc7f5cf9ap-1, //  73
+            0x1.d32fe7e00fp-2, -0x1.0aa7884dcd05p-44, 0x1.446f86562d9fbp-1, //  74
+            0x1.d83e7258a3p-2, -0x1.835f5d48ba26dp-47, 0x1.42d6625d51f87p-1, //  75
+            0x1.dd46a04c1cp-2, 0x1.282fb989a9274p-44, 0x1.4141414141414p-1, //  76
+            0x1.e24881a7c7p-2, -0x1.ecf1a1385d356p-45, 0x1.3fb013fb013fbp-1, //  77
+            0x1.e744261d68p-2, 0x1.e1f8df68dbcf3p-44, 0x1.3e22cbce4a902p-1, //  78
+            0x1.ec399d2469p-2, -0x1.9ff45188d6065p-45, 0x1.3c995a47babe7p-1, //  79
+            0x1.f128f5fafp-2, 0x1.bb2cd720ec44cp-44, 0x1.3b13b13b13b14p-1, //  80
+            0x1.f6123fa703p-2, -0x1.d4e7aea4f0d25p-44, 0x1.3991c2c187f63p-1, //  81
+            0x1.faf588f78fp-2, 0x1.8f6cd7d9f2754p-45, 0x1.3813813813814p-1, //  82
+            0x1.ffd2e0857fp-2, 0x1.261565f40d932p-44, 0x1.3698df3de0748p-1, //  83
+            0x1.02552a5a5dp-1, 0x1.fd8d38d2bafddp-46, 0x1.3521cfb2b78c1p-1, //  84
+            0x1.04bdf9da928p-1, -0x1.2d9a033eff74ep-45, 0x1.33ae45b57bcb2p-1, //  85
+            0x1.0723e5c1cep-1, -0x1.7f6350d38edddp-46, 0x1.323e34a2b10bfp-1, //  86
+            0x1.0986f4f5738p-1, -0x1.6fa37012b5806p-44, 0x1.30d190130d19p-1, //  87
+            0x1.0be72e42528p-1, 0x1.415b4c4bdd99fp-44, 0x1.2f684bda12f68p-1, //  88
+            0x1.0e44985d1dp-1, -0x1.ba048a8d10b4bp-44, 0x1.2e025c04b8097p-1, //  89
+            0x1.109f39e2d5p-1, -0x1.b4810e09b27a4p-44, 0x1.2c9fb4d812cap-1, //  90
+            0x1.12f719593fp-1, -0x1.0eb3fb7398e0cp-47, 0x1.2b404ad012b4p-1, //  91
+            0x1.154c3d2f4d8p-1, -0x1.0b2b38662e34dp-44, 0x1.29e4129e4129ep-1, //  92
+            0x1.179eabbd898p-1, 0x1.a0bfc60e6fa08p-45, 0x1.288b01288b013p-1, //  93
+            0x1.19ee6b467c8p-1, 0x1.6ecc5cbdd7782p-45, 0x1.27350b8812735p-1, //  94
+            0x1.1c3b81f714p-1, -0x1.eda1b58389902p-44, 0x1.25e22708092f1p-1, //  95
+            0x1.1e85f5e704p-1, 0x1.a07bd8b34be7cp-46, 0x1.2492492492492p-1, //  96
+            0x1.20cdcd192a8p-1, 0x1.b6c9a81e87baep-44, 0x1.23456789abcdfp-1, //  97
+            0x1.23130d7becp-1, -0x1.7afa4392f1ba7p-46, 0x1.21fb78121fb78p-1, //  98
+            0x1.2555bce98f8p-1, -0x1.a61fde292977ep-48, 0x1.20b470c67c0d9p-1, //  99
+            0x1.2795e1289bp-1, 0x1.1aeb783f3db97p-45, 0x1.1f7047dc11f7p-1, // 100
+            0x1.29d37fec2bp-1, 0x1.1590b9ad974bap-46, 0x1.1e2ef3b3fb874p-1, // 101
+            0x1.2c0e9ed449p-1, -0x1.74468563ce45dp-45, 0x1.1cf06ada2811dp-1, // 102
+            0x1.2e47436e4p-1, 0x1.34202a10c3491p-44, 0x1.1bb4a4046ed29p-1, // 103
+            0x1.307d7334f1p-1, 0x1.7c3f6b2143eadp-46, 0x1.1a7b9611a7b96p-1, // 104
+            0x1.32b1339122p-1, -0x1.4766fd54a4c27p-44, 0x1.19453808ca29cp-1, // 105
+            0x1.34e289d9cep-1, 0x1.d316eb92d885dp-45, 0x1.1811811811812p-1, // 106
+            0x1.37117b54748p-1, -0x1.28e88bf6deec9p-47, 0x1.16e0689427379p-1, // 107
+            0x1.393e0d35628p-1, 0x1.0cd4e221301b7p-44, 0x1.15b1e5f75270dp-1, // 108
+            0x1.3b6844ap-1, -0x1.eea838909f3d3p-44, 0x1.1485f0e0acd3bp-1, // 109
+            0x1.3d9026a7158p-1, -0x1.055bfbd9c2f53p-45, 0x1.135c81135c811p-1, // 110
+            0x1.3fb5b84d17p-1, -0x1.7b4962c55f46bp-46, 0x1.12358e75d3033p-1, // 111
+            0x1.41d8fe8467p-1, 0x1.5732325e617a3p-44, 0x1.1111111111111p-1, // 112
+            0x1.43f9fe2f9dp-1, -0x1.98858d84649f1p-45, 0x1.0fef010fef011p-1, // 113
+            0x1.4618bc21c6p-1, -0x1.3d82f484c84ccp-45, 0x1.0ecf56be69c9p-1, // 114
+            0x1.48353d1ea88p-1, 0x1.bee7abd176604p-46, 0x1.0db20a88f4696p-1, // 115
+            0x1.4a4f85db04p-1, -0x1.44fdd840b8591p-45, 0x1.0c9714fbcda3bp-1, // 116
+            0x1.4c679afccfp-1, -0x1.c64e971322ce8p-45, 0x1.0b7e6ec259dc8p-1, // 117
+            0x1.4e7d811b758p-1, 0x1.d84e584c2b22cp-44, 0x1.0a6810a6810a7p-1, // 118
+            0x1.50913cc0168p-1, 0x1.ad2f2ce96c2d6p-47, 0x1.0953f39010954p-1, // 119
+            0x1.52a2d265bc8p-1, -0x1.2a88c41ba8752p-44, 0x1.0842108421084p-1, // 120
+            0x1.54b24679998p-1, -0x1.b42b755eba5e1p-44, 0x1.073260a47f7c6p-1, // 121
+            0x1.56bf9d5b3fp-1, 0x1.cca08e310b9b2p-44, 0x1.0624dd2f1a9fcp-1, // 122
+            0x1.58cadb5cd78p-1, 0x1.893092f25d931p-45, 0x1.05197f7d73404p-1, // 123
+            0x1.5ad404c35ap-1, -0x1.a609acaab41fcp-46, 0x1.041041041041p-1, // 124
+            0x1.5cdb1dc6c18p-1, -0x1.36e612387451fp-46, 0x1.03091b51f5e1ap-1, // 125
+            0x1.5ee02a92418p-1, -0x1.8a8f29f6a02dcp-45, 0x1.0204081020408p-1, // 126
+            0x1.60e32f44788p-1, 0x1.b194f912b416ap-46, 0x1.010101010101p-1  // 127
+    };
+
+    // The high and low part of sin(j * pi/32) for every j
+    private static final double[] SINES = {
+            0.0, 0.0, //  0
+            0x1.917a6bc29b42cp-4, -0x1.e2718d26ed688p-60, //  1
+            0x1.8f8b83c69a60bp-3, -0x1.26d19b9ff8d82p-57, //  2
+            0x1.294062ed59f06p-2, -0x1.5d28da2c4612dp-56, //  3
+            0x1.87de2a6aea963p-2, -0x1.72cedd3d5a61p-57, //  4
+            0x1.e2b5d3806f63bp-2, 0x1.e0d891d3c6841p-58, //  5
+            0x1.1c73b39ae68c8p-1, 0x1.b25dd267f66p-55, //  6
+            0x1.44cf325091dd6p-1, 0x1.8076a2cfdc6b3p-57, //  7
+            0x1.6a09e667f3bcdp-1, -0x1.bdd3413b26456p-55, //  8
+            0x1.8bc806b151741p-1, -0x1.2c5e12ed1336dp-55, //  9
+            0x1.a9b66290ea1a3p-1, 0x1.9f630e8b6dac8p-60, // 10
+            0x1.c38b2f180bdb1p-1, -0x1.6e0b1757c8d07p-56, // 11
+            0x1.d906bcf328d46p-1, 0x1.457e610231ac2p-56, // 12
+            0x1.e9f4156c62ddap-1, 0x1.760b1e2e3f81ep-55, // 13
+            0x1.f6297cff75cbp-1, 0x1.562172a361fd3p-56, // 14
+            0x1.fd88da3d12526p-1, -0x1.87df6378811c7p-55, // 15
+            0x1.0p0, 0.0, // 16
+            0x1.fd88da3d12526p-1, -0x1.87df6378811c7p-55, // 17
+            0x1.f6297cff75cbp-1, 0x1.562172a361fd3p-56, // 18
+            0x1.e9f4156c62ddap-1, 0x1.760b1e2e3f81ep-55, // 19
+            0x1.d906bcf328d46p-1, 0x1.457e610231ac2p-56, // 20
+            0x1.c38b2f180bdb1p-1, -0x1.6e0b1757c8d07p-56, // 21
+            0x1.a9b66290ea1a3p-1, 0x1.9f630e8b6dac8p-60, // 22
+            0x1.8bc806b151741p-1, -0x1.2c5e12ed1336dp-55, // 23
+            0x1.6a09e667f3bcdp-1, -0x1.bdd3413b26456p-55, // 24
+            0x1.44cf325091dd6p-1, 0x1.8076a2cfdc6b3p-57, // 25
+            0x1.1c73b39ae68c8p-1, 0x1.b25dd267f66p-55, // 26
+            0x1.e2b5d3806f63bp-2, 0x1.e0d891d3c6841p-58, // 27
+            0x1.87de2a6aea963p-2, -0x1.72cedd3d5a61p-57, // 28
+            0x1.294062ed59f06p-2, -0x1.5d28da2c4612dp-56, // 29
+            0x1.8f8b83c69a60bp-3, -0x1.26d19b9ff8d82p-57, // 30
+            0x1.917a6bc29b42cp-4, -0x1.e2718d26ed688p-60, // 31
+            0.0, 0.0, // 32
+            -0x1.917a6bc29b42cp-4, 0x1.e2718d26ed688p-60, // 33
+            -0x1.8f8b83c69a60bp-3, 0x1.26d19b9ff8d82p-57, // 34
+            -0x1.294062ed59f06p-2, 0x1.5d28da2c4612dp-56, // 35
+            -0x1.87de2a6aea963p-2, 0x1.72cedd3d5a61p-57, // 36
+            -0x1.e2b5d3806f63bp-2, -0x1.e0d891d3c6841p-58, // 37
+            -0x1.1c73b39ae68c8p-1, -0x1.b25dd267f66p-55, // 38
+            -0x1.44cf325091dd6p-1, -0x1.8076a2cfdc6b3p-57, // 39
+            -0x1.6a09e667f3bcdp-1, 0x1.bdd3413b26456p-55, // 40
+            -0x1.8bc806b151741p-1, 0x1.2c5e12ed1336dp-55, // 41
+            -0x1.a9b66290ea1a3p-1, -0x1.9f630e8b6dac8p-60, // 42
+            -0x1.c38b2f180bdb1p-1, 0x1.6e0b1757c8d07p-56, // 43
+            -0x1.d906bcf328d46p-1, -0x1.457e610231ac2p-56, // 44
+            -0x1.e9f4156c62ddap-1, -0x1.760b1e2e3f81ep-55, // 45
+            -0x1.f6297cff75cbp-1, -0x1.562172a361fd3p-56, // 46
+            -0x1.fd88da3d12526p-1, 0x1.87df6378811c7p-55, // 47
+            -0x1.0p0, 0.0, // 48
+            -0x1.fd88da3d12526p-1, 0x1.87df6378811c7p-55, // 49
+            -0x1.f6297cff75cbp-1, -0x1.562172a361fd3p-56, // 50
+            -0x1.e9f4156c62ddap-1, -0x1.760b1e2e3f81ep-55, // 51
+            -0x1.d906bcf328d46p-1, -0x1.457e610231ac2p-56, // 52
+            -0x1.c38b2f180bdb1p-1, 0x1.6e0b1757c8d07p-56, // 53
+            -0x1.a9b66290ea1a3p-1, -0x1.9f630e8b6dac8p-60, // 54
+            -0x1.8bc806b151741p-1, 0x1.2c5e12ed1336dp-55, // 55
+            -0x1.6a09e667f3bcdp-1, 0x1.bdd3413b26456p-55, // 56
+            -0x1.44cf325091dd6p-1, -0x1.8076a2cfdc6b3p-57, // 57
+            -0x1.1c73b39ae68c8p-1, -0x1.b25dd267f66p-55, // 58
+            -0x1.e2b5d3806f63bp-2, -0x1.e0d891d3c6841p-58, // 59
+            -0x1.87de2a6aea963p-2, 0x1.72cedd3d5a61p-57, // 60
+            -0x1.294062ed59f06p-2, 0x1.5d28da2c4612dp-56, // 61
+            -0x1.8f8b83c69a60bp-3, 0x1.26d19b9ff8d82p-57, // 62
+            -0x1.917a6bc29b42cp-4, 0x1.e2718d26ed688p-60  // 63
+    };
+
+    // The high and low part of atan(j/32) for every j
+    private static final double[] ARCTANGENTS = {
+            0.0, 0.0, //  0
+            0x1.ffd55bba97625p-6, -0x1.5ec431444912cp-60, //  1
+            0x1.ff55bb72cfdeap-5, -0x1.c934d86d23f1dp-60, //  2
+            0x1.7ee182602f10fp-4, -0x1.cfb654c0c3d98p-58, //  3
+            0x1.fd5ba9aac2f6ep-4, -0x1.cd37686760c17p-59, //  4
+            0x1.3d6eee8c6626cp-3, 0x1.61a3b0ce9281bp-57, //  5
+            0x1.7b97b4bce5b02p-3, 0x1.347b0b4f881cap-58, //  6
+            0x1.b90d7529260a2p-3, 0x1.17b10d2e0e5abp-61, //  7
+            0x1.f5b75f92c80ddp-3, 0x1.8ab6e3cf7afbdp-57, //  8
+            0x1.18bf5a30bf178p-2, 0x1.30ca4748b1bf9p-57, //  9
+            0x1.362773707ebccp-2, -0x1.963a544b672d8p-57, // 10
+            0x1.530ad9951cd4ap-2, -0x1.2566480884082p-57, // 11
+            0x1.6f61941e4def1p-2, -0x1.c63aae6f6e918p-56, // 12
+            0x1.8b24d394a1b25p-2, 0x1.b6d0ba3748fa8p-56, // 13
+            0x1.a64eec3cc23fdp-2, -0x1.24dec1b50b7ffp-56, // 14
+            0x1.c0db4c94ec9fp-2, -0x1.cc1ce70934c34p-56, // 15
+            0x1.dac670561bb4fp-2, 0x1.a2b7f222f65e2p-56, // 16
+            0x1.f40dd0b541418p-2, -0x1.a3992dc382a23p-57, // 17
+            0x1.0657e94db30dp-1, -0x1.d5b495f6349e6p-56, // 18
+            0x1.1255d9bfbd2a9p-1, -0x1.2bdaee1c0ee35p-58, // 19
+            0x1.1e00babdefeb4p-1, -0x1.928df287a668fp-58, // 20
+            0x1.2958e59308e31p-1, -0x1.09e73b0c6c087p-56, // 21
+            0x1.345f01cce37bbp-1, 0x1.1021137c71102p-55, // 22
+            0x1.3f13fb89e96f4p-1, 0x1.ecf8b492644fp-56, // 23
+            0x1.4978fa3269ee1p-1, 0x1.2419a87f2a458p-56, // 24
+            0x1.538f57b89061fp-1, -0x1.1bb74abda520cp-55, // 25
+            0x1.5d58987169b18p-1, 0x1.0028e4bc5e7cap-57, // 26
+            0x1.66d663923e087p-1, -0x1.6ea6febe8bbbap-56, // 27
+            0x1.700a7c5784634p-1, -0x1.8c34d25aadef6p-56, // 28
+            0x1.78f6bbd5d315ep-1, 0x1.406a08980374p-55, // 29
+            0x1.819d0b7158a4dp-1, -0x1.bf76229d3b917p-56, // 30
+            0x1.89ff5ff57f1f8p-1, -0x1.55b9a5e177a1bp-55, // 31
+            0x1.921fb54442d18p-1, 0x1.1a62633145c07p-55  // 32
+    };
+}
@@ -0,0 +1,10 @@
+package com.andrewhun.calculator;
+/*
+This enum contains the ways the scientific functions (see ScientificFunction) can be calculated.
+STRICT is the default: every function is calculated by StrictMath, which gives the same
+digits on every machine and every version of Java.
+FAST calculates the functions with the tables and polynomials of FastMath, which are
+a few times faster and stay within a few units in the last place of StrictMath (the
+bound of every function is given in FastMath). The batch mode uses it by default.
+ */
+public enum FunctionPrecision {STRICT, FAST}
@@ -0,0 +1,66 @@
+/*
+* This file contains the InputState enum, the states of the state machine that decides how a
+* CalculatorSession reacts to the user's input (see CalculatorStateMachine). A state is the
+* combination of the state of the display and whether an operation has been selected:
+*   READY - nothing has been typed since the last result (or since the calculator was cleared),
+*   FIRST_NUMBER - the user is typing the first number of a calculation,
+*   OPERATOR_SELECTED - an operator was pressed, the next number has not been started yet,
+*   SECOND_NUMBER - the user is typing the number the selected operation is carried out with,
+*   FUNCTION_RESULT - a scientific function was applied to the second number, and its result is on the display,
+*   ERROR - the display shows the message of a CalculationError instead of a number.
+* ERROR is not kept by the session: it follows from the error of the display (see CalculatorDisplay.getError),
+* so an error shown in any other way is treated the same, and it is left as soon as a new number is started.
+* The result of a function applied to the first number needs no state of its own: like any other
+* result, it is replaced by the next digit, or taken as the first number by the next operator (READY).
+ */
+package com.andrewhun.calculator;
+
+public enum InputState {
+
+    READY(DisplayState.DEFAULT, false),
+    FIRST_NUMBER(DisplayState.CHANGED, false),
+    OPERATOR_SELECTED(DisplayState.DEFAULT, true),
+    SECOND_NUMBER(DisplayState.CHANGED, true),
+    FUNCTION_RESULT(DisplayState.FUNCTION_RESULT, true),
+    ERROR(DisplayState.DEFAULT, false);
+
+    private final DisplayState displayState;
+    private final boolean operationSelected;
+
+    InputState(DisplayState displayState, boolean operationSelected) {
+
+        this.displayState = displayState;
+        this.operationSelected = operationSelected;
+    }
+
+    public DisplayState getDisplayState() {
+
+        return displayState;
+    }
+
+    public boolean isOperationSelected() {
+
+        return operationSelected;
+    }
+
+    // Find the state that belongs to the state of the display, the selected operation and the error on the display
+    public static InputState of(DisplayState displayState, Operation selectedOperation, CalculationError error) {
+
+        return error != CalculationError.NONE ? ERROR : of(displayState, selectedOperation);
+    }
+
+    // Find the state that belongs to the state of the display and the selected operation (while no error is shown)
+    public static InputState of(DisplayState displayState, Operation selectedOperation) {
+
+        boolean operationSelected = selectedOperation != Operation.NONE;
+        if (displayState == DisplayState.FUNCTION_RESULT) {
+
+            return operationSelected ? FUNCTION_RESULT : READY;
+        }
+        if (displayState == DisplayState.CHANGED) {
+
+            return operationSelected ? SECOND_NUMBER : FIRST_NUMBER;
+        }
+        return operationSelected ? OPERATOR_SELECTED : READY;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+* This file contains the IntegerArithmetic class, the arithmetic of the INTEGER number mode. Numbers
+* typed without a decimal point are kept as longs and calculated with Math.addExact, subtractExact and
+* multiplyExact, so whole numbers stay exact far beyond 2^53, where a double starts to drop digits.
+* A division stays a long only if it leaves no remainder.
+*   Whenever a long cannot hold the result (an overflow, a division with a remainder or a number with
+* a decimal point), the operation is carried out with doubles instead, exactly as the DOUBLE mode would,
+* and the chain goes on with that double. Since every number is also kept as a double, falling back
+* costs nothing but the exception of the exact method, which happens at most once per overflow.
+*   MODULO and the bitwise operations of the PROGRAMMER mode are carried out on the longs as well (see
+* ProgrammerArithmetic.calculate), so they can be used on whole numbers in this mode too. POWER stays a
+* long as long as the power is not negative and the result fits, just like a product.
+ */
+package com.andrewhun.calculator;
+
+final class IntegerArithmetic extends ExactArithmetic {
+
+    // Each number as a long (if it is one) and as a double
+    private long firstNumber;
+    private long secondNumber;
+    private long result;
+
+    private boolean firstIsLong = true;
+    private boolean secondIsLong = true;
+    private boolean resultIsLong = true;
+
+    private double firstDouble;
+    private double secondDouble;
+    private double resultDouble;
+
+    @Override
+    void setFirstNumber(double value) {
+
+        firstIsLong = isLong(value);
+        firstNumber = (long) value;
+        firstDouble = value;
+    }
+
+    @Override
+    void setFirstNumber(NumberEntryBuffer number) {
+
+        firstIsLong = number.isLong();
+        firstNumber = firstIsLong ? number.toLong() : 0;
+        firstDouble = firstIsLong ? firstNumber : number.getValue();
+    }
+
+    @Override
+    void setSecondNumber(double value) {
+
+        secondIsLong = isLong(value);
+        secondNumber = (long) value;
+        secondDouble = value;
+    }
+
+    @Override
+    void setSecondNumber(NumberEntryBuffer number) {
+
+        secondIsLong = number.isLong();
+        secondNumber = secondIsLong ? number.toLong() : 0;
+        secondDouble = secondIsLong ? secondNumber : number.getValue();
+    }
+
+    @Override
+    void setSecondNumber(ExactArithmetic other) {
+
+        IntegerArithmetic source = (IntegerArithmetic) other;
+        secondIsLong = source.firstIsLong;
+        secondNumber = source.firstNumber;
+        secondDouble = source.firstDouble;
+    }
+
+    @Override
+    CalculationError executeOperation(Operation selectedOperation) {
+
+        if (firstIsLong && secondIsLong && calculateExactly(selectedOperation)) {
+
+            resultIsLong = true;
+            resultDouble = result;
+            return CalculationError.NONE;
+        }
+
+        resultIsLong = false;
+        resultDouble = CalculationEngine.calculate(selectedOperation, firstDouble, secondDouble);
+        return CalculationError.of(selectedOperation, secondDouble, resultDouble);
+    }
+
+    @Override
+    double getFirstNumber() {
+
+        return firstDouble;
+    }
+
+    @Override
+    double getSecondNumber() {
+
+        return secondDouble;
+    }
+
+    @Override
+    double getResult() {
+
+        return resultDouble;
+    }
+
+    @Override
+    void useResultAsFirstNumber() {
+
+        firstNumber = result;
+        firstIsLong = resultIsLong;
+        firstDouble = resultDouble;
+    }
+
+    @Override
+    void showFirstNumber(CalculatorDisplay display) {
+
+        if (firstIsLong) {
+
+            display.showResult(firstNumber);
+        }
+        else {
+
+            display.showResult(firstDouble);
+        }
+    }
+
+    @Override
+    void showResult(CalculatorDisplay display) {
+
+        if (resultIsLong) {
+
+            display.showResult(result);
+        }
+        else {
+
+            display.showResult(resultDouble);
+        }
+    }
+
+    @Override
+    void resetNumbers() {
+
+        firstNumber = 0;
+        secondNumber = 0;
+        result = 0;
+        firstIsLong = true;
+        secondIsLong = true;
+        resultIsLong = true;
+        firstDouble = 0.0;
+        secondDouble = 0.0;
+        resultDouble = 0.0;
+    }
+
+    // Calculate the result as a long; return false if the result is not a long
+    private boolean calculateExactly(Operation selectedOperation) {
+
+        try {
+
+            switch (selectedOperation) {
+
+                case ADDITION:
+
+                    result = Math.addExact(firstNumber, secondNumber);
+                    return true;
+
+                case SUBTRACTION:
+
+                    result = Math.subtractExact(firstNumber, secondNumber);
+                    return true;
+
+                case MULTIPLICATION:
+
+                    result = Math.multiplyExact(firstNumber, secondNumber);
+                    return true;
+
+                // Divisions with a remainder (and divisions by zero) are left to the doubles
+                case DIVISION:
+
+                    if (secondNumber == 0 || (firstNumber == Long.MIN_VALUE && secondNumber == -1)) {
+
+                        return false;
+                    }
+                    result = firstNumber / secondNumber;
+                    return result * secondNumber == firstNumber;
+
+                case MODULO:
+
+                    if (secondNumber == 0) {
+
+                        return false;
+                    }
+                    result = firstNumber % secondNumber;
+                    return true;
+
+                // Negative powers are fractions, left to the doubles like the divisions with a remainder
+                case POWER:
+
+                    if (secondNumber < 0) {
+
+                        return false;
+                    }
+                    result = powerExact(firstNumber, secondNumber);
+                    return true;
+
+                case NONE:
+
+                    result = firstNumber;
+                    return true;
+
+                default:
+
+                    result = ProgrammerArithmetic.calculate(selectedOperation, firstNumber, secondNumber);
+                    return true;
+            }
+        }
+
+        // The result does not fit into a long
+        catch (ArithmeticException overflow) {
+
+            return false;
+        }
+    }
+
+    /* Raise a long to a power that is not negative by squaring, with Math.multiplyExact. The base is only
+    squared while there is a power left to use it, so the square never overflows unless the result would.*/
+    private static long powerExact(long base, long exponent) {
+
+        long result = 1;
+        while (true) {
+
+            if ((exponent & 1) != 0) {
+
+                result = Math.multiplyExact(result, base);
+            }
+            exponent >>= 1;
+            if (exponent == 0) {
+
+                return result;
+            }
+            base = Math.multiplyExact(base, base);
+        }
+    }
+
+    // Find out if a double is a whole number that fits into a long (-0.0 is taken as 0)
+    private static boolean isLong(double value) {
+
+        return value >= -0x1p63 && value < 0x1p63 && (long) value == value;
+    }
+}
@@ -0,0 +1,536 @@
+/*
+* This file contains the NumberEntryBuffer class, which holds the number shown on the bottom of the
+* display while the user is typing it. The characters are kept in a char array of fixed size, and
+* the sign, the length and the position of the decimal point are kept in fields, so typing a digit,
+* deleting one and flipping the sign are all done in constant time without creating any objects.
+*   The minus sign is not stored in the array, only in the negative flag, which is why adding and
+* removing it does not move any characters. The text of the number is only turned into a String when
+* somebody asks for it (usually the label that shows it), and that String is kept until the number
+* changes again.
+*   The value of the number is followed along the same way: every digit, decimal point, sign change
+* and deletion is passed on to a DecimalAccumulator, so getValue() gives the same double as
+* Double.parseDouble would without parsing anything. Results shown on the display keep the exact
+* double they came from. Only text that is not a plain number (or a number with more digits than a
+* double can tell apart) is still handed to Double.parseDouble.
+*   Besides numbers, the buffer can hold any text set from the outside, such as results and error
+* messages. Text that is too long for the array gets a bigger one, which only happens for unusually
+* long messages, never while typing: digits that do not fit are simply ignored.
+ */
+package com.andrewhun.calculator;
+
+import java.math.BigDecimal;
+
+class NumberEntryBuffer {
+
+    // The number of characters (not counting the minus sign) that can be typed in
+    static final int CAPACITY = 64;
+
+    private static final char MINUS_SIGN = '-';
+    private static final char DECIMAL_POINT = '.';
+    static final char FRACTION_BAR = '/';
+
+    // The digits of Long.MAX_VALUE
+    private static final String LONG_DIGITS = "9223372036854775807";
+
+    // The most digits a typed number may have for hasExactValue and getValueError (all of them fit into a double)
+    private static final int EXACT_DIGITS = 15;
+
+    // The most digits a short decimal may have (all of them fit into a long)
+    private static final int SHORT_DECIMAL_DIGITS = 18;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private char[] characters = new char[CAPACITY];
+    private int length;
+    private boolean negative;
+
+    // The index of the decimal point in the array, or -1 if the number does not have one
+    private int decimalPointIndex = -1;
+
+    // The last text handed out, or null if the number changed since then
+    private String text;
+
+    // The value of the digits and the decimal point, as far as the text is a plain number
+    private final DecimalAccumulator accumulator = new DecimalAccumulator();
+    private int typedDigits;
+    private boolean plainNumber = true;
+
+    // The value of a result shown on the display, which is known without looking at its digits
+    private boolean exactValueKnown;
+    private double exactValue;
+
+    // The radix the digits are read in by toWord (only the PROGRAMMER number mode uses another than DECIMAL)
+    private Radix radix = Radix.DECIMAL;
+
+    // The value of the digits as a 64-bit word, once it has been worked out (or shown as a result)
+    private boolean wordKnown;
+    private long word;
+
+    // Replace the contents of the buffer with the given text
+    void setText(String newText) {
+
+        int start = 0;
+        negative = false;
+        if (!newText.isEmpty() && newText.charAt(0) == MINUS_SIGN) {
+
+            negative = true;
+            start = 1;
+        }
+
+        length = newText.length() - start;
+        if (length > characters.length) {
+
+            characters = new char[length];
+        }
+        newText.getChars(start, newText.length(), characters, 0);
+
+        findDecimalPoint();
+        trackValue();
+        text = newText;
+        wordKnown = false;
+    }
+
+    // Show a result: its text is in the first characters of the array, and its value is known exactly
+    void setNumber(double value, char[] source, int sourceLength) {
+
+        copyCharacters(source, sourceLength);
+        exactValueKnown = true;
+        exactValue = value;
+    }
+
+    /* Show a 64-bit word, whose digits (in the radix of the buffer) are in the first characters of the
+    array. Its value is known, so neither the word nor the double has to be worked out from the digits.*/
+    void setWord(long value, char[] source, int sourceLength) {
+
+        copyCharacters(source, sourceLength);
+        exactValueKnown = true;
+        exactValue = value;
+        wordKnown = true;
+        word = value;
+    }
+
+    /* Show a result whose value is only known from its digits (such as a whole number too large for
+    a double to hold exactly). The text is in the first characters of the array.*/
+    void setDigits(char[] source, int sourceLength) {
+
+        copyCharacters(source, sourceLength);
+        trackValue();
+    }
+
+    // Get the text of the buffer, creating a String only if the number changed since the last call
+    String getText() {
+
+        if (text == null) {
+
+            String digits = new String(characters, 0, length);
+            text = negative ? MINUS_SIGN + digits : digits;
+        }
+        return text;
+    }
+
+    /* Get the value of the number, exactly the same as Double.parseDouble(getText()) would give,
+    including the NumberFormatException for text that is not a number. A fraction (such as "-1/3",
+    shown by the RATIONAL number mode) gives the quotient of its two numbers.*/
+    double getValue() {
+
+        if (exactValueKnown) {
+
+            return exactValue;
+        }
+        if (plainNumber && typedDigits > 0) {
+
+            double value = accumulator.toDouble();
+            if (!Double.isNaN(value)) {
+
+                return value;
+            }
+        }
+        String number = getText();
+        int fractionBar = number.indexOf(FRACTION_BAR);
+        if (fractionBar > 0) {
+
+            return Double.parseDouble(number.substring(0, fractionBar))
+                    / Double.parseDouble(number.substring(fractionBar + 1));
+        }
+        return Double.parseDouble(number);
+    }
+
+    // Find out if the number is a whole number that fits into a long
+    boolean isLong() {
+
+        if (exactValueKnown) {
+
+            return exactValue == Math.rint(exactValue) && Math.abs(exactValue) < 0x1p63;
+        }
+
+        // Only digits, and not more than Long.MAX_VALUE (or -Long.MIN_VALUE) has
+        if (!plainNumber || decimalPointIndex >= 0 || typedDigits == 0) {
+
+            return false;
+        }
+
+        // Leading zeros do not count (a pasted number may have any number of them)
+        int start = 0;
+        while (start < length - 1 && characters[start] == '0') {
+
+            start++;
+        }
+        int digits = length - start;
+        if (digits != LONG_DIGITS.length()) {
+
+            return digits < LONG_DIGITS.length();
+        }
+        for (int i = start; i < length; i++) {
+
+            char limit = LONG_DIGITS.charAt(i - start);
+            limit = negative && i == length - 1 ? (char) (limit + 1) : limit;
+            if (characters[i] != limit) {
+
+                return characters[i] < limit;
+            }
+        }
+        return true;
+    }
+
+    // The value of the number as a long (only if isLong() is true)
+    long toLong() {
+
+        if (exactValueKnown) {
+
+            return (long) exactValue;
+        }
+
+        // Collect the digits as a negative number, which also works for Long.MIN_VALUE
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+
+            value = value * 10 - (characters[i] - '0');
+        }
+        return negative ? value : -value;
+    }
+
+    Radix getRadix() {
+
+        return radix;
+    }
+
+    void setRadix(Radix newRadix) {
+
+        radix = newRadix;
+        wordKnown = false;
+    }
+
+    /* The value of the number as a 64-bit word, with its digits read in the radix of the buffer. Digits
+    beyond the 64 bits are shifted out, the way they would be in a register, and the minus sign gives the
+    two's complement. Text that is not made of digits of the radix throws a NumberFormatException.
+    The word is kept until the number changes, so the display can ask for it as often as it likes.*/
+    long toWord() {
+
+        if (wordKnown) {
+
+            return word;
+        }
+        if (exactValueKnown) {
+
+            return (long) exactValue;
+        }
+
+        int base = RadixFormatter.baseOf(radix);
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+
+            int digit = RadixFormatter.digitValue(characters[i], radix);
+            if (digit < 0) {
+
+                throw new NumberFormatException("Not a " + radix + " number: " + getText());
+            }
+            value = value * base + digit;
+        }
+        word = negative ? -value : value;
+        wordKnown = true;
+        return word;
+    }
+
+    /* Find out if getValue() is exactly the number on the display, and not just the nearest double
+    to it (0.5 is, 0.1 is not). Typed numbers are only checked up to EXACT_DIGITS digits.*/
+    boolean hasExactValue() {
+
+        if (exactValueKnown) {
+
+            return true;
+        }
+        if (!plainNumber || typedDigits == 0 || typedDigits > EXACT_DIGITS) {
+
+            return false;
+        }
+
+        // The value is exact if it gives back the digits when multiplied by the scale, without any rounding
+        double digits = unscaledDigits();
+        double scale = POWERS_OF_TEN[getDecimalPlaces()];
+        double value = Math.abs(getValue());
+        double scaledValue = value * scale;
+        return scaledValue == digits && Math.fma(value, scale, -scaledValue) == 0.0;
+    }
+
+    /* Get the difference between the number on the display and getValue(), as the nearest double to it,
+    so the two together hold the number to about twice the digits of a double (0 for the results, whose
+    exact value is the double).*/
+    double getValueError() {
+
+        if (exactValueKnown) {
+
+            return 0.0;
+        }
+
+        double value = getValue();
+        if (plainNumber && typedDigits > 0 && typedDigits <= EXACT_DIGITS) {
+
+            // The remainder of dividing the digits by the scale is a double, and Math.fma gives it exactly
+            double digits = getUnscaledValue();
+            double scale = POWERS_OF_TEN[getDecimalPlaces()];
+            return Math.fma(-value, scale, digits) / scale;
+        }
+        return toBigDecimal().subtract(new BigDecimal(value)).doubleValue();
+    }
+
+    // Find out if the number is made of digits and a decimal point only, with few enough digits for a long
+    boolean isShortDecimal() {
+
+        return !exactValueKnown && plainNumber && typedDigits > 0 && typedDigits <= SHORT_DECIMAL_DIGITS;
+    }
+
+    // The digits of a short decimal without its decimal point, with its sign (-125 for -12.5)
+    long getUnscaledValue() {
+
+        return negative ? -unscaledDigits() : unscaledDigits();
+    }
+
+    // The number of digits after the decimal point
+    int getDecimalPlaces() {
+
+        return decimalPointIndex < 0 ? 0 : length - decimalPointIndex - 1;
+    }
+
+    // The number on the display as a BigDecimal, with every digit it has
+    BigDecimal toBigDecimal() {
+
+        BigDecimal value = new BigDecimal(characters, 0, length);
+        return negative ? value.negate() : value;
+    }
+
+    // Add a character to the end of the number, unless the buffer is full
+    void append(char character) {
+
+        if (length >= CAPACITY) {
+
+            return;
+        }
+
+        if (exactValueKnown) {
+
+            trackValue();
+        }
+        if (character >= '0' && character <= '9') {
+
+            accumulator.appendDigit(character - '0');
+            typedDigits++;
+        }
+        else if (character == DECIMAL_POINT && decimalPointIndex < 0) {
+
+            accumulator.addDecimalPoint();
+            decimalPointIndex = length;
+        }
+        else {
+
+            plainNumber = false;
+        }
+        characters[length++] = character;
+        text = null;
+        wordKnown = false;
+    }
+
+    // Remove the last character of the number (the minus sign stays, like it did with strings)
+    void deleteLast() {
+
+        text = null;
+        wordKnown = false;
+        if (length == 0) {
+
+            setNegative(false);
+            return;
+        }
+
+        char character = characters[--length];
+        if (length == decimalPointIndex) {
+
+            decimalPointIndex = -1;
+        }
+
+        // Follow the deletion in the accumulator, or start over if it cannot take back the digit
+        if (!plainNumber || exactValueKnown) {
+
+            trackValue();
+        }
+        else if (character == DECIMAL_POINT) {
+
+            accumulator.removeDecimalPoint();
+        }
+        else {
+
+            typedDigits--;
+            if (!accumulator.removeLastDigit()) {
+
+                trackValue();
+            }
+        }
+    }
+
+    void setNegative(boolean isNegative) {
+
+        if (negative != isNegative) {
+
+            negative = isNegative;
+            accumulator.setNegative(isNegative);
+            text = null;
+            wordKnown = false;
+
+            // The text of a result with a changed sign may not even be a number ("-NaN")
+            if (exactValueKnown) {
+
+                trackValue();
+            }
+        }
+    }
+
+    boolean isNegative() {
+
+        return negative;
+    }
+
+    boolean hasDecimalPoint() {
+
+        return decimalPointIndex >= 0;
+    }
+
+    // The number of characters of the text, including the minus sign
+    int textLength() {
+
+        return negative ? length + 1 : length;
+    }
+
+    // The number of characters after the minus sign
+    int digitCount() {
+
+        return length;
+    }
+
+    char charAt(int index) {
+
+        return characters[index];
+    }
+
+    // Compare the text of the buffer with the given text without creating a String
+    boolean textEquals(String other) {
+
+        if (other.length() != textLength()) {
+
+            return false;
+        }
+        int offset = 0;
+        if (negative) {
+
+            if (other.charAt(0) != MINUS_SIGN) {
+
+                return false;
+            }
+            offset = 1;
+        }
+        for (int i = 0; i < length; i++) {
+
+            if (characters[i] != other.charAt(i + offset)) {
+
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The digits of a plain number of at most SHORT_DECIMAL_DIGITS digits, as a whole number
+    private long unscaledDigits() {
+
+        long digits = 0;
+        for (int i = 0; i < length; i++) {
+
+            if (i != decimalPointIndex) {
+
+                digits = digits * 10 + (characters[i] - '0');
+            }
+        }
+        return digits;
+    }
+
+    // Copy the text (with its minus sign, if there is one) into the array
+    private void copyCharacters(char[] source, int sourceLength) {
+
+        int start = 0;
+        negative = false;
+        if (sourceLength > 0 && source[0] == MINUS_SIGN) {
+
+            negative = true;
+            start = 1;
+        }
+
+        length = sourceLength - start;
+        if (length > characters.length) {
+
+            characters = new char[length];
+        }
+        System.arraycopy(source, start, characters, 0, length);
+
+        findDecimalPoint();
+        text = null;
+        wordKnown = false;
+    }
+
+    private void findDecimalPoint() {
+
+        decimalPointIndex = -1;
+        for (int i = 0; i < length; i++) {
+
+            if (characters[i] == DECIMAL_POINT) {
+
+                decimalPointIndex = i;
+                break;
+            }
+        }
+    }
+
+    // Work out the value of the number from all of its characters
+    private void trackValue() {
+
+        accumulator.reset();
+        accumulator.setNegative(negative);
+        typedDigits = 0;
+        plainNumber = true;
+        exactValueKnown = false;
+
+        for (int i = 0; i < length; i++) {
+
+            char character = characters[i];
+            if (character >= '0' && character <= '9') {
+
+                accumulator.appendDigit(character - '0');
+                typedDigits++;
+            }
+            else if (i == decimalPointIndex) {
+
+                accumulator.addDecimalPoint();
+            }
+            else {
+
+                plainNumber = false;
+            }
+        }
+    }
+}
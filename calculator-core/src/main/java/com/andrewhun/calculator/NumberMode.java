@@ -0,0 +1,16 @@
+package com.andrewhun.calculator;
+/*
+This enum contains the kinds of numbers the calculator can calculate with.
+DOUBLE is the default: every number is a double, just like it always was.
+INTEGER keeps whole numbers as longs, so they stay exact beyond 2^53, and only
+switches to doubles for the results that are not whole numbers or do not fit.
+DECIMAL calculates with decimals (rounded with the MathContext of the engine),
+so 0.1 + 0.2 is 0.3, but keeps the numbers a double can hold exactly as doubles.
+DOUBLE_DOUBLE keeps every number as the sum of two doubles (about 106 bits),
+so long chains of operations do not pile up the rounding errors of the doubles.
+RATIONAL keeps every number as a fraction in its lowest terms, so 1 / 3 * 3 is
+exactly 1, with longs that only become BigIntegers when they would overflow.
+PROGRAMMER keeps every number as a 64-bit long that wraps around like a register,
+for the bitwise operations, and can show and take the numbers in any Radix.
+ */
+public enum NumberMode {DOUBLE, INTEGER, DECIMAL, DOUBLE_DOUBLE, RATIONAL, PROGRAMMER}
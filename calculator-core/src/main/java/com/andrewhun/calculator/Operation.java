@@ -0,0 +1,14 @@
+package com.andrewhun.calculator;
+/*
+This enum contains the operations the calculator can carry out.
+NONE refers to the state where the user has not yet pressed any
+of the operator buttons in the current calculation.
+MODULO and the bitwise operations (AND, OR, XOR, the shifts and the rotations)
+belong to the PROGRAMMER number mode, which carries them out on 64-bit longs.
+The other modes carry them out on the whole parts of their numbers.
+POWER raises the first number to the power of the second (x^y).
+ */
+public enum Operation {
+    ADDITION, SUBTRACTION, MULTIPLICATION, DIVISION,
+    MODULO, AND, OR, XOR, SHIFT_LEFT, SHIFT_RIGHT, ROTATE_LEFT, ROTATE_RIGHT, POWER, NONE
+}
@@ -0,0 +1,192 @@
+/*
+* This file contains the OperationStack class, which holds the operations of a chain that have to wait
+* for the ones after them. It is the shunting-yard algorithm, carried out one operator at a time: every
+* operation waits on the stack (with its first number) until an operator of the same or a lower
+* precedence arrives, and is carried out then. With the precedences of EvaluationOrder.LEFT_TO_RIGHT
+* nothing ever waits, and the chain is calculated the way it always was.
+*   The operation on top of the stack is the one the session has selected, and its first number is held
+* by the engine of its level; the operations below it are kept here. The engine of the bottom level is
+* the engine of the session, so the result of the whole chain ends up where it always did. Every level
+* has its own engine (in the number mode of the session), so the numbers that wait keep all of their
+* digits. Since an operation only goes on top of one with a lower precedence, the stack is never higher
+* than the number of precedences, and every operator is pushed once and carried out once: the work per
+* key stays constant, however long the chain is.
+*   The precedences of OPERATOR_PRECEDENCE are the ones of Java (and C): MULTIPLICATION, DIVISION and MODULO
+* come first, then ADDITION and SUBTRACTION, then the shifts and rotations, then AND, XOR and OR in that order.
+* Java has no POWER, which comes before all of them, as in mathematics (but 2 ^ 3 ^ 2 is still calculated
+* from left to right, like every other chain of the same operation).
+*   The stack is public for the BatchEvaluator, which hands it the numbers of a line as doubles instead of
+* the typed numbers of a display. The precedences are public too, so the ExpressionParser builds its syntax
+* trees in the same order as the chains are calculated here.
+ */
+package com.andrewhun.calculator;
+
+public final class OperationStack {
+
+    // The precedences of the operations (by their ordinal), with NONE (the end of the chain) below all of them
+    private static final int[] LEFT_TO_RIGHT_PRECEDENCES = {1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0};
+    private static final int[] OPERATOR_PRECEDENCES = {5, 5, 6, 6, 6, 3, 1, 2, 4, 4, 4, 4, 7, 0};
+
+    // The number of different precedences, which is as high as the stack can get
+    private static final int LEVELS = 7;
+
+    private final CalculationEngine[] engines = new CalculationEngine[LEVELS];
+    private final Operation[] waitingOperations = new Operation[LEVELS];
+
+    // The number of operations waiting below the one on top
+    private int waitingCount;
+
+    private EvaluationOrder evaluationOrder = EvaluationOrder.LEFT_TO_RIGHT;
+    private int[] precedences = LEFT_TO_RIGHT_PRECEDENCES;
+
+    // The error the last operation ended with
+    private CalculationError error = CalculationError.NONE;
+
+    // Create a stack whose bottom level is the engine of the session
+    public OperationStack(CalculationEngine engine) {
+
+        engines[0] = engine;
+        for (int i = 1; i < LEVELS; i++) {
+
+            engines[i] = new CalculationEngine();
+        }
+    }
+
+    // The precedence of the operation in the given order (a higher one is carried out first, NONE has the lowest)
+    public static int precedenceOf(Operation operation, EvaluationOrder order) {
+
+        int[] orderPrecedences = order == EvaluationOrder.OPERATOR_PRECEDENCE ? OPERATOR_PRECEDENCES : LEFT_TO_RIGHT_PRECEDENCES;
+        return orderPrecedences[operation.ordinal()];
+    }
+
+    public EvaluationOrder getEvaluationOrder() {
+
+        return evaluationOrder;
+    }
+
+    public void setEvaluationOrder(EvaluationOrder newOrder) {
+
+        evaluationOrder = newOrder;
+        precedences = newOrder == EvaluationOrder.OPERATOR_PRECEDENCE ? OPERATOR_PRECEDENCES : LEFT_TO_RIGHT_PRECEDENCES;
+        reset();
+    }
+
+    public CalculationError getError() {
+
+        return error;
+    }
+
+    /* The number after the selected operation was typed and the next operator pressed (NONE for "=").
+    Either the selected operation has to wait for the next one, or it is carried out, along with every
+    waiting operation that comes before the next one. The result of the last of them is the first number
+    of the next operation (or, at the end of the chain, the result of the engine of the session).*/
+    void execute(Operation selectedOperation, NumberEntryBuffer number, Operation nextOperation) {
+
+        if (waitsFor(selectedOperation, nextOperation)) {
+
+            push(selectedOperation).setFirstNumber(number);
+            return;
+        }
+
+        engines[waitingCount].setSecondNumber(number);
+        carryOut(selectedOperation, nextOperation);
+    }
+
+    // The same, with the number after the selected operation as a double
+    public void execute(Operation selectedOperation, double number, Operation nextOperation) {
+
+        if (waitsFor(selectedOperation, nextOperation)) {
+
+            push(selectedOperation).setFirstNumber(number);
+            return;
+        }
+
+        engines[waitingCount].setSecondNumber(number);
+        carryOut(selectedOperation, nextOperation);
+    }
+
+    // Find out if the selected operation has to wait for the next one
+    private boolean waitsFor(Operation selectedOperation, Operation nextOperation) {
+
+        error = CalculationError.NONE;
+        return precedences[nextOperation.ordinal()] > precedences[selectedOperation.ordinal()];
+    }
+
+    // Carry out the selected operation, whose second number is set, and the waiting ones that come before the next one
+    private void carryOut(Operation selectedOperation, Operation nextOperation) {
+
+        Operation operation = selectedOperation;
+        while (true) {
+
+            CalculationEngine engine = engines[waitingCount];
+            engine.executeOperation(operation);
+            error = engine.getError();
+            if (error != CalculationError.NONE || waitingCount == 0
+                    || precedences[waitingOperations[waitingCount - 1].ordinal()] < precedences[nextOperation.ordinal()]) {
+
+                break;
+            }
+
+            // The result is the second number of the operation below
+            engine.useResultAsFirstNumber();
+            engines[waitingCount - 1].setSecondNumber(engine);
+            waitingCount--;
+            operation = waitingOperations[waitingCount];
+        }
+
+        if (nextOperation != Operation.NONE) {
+
+            engines[waitingCount].useResultAsFirstNumber();
+        }
+    }
+
+    /* The operator on top was pressed without a number after it, and is replaced by the next operation
+    (NONE for "="). The waiting operations that come before the next one are carried out, with the first
+    number of the one on top as their second number, so the result ends up as the first number on top.*/
+    public void dropSelectedOperation(Operation nextOperation) {
+
+        error = CalculationError.NONE;
+        while (waitingCount > 0
+                && precedences[waitingOperations[waitingCount - 1].ordinal()] >= precedences[nextOperation.ordinal()]) {
+
+            engines[waitingCount - 1].setSecondNumber(engines[waitingCount]);
+            waitingCount--;
+
+            CalculationEngine engine = engines[waitingCount];
+            engine.executeOperation(waitingOperations[waitingCount]);
+            error = engine.getError();
+            if (error != CalculationError.NONE) {
+
+                return;
+            }
+            engine.useResultAsFirstNumber();
+        }
+    }
+
+    // Forget the waiting operations (the engine of the session is reset by the session itself)
+    public void reset() {
+
+        for (int i = 1; i <= waitingCount; i++) {
+
+            engines[i].resetNumbers();
+        }
+        waitingCount = 0;
+        error = CalculationError.NONE;
+    }
+
+    // Let the selected operation wait, and return the engine of the level above it
+    private CalculationEngine push(Operation selectedOperation) {
+
+        waitingOperations[waitingCount] = selectedOperation;
+        waitingCount++;
+
+        // The engine of the level calculates the same way as the engine of the session
+        CalculationEngine engine = engines[waitingCount];
+        if (engine.getNumberMode() != engines[0].getNumberMode()) {
+
+            engine.setNumberMode(engines[0].getNumberMode());
+        }
+        engine.setMathContext(engines[0].getMathContext());
+        return engine;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+* This file contains the ProgrammerArithmetic class, the arithmetic of the PROGRAMMER number mode. Every
+* number is a 64-bit long that behaves like a register: sums and products wrap around instead of
+* overflowing, divisions drop their remainder (which MODULO gives, with the sign of the first number),
+* and the bitwise operations work on the two's complement bits of the numbers. SHIFT_RIGHT keeps the sign
+* (-16 >> 2 is -4), and the distance of the shifts and rotations is taken modulo 64, as Java does. POWER
+* wraps around like the products it is made of, and a negative power drops to 0 like a division would
+* (except for the powers of 1 and -1).
+*   The numbers are read from the display in its Radix, and the results are shown in it (see
+* CalculatorDisplay.showWord). Doubles handed to the engine are cut down to their whole part. Dividing
+* by zero (0 to a negative power included) is the only error, since nothing else can leave the longs.
+ */
+package com.andrewhun.calculator;
+
+final class ProgrammerArithmetic extends ExactArithmetic {
+
+    private long firstNumber;
+    private long secondNumber;
+    private long result;
+
+    @Override
+    void setFirstNumber(double value) {
+
+        firstNumber = (long) value;
+    }
+
+    @Override
+    void setFirstNumber(NumberEntryBuffer number) {
+
+        firstNumber = number.toWord();
+    }
+
+    @Override
+    void setSecondNumber(double value) {
+
+        secondNumber = (long) value;
+    }
+
+    @Override
+    void setSecondNumber(NumberEntryBuffer number) {
+
+        secondNumber = number.toWord();
+    }
+
+    @Override
+    void setSecondNumber(ExactArithmetic other) {
+
+        secondNumber = ((ProgrammerArithmetic) other).firstNumber;
+    }
+
+    @Override
+    CalculationError executeOperation(Operation selectedOperation) {
+
+        if (((selectedOperation == Operation.DIVISION || selectedOperation == Operation.MODULO) && secondNumber == 0)
+                || (selectedOperation == Operation.POWER && firstNumber == 0 && secondNumber < 0)) {
+
+            result = 0;
+            return CalculationError.DIVISION_BY_ZERO;
+        }
+        result = calculate(selectedOperation, firstNumber, secondNumber);
+        return CalculationError.NONE;
+    }
+
+    @Override
+    double getFirstNumber() {
+
+        return firstNumber;
+    }
+
+    @Override
+    double getSecondNumber() {
+
+        return secondNumber;
+    }
+
+    @Override
+    double getResult() {
+
+        return result;
+    }
+
+    @Override
+    void useResultAsFirstNumber() {
+
+        firstNumber = result;
+    }
+
+    @Override
+    void showFirstNumber(CalculatorDisplay display) {
+
+        display.showWord(firstNumber);
+    }
+
+    @Override
+    void showResult(CalculatorDisplay display) {
+
+        display.showWord(result);
+    }
+
+    @Override
+    void resetNumbers() {
+
+        firstNumber = 0;
+        secondNumber = 0;
+        result = 0;
+    }
+
+    // Carry out an operation on two longs the way a 64-bit register would (the second number of a division is not 0)
+    static long calculate(Operation selectedOperation, long firstNumber, long secondNumber) {
+
+        switch (selectedOperation) {
+
+            case ADDITION:
+
+                return firstNumber + secondNumber;
+
+            case SUBTRACTION:
+
+                return firstNumber - secondNumber;
+
+            case MULTIPLICATION:
+
+                return firstNumber * secondNumber;
+
+            case DIVISION:
+
+                return firstNumber / secondNumber;
+
+            case MODULO:
+
+                return firstNumber % secondNumber;
+
+            case AND:
+
+                return firstNumber & secondNumber;
+
+            case OR:
+
+                return firstNumber | secondNumber;
+
+            case XOR:
+
+                return firstNumber ^ secondNumber;
+
+            case SHIFT_LEFT:
+
+                return firstNumber << secondNumber;
+
+            case SHIFT_RIGHT:
+
+                return firstNumber >> secondNumber;
+
+            case ROTATE_LEFT:
+
+                return Long.rotateLeft(firstNumber, (int) secondNumber);
+
+            case ROTATE_RIGHT:
+
+                return Long.rotateRight(firstNumber, (int) secondNumber);
+
+            case POWER:
+
+                return power(firstNumber, secondNumber);
+
+            default:
+
+                return firstNumber;
+        }
+    }
+
+    // Raise a long to a power by squaring, wrapping around; a negative power is 1 divided by the positive one
+    private static long power(long base, long exponent) {
+
+        if (exponent < 0) {
+
+            return base == 1 || (base == -1 && (exponent & 1) == 0) ? 1 : base == -1 ? -1 : 0;
+        }
+
+        long result = 1;
+        while (exponent != 0) {
+
+            if ((exponent & 1) != 0) {
+
+                result *= base;
+            }
+            base *= base;
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,7 @@
+package com.andrewhun.calculator;
+/*
+This enum contains the radices the PROGRAMMER number mode can show and take numbers in.
+DECIMAL is the default, and the only radix of the other number modes. The others show
+the 64 bits of the number as they are, so -1 is FFFFFFFFFFFFFFFF in HEXADECIMAL.
+ */
+public enum Radix {BINARY, OCTAL, DECIMAL, HEXADECIMAL}
@@ -0,0 +1,132 @@
+/*
+* This file contains the RadixFormatter class, which writes the 64-bit numbers of the PROGRAMMER number
+* mode in every Radix, and reads their digits back. Like the DoubleFormatter, it writes the digits into a
+* char array that is reused for every number, so showing a number in another radix (which happens on every
+* keystroke when all of them are shown at once) does not create any objects.
+*   Everything about a radix is looked up in tables indexed by its ordinal. Binary, octal and hexadecimal
+* digits are each a fixed number of bits, so they are cut off the number with a shift and a mask, and the
+* number is written as the unsigned 64 bits it is made of. Decimal numbers keep their sign, and are written
+* two digits at a time from a table of the numbers below 100, which halves the slow divisions.
+*   Digits are read with a table of the value of every character (-1 for the characters that are not
+* digits), which takes lower case letters as well.
+ */
+package com.andrewhun.calculator;
+
+import java.util.Arrays;
+
+final class RadixFormatter {
+
+    // The longest text a long can turn into (64 binary digits, or 19 decimal digits with a minus sign)
+    static final int MAX_LENGTH = 64;
+
+    private static final char[] DIGITS = "0123456789ABCDEF".toCharArray();
+
+    // The base of each radix, and the bits of one of its digits (0 if a digit is not a whole number of bits)
+    private static final int[] BASES = {2, 8, 10, 16};
+    private static final int[] DIGIT_BITS = {1, 3, 0, 4};
+
+    // The two digits of every number below 100, for writing decimals two digits at a time
+    private static final char[] TENS = new char[100];
+    private static final char[] ONES = new char[100];
+
+    // The value of every character that is a digit in some radix, and -1 for all the others
+    private static final byte[] DIGIT_VALUES = new byte[128];
+
+    static {
+
+        for (int i = 0; i < 100; i++) {
+
+            TENS[i] = DIGITS[i / 10];
+            ONES[i] = DIGITS[i % 10];
+        }
+
+        Arrays.fill(DIGIT_VALUES, (byte) -1);
+        for (int i = 0; i < DIGITS.length; i++) {
+
+            DIGIT_VALUES[DIGITS[i]] = (byte) i;
+            DIGIT_VALUES[Character.toLowerCase(DIGITS[i])] = (byte) i;
+        }
+    }
+
+    private final char[] characters = new char[MAX_LENGTH];
+    private int length;
+
+    // Write the digits of the value in the radix into the char array of the formatter and return their length
+    int format(long value, Radix radix) {
+
+        int bits = DIGIT_BITS[radix.ordinal()];
+        if (bits == 0) {
+
+            return formatDecimal(value);
+        }
+
+        // The number of digits the significant bits of the value need (at least one, for 0)
+        int significantBits = Math.max(Long.SIZE - Long.numberOfLeadingZeros(value), 1);
+        length = (significantBits + bits - 1) / bits;
+
+        int mask = (1 << bits) - 1;
+        long remaining = value;
+        for (int i = length - 1; i >= 0; i--) {
+
+            characters[i] = DIGITS[(int) remaining & mask];
+            remaining >>>= bits;
+        }
+        return length;
+    }
+
+    // The char array the last value was written into; only the first format(...) characters are valid
+    char[] getCharacters() {
+
+        return characters;
+    }
+
+    int getLength() {
+
+        return length;
+    }
+
+    // The base of the radix (16 for HEXADECIMAL)
+    static int baseOf(Radix radix) {
+
+        return BASES[radix.ordinal()];
+    }
+
+    // The value of a digit character (either case for the letters), or -1 if it is not a digit of the radix
+    static int digitValue(char character, Radix radix) {
+
+        int value = character < DIGIT_VALUES.length ? DIGIT_VALUES[character] : -1;
+        return value < BASES[radix.ordinal()] ? value : -1;
+    }
+
+    // Write a decimal with its sign, two digits at a time from the end
+    private int formatDecimal(long value) {
+
+        // The digits are taken from the negative value, which also works for Long.MIN_VALUE
+        long remaining = value < 0 ? value : -value;
+        int digitCount = 1;
+        for (long limit = -10; digitCount < 19 && remaining <= limit; limit *= 10) {
+
+            digitCount++;
+        }
+        length = value < 0 ? digitCount + 1 : digitCount;
+
+        int index = length;
+        while (remaining <= -100) {
+
+            int lastTwo = (int) (remaining - remaining / 100 * 100);
+            remaining /= 100;
+            characters[--index] = ONES[-lastTwo];
+            characters[--index] = TENS[-lastTwo];
+        }
+        characters[--index] = ONES[(int) -remaining];
+        if (remaining <= -10) {
+
+            characters[--index] = TENS[(int) -remaining];
+        }
+        if (value < 0) {
+
+            characters[--index] = '-';
+        }
+        return length;
+    }
+}
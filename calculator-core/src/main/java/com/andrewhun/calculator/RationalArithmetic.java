@@ -0,0 +1,543 @@
+/*
+* This file contains the RationalArithmetic class, the arithmetic of the RATIONAL number mode. Every number
+* is kept as a fraction in its lowest terms, so nothing is ever rounded: 1 / 3 * 3 is exactly 1, and
+* 0.1 + 0.2 is exactly 3/10. The numerator and the denominator are longs, held in the fields of the
+* arithmetic (so the operations do not allocate anything), and they only become BigIntegers when a long
+* cannot hold them any more. A result that fits into longs again goes back to them.
+*   The fractions are reduced with the binary GCD algorithm (Stein's algorithm), which only needs shifts
+* and subtractions, and the sums and products are calculated the way Knuth describes, by cancelling the
+* common factors before multiplying, which keeps the longs from overflowing for as long as possible.
+*   Results whose decimals come to an end (such as 3/4) are shown as decimals, with every digit, and the
+* others (such as 1/3) as fractions. A fraction on the display is read back exactly, so the result of one
+* calculation is the exact first number of the next one. Numbers handed over as doubles are taken as the
+* decimal Double.toString gives for them, so 0.1 is 1/10.
+*   A result beyond the range of a double is an overflow, the same as in the DECIMAL mode, even though the
+* fraction could hold it. A number that big can still be read from the display, though.
+ */
+package com.andrewhun.calculator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+final class RationalArithmetic extends ExactArithmetic {
+
+    // The powers of ten a long can hold, the denominators of the short decimals
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    // The texts of the doubles that have no fraction (with or without a minus sign)
+    private static final String INFINITY = "Infinity";
+    private static final String NOT_A_NUMBER = "NaN";
+
+    // The most significant bits of a BigInteger that are kept when it is turned into a double
+    private static final int DOUBLE_BITS = 62;
+
+    /* A number as a fraction in its lowest terms, with a positive denominator. The BigIntegers are null
+    while the longs hold the fraction. A denominator of 0 stands for infinity or NaN (which can only come
+    from the setters of the engine), and the number is the double instead.*/
+    private static final class Fraction {
+
+        long numerator;
+        long denominator = 1;
+        BigInteger bigNumerator;
+        BigInteger bigDenominator;
+        double nonFiniteValue;
+
+        boolean isBig() {
+
+            return bigNumerator != null;
+        }
+
+        boolean isFinite() {
+
+            return denominator != 0;
+        }
+
+        boolean isZero() {
+
+            return !isBig() && numerator == 0;
+        }
+
+        BigInteger getBigNumerator() {
+
+            return isBig() ? bigNumerator : BigInteger.valueOf(numerator);
+        }
+
+        BigInteger getBigDenominator() {
+
+            return isBig() ? bigDenominator : BigInteger.valueOf(denominator);
+        }
+
+        // Set a fraction that is already in its lowest terms
+        void setReduced(long newNumerator, long newDenominator) {
+
+            numerator = newNumerator;
+            denominator = newNumerator == 0 ? 1 : newDenominator;
+            bigNumerator = null;
+            bigDenominator = null;
+        }
+
+        // Set a fraction of two longs (with a positive denominator), reducing it to its lowest terms
+        void set(long newNumerator, long newDenominator) {
+
+            if (newNumerator == Long.MIN_VALUE) {
+
+                set(BigInteger.valueOf(newNumerator), BigInteger.valueOf(newDenominator));
+                return;
+            }
+            long divisor = gcd(Math.abs(newNumerator), newDenominator);
+            setReduced(newNumerator / divisor, newDenominator / divisor);
+        }
+
+        // Set a fraction of two BigIntegers (with a denominator other than 0), reducing it to its lowest terms
+        void set(BigInteger newNumerator, BigInteger newDenominator) {
+
+            if (newDenominator.signum() < 0) {
+
+                newNumerator = newNumerator.negate();
+                newDenominator = newDenominator.negate();
+            }
+            BigInteger divisor = newNumerator.gcd(newDenominator);
+            if (!divisor.equals(BigInteger.ONE)) {
+
+                newNumerator = newNumerator.divide(divisor);
+                newDenominator = newDenominator.divide(divisor);
+            }
+            setReduced(newNumerator, newDenominator);
+        }
+
+        // Set a fraction of two BigIntegers that is already in its lowest terms, as longs if they hold it
+        void setReduced(BigInteger newNumerator, BigInteger newDenominator) {
+
+            if (newNumerator.bitLength() < Long.SIZE && newDenominator.bitLength() < Long.SIZE) {
+
+                setReduced(newNumerator.longValue(), newDenominator.longValue());
+            }
+            else {
+
+                numerator = 0;
+                denominator = 1;
+                bigNumerator = newNumerator;
+                bigDenominator = newDenominator;
+            }
+        }
+
+        void set(BigDecimal decimal) {
+
+            if (decimal.scale() <= 0) {
+
+                set(decimal.unscaledValue().multiply(BigInteger.TEN.pow(-decimal.scale())), BigInteger.ONE);
+            }
+            else {
+
+                set(decimal.unscaledValue(), BigInteger.TEN.pow(decimal.scale()));
+            }
+        }
+
+        void set(double value) {
+
+            if (!Double.isFinite(value)) {
+
+                setReduced(0, 1);
+                denominator = 0;
+                nonFiniteValue = value;
+            }
+            else if (value == Math.rint(value) && Math.abs(value) < 0x1p63) {
+
+                setReduced((long) value, 1);
+            }
+            else {
+
+                set(BigDecimal.valueOf(value));
+            }
+        }
+
+        // Read the number on the display: a short decimal without allocating anything, anything else from its text
+        void set(NumberEntryBuffer number) {
+
+            if (number.isShortDecimal()) {
+
+                set(number.getUnscaledValue(), POWERS_OF_TEN[number.getDecimalPlaces()]);
+                return;
+            }
+
+            /* Infinity and NaN (results left to the doubles) are the only numbers with no fraction. They are
+            told apart by their text, since a number beyond the range of a double (such as 1E+600, or a
+            fraction with hundreds of digits) has no finite double either, but is still read exactly.*/
+            String text = number.getText();
+            if (text.endsWith(INFINITY) || text.endsWith(NOT_A_NUMBER)) {
+
+                set(number.getValue());
+                return;
+            }
+
+            int fractionBar = text.indexOf(NumberEntryBuffer.FRACTION_BAR);
+            if (fractionBar > 0) {
+
+                set(new BigInteger(text.substring(0, fractionBar)), new BigInteger(text.substring(fractionBar + 1)));
+            }
+            else {
+
+                set(number.toBigDecimal());
+            }
+        }
+
+        void copy(Fraction other) {
+
+            numerator = other.numerator;
+            denominator = other.denominator;
+            bigNumerator = other.bigNumerator;
+            bigDenominator = other.bigDenominator;
+            nonFiniteValue = other.nonFiniteValue;
+        }
+
+        // The double of the fraction (the nearest one for fractions of longs up to 2^53, or within a unit in the last place)
+        double toDouble() {
+
+            if (!isFinite()) {
+
+                return nonFiniteValue;
+            }
+            if (!isBig()) {
+
+                return (double) numerator / denominator;
+            }
+
+            // Only the leading bits of the BigIntegers matter, the rest are shifted away and made up for by scalb
+            int numeratorShift = Math.max(0, bigNumerator.bitLength() - DOUBLE_BITS);
+            int denominatorShift = Math.max(0, bigDenominator.bitLength() - DOUBLE_BITS);
+            double quotient = bigNumerator.shiftRight(numeratorShift).doubleValue()
+                    / bigDenominator.shiftRight(denominatorShift).doubleValue();
+            return Math.scalb(quotient, numeratorShift - denominatorShift);
+        }
+    }
+
+    private final Fraction firstNumber = new Fraction();
+    private final Fraction secondNumber = new Fraction();
+    private final Fraction result = new Fraction();
+
+    @Override
+    void setFirstNumber(double value) {
+
+        firstNumber.set(value);
+    }
+
+    @Override
+    void setFirstNumber(NumberEntryBuffer number) {
+
+        firstNumber.set(number);
+    }
+
+    @Override
+    void setSecondNumber(double value) {
+
+        secondNumber.set(value);
+    }
+
+    @Override
+    void setSecondNumber(NumberEntryBuffer number) {
+
+        secondNumber.set(number);
+    }
+
+    @Override
+    void setSecondNumber(ExactArithmetic other) {
+
+        secondNumber.copy(((RationalArithmetic) other).firstNumber);
+    }
+
+    @Override
+    CalculationError executeOperation(Operation selectedOperation) {
+
+        // Infinity, NaN, a division by zero, POWER and the operations of the PROGRAMMER mode are left to the doubles
+        if (!firstNumber.isFinite() || !secondNumber.isFinite() || !isBasicOperation(selectedOperation)
+                || (selectedOperation == Operation.DIVISION && secondNumber.isZero())) {
+
+            double resultValue = CalculationEngine.calculate(selectedOperation, firstNumber.toDouble(),
+                    secondNumber.toDouble());
+            result.set(resultValue);
+            return CalculationError.of(selectedOperation, secondNumber.toDouble(), resultValue);
+        }
+
+        if (firstNumber.isBig() || secondNumber.isBig() || !calculateWithLongs(selectedOperation)) {
+
+            calculateWithBigIntegers(selectedOperation);
+
+            // Only BigIntegers can grow beyond the range of a double
+            if (Double.isInfinite(result.toDouble())) {
+
+                return CalculationError.OVERFLOW;
+            }
+        }
+        return CalculationError.NONE;
+    }
+
+    @Override
+    double getFirstNumber() {
+
+        return firstNumber.toDouble();
+    }
+
+    @Override
+    double getSecondNumber() {
+
+        return secondNumber.toDouble();
+    }
+
+    @Override
+    double getResult() {
+
+        return result.toDouble();
+    }
+
+    @Override
+    void useResultAsFirstNumber() {
+
+        firstNumber.copy(result);
+    }
+
+    @Override
+    void showFirstNumber(CalculatorDisplay display) {
+
+        show(display, firstNumber);
+    }
+
+    @Override
+    void showResult(CalculatorDisplay display) {
+
+        show(display, result);
+    }
+
+    @Override
+    void resetNumbers() {
+
+        firstNumber.setReduced(0, 1);
+        secondNumber.setReduced(0, 1);
+        result.setReduced(0, 1);
+    }
+
+    // Calculate the result with longs; return false if a long overflowed on the way
+    private boolean calculateWithLongs(Operation selectedOperation) {
+
+        long a = firstNumber.numerator;
+        long b = firstNumber.denominator;
+        long c = secondNumber.numerator;
+        long d = secondNumber.denominator;
+
+        try {
+
+            switch (selectedOperation) {
+
+                case ADDITION:
+
+                    add(a, b, c, d);
+                    return true;
+
+                case SUBTRACTION:
+
+                    add(a, b, Math.negateExact(c), d);
+                    return true;
+
+                case MULTIPLICATION:
+
+                    multiply(a, b, c, d);
+                    return true;
+
+                // Multiply with the reciprocal of the second number, keeping its denominator positive
+                case DIVISION:
+
+                    if (c < 0) {
+
+                        multiply(a, b, Math.negateExact(d), Math.negateExact(c));
+                    }
+                    else {
+
+                        multiply(a, b, d, c);
+                    }
+                    return true;
+
+                default:
+
+                    result.copy(firstNumber);
+                    return true;
+            }
+        }
+        catch (ArithmeticException overflow) {
+
+            return false;
+        }
+    }
+
+    /* Add a/b and c/d. Only the part of the denominators that they do not have in common has to be
+    multiplied, and the sum can only be reduced further by the common part (Knuth, TAOCP 4.5.1).*/
+    private void add(long a, long b, long c, long d) {
+
+        long commonFactor = gcd(b, d);
+        long numerator = Math.addExact(Math.multiplyExact(a, d / commonFactor), Math.multiplyExact(c, b / commonFactor));
+        long divisor = gcd(abs(numerator), commonFactor);
+        result.setReduced(numerator / divisor, Math.multiplyExact(b / commonFactor, d / divisor));
+    }
+
+    // Multiply a/b and c/d, cancelling the numerator of each with the denominator of the other first
+    private void multiply(long a, long b, long c, long d) {
+
+        long firstDivisor = gcd(abs(a), d);
+        long secondDivisor = gcd(abs(c), b);
+        result.setReduced(Math.multiplyExact(a / firstDivisor, c / secondDivisor),
+                Math.multiplyExact(b / secondDivisor, d / firstDivisor));
+    }
+
+    // Calculate the result with BigIntegers, the same way as with longs
+    private void calculateWithBigIntegers(Operation selectedOperation) {
+
+        BigInteger a = firstNumber.getBigNumerator();
+        BigInteger b = firstNumber.getBigDenominator();
+        BigInteger c = secondNumber.getBigNumerator();
+        BigInteger d = secondNumber.getBigDenominator();
+
+        switch (selectedOperation) {
+
+            case ADDITION:
+
+                add(a, b, c, d);
+                break;
+
+            case SUBTRACTION:
+
+                add(a, b, c.negate(), d);
+                break;
+
+            case MULTIPLICATION:
+
+                multiply(a, b, c, d);
+                break;
+
+            case DIVISION:
+
+                if (c.signum() < 0) {
+
+                    multiply(a, b, d.negate(), c.negate());
+                }
+                else {
+
+                    multiply(a, b, d, c);
+                }
+                break;
+
+            default:
+
+                result.copy(firstNumber);
+        }
+    }
+
+    private void add(BigInteger a, BigInteger b, BigInteger c, BigInteger d) {
+
+        BigInteger commonFactor = b.gcd(d);
+        BigInteger numerator = a.multiply(d.divide(commonFactor)).add(c.multiply(b.divide(commonFactor)));
+        BigInteger divisor = numerator.gcd(commonFactor);
+        result.setReduced(numerator.divide(divisor), b.divide(commonFactor).multiply(d.divide(divisor)));
+    }
+
+    private void multiply(BigInteger a, BigInteger b, BigInteger c, BigInteger d) {
+
+        BigInteger firstDivisor = a.gcd(d);
+        BigInteger secondDivisor = c.gcd(b);
+        result.setReduced(a.divide(firstDivisor).multiply(c.divide(secondDivisor)),
+                b.divide(secondDivisor).multiply(d.divide(firstDivisor)));
+    }
+
+    // Show a whole number with every digit, a decimal that comes to an end as a decimal, and a fraction otherwise
+    private static void show(CalculatorDisplay display, Fraction number) {
+
+        if (!number.isFinite()) {
+
+            display.showResult(number.nonFiniteValue);
+        }
+        else if (!number.isBig() && number.denominator == 1) {
+
+            display.showResult(number.numerator);
+        }
+        else if (hasFiniteDecimals(number)) {
+
+            display.showResult(DecimalArithmetic.format(new BigDecimal(number.getBigNumerator())
+                    .divide(new BigDecimal(number.getBigDenominator()))));
+        }
+        else {
+
+            display.showResult(number.getBigNumerator().toString() + NumberEntryBuffer.FRACTION_BAR
+                    + number.getBigDenominator());
+        }
+    }
+
+    // Find out if the decimals of the fraction come to an end (if its denominator has no prime factors but 2 and 5)
+    private static boolean hasFiniteDecimals(Fraction number) {
+
+        if (number.isBig()) {
+
+            BigInteger denominator = number.bigDenominator.shiftRight(number.bigDenominator.getLowestSetBit());
+            BigInteger five = BigInteger.valueOf(5);
+            BigInteger[] quotientAndRemainder = denominator.divideAndRemainder(five);
+            while (quotientAndRemainder[1].signum() == 0) {
+
+                denominator = quotientAndRemainder[0];
+                quotientAndRemainder = denominator.divideAndRemainder(five);
+            }
+            return denominator.equals(BigInteger.ONE);
+        }
+
+        long denominator = number.denominator >> Long.numberOfTrailingZeros(number.denominator);
+        while (denominator % 5 == 0) {
+
+            denominator /= 5;
+        }
+        return denominator == 1;
+    }
+
+    /* The greatest common divisor of two numbers that are not negative, with the binary GCD algorithm:
+    the common factors of 2 are taken out first, and then the smaller number is taken away from the
+    larger one (which makes it even) until they are the same.*/
+    static long gcd(long a, long b) {
+
+        if (a == 0) {
+
+            return b;
+        }
+        if (b == 0) {
+
+            return a;
+        }
+
+        int commonShift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        while (b != 0) {
+
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+
+                long larger = a;
+                a = b;
+                b = larger;
+            }
+            b -= a;
+        }
+        return a << commonShift;
+    }
+
+    // The absolute value of a long (Long.MIN_VALUE has none, and is left to the BigIntegers)
+    private static long abs(long value) {
+
+        if (value == Long.MIN_VALUE) {
+
+            throw new ArithmeticException("long overflow");
+        }
+        return Math.abs(value);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+* This file contains the ScientificFunction enum, the functions the calculator can apply to a single
+* number: the square root and the square, the exponential functions and the logarithms (with the
+* base e and 10), and the trigonometric functions and their inverses, which work with radians.
+*   Unlike an Operation, a function needs no second number, so it is carried out as soon as its button
+* is pressed, on the number of the display. The name of a function is the text of its button, and the
+* word it is written with in the lines of the batch mode ("sqrt 2 + 1").
+ */
+package com.andrewhun.calculator;
+
+public enum ScientificFunction {
+
+    SQUARE_ROOT("sqrt"),
+    SQUARE("sqr"),
+    EXPONENTIAL("exp"),
+    NATURAL_LOGARITHM("ln"),
+    POWER_OF_TEN("exp10"),
+    LOGARITHM("log"),
+    SINE("sin"),
+    COSINE("cos"),
+    TANGENT("tan"),
+    ARCSINE("asin"),
+    ARCCOSINE("acos"),
+    ARCTANGENT("atan");
+
+    private final String name;
+
+    ScientificFunction(String name) {
+
+        this.name = name;
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    // Find the function with the given name (null if there is no such function)
+    public static ScientificFunction fromName(String text) {
+
+        for (ScientificFunction function : values()) {
+
+            if (function.name.equals(text)) {
+
+                return function;
+            }
+        }
+        return null;
+    }
+}
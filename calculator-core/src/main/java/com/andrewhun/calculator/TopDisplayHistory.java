@@ -0,0 +1,322 @@
+/*
+* This file contains the TopDisplayHistory class, which holds the chain of numbers and operations
+* shown on the top display. Instead of one long string that is copied whenever an operation is
+* added or changed, the chain is kept as a list of entries, each made up of a number and the
+* operation that follows it. Adding an entry and replacing the last operation take constant time
+* (adding one is amortized, since the arrays double in size when they are full) however long the
+* chain gets.
+*   Every entry is kept, so getText is always the whole chain and can be parsed back by the
+* ExpressionParser. Only the end of a long chain fits on the top display, though, so getVisibleText
+* builds just that part of the text, starting with an ellipsis in place of the entries it leaves out.
+ */
+package com.andrewhun.calculator;
+
+import java.util.Arrays;
+
+class TopDisplayHistory {
+
+    // The number of entries there is room for at first (and again after the history is cleared)
+    static final int INITIAL_CAPACITY = 16;
+
+    // Shown in front of the visible text when the chain is longer than what is shown
+    static final String ELLIPSIS = "\u2026";
+
+    private static final String PLUS_SIGN  = " + ";
+    private static final String MINUS_SIGN = " - ";
+    private static final String ASTERISK = " * ";
+    private static final String SLASH = " / ";
+    private static final String PERCENT_SIGN = " % ";
+    private static final String AMPERSAND = " & ";
+    private static final String VERTICAL_BAR = " | ";
+    private static final String CARET = " ^ ";
+    private static final String LESS_THAN_SIGN = " < ";
+    private static final String GREATER_THAN_SIGN = " > ";
+    private static final String LEFT_GUILLEMET = " \u00ab ";
+    private static final String RIGHT_GUILLEMET = " \u00bb ";
+    private static final String UPWARDS_ARROW = " \u2191 ";
+    private static final String EMPTY = "";
+
+    // Entry i of the chain is the number and the operation at index i
+    private String[] numbers = new String[INITIAL_CAPACITY];
+    private Operation[] operations = new Operation[INITIAL_CAPACITY];
+    private int size;
+
+    // The text of the whole chain, or null if the chain changed since it was last built
+    private String text = EMPTY;
+
+    // Forget the chain (arrays that grew for a long chain are given up, so they can be collected)
+    void clear() {
+
+        if (numbers.length > INITIAL_CAPACITY) {
+
+            numbers = new String[INITIAL_CAPACITY];
+            operations = new Operation[INITIAL_CAPACITY];
+        }
+        else {
+
+            Arrays.fill(numbers, 0, size, null);
+        }
+        size = 0;
+        text = EMPTY;
+    }
+
+    boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    /* Add a number and the operation after it to the end of the chain. The NONE operation is used
+    for text that does not end with an operation (only when the chain is set from the outside).*/
+    void add(String number, Operation operation) {
+
+        if (size == numbers.length) {
+
+            numbers = Arrays.copyOf(numbers, size * 2);
+            operations = Arrays.copyOf(operations, size * 2);
+        }
+
+        numbers[size] = number;
+        operations[size] = operation;
+        size++;
+        text = null;
+    }
+
+    // Replace the operation at the end of the chain
+    void replaceLastOperation(Operation newOperation) {
+
+        if (size == 0) {
+
+            return;
+        }
+
+        int last = size - 1;
+
+        // Text set from the outside loses its last three characters, just like it did with substring
+        if (operations[last] == Operation.NONE) {
+
+            String number = numbers[last];
+            numbers[last] = number.substring(0, Math.max(0, number.length() - 3));
+        }
+        operations[last] = newOperation;
+        text = null;
+    }
+
+    // Replace the chain with the entries found in the text (such as "12 + 3 * ")
+    void setText(String newText) {
+
+        clear();
+        int entryStart = 0;
+        for (int i = 0; i + 2 < newText.length(); i++) {
+
+            Operation operation = operationOf(newText.charAt(i + 1));
+            if (newText.charAt(i) == ' ' && newText.charAt(i + 2) == ' ' && operation != Operation.NONE) {
+
+                add(newText.substring(entryStart, i), operation);
+                entryStart = i + 3;
+                i += 2;
+            }
+        }
+        if (entryStart < newText.length()) {
+
+            add(newText.substring(entryStart), Operation.NONE);
+        }
+        text = newText;
+    }
+
+    // Get the text of the whole chain
+    String getText() {
+
+        if (text == null) {
+
+            StringBuilder builder = new StringBuilder(size * 8);
+            for (int i = 0; i < size; i++) {
+
+                appendEntry(builder, i);
+            }
+            text = builder.toString();
+        }
+        return text;
+    }
+
+    /* Get the end of the chain, at most the given number of characters long. When the chain does
+    not fit, the text starts with an ellipsis and only the entries that fit after it are built.*/
+    String getVisibleText(int maxCharacters) {
+
+        if (text != null && text.length() <= maxCharacters) {
+
+            return text;
+        }
+
+        // Walk back from the last entry until the next one would not fit
+        int length = 0;
+        int visibleEntries = 0;
+        while (visibleEntries < size) {
+
+            int index = size - 1 - visibleEntries;
+            int entryLength = numbers[index].length() + (operations[index] == Operation.NONE ? 0 : 3);
+            if (length + entryLength > maxCharacters) {
+
+                break;
+            }
+            length += entryLength;
+            visibleEntries++;
+        }
+
+        if (visibleEntries == size) {
+
+            return getText();
+        }
+
+        // The chain does not fit, so the entries shown have to leave room for the ellipsis as well
+        if (visibleEntries > 0 && length > maxCharacters - ELLIPSIS.length()) {
+
+            visibleEntries--;
+        }
+
+        StringBuilder builder = new StringBuilder(maxCharacters + 1);
+        builder.append(ELLIPSIS);
+        for (int i = size - visibleEntries; i < size; i++) {
+
+            appendEntry(builder, i);
+        }
+
+        // Even the last entry alone is too long, so show its end
+        if (visibleEntries == 0) {
+
+            appendEntry(builder, size - 1);
+            builder.delete(ELLIPSIS.length(), builder.length() - Math.max(0, maxCharacters - ELLIPSIS.length()));
+        }
+        return builder.toString();
+    }
+
+    private void appendEntry(StringBuilder builder, int index) {
+
+        builder.append(numbers[index]).append(signOf(operations[index]));
+    }
+
+    // The text of the operation on the top display
+    private static String signOf(Operation operation) {
+
+        switch (operation) {
+
+            case ADDITION:
+
+                return PLUS_SIGN;
+
+            case SUBTRACTION:
+
+                return MINUS_SIGN;
+
+            case MULTIPLICATION:
+
+                return ASTERISK;
+
+            case DIVISION:
+
+                return SLASH;
+
+            case MODULO:
+
+                return PERCENT_SIGN;
+
+            case AND:
+
+                return AMPERSAND;
+
+            case OR:
+
+                return VERTICAL_BAR;
+
+            case XOR:
+
+                return CARET;
+
+            case SHIFT_LEFT:
+
+                return LESS_THAN_SIGN;
+
+            case SHIFT_RIGHT:
+
+                return GREATER_THAN_SIGN;
+
+            case ROTATE_LEFT:
+
+                return LEFT_GUILLEMET;
+
+            case ROTATE_RIGHT:
+
+                return RIGHT_GUILLEMET;
+
+            case POWER:
+
+                return UPWARDS_ARROW;
+
+            default:
+
+                return EMPTY;
+        }
+    }
+
+    // The operation of a symbol on the top display, or NONE if it is not a symbol of an operation
+    private static Operation operationOf(char symbol) {
+
+        switch (symbol) {
+
+            case '+':
+
+                return Operation.ADDITION;
+
+            case '-':
+
+                return Operation.SUBTRACTION;
+
+            case '*':
+
+                return Operation.MULTIPLICATION;
+
+            case '/':
+
+                return Operation.DIVISION;
+
+            case '%':
+
+                return Operation.MODULO;
+
+            case '&':
+
+                return Operation.AND;
+
+            case '|':
+
+                return Operation.OR;
+
+            case '^':
+
+                return Operation.XOR;
+
+            case '<':
+
+                return Operation.SHIFT_LEFT;
+
+            case '>':
+
+                return Operation.SHIFT_RIGHT;
+
+            case '\u00ab':
+
+                return Operation.ROTATE_LEFT;
+
+            case '\u00bb':
+
+                return Operation.ROTATE_RIGHT;
+
+            case '\u2191':
+
+                return Operation.POWER;
+
+            default:
+
+                return Operation.NONE;
+        }
+    }
+}
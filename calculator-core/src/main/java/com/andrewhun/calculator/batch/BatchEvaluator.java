@@ -0,0 +1,630 @@
+/*
+* This file contains the BatchEvaluator class. It evaluates a file of calculations, one per line,
+* written in the same notation the calculator uses on its top display ("12 + 3.5 * -2"), and writes
+* one result per line. The operations of a line are carried out exactly as if the line had been typed
+* into the calculator followed by "=": from left to right by default, or in the order of their precedence
+* with EvaluationOrder.OPERATOR_PRECEDENCE (through an OperationStack, like the session). Every number may have scientific
+* functions written before it, separated by spaces ("sqrt 2 * sin cos 0.5"); they are applied to the
+* number before the operations, from the last one to the first, like the buttons of the calculator:
+*   - a line that ends with an operator ("5 * ") gives the number before that operator (with the
+*     operations waiting for it carried out),
+*   - a calculation that ends with an error (dividing by zero, an overflow or a result that is not
+*     a number, which may also come from a function) gives the same message the GUI shows, and the
+*     rest of the line is skipped,
+*   - lines that cannot be understood give "Error: Invalid expression",
+*   - empty lines stay empty, so the output lines up with the input.
+* Besides + - * and /, the operators of the PROGRAMMER mode are written with the keys the calculator takes
+* for them (% & | ^ < and >, and the guillemets of the rotations), which is mostly useful with the evaluator
+* in that mode (see setNumberMode). POWER is written as ** ("2 ** 10"), since ^ is already XOR, or with the
+* arrow of the top display. The guillemets and the arrow are the only characters that are not ASCII; they are
+* read in UTF-8, so a chain copied from the top display can be evaluated as it is.
+*   The input is read through memory-mapped windows of the file and parsed straight from the mapped
+* bytes, and the results are collected in a direct buffer that is written to the output channel
+* whenever it fills up. The memory used therefore does not depend on the size of the file.
+* Results are written by a DoubleFormatter, so no Strings are created for them either.
+* An evaluator keeps its own CalculationEngine, so separate evaluators can be used by separate
+* threads, but a single evaluator must only be used by one thread at a time. The engine may calculate
+* in any NumberMode (DOUBLE_DOUBLE keeps long lines from piling up rounding errors), but the numbers
+* are read and the results written as doubles. The functions are calculated by FastMath by default
+* (see FunctionPrecision), since a batch may apply them millions of times.
+ */
+package com.andrewhun.calculator.batch;
+
+import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.WritableByteChannel;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.NumberMode;
+import com.andrewhun.calculator.OperationStack;
+import com.andrewhun.calculator.EvaluationOrder;
+import com.andrewhun.calculator.DoubleFormatter;
+import com.andrewhun.calculator.CalculationError;
+import com.andrewhun.calculator.CalculationEngine;
+import com.andrewhun.calculator.DecimalAccumulator;
+import com.andrewhun.calculator.FunctionPrecision;
+import com.andrewhun.calculator.ScientificFunction;
+
+public class BatchEvaluator {
+
+    // The default amount of the input file that is mapped into memory at once
+    public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    // No result or error message is longer than this (including the line break)
+    private static final int MAX_RESULT_LENGTH = 64;
+
+    // The longest number whose text is kept for the (rare) slow parsing path
+    private static final int MAX_NUMBER_LENGTH = 400;
+
+    // The most functions a single number may be written with ("sin cos 1" has two)
+    private static final int MAX_FUNCTIONS = 16;
+
+    static final String DIVISION_BY_ZERO_MESSAGE = CalculationError.DIVISION_BY_ZERO.getMessage();
+    static final String INVALID_EXPRESSION_MESSAGE = "Error: Invalid expression";
+
+    private static final byte[] INVALID_EXPRESSION = INVALID_EXPRESSION_MESSAGE.getBytes(StandardCharsets.US_ASCII);
+
+    // The messages of the calculation errors, indexed by the ordinal of the error
+    private static final byte[][] ERROR_MESSAGES = new byte[CalculationError.values().length][];
+
+    static {
+
+        for (CalculationError error : CalculationError.values()) {
+
+            ERROR_MESSAGES[error.ordinal()] = error.getMessage().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    // The symbols of the top display that are not ASCII (in UTF-8), and the operations they stand for
+    private static final byte[][] SYMBOLS = {"\u00ab".getBytes(StandardCharsets.UTF_8),
+            "\u00bb".getBytes(StandardCharsets.UTF_8), "\u2191".getBytes(StandardCharsets.UTF_8)};
+    private static final Operation[] SYMBOL_OPERATIONS = {Operation.ROTATE_LEFT, Operation.ROTATE_RIGHT, Operation.POWER};
+
+    // The functions and their names, indexed by the ordinal of the function
+    private static final ScientificFunction[] FUNCTIONS = ScientificFunction.values();
+    private static final byte[][] FUNCTION_NAMES = new byte[FUNCTIONS.length][];
+
+    static {
+
+        for (ScientificFunction function : FUNCTIONS) {
+
+            FUNCTION_NAMES[function.ordinal()] = function.getName().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    // The possible outcomes of evaluating a single line
+    private enum LineResult {NUMBER, EMPTY, ERROR, INVALID}
+
+    private final int windowSize;
+
+    private final CalculationEngine engine = new CalculationEngine();
+    private final OperationStack operations = new OperationStack(engine);
+    private final DecimalAccumulator accumulator = new DecimalAccumulator();
+    private final DoubleFormatter formatter = new DoubleFormatter();
+    private final ByteBuffer output = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+    private final byte[] numberText = new byte[MAX_NUMBER_LENGTH];
+
+    // The functions written before the number that is being parsed
+    private final ScientificFunction[] functions = new ScientificFunction[MAX_FUNCTIONS];
+
+    // Set by the parsing functions, to avoid returning two values at once
+    private double parsedNumber;
+    private int lineEnd;
+
+    // The error the line ended with (NONE unless the line is an ERROR)
+    private CalculationError lineError = CalculationError.NONE;
+
+    public BatchEvaluator() {
+
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    // Use a different window size (mostly useful for testing lines that cross window boundaries)
+    public BatchEvaluator(int windowSize) {
+
+        this.windowSize = windowSize;
+        engine.setFunctionPrecision(FunctionPrecision.FAST);
+    }
+
+    public NumberMode getNumberMode() {
+
+        return engine.getNumberMode();
+    }
+
+    // Calculate with another kind of numbers (see NumberMode)
+    public void setNumberMode(NumberMode newMode) {
+
+        engine.setNumberMode(newMode);
+    }
+
+    public FunctionPrecision getFunctionPrecision() {
+
+        return engine.getFunctionPrecision();
+    }
+
+    // Calculate the scientific functions with another backend (see FunctionPrecision)
+    public void setFunctionPrecision(FunctionPrecision newPrecision) {
+
+        engine.setFunctionPrecision(newPrecision);
+    }
+
+    public EvaluationOrder getEvaluationOrder() {
+
+        return operations.getEvaluationOrder();
+    }
+
+    // Carry out the operations of a line in another order (see EvaluationOrder)
+    public void setEvaluationOrder(EvaluationOrder newOrder) {
+
+        operations.setEvaluationOrder(newOrder);
+    }
+
+    // Evaluate every line of the input and write the results to the output; return the number of lines
+    public long evaluate(FileChannel input, WritableByteChannel resultChannel) throws IOException {
+
+        long lines = evaluateRange(input, 0, input.size(), resultChannel);
+        flush(resultChannel);
+        return lines;
+    }
+
+    /* Evaluate the lines between the two positions of the input. The start position has to be the
+    beginning of a line, and the end position either the end of the file or the beginning of a line.
+    Results may be left in the output buffer, call flush to write them out.*/
+    public long evaluateRange(FileChannel input, long start, long end, WritableByteChannel resultChannel)
+            throws IOException {
+
+        long position = start;
+        long lines = 0;
+
+        while (position < end) {
+
+            int length = (int) Math.min(windowSize, end - position);
+            boolean lastWindow = position + length == end;
+            MappedByteBuffer window = input.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+            int lineStart = 0;
+            while (lineStart < length) {
+
+                LineResult result = evaluateLine(window, lineStart, length);
+
+                // The line continues in the next window, so map the file again from its beginning
+                if (lineEnd == length && !lastWindow) {
+
+                    break;
+                }
+
+                if (output.remaining() < MAX_RESULT_LENGTH) {
+
+                    flush(resultChannel);
+                }
+                writeResult(result);
+                lines++;
+                lineStart = lineEnd + 1;
+            }
+
+            if (lineStart == 0 && !lastWindow) {
+
+                throw new IOException("A line starting at position " + position + " is longer than "
+                        + windowSize + " bytes");
+            }
+            position += Math.min(lineStart, length);
+        }
+        return lines;
+    }
+
+    // Write the results collected so far to the channel
+    public void flush(WritableByteChannel resultChannel) throws IOException {
+
+        output.flip();
+        while (output.hasRemaining()) {
+
+            resultChannel.write(output);
+        }
+        output.clear();
+    }
+
+    // Evaluate the line that starts at the given index; lineEnd is set to the index of its line break
+    private LineResult evaluateLine(ByteBuffer input, int start, int limit) {
+
+        lineError = CalculationError.NONE;
+        operations.reset();
+        int index = skipSpaces(input, start, limit);
+        if (isLineEnd(input, index, limit)) {
+
+            lineEnd = index;
+            return LineResult.EMPTY;
+        }
+
+        index = parseOperand(input, index, limit);
+        if (index < 0) {
+
+            return invalidLine(input, -index - 1, limit);
+        }
+        if (lineError != CalculationError.NONE) {
+
+            return errorLine(input, index, limit);
+        }
+        engine.setFirstNumber(parsedNumber);
+
+        // The operation before the number that was parsed last (NONE after the first number)
+        Operation selectedOperation = Operation.NONE;
+        while (true) {
+
+            index = skipSpaces(input, index, limit);
+            boolean lastNumber = isLineEnd(input, index, limit);
+            Operation operation = lastNumber ? Operation.NONE : operationFor(input.get(index));
+            if (!lastNumber && operation == Operation.NONE) {
+
+                int symbol = symbolAt(input, index, limit);
+                if (symbol < 0) {
+
+                    return invalidLine(input, index, limit);
+                }
+
+                // The index is left on the last byte of the symbol, like on the single byte of the other operators
+                operation = SYMBOL_OPERATIONS[symbol];
+                index += SYMBOLS[symbol].length - 1;
+            }
+            if (operation == Operation.MULTIPLICATION && index + 1 < limit && input.get(index + 1) == '*') {
+
+                operation = Operation.POWER;
+                index++;
+            }
+
+            // The stack needs the next operation to know whether the selected one has to wait for it
+            if (selectedOperation != Operation.NONE) {
+
+                operations.execute(selectedOperation, parsedNumber, operation);
+                if (operations.getError() != CalculationError.NONE) {
+
+                    lineError = operations.getError();
+                    return errorLine(input, index, limit);
+                }
+            }
+
+            if (lastNumber) {
+
+                if (selectedOperation != Operation.NONE) {
+
+                    engine.useResultAsFirstNumber();
+                }
+                lineEnd = index;
+                return LineResult.NUMBER;
+            }
+
+            // A line may end with an operator, just like the top display does
+            index = skipSpaces(input, index + 1, limit);
+            if (isLineEnd(input, index, limit)) {
+
+                operations.dropSelectedOperation(Operation.NONE);
+                if (operations.getError() != CalculationError.NONE) {
+
+                    lineError = operations.getError();
+                    return errorLine(input, index, limit);
+                }
+                lineEnd = index;
+                return LineResult.NUMBER;
+            }
+
+            index = parseOperand(input, index, limit);
+            if (index < 0) {
+
+                return invalidLine(input, -index - 1, limit);
+            }
+            if (lineError != CalculationError.NONE) {
+
+                return errorLine(input, index, limit);
+            }
+            selectedOperation = operation;
+        }
+    }
+
+    private LineResult invalidLine(ByteBuffer input, int index, int limit) {
+
+        lineEnd = skipToLineEnd(input, index, limit);
+        return LineResult.INVALID;
+    }
+
+    private LineResult errorLine(ByteBuffer input, int index, int limit) {
+
+        lineEnd = skipToLineEnd(input, index, limit);
+        return LineResult.ERROR;
+    }
+
+    /* Parse a number and the functions written before it into parsedNumber, and return the index after
+    it (or -(index + 1) if there is no valid number at the index, or a name that is not a function).
+    The functions are applied from the last one to the first, and lineError is set if one of them
+    ends with an error.*/
+    private int parseOperand(ByteBuffer input, int start, int limit) {
+
+        int index = start;
+        int functionCount = 0;
+        while (index < limit && input.get(index) >= 'a' && input.get(index) <= 'z') {
+
+            ScientificFunction function = functionAt(input, index, limit);
+            if (function == null || functionCount == MAX_FUNCTIONS) {
+
+                return -(index + 1);
+            }
+            functions[functionCount++] = function;
+            index = skipSpaces(input, index + FUNCTION_NAMES[function.ordinal()].length, limit);
+        }
+
+        index = parseNumber(input, index, limit);
+        while (index >= 0 && functionCount > 0) {
+
+            double argument = parsedNumber;
+            parsedNumber = engine.applyFunction(functions[--functionCount], argument);
+            lineError = CalculationError.of(argument, parsedNumber);
+            if (lineError != CalculationError.NONE) {
+
+                break;
+            }
+        }
+        return index;
+    }
+
+    /* Parse the number that starts at the given index into parsedNumber and return the index after it.
+    If there is no valid number at the index, return -(index + 1) instead.*/
+    private int parseNumber(ByteBuffer input, int start, int limit) {
+
+        accumulator.reset();
+        int index = start;
+        boolean hasDigits = false;
+
+        if (index < limit && input.get(index) == '-') {
+
+            accumulator.setNegative(true);
+            index++;
+        }
+
+        for (; index < limit; index++) {
+
+            byte character = input.get(index);
+            if (character >= '0' && character <= '9') {
+
+                accumulator.appendDigit(character - '0');
+                hasDigits = true;
+            }
+            else if (character == '.' && !accumulator.hasDecimalPoint()) {
+
+                accumulator.addDecimalPoint();
+            }
+            else {
+
+                break;
+            }
+        }
+
+        if (!hasDigits) {
+
+            return -(index + 1);
+        }
+
+        // An exponent, as written by Double.toString for very large and very small results
+        if (index < limit && (input.get(index) == 'E' || input.get(index) == 'e')) {
+
+            index = parseExponent(input, index + 1, limit);
+            if (index < 0) {
+
+                return index;
+            }
+        }
+
+        if (index < limit && !isSeparator(input.get(index))) {
+
+            return -(index + 1);
+        }
+
+        // Only the numbers the accumulator cannot convert are parsed from their text
+        parsedNumber = accumulator.toDouble();
+        if (Double.isNaN(parsedNumber)) {
+
+            if (index - start > MAX_NUMBER_LENGTH) {
+
+                return -(start + 1);
+            }
+            parsedNumber = parseSlowly(input, start, index);
+        }
+        return index;
+    }
+
+    private int parseExponent(ByteBuffer input, int start, int limit) {
+
+        int index = start;
+        boolean negativeExponent = false;
+        if (index < limit && (input.get(index) == '-' || input.get(index) == '+')) {
+
+            negativeExponent = input.get(index) == '-';
+            index++;
+        }
+
+        int exponent = 0;
+        int digitsStart = index;
+        for (; index < limit && input.get(index) >= '0' && input.get(index) <= '9'; index++) {
+
+            // Anything beyond this is infinity or zero anyway
+            if (exponent < 100_000) {
+
+                exponent = exponent * 10 + input.get(index) - '0';
+            }
+        }
+
+        if (index == digitsStart) {
+
+            return -(index + 1);
+        }
+        accumulator.addExponent(negativeExponent ? -exponent : exponent);
+        return index;
+    }
+
+    // Fall back to the JDK for numbers the accumulator cannot convert exactly
+    private double parseSlowly(ByteBuffer input, int start, int end) {
+
+        int length = end - start;
+        for (int i = 0; i < length; i++) {
+
+            numberText[i] = input.get(start + i);
+        }
+        return Double.parseDouble(new String(numberText, 0, length, StandardCharsets.US_ASCII));
+    }
+
+    // Add the result of a line to the output buffer
+    private void writeResult(LineResult result) {
+
+        switch (result) {
+
+            case NUMBER:
+
+                writeNumber(engine.getFirstNumber());
+                break;
+
+            case ERROR:
+
+                output.put(ERROR_MESSAGES[lineError.ordinal()]);
+                break;
+
+            case INVALID:
+
+                output.put(INVALID_EXPRESSION);
+                break;
+
+            default:
+                break;
+        }
+        output.put((byte) '\n');
+    }
+
+    // Write a number the same way the calculator displays results
+    private void writeNumber(double value) {
+
+        int length = formatter.format(value);
+        char[] characters = formatter.getCharacters();
+        for (int i = 0; i < length; i++) {
+
+            output.put((byte) characters[i]);
+        }
+    }
+
+    private static Operation operationFor(byte character) {
+
+        switch (character) {
+
+            case '+':
+
+                return Operation.ADDITION;
+
+            case '-':
+
+                return Operation.SUBTRACTION;
+
+            case '*':
+
+                return Operation.MULTIPLICATION;
+
+            case '/':
+
+                return Operation.DIVISION;
+
+            case '%':
+
+                return Operation.MODULO;
+
+            case '&':
+
+                return Operation.AND;
+
+            case '|':
+
+                return Operation.OR;
+
+            case '^':
+
+                return Operation.XOR;
+
+            case '<':
+
+                return Operation.SHIFT_LEFT;
+
+            case '>':
+
+                return Operation.SHIFT_RIGHT;
+
+            default:
+
+                return Operation.NONE;
+        }
+    }
+
+    // The index of the symbol (in SYMBOLS) that starts at the index, or -1 if there is none
+    private static int symbolAt(ByteBuffer input, int index, int limit) {
+
+        for (int i = 0; i < SYMBOLS.length; i++) {
+
+            if (index + SYMBOLS[i].length <= limit && matches(input, index, SYMBOLS[i])) {
+
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // The function whose name starts at the index and is followed by a space (or a tab), or null if there is none
+    private static ScientificFunction functionAt(ByteBuffer input, int index, int limit) {
+
+        for (ScientificFunction function : FUNCTIONS) {
+
+            byte[] name = FUNCTION_NAMES[function.ordinal()];
+            int end = index + name.length;
+            if (end < limit && (input.get(end) == ' ' || input.get(end) == '\t') && matches(input, index, name)) {
+
+                return function;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(ByteBuffer input, int index, byte[] text) {
+
+        for (int i = 0; i < text.length; i++) {
+
+            if (input.get(index + i) != text[i]) {
+
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipSpaces(ByteBuffer input, int index, int limit) {
+
+        while (index < limit && (input.get(index) == ' ' || input.get(index) == '\t' || input.get(index) == '\r')) {
+
+            index++;
+        }
+        return index;
+    }
+
+    private static int skipToLineEnd(ByteBuffer input, int index, int limit) {
+
+        while (index < limit && input.get(index) != '\n') {
+
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isLineEnd(ByteBuffer input, int index, int limit) {
+
+        return index == limit || input.get(index) == '\n';
+    }
+
+    private static boolean isSeparator(byte character) {
+
+        return character == ' ' || character == '\t' || character == '\r' || character == '\n';
+    }
+}
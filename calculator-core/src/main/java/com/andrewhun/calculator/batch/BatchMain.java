@@ -0,0 +1,180 @@
+/*
+* This file contains the BatchMain class, the command line entry point for evaluating files of
+* calculations without the GUI. It is the headless counterpart of the Main class of the GUI module:
+*
+*   java -cp calculator-core.jar com.andrewhun.calculator.batch.BatchMain [--threads <n>] [--mode <number mode>]
+*        [--precision <function precision>] [--order <evaluation order>] <input file> [<output file>]
+*
+* Each line of the input file is evaluated, and the results are written to the output file, or to
+* the standard output when no output file is given. By default the file is split into chunks that
+* are evaluated on all processors by a ParallelBatchEvaluator; with "--threads 1" a single
+* BatchEvaluator goes through the file from start to end instead. The number of lines and the
+* time it took are reported on the standard error, so they do not get mixed up with the results.
+* "--mode" selects the NumberMode of the calculations (such as DOUBLE_DOUBLE for long columns of sums),
+* "--precision" the FunctionPrecision of the scientific functions (FAST by default, STRICT gives the
+* same digits as the GUI), and "--order" the EvaluationOrder of the operations (LEFT_TO_RIGHT by default,
+* OPERATOR_PRECEDENCE carries out multiplications and divisions first).
+ */
+package com.andrewhun.calculator.batch;
+
+import java.util.Locale;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.io.IOException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.nio.channels.WritableByteChannel;
+import com.andrewhun.calculator.NumberMode;
+import com.andrewhun.calculator.EvaluationOrder;
+import com.andrewhun.calculator.FunctionPrecision;
+
+public class BatchMain {
+
+    public static void main(String[] args) throws IOException {
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        NumberMode numberMode = NumberMode.DOUBLE;
+        FunctionPrecision functionPrecision = FunctionPrecision.FAST;
+        EvaluationOrder evaluationOrder = EvaluationOrder.LEFT_TO_RIGHT;
+        int firstFile = 0;
+        while (args.length > firstFile + 1 && args[firstFile].startsWith("--")) {
+
+            if (args[firstFile].equals("--threads")) {
+
+                threads = parseThreads(args[firstFile + 1]);
+            }
+            else if (args[firstFile].equals("--mode")) {
+
+                numberMode = parseNumberMode(args[firstFile + 1]);
+            }
+            else if (args[firstFile].equals("--precision")) {
+
+                functionPrecision = parseFunctionPrecision(args[firstFile + 1]);
+            }
+            else if (args[firstFile].equals("--order")) {
+
+                evaluationOrder = parseEvaluationOrder(args[firstFile + 1]);
+            }
+            else {
+
+                break;
+            }
+            firstFile += 2;
+        }
+
+        int files = args.length - firstFile;
+        if (files < 1 || files > 2 || threads < 1 || numberMode == null || functionPrecision == null
+                || evaluationOrder == null) {
+
+            System.err.println("Usage: BatchMain [--threads <n>] [--mode <number mode>]"
+                    + " [--precision <function precision>] [--order <evaluation order>]"
+                    + " <input file> [<output file>]");
+            System.exit(2);
+        }
+
+        Path inputFile = Paths.get(args[firstFile]);
+        long startTime = System.nanoTime();
+        long lines;
+
+        try (FileChannel input = FileChannel.open(inputFile, StandardOpenOption.READ);
+             WritableByteChannel output = openOutput(files == 2 ? Paths.get(args[firstFile + 1]) : null)) {
+
+            if (threads == 1) {
+
+                BatchEvaluator evaluator = new BatchEvaluator();
+                evaluator.setNumberMode(numberMode);
+                evaluator.setFunctionPrecision(functionPrecision);
+                evaluator.setEvaluationOrder(evaluationOrder);
+                lines = evaluator.evaluate(input, output);
+            }
+            else {
+
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+
+                    ParallelBatchEvaluator evaluator = new ParallelBatchEvaluator(pool,
+                            ParallelBatchEvaluator.DEFAULT_CHUNK_SIZE);
+                    evaluator.setNumberMode(numberMode);
+                    evaluator.setFunctionPrecision(functionPrecision);
+                    evaluator.setEvaluationOrder(evaluationOrder);
+                    lines = evaluator.evaluate(input, output);
+                }
+                finally {
+
+                    pool.shutdown();
+                }
+            }
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - startTime);
+        System.err.printf("Evaluated %d lines in %.1f ms (%.0f lines per second)%n",
+                lines, elapsedNanos / 1e6, lines * 1e9 / elapsedNanos);
+    }
+
+    // Read the number of threads, returning 0 (which is rejected) when it is not a number
+    private static int parseThreads(String text) {
+
+        try {
+
+            return Integer.parseInt(text);
+        }
+        catch (NumberFormatException exception) {
+
+            return 0;
+        }
+    }
+
+    // Read the number mode, returning null (which is rejected) when there is no such mode
+    private static NumberMode parseNumberMode(String text) {
+
+        try {
+
+            return NumberMode.valueOf(text.toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException exception) {
+
+            return null;
+        }
+    }
+
+    // Read the function precision, returning null (which is rejected) when there is no such precision
+    private static FunctionPrecision parseFunctionPrecision(String text) {
+
+        try {
+
+            return FunctionPrecision.valueOf(text.toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException exception) {
+
+            return null;
+        }
+    }
+
+    // Read the evaluation order, returning null (which is rejected) when there is no such order
+    private static EvaluationOrder parseEvaluationOrder(String text) {
+
+        try {
+
+            return EvaluationOrder.valueOf(text.toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException exception) {
+
+            return null;
+        }
+    }
+
+    // Open the output file, or the standard output when there is no output file
+    static WritableByteChannel openOutput(Path outputFile) throws IOException {
+
+        if (outputFile == null) {
+
+            return Channels.newChannel(new FileOutputStream(FileDescriptor.out));
+        }
+        return FileChannel.open(outputFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+* This file contains the ParallelBatchEvaluator class. It evaluates a file of calculations the same
+* way the BatchEvaluator does, but splits the file into chunks (always on line boundaries) and
+* evaluates the chunks on a fork-join pool. Every chunk takes a BatchEvaluator (and with it a
+* CalculationEngine) that no other chunk is using, so the workers never share any state. The evaluators
+* are created by the chunks that find none left idle, so there are never more of them than chunks running
+* at the same time, and they belong to a single call of evaluate: nothing is left behind on the threads
+* of the pool (which may well be the common pool, shared by the whole program) once it returns.
+*   The results of each chunk are collected in memory and written out strictly in the order of the
+* chunks, so the output is exactly the same as the one of the sequential evaluator. To keep the memory
+* use constant, only a limited number of chunks (a few per worker) are in progress at any time, and
+* their result buffers are reused once they have been written out.
+ */
+package com.andrewhun.calculator.batch;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import com.andrewhun.calculator.NumberMode;
+import com.andrewhun.calculator.EvaluationOrder;
+import com.andrewhun.calculator.FunctionPrecision;
+
+public class ParallelBatchEvaluator {
+
+    // The default amount of input evaluated by a single task
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    // The number of chunks per worker that may be in progress at the same time
+    private static final int CHUNKS_PER_WORKER = 3;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    // The number mode of the evaluators (set before evaluate is called)
+    private volatile NumberMode numberMode = NumberMode.DOUBLE;
+
+    // The function precision of the evaluators (set before evaluate is called)
+    private volatile FunctionPrecision functionPrecision = FunctionPrecision.FAST;
+
+    // The evaluation order of the evaluators (set before evaluate is called)
+    private volatile EvaluationOrder evaluationOrder = EvaluationOrder.LEFT_TO_RIGHT;
+
+    // Result buffers that have been written out and can be used again
+    private final ConcurrentLinkedQueue<ChunkOutput> freeOutputs = new ConcurrentLinkedQueue<>();
+
+    // Use the common fork-join pool, which has a worker for every processor of the machine
+    public ParallelBatchEvaluator() {
+
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelBatchEvaluator(ForkJoinPool pool, int chunkSize) {
+
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public NumberMode getNumberMode() {
+
+        return numberMode;
+    }
+
+    // Let every evaluator calculate with another kind of numbers (see NumberMode)
+    public void setNumberMode(NumberMode newMode) {
+
+        numberMode = newMode;
+    }
+
+    public FunctionPrecision getFunctionPrecision() {
+
+        return functionPrecision;
+    }
+
+    // Let every evaluator calculate the scientific functions with another backend (see FunctionPrecision)
+    public void setFunctionPrecision(FunctionPrecision newPrecision) {
+
+        functionPrecision = newPrecision;
+    }
+
+    public EvaluationOrder getEvaluationOrder() {
+
+        return evaluationOrder;
+    }
+
+    // Let every evaluator carry out the operations of a line in another order (see EvaluationOrder)
+    public void setEvaluationOrder(EvaluationOrder newOrder) {
+
+        evaluationOrder = newOrder;
+    }
+
+    // Evaluate every line of the input and write the results in order; return the number of lines
+    public long evaluate(FileChannel input, WritableByteChannel output) throws IOException {
+
+        long size = input.size();
+        int maxChunksInProgress = Math.max(2, pool.getParallelism() * CHUNKS_PER_WORKER);
+        ArrayDeque<ForkJoinTask<ChunkOutput>> chunksInProgress = new ArrayDeque<>();
+
+        // The evaluators of this run that no chunk is using at the moment
+        ConcurrentLinkedQueue<BatchEvaluator> idleEvaluators = new ConcurrentLinkedQueue<>();
+
+        long position = 0;
+        long lines = 0;
+
+        try {
+
+            while (position < size || !chunksInProgress.isEmpty()) {
+
+                // Keep the workers busy, but do not let finished chunks pile up in memory
+                while (position < size && chunksInProgress.size() < maxChunksInProgress) {
+
+                    long chunkEnd = findLineStart(input, Math.min(size, position + chunkSize));
+                    chunksInProgress.add(pool.submit(evaluateChunk(input, position, chunkEnd, idleEvaluators)));
+                    position = chunkEnd;
+                }
+
+                // Write out the oldest chunk, which keeps the results in the order of the input
+                ChunkOutput chunk = chunksInProgress.removeFirst().join();
+                chunk.writeTo(output);
+                lines += chunk.lines;
+                freeOutputs.offer(chunk);
+            }
+        }
+        catch (UncheckedIOException exception) {
+
+            throw exception.getCause();
+        }
+        finally {
+
+            // Whatever went wrong, the chunks that are still waiting are not evaluated any more
+            chunksInProgress.forEach(task -> task.cancel(true));
+        }
+        return lines;
+    }
+
+    // Create the task that evaluates the lines between the two positions of the input with an idle evaluator
+    private ForkJoinTask<ChunkOutput> evaluateChunk(FileChannel input, long start, long end,
+                                                    ConcurrentLinkedQueue<BatchEvaluator> idleEvaluators) {
+
+        return ForkJoinTask.adapt(() -> {
+
+            ChunkOutput chunk = freeOutputs.poll();
+            if (chunk == null) {
+
+                chunk = new ChunkOutput();
+            }
+            chunk.clear();
+
+            BatchEvaluator evaluator = idleEvaluators.poll();
+            if (evaluator == null) {
+
+                evaluator = new BatchEvaluator();
+            }
+
+            try {
+
+                if (evaluator.getNumberMode() != numberMode) {
+
+                    evaluator.setNumberMode(numberMode);
+                }
+                evaluator.setFunctionPrecision(functionPrecision);
+                evaluator.setEvaluationOrder(evaluationOrder);
+                chunk.lines = evaluator.evaluateRange(input, start, end, chunk);
+                evaluator.flush(chunk);
+            }
+            catch (IOException exception) {
+
+                throw new UncheckedIOException(exception);
+            }
+
+            // An evaluator that failed half way through a chunk is not used again
+            idleEvaluators.offer(evaluator);
+            return chunk;
+        });
+    }
+
+    // Find the beginning of the first line that starts at or after the given position
+    private static long findLineStart(FileChannel input, long position) throws IOException {
+
+        long size = input.size();
+        if (position >= size || position == 0) {
+
+            return Math.min(position, size);
+        }
+
+        // The position is a line start if the byte before it is a line break
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long readPosition = position - 1;
+
+        while (readPosition < size) {
+
+            buffer.clear();
+            int bytesRead = input.read(buffer, readPosition);
+            if (bytesRead <= 0) {
+
+                break;
+            }
+            for (int i = 0; i < bytesRead; i++) {
+
+                if (buffer.get(i) == '\n') {
+
+                    return readPosition + i + 1;
+                }
+            }
+            readPosition += bytesRead;
+        }
+        return size;
+    }
+
+    // The results of a single chunk, collected in a growing byte array
+    private static class ChunkOutput implements WritableByteChannel {
+
+        private byte[] bytes = new byte[1 << 16];
+        private int length;
+        private long lines;
+
+        void clear() {
+
+            length = 0;
+            lines = 0;
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+
+            int count = source.remaining();
+            if (length + count > bytes.length) {
+
+                byte[] biggerBytes = new byte[Math.max(bytes.length * 2, length + count)];
+                System.arraycopy(bytes, 0, biggerBytes, 0, length);
+                bytes = biggerBytes;
+            }
+            source.get(bytes, length, count);
+            length += count;
+            return count;
+        }
+
+        void writeTo(WritableByteChannel output) throws IOException {
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+            while (buffer.hasRemaining()) {
+
+                output.write(buffer);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
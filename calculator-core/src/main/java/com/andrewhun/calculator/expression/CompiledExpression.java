@@ -0,0 +1,38 @@
+/*
+* This file contains the CompiledExpression class, the result of the ExpressionCompiler. It can be
+* evaluated any number of times with different values for its placeholders. To keep evaluation
+* free of allocations, callers evaluating the same expression many times should reuse the array
+* of arguments instead of passing the values one by one.
+ */
+package com.andrewhun.calculator.expression;
+
+import java.util.List;
+
+public final class CompiledExpression {
+
+    private final Node root;
+    private final List<String> placeholderNames;
+
+    CompiledExpression(Node root, List<String> placeholderNames) {
+
+        this.root = root;
+        this.placeholderNames = placeholderNames;
+    }
+
+    /* Work out the value of the expression. The arguments are the values of the placeholders,
+    in the order of getPlaceholderNames(). Throws an ArithmeticException on division by zero.*/
+    public double evaluate(double... arguments) {
+
+        if (arguments.length < placeholderNames.size()) {
+
+            throw new IllegalArgumentException("The expression needs " + placeholderNames.size()
+                    + " arguments, but only " + arguments.length + " were given");
+        }
+        return root.evaluate(arguments);
+    }
+
+    public List<String> getPlaceholderNames() {
+
+        return placeholderNames;
+    }
+}
@@ -0,0 +1,27 @@
+/*
+* This file contains the Expression class, the base class of the nodes of the syntax tree built
+* by the ExpressionParser. A calculation such as "12 + x * 2" becomes a tree of number, placeholder
+* and operation nodes, which can be simplified (constant folding) and evaluated as it is, or turned
+* into a much faster CompiledExpression by the ExpressionCompiler.
+ */
+package com.andrewhun.calculator.expression;
+
+import com.andrewhun.calculator.CalculationError;
+
+public abstract class Expression {
+
+    // The message of the exception thrown when a calculation divides by zero
+    public static final String DIVISION_BY_ZERO_MESSAGE = CalculationError.DIVISION_BY_ZERO.getMessage();
+
+    // Work out the value of the expression, using the arguments as the values of the placeholders
+    public abstract double evaluate(double[] arguments);
+
+    // Return an equivalent expression in which every part that does not depend on a placeholder is calculated
+    public abstract Expression fold();
+
+    // Find out if the value of the expression is known without any arguments
+    public boolean isConstant() {
+
+        return false;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+* This file contains the ExpressionCompiler class. It turns a calculation written the way the top
+* display shows it into a CompiledExpression in three steps: the ExpressionParser builds the syntax
+* tree, the parts that do not depend on placeholders are calculated in advance (constant folding),
+* and the remaining tree is rebuilt from specialized Node classes.
+*   For example, "2 * 3 + x / 4" is folded to "6 + x" followed by a division by four, and compiled
+* into a division-by-a-number node around an addition-of-a-number node around a placeholder node.
+*   The operations other than the four basic ones get the general Calculation node, and a chain of more than
+* MAX_NESTED_CHAIN_LENGTH operations becomes a single Chain node, which evaluates it in a loop.
+*   The calculation is parsed in the given EvaluationOrder (LEFT_TO_RIGHT if none is given), so the
+* top display of a session can be compiled with the order of the session and give the same result.
+ */
+package com.andrewhun.calculator.expression;
+
+import java.util.List;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.EvaluationOrder;
+
+public class ExpressionCompiler {
+
+    // Chains up to this many operations long are compiled into nested nodes
+    static final int MAX_NESTED_CHAIN_LENGTH = 64;
+
+    // Parse, fold and compile the calculation, carrying out its operations from left to right
+    public static CompiledExpression compile(String calculation) {
+
+        return compile(calculation, EvaluationOrder.LEFT_TO_RIGHT);
+    }
+
+    // Parse, fold and compile the calculation, carrying out its operations in the given order
+    public static CompiledExpression compile(String calculation, EvaluationOrder evaluationOrder) {
+
+        ExpressionParser parser = new ExpressionParser(evaluationOrder);
+        Expression expression = parser.parse(calculation);
+        return compile(expression, parser.getPlaceholderNames());
+    }
+
+    // Fold and compile an expression that has already been parsed
+    public static CompiledExpression compile(Expression expression, List<String> placeholderNames) {
+
+        return new CompiledExpression(toNode(expression.fold()), placeholderNames);
+    }
+
+    // Pick the most specific node class for each part of the (folded) expression
+    private static Node toNode(Expression expression) {
+
+        if (expression instanceof NumberExpression) {
+
+            return new Node.Constant(((NumberExpression) expression).getValue());
+        }
+        if (expression instanceof PlaceholderExpression) {
+
+            return new Node.Placeholder(((PlaceholderExpression) expression).getIndex());
+        }
+
+        // The operations down the left side of a chain are compiled one after the other, without recursion
+        OperationExpression[] chain = ((OperationExpression) expression).leftChain();
+        if (chain.length > MAX_NESTED_CHAIN_LENGTH) {
+
+            return chainNode(chain);
+        }
+
+        Node node = null;
+        for (OperationExpression step : chain) {
+
+            node = toNode(step, node);
+        }
+        return node;
+    }
+
+    // Pick the node of an operation whose first operand is already compiled (null at the start of a chain)
+    private static Node toNode(OperationExpression expression, Node compiledFirst) {
+
+        Operation operation = expression.getOperation();
+        Expression first = expression.getFirstOperand();
+        Expression second = expression.getSecondOperand();
+
+        if (operation.compareTo(Operation.DIVISION) <= 0) {
+
+            if (first instanceof PlaceholderExpression && second instanceof PlaceholderExpression) {
+
+                return placeholderNode(operation, ((PlaceholderExpression) first).getIndex(),
+                        ((PlaceholderExpression) second).getIndex());
+            }
+
+            // A division by a fixed zero has to keep checking its divisor, so it uses the general node
+            if (second.isConstant() && !(operation == Operation.DIVISION
+                    && ((NumberExpression) second).getValue() == 0.0)) {
+
+                return withNumberNode(operation, compiledFirst != null ? compiledFirst : toNode(first),
+                        ((NumberExpression) second).getValue());
+            }
+            if (first.isConstant()) {
+
+                return ofNumberNode(operation, ((NumberExpression) first).getValue(), toNode(second));
+            }
+        }
+        return operationNode(operation, compiledFirst != null ? compiledFirst : toNode(first), toNode(second));
+    }
+
+    private static Node chainNode(OperationExpression[] chain) {
+
+        Operation[] operations = new Operation[chain.length];
+        Node[] operands = new Node[chain.length];
+        for (int i = 0; i < chain.length; i++) {
+
+            operations[i] = chain[i].getOperation();
+            operands[i] = toNode(chain[i].getSecondOperand());
+        }
+        return new Node.Chain(toNode(chain[0].getFirstOperand()), operations, operands);
+    }
+
+    private static Node operationNode(Operation operation, Node first, Node second) {
+
+        switch (operation) {
+
+            case ADDITION:
+
+                return new Node.Addition(first, second);
+
+            case SUBTRACTION:
+
+                return new Node.Subtraction(first, second);
+
+            case MULTIPLICATION:
+
+                return new Node.Multiplication(first, second);
+
+            case DIVISION:
+
+                return new Node.Division(first, second);
+
+            default:
+
+                return new Node.Calculation(operation, first, second);
+        }
+    }
+
+    private static Node withNumberNode(Operation operation, Node first, double second) {
+
+        switch (operation) {
+
+            case ADDITION:
+
+                return new Node.AdditionWithNumber(first, second);
+
+            case SUBTRACTION:
+
+                return new Node.SubtractionWithNumber(first, second);
+
+            case MULTIPLICATION:
+
+                return new Node.MultiplicationWithNumber(first, second);
+
+            default:
+
+                return new Node.DivisionWithNumber(first, second);
+        }
+    }
+
+    private static Node ofNumberNode(Operation operation, double first, Node second) {
+
+        switch (operation) {
+
+            case ADDITION:
+
+                return new Node.AdditionOfNumber(first, second);
+
+            case SUBTRACTION:
+
+                return new Node.SubtractionOfNumber(first, second);
+
+            case MULTIPLICATION:
+
+                return new Node.MultiplicationOfNumber(first, second);
+
+            default:
+
+                return new Node.DivisionOfNumber(first, second);
+        }
+    }
+
+    private static Node placeholderNode(Operation operation, int first, int second) {
+
+        switch (operation) {
+
+            case ADDITION:
+
+                return new Node.AdditionOfPlaceholders(first, second);
+
+            case SUBTRACTION:
+
+                return new Node.SubtractionOfPlaceholders(first, second);
+
+            case MULTIPLICATION:
+
+                return new Node.MultiplicationOfPlaceholders(first, second);
+
+            default:
+
+                return new Node.DivisionOfPlaceholders(first, second);
+        }
+    }
+}
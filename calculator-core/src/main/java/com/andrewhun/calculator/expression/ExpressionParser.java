@@ -0,0 +1,181 @@
+/*
+* This file contains the ExpressionParser class. It reads calculations written the way the top
+* display shows them: numbers and operators separated by spaces, such as "12 + 3.5 * -2". Every
+* operator of the top display is understood: + - * / and % (MODULO), & | ^ (AND, OR, XOR), < > (the
+* shifts), the guillemets (the rotations) and the upwards arrow (POWER). An operator at the end (the top
+* display reads "2 / " while the user is typing the second number) is ignored.
+*   Like the calculator, the parser follows an EvaluationOrder. By default the operations are carried
+* out from left to right, so the example above means (12 + 3.5) * -2. With OPERATOR_PRECEDENCE the tree
+* is built with the precedences of the OperationStack (using the shunting-yard algorithm, so a chain of
+* any length is read without recursion), and the example means 12 + (3.5 * -2), just like in a session
+* set to the same order.
+*   The numbers are read as decimal doubles, and the operations are carried out the way the DOUBLE number
+* mode does (see OperationExpression). Chains written in the other number modes are parsed as long as
+* their numbers are decimal, but they are calculated with doubles as well. A fraction of the RATIONAL mode
+* ("1/3") is rejected as not a number; the words of the PROGRAMMER mode can only be parsed when they are
+* shown in the DECIMAL radix, since hexadecimal words such as "FF" would be read as placeholders.
+*   The text of the top display (getTopDisplayString) always holds the whole chain. Only the text shown on
+* the label of a long chain starts with an ellipsis in place of the operations it leaves out; such a text is
+* rejected, since its value cannot be known.
+*   Besides numbers, a calculation may contain placeholders: names made of letters, digits and
+* underscores that start with a letter, such as "x" or "rate". Each placeholder gets an index (in the
+* order the placeholders first appear), which is its position in the array of arguments used to
+* evaluate the expression.
+ */
+package com.andrewhun.calculator.expression;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Collections;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.OperationStack;
+import com.andrewhun.calculator.EvaluationOrder;
+
+public class ExpressionParser {
+
+    // The start of the visible part of a chain whose first operations are not shown
+    private static final String ELLIPSIS = "\u2026";
+
+    private final EvaluationOrder evaluationOrder;
+    private final List<String> placeholderNames = new ArrayList<>();
+
+    // The operands and operations that wait for an operation of a lower precedence, while a chain is parsed
+    private final List<Expression> operands = new ArrayList<>();
+    private final List<Operation> operations = new ArrayList<>();
+
+    // Create a parser that carries out the operations from left to right
+    public ExpressionParser() {
+
+        this(EvaluationOrder.LEFT_TO_RIGHT);
+    }
+
+    public ExpressionParser(EvaluationOrder evaluationOrder) {
+
+        this.evaluationOrder = evaluationOrder;
+    }
+
+    public EvaluationOrder getEvaluationOrder() {
+
+        return evaluationOrder;
+    }
+
+    // Parse the calculation; throws an IllegalArgumentException when it is not a valid calculation
+    public Expression parse(String calculation) {
+
+        placeholderNames.clear();
+        String[] tokens = calculation.trim().split("\\s+");
+        if (tokens[0].isEmpty()) {
+
+            throw new IllegalArgumentException("The calculation is empty");
+        }
+        if (tokens[0].startsWith(ELLIPSIS)) {
+
+            throw new IllegalArgumentException("The beginning of the calculation is missing: " + tokens[0]);
+        }
+
+        operands.clear();
+        operations.clear();
+        operands.add(parseOperand(tokens[0]));
+        for (int i = 1; i < tokens.length; i += 2) {
+
+            Operation operation = parseOperation(tokens[i]);
+
+            // An operator without a second number is ignored
+            if (i + 1 == tokens.length) {
+
+                break;
+            }
+
+            // The waiting operations of the same or a higher precedence come first, like on the OperationStack
+            reduce(precedenceOf(operation));
+            operations.add(operation);
+            operands.add(parseOperand(tokens[i + 1]));
+        }
+        reduce(precedenceOf(Operation.NONE));
+
+        return operands.remove(0);
+    }
+
+    // The names of the placeholders found by the last call to parse, in the order of their indexes
+    public List<String> getPlaceholderNames() {
+
+        return Collections.unmodifiableList(new ArrayList<>(placeholderNames));
+    }
+
+    // Join the waiting operations whose precedence is at least the given one with their operands
+    private void reduce(int precedence) {
+
+        while (!operations.isEmpty() && precedenceOf(operations.get(operations.size() - 1)) >= precedence) {
+
+            Expression secondOperand = operands.remove(operands.size() - 1);
+            Expression firstOperand = operands.remove(operands.size() - 1);
+            operands.add(new OperationExpression(operations.remove(operations.size() - 1), firstOperand, secondOperand));
+        }
+    }
+
+    private int precedenceOf(Operation operation) {
+
+        return OperationStack.precedenceOf(operation, evaluationOrder);
+    }
+
+    // Turn a number or a placeholder name into an expression
+    private Expression parseOperand(String token) {
+
+        char firstCharacter = token.charAt(0);
+        if (Character.isLetter(firstCharacter)) {
+
+            return parsePlaceholder(token);
+        }
+
+        if (!Character.isDigit(firstCharacter) && firstCharacter != '-' && firstCharacter != '.') {
+
+            throw new IllegalArgumentException("Not a number: " + token);
+        }
+        char lastCharacter = token.charAt(token.length() - 1);
+        if (!Character.isDigit(lastCharacter) && lastCharacter != '.') {
+
+            throw new IllegalArgumentException("Not a number: " + token);
+        }
+
+        try {
+
+            return new NumberExpression(Double.parseDouble(token));
+        }
+        catch (NumberFormatException exception) {
+
+            throw new IllegalArgumentException("Not a number: " + token, exception);
+        }
+    }
+
+    // Look up the placeholder with the given name, giving it the next index when it is new
+    private Expression parsePlaceholder(String name) {
+
+        for (int i = 0; i < name.length(); i++) {
+
+            char character = name.charAt(i);
+            if (!Character.isLetterOrDigit(character) && character != '_') {
+
+                throw new IllegalArgumentException("Not a placeholder name: " + name);
+            }
+        }
+
+        int index = placeholderNames.indexOf(name);
+        if (index < 0) {
+
+            index = placeholderNames.size();
+            placeholderNames.add(name);
+        }
+        return new PlaceholderExpression(name, index);
+    }
+
+    // Find the operation that belongs to the operator (the symbols are the ones of the top display)
+    private static Operation parseOperation(String token) {
+
+        Operation operation = token.length() == 1 ? OperationExpression.operationOf(token.charAt(0)) : Operation.NONE;
+        if (operation == Operation.NONE) {
+
+            throw new IllegalArgumentException("Not an operator: " + token);
+        }
+        return operation;
+    }
+}
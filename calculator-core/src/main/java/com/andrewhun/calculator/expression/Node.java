@@ -0,0 +1,397 @@
+/*
+* This file contains the Node class and its subclasses, the building blocks of a CompiledExpression.
+* Unlike the Expression classes, which look up the operation of every step while evaluating, each
+* node class does exactly one thing: an addition of two nodes, a multiplication by a fixed number,
+* the division of two placeholders and so on. The ExpressionCompiler picks the most specific class
+* for every part of the expression, so evaluating it is a chain of small final methods without
+* switches, which the JIT compiler can inline into code close to a hand-written formula.
+*   The operations other than the four basic ones (MODULO, the bitwise operations and POWER) have a single
+* node class, which carries them out with OperationExpression.calculate. So does the node of a long chain,
+* which carries out its operations one after the other in a loop, so that evaluating it does not need
+* a stack as deep as the chain is long.
+ */
+package com.andrewhun.calculator.expression;
+
+import com.andrewhun.calculator.Operation;
+
+abstract class Node {
+
+    abstract double evaluate(double[] arguments);
+
+    // Divide the numbers, throwing the same exception as OperationExpression when the divisor is zero
+    static double divide(double firstNumber, double secondNumber) {
+
+        if (secondNumber == 0.0) {
+
+            throw new ArithmeticException(Expression.DIVISION_BY_ZERO_MESSAGE);
+        }
+        return firstNumber / secondNumber;
+    }
+
+    static final class Constant extends Node {
+
+        private final double value;
+
+        Constant(double value) {
+
+            this.value = value;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return value;
+        }
+    }
+
+    static final class Placeholder extends Node {
+
+        private final int index;
+
+        Placeholder(int index) {
+
+            this.index = index;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return arguments[index];
+        }
+    }
+
+    static final class Addition extends Node {
+
+        private final Node first;
+        private final Node second;
+
+        Addition(Node first, Node second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return first.evaluate(arguments) + second.evaluate(arguments);
+        }
+    }
+
+    static final class AdditionWithNumber extends Node {
+
+        private final Node first;
+        private final double second;
+
+        AdditionWithNumber(Node first, double second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return first.evaluate(arguments) + second;
+        }
+    }
+
+    static final class AdditionOfNumber extends Node {
+
+        private final double first;
+        private final Node second;
+
+        AdditionOfNumber(double first, Node second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return first + second.evaluate(arguments);
+        }
+    }
+
+    static final class AdditionOfPlaceholders extends Node {
+
+        private final int first;
+        private final int second;
+
+        AdditionOfPlaceholders(int first, int second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return arguments[first] + arguments[second];
+        }
+    }
+
+    static final class Subtraction extends Node {
+
+        private final Node first;
+        private final Node second;
+
+        Subtraction(Node first, Node second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return first.evaluate(arguments) - second.evaluate(arguments);
+        }
+    }
+
+    static final class SubtractionWithNumber extends Node {
+
+        private final Node first;
+        private final double second;
+
+        SubtractionWithNumber(Node first, double second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return first.evaluate(arguments) - second;
+        }
+    }
+
+    static final class SubtractionOfNumber extends Node {
+
+        private final double first;
+        private final Node second;
+
+        SubtractionOfNumber(double first, Node second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return first - second.evaluate(arguments);
+        }
+    }
+
+    static final class SubtractionOfPlaceholders extends Node {
+
+        private final int first;
+        private final int second;
+
+        SubtractionOfPlaceholders(int first, int second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return arguments[first] - arguments[second];
+        }
+    }
+
+    static final class Multiplication extends Node {
+
+        private final Node first;
+        private final Node second;
+
+        Multiplication(Node first, Node second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return first.evaluate(arguments) * second.evaluate(arguments);
+        }
+    }
+
+    static final class MultiplicationWithNumber extends Node {
+
+        private final Node first;
+        private final double second;
+
+        MultiplicationWithNumber(Node first, double second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return first.evaluate(arguments) * second;
+        }
+    }
+
+    static final class MultiplicationOfNumber extends Node {
+
+        private final double first;
+        private final Node second;
+
+        MultiplicationOfNumber(double first, Node second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return first * second.evaluate(arguments);
+        }
+    }
+
+    static final class MultiplicationOfPlaceholders extends Node {
+
+        private final int first;
+        private final int second;
+
+        MultiplicationOfPlaceholders(int first, int second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return arguments[first] * arguments[second];
+        }
+    }
+
+    static final class Division extends Node {
+
+        private final Node first;
+        private final Node second;
+
+        Division(Node first, Node second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return divide(first.evaluate(arguments), second.evaluate(arguments));
+        }
+    }
+
+    // The compiler only uses this node for divisors other than zero, so there is nothing to check
+    static final class DivisionWithNumber extends Node {
+
+        private final Node first;
+        private final double second;
+
+        DivisionWithNumber(Node first, double second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return first.evaluate(arguments) / second;
+        }
+    }
+
+    static final class DivisionOfNumber extends Node {
+
+        private final double first;
+        private final Node second;
+
+        DivisionOfNumber(double first, Node second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return divide(first, second.evaluate(arguments));
+        }
+    }
+
+    static final class DivisionOfPlaceholders extends Node {
+
+        private final int first;
+        private final int second;
+
+        DivisionOfPlaceholders(int first, int second) {
+
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return divide(arguments[first], arguments[second]);
+        }
+    }
+
+    static final class Calculation extends Node {
+
+        private final Operation operation;
+        private final Node first;
+        private final Node second;
+
+        Calculation(Operation operation, Node first, Node second) {
+
+            this.operation = operation;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            return OperationExpression.calculate(operation, first.evaluate(arguments), second.evaluate(arguments));
+        }
+    }
+
+    // The operations of a long chain, each carried out on the result of the one before it and its own operand
+    static final class Chain extends Node {
+
+        private final Node first;
+        private final Operation[] operations;
+        private final Node[] operands;
+
+        Chain(Node first, Operation[] operations, Node[] operands) {
+
+            this.first = first;
+            this.operations = operations;
+            this.operands = operands;
+        }
+
+        @Override
+        double evaluate(double[] arguments) {
+
+            double value = first.evaluate(arguments);
+            for (int i = 0; i < operations.length; i++) {
+
+                value = OperationExpression.calculate(operations[i], value, operands[i].evaluate(arguments));
+            }
+            return value;
+        }
+    }
+}
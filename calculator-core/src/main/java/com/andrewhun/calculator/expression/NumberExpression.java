@@ -0,0 +1,43 @@
+/*
+* This file contains the NumberExpression class, a number written directly into the calculation.
+ */
+package com.andrewhun.calculator.expression;
+
+public class NumberExpression extends Expression {
+
+    private final double value;
+
+    public NumberExpression(double value) {
+
+        this.value = value;
+    }
+
+    public double getValue() {
+
+        return value;
+    }
+
+    @Override
+    public double evaluate(double[] arguments) {
+
+        return value;
+    }
+
+    @Override
+    public Expression fold() {
+
+        return this;
+    }
+
+    @Override
+    public boolean isConstant() {
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+* This file contains the OperationExpression class, an operation of the calculator carried out on two
+* smaller expressions. Every operation but NONE can be used, and it is carried out by
+* CalculationEngine.calculate, so an expression gives the same results as a session in the DOUBLE number
+* mode (the bitwise operations work on the whole parts of the numbers, and POWER uses StrictMath).
+*   The errors the engine reports as a division by zero (dividing by zero, the remainder of a division by
+* zero and an infinite negative power, see CalculationError) throw an ArithmeticException instead of
+* giving an infinite or NaN result, so expressions behave the same way as the calculator itself.
+*   A chain of operations is a tree that leans to the left: the first operand of every operation is the
+* operation before it. Such a tree can be as deep as the chain is long, so the operations down the left
+* side of a long chain are walked with a loop instead of recursion, and do not run out of stack.
+ */
+package com.andrewhun.calculator.expression;
+
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.CalculationError;
+import com.andrewhun.calculator.CalculationEngine;
+
+public class OperationExpression extends Expression {
+
+    // Chains up to this many operations long are evaluated with recursion, which needs no array of the chain
+    private static final int MAX_RECURSIVE_CHAIN_LENGTH = 256;
+
+    private final Operation operation;
+    private final Expression firstOperand;
+    private final Expression secondOperand;
+
+    // The number of operations down the left side, this one included
+    private final int chainLength;
+
+    // The operations down the left side, starting with the first one (built when a long chain is first evaluated)
+    private volatile OperationExpression[] chain;
+
+    public OperationExpression(Operation operation, Expression firstOperand, Expression secondOperand) {
+
+        if (operation == Operation.NONE) {
+
+            throw new IllegalArgumentException("An operation expression needs an actual operation");
+        }
+        this.operation = operation;
+        this.firstOperand = firstOperand;
+        this.secondOperand = secondOperand;
+        chainLength = firstOperand instanceof OperationExpression
+                ? ((OperationExpression) firstOperand).chainLength + 1 : 1;
+    }
+
+    public Operation getOperation() {
+
+        return operation;
+    }
+
+    public Expression getFirstOperand() {
+
+        return firstOperand;
+    }
+
+    public Expression getSecondOperand() {
+
+        return secondOperand;
+    }
+
+    @Override
+    public double evaluate(double[] arguments) {
+
+        if (chainLength <= MAX_RECURSIVE_CHAIN_LENGTH) {
+
+            return calculate(operation, firstOperand.evaluate(arguments), secondOperand.evaluate(arguments));
+        }
+
+        OperationExpression[] operations = chain;
+        if (operations == null) {
+
+            operations = leftChain();
+            chain = operations;
+        }
+
+        double value = operations[0].firstOperand.evaluate(arguments);
+        for (OperationExpression step : operations) {
+
+            value = calculate(step.operation, value, step.secondOperand.evaluate(arguments));
+        }
+        return value;
+    }
+
+    /* Calculate the parts that do not depend on placeholders. Besides operations on two numbers,
+    operations that can never change the other operand (multiplying or dividing by one, subtracting
+    zero) are removed too. Adding zero is kept, because -0.0 + 0.0 is 0.0 and not -0.0.*/
+    @Override
+    public Expression fold() {
+
+        OperationExpression[] operations = leftChain();
+        Expression folded = operations[0].firstOperand.fold();
+        for (OperationExpression step : operations) {
+
+            folded = step.fold(folded, step.secondOperand.fold());
+        }
+        return folded;
+    }
+
+    // Fold this operation, with its operands already folded
+    private Expression fold(Expression first, Expression second) {
+
+        if (first.isConstant() && second.isConstant()) {
+
+            try {
+
+                return new NumberExpression(calculate(operation,
+                        ((NumberExpression) first).getValue(), ((NumberExpression) second).getValue()));
+            }
+            catch (ArithmeticException exception) {
+
+                // Leave divisions by zero in place, so the error comes up when the expression is evaluated
+            }
+        }
+
+        if (second.isConstant() && isIdentity(operation, ((NumberExpression) second).getValue())) {
+
+            return first;
+        }
+
+        if (first == firstOperand && second == secondOperand) {
+
+            return this;
+        }
+        return new OperationExpression(operation, first, second);
+    }
+
+    // The operations down the left side of this one, starting with the first operation of the chain
+    OperationExpression[] leftChain() {
+
+        OperationExpression[] operations = new OperationExpression[chainLength];
+        OperationExpression step = this;
+        for (int i = chainLength - 1; i > 0; i--) {
+
+            operations[i] = step;
+            step = (OperationExpression) step.firstOperand;
+        }
+        operations[0] = step;
+        return operations;
+    }
+
+    // Carry out the operation the same way as the calculator
+    static double calculate(Operation operation, double firstNumber, double secondNumber) {
+
+        double result = CalculationEngine.calculate(operation, firstNumber, secondNumber);
+        if (!Double.isFinite(result)
+                && CalculationError.of(operation, secondNumber, result) == CalculationError.DIVISION_BY_ZERO) {
+
+            throw new ArithmeticException(DIVISION_BY_ZERO_MESSAGE);
+        }
+        return result;
+    }
+
+    // Find out if carrying out the operation with the given second operand leaves the first one unchanged
+    private static boolean isIdentity(Operation operation, double secondValue) {
+
+        switch (operation) {
+
+            case SUBTRACTION:
+
+                return Double.doubleToRawLongBits(secondValue) == 0L;
+
+            case MULTIPLICATION:
+            case DIVISION:
+
+                return secondValue == 1.0;
+
+            default:
+
+                return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        OperationExpression[] operations = leftChain();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < operations.length; i++) {
+
+            builder.append('(');
+        }
+        builder.append(operations[0].firstOperand);
+        for (OperationExpression step : operations) {
+
+            builder.append(' ').append(symbolOf(step.operation)).append(' ').append(step.secondOperand).append(')');
+        }
+        return builder.toString();
+    }
+
+    // The symbol used for the operation on the top display
+    static char symbolOf(Operation operation) {
+
+        switch (operation) {
+
+            case ADDITION:
+
+                return '+';
+
+            case SUBTRACTION:
+
+                return '-';
+
+            case MULTIPLICATION:
+
+                return '*';
+
+            case DIVISION:
+
+                return '/';
+
+            case MODULO:
+
+                return '%';
+
+            case AND:
+
+                return '&';
+
+            case OR:
+
+                return '|';
+
+            case XOR:
+
+                return '^';
+
+            case SHIFT_LEFT:
+
+                return '<';
+
+            case SHIFT_RIGHT:
+
+                return '>';
+
+            case ROTATE_LEFT:
+
+                return '\u00ab';
+
+            case ROTATE_RIGHT:
+
+                return '\u00bb';
+
+            default:
+
+                return '\u2191';
+        }
+    }
+
+    // The operation of a symbol on the top display, or NONE if it is not a symbol of an operation
+    static Operation operationOf(char symbol) {
+
+        for (Operation operation : Operation.values()) {
+
+            if (operation != Operation.NONE && symbolOf(operation) == symbol) {
+
+                return operation;
+            }
+        }
+        return Operation.NONE;
+    }
+}
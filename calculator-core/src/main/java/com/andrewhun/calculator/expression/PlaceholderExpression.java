@@ -0,0 +1,46 @@
+/*
+* This file contains the PlaceholderExpression class. A placeholder is a name in the calculation
+* (such as "x") whose value is only given when the expression is evaluated. The index is the
+* position of the value in the array of arguments.
+ */
+package com.andrewhun.calculator.expression;
+
+public class PlaceholderExpression extends Expression {
+
+    private final String name;
+    private final int index;
+
+    public PlaceholderExpression(String name, int index) {
+
+        this.name = name;
+        this.index = index;
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    public int getIndex() {
+
+        return index;
+    }
+
+    @Override
+    public double evaluate(double[] arguments) {
+
+        return arguments[index];
+    }
+
+    @Override
+    public Expression fold() {
+
+        return this;
+    }
+
+    @Override
+    public String toString() {
+
+        return name;
+    }
+}
@@ -0,0 +1,10 @@
+/*
+* The module of the calculator core. It only needs the java.base module, so it adds nothing to the
+* runtime image besides its own classes.
+ */
+module com.andrewhun.calculator.core {
+
+    exports com.andrewhun.calculator;
+    exports com.andrewhun.calculator.batch;
+    exports com.andrewhun.calculator.expression;
+}
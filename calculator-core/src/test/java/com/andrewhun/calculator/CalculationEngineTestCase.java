@@ -0,0 +1,603 @@
+/*
+* This file contains test cases for the CalculationEngine class.
+ */
+package com.andrewhun.calculator;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.function.DoubleSupplier;
+import java.lang.management.ManagementFactory;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class CalculationEngineTestCase {
+
+    // Test that the program calculates results correctly for all 4 operations
+    @Test
+    void TestExecuteOperation() {
+
+        CalculationEngine engine = new CalculationEngine();
+        engine.setFirstNumber(6.0);
+        engine.setSecondNumber(2.0);
+
+        Assertions.assertEquals(8.0, engine.executeOperation(Operation.ADDITION));
+        Assertions.assertEquals(4.0, engine.executeOperation(Operation.SUBTRACTION));
+        Assertions.assertEquals(12.0, engine.executeOperation(Operation.MULTIPLICATION));
+        Assertions.assertEquals(3.0, engine.executeOperation(Operation.DIVISION));
+
+        // The result of the last operation should be kept if there is no operation selected
+        Assertions.assertEquals(3.0, engine.executeOperation(Operation.NONE));
+        Assertions.assertEquals(3.0, engine.getResult());
+    }
+
+    // Test that the errors of the operations are told apart from their results
+    @Test
+    void TestErrors() {
+
+        CalculationEngine engine = new CalculationEngine();
+        engine.setFirstNumber(1.0);
+        engine.setSecondNumber(0.0);
+        engine.executeOperation(Operation.DIVISION);
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, engine.getError());
+
+        engine.setFirstNumber(0.0);
+        engine.executeOperation(Operation.DIVISION);
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, engine.getError());
+
+        engine.setFirstNumber(Double.MAX_VALUE);
+        engine.setSecondNumber(10.0);
+        engine.executeOperation(Operation.MULTIPLICATION);
+        Assertions.assertEquals(CalculationError.OVERFLOW, engine.getError());
+
+        engine.setFirstNumber(Double.POSITIVE_INFINITY);
+        engine.setSecondNumber(Double.POSITIVE_INFINITY);
+        engine.executeOperation(Operation.SUBTRACTION);
+        Assertions.assertEquals(CalculationError.NOT_A_NUMBER, engine.getError());
+
+        engine.setFirstNumber(-1.0);
+        engine.setSecondNumber(-0.0);
+        engine.executeOperation(Operation.ADDITION);
+        Assertions.assertEquals(CalculationError.NONE, engine.getError());
+
+        engine.setSecondNumber(0.0);
+        engine.executeOperation(Operation.DIVISION);
+        engine.resetNumbers();
+        Assertions.assertEquals(CalculationError.NONE, engine.getError());
+    }
+
+    // Test that the integer mode calculates exactly with longs and falls back to doubles when it has to
+    @Test
+    void TestIntegerMode() {
+
+        CalculationEngine engine = new CalculationEngine();
+        engine.setNumberMode(NumberMode.INTEGER);
+        CalculatorDisplay display = new CalculatorDisplay();
+
+        // 2^53 + 1 cannot be held by a double
+        display.setDisplayedNumberString("9007199254740993");
+        engine.setFirstNumber(display.getDisplayedNumberEntry());
+        display.setDisplayedNumberString("2");
+        engine.setSecondNumber(display.getDisplayedNumberEntry());
+        engine.executeOperation(Operation.MULTIPLICATION);
+        engine.showResult(display);
+        Assertions.assertEquals("18014398509481986", display.getDisplayedNumberString());
+
+        // Divisions without a remainder stay exact, the others give a double
+        engine.useResultAsFirstNumber();
+        engine.executeOperation(Operation.DIVISION);
+        engine.showResult(display);
+        Assertions.assertEquals("9007199254740993", display.getDisplayedNumberString());
+        engine.setFirstNumber(7.0);
+        engine.setSecondNumber(2.0);
+        Assertions.assertEquals(3.5, engine.executeOperation(Operation.DIVISION));
+
+        // An overflow falls back to doubles
+        engine.setFirstNumber(Long.MAX_VALUE);
+        engine.setSecondNumber(Long.MAX_VALUE);
+        Assertions.assertEquals(0x1p64, engine.executeOperation(Operation.ADDITION));
+        Assertions.assertEquals(CalculationError.NONE, engine.getError());
+
+        engine.setFirstNumber(1.0);
+        engine.setSecondNumber(0.0);
+        engine.executeOperation(Operation.DIVISION);
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, engine.getError());
+
+        // Numbers with a decimal point are calculated as doubles
+        display.setDisplayedNumberString("0.5");
+        engine.setSecondNumber(display.getDisplayedNumberEntry());
+        engine.setFirstNumber(3.0);
+        Assertions.assertEquals(3.5, engine.executeOperation(Operation.ADDITION));
+    }
+
+    // Test that the DOUBLE_DOUBLE mode keeps about 106 bits of every result
+    @Test
+    void TestDoubleDoubleMode() {
+
+        CalculationEngine engine = new CalculationEngine();
+        engine.setNumberMode(NumberMode.DOUBLE_DOUBLE);
+        CalculatorDisplay display = new CalculatorDisplay();
+
+        // A million additions of the double 0.1 give the nearest double to their exact sum
+        engine.setFirstNumber(0.0);
+        engine.setSecondNumber(0.1);
+        for (int i = 0; i < 1_000_000; i++) {
+
+            engine.executeOperation(Operation.ADDITION);
+            engine.useResultAsFirstNumber();
+        }
+        Assertions.assertEquals(new BigDecimal(0.1).multiply(BigDecimal.valueOf(1_000_000)).doubleValue(),
+                engine.getFirstNumber());
+
+        // The number on the display is taken with its low part, so ten times 0.1 is 1
+        display.setDisplayedNumberString("0.1");
+        engine.setFirstNumber(display.getDisplayedNumberEntry());
+        engine.setSecondNumber(display.getDisplayedNumberEntry());
+        for (int i = 0; i < 9; i++) {
+
+            engine.executeOperation(Operation.ADDITION);
+            engine.useResultAsFirstNumber();
+        }
+        engine.showFirstNumber(display);
+        Assertions.assertEquals("1", display.getDisplayedNumberString());
+
+        // Both parts of the results of every operation
+        DoubleDoubleArithmetic arithmetic = new DoubleDoubleArithmetic();
+        BigDecimal third = BigDecimal.ONE.divide(BigDecimal.valueOf(3), MathContext.DECIMAL128);
+        arithmetic.setFirstNumber(1.0);
+        arithmetic.setSecondNumber(3.0);
+        arithmetic.executeOperation(Operation.DIVISION);
+        BigDecimal result = new BigDecimal(arithmetic.getResult()).add(new BigDecimal(arithmetic.getResultLow()));
+        Assertions.assertTrue(result.subtract(third).abs().compareTo(new BigDecimal("1e-32")) < 0);
+
+        arithmetic.useResultAsFirstNumber();
+        arithmetic.executeOperation(Operation.MULTIPLICATION);
+        result = new BigDecimal(arithmetic.getResult()).add(new BigDecimal(arithmetic.getResultLow()));
+        Assertions.assertTrue(result.subtract(BigDecimal.ONE).abs().compareTo(new BigDecimal("1e-31")) < 0);
+
+        arithmetic.setFirstNumber(1e16);
+        arithmetic.setSecondNumber(1.0);
+        arithmetic.executeOperation(Operation.ADDITION);
+        arithmetic.useResultAsFirstNumber();
+        arithmetic.setSecondNumber(1e16);
+        arithmetic.executeOperation(Operation.SUBTRACTION);
+        Assertions.assertEquals(1.0, arithmetic.getResult());
+
+        // Errors are the same as with doubles
+        engine.setFirstNumber(1.0);
+        engine.setSecondNumber(0.0);
+        engine.executeOperation(Operation.DIVISION);
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, engine.getError());
+        engine.setFirstNumber(1e300);
+        engine.setSecondNumber(1e300);
+        engine.executeOperation(Operation.MULTIPLICATION);
+        Assertions.assertEquals(CalculationError.OVERFLOW, engine.getError());
+    }
+
+    // Test the decimals of the DECIMAL mode, along with the numbers left to the doubles
+    @Test
+    void TestDecimalMode() {
+
+        CalculationEngine engine = new CalculationEngine();
+        engine.setNumberMode(NumberMode.DECIMAL);
+        CalculatorDisplay display = new CalculatorDisplay();
+
+        engine.setFirstNumber(0.1);
+        engine.setSecondNumber(0.2);
+        Assertions.assertEquals(0.3, engine.executeOperation(Operation.ADDITION));
+        engine.showResult(display);
+        Assertions.assertEquals("0.3", display.getDisplayedNumberString());
+
+        // A result a double holds exactly is shown like a double
+        engine.useResultAsFirstNumber();
+        engine.setSecondNumber(0.7);
+        Assertions.assertEquals(1.0, engine.executeOperation(Operation.ADDITION));
+        engine.showResult(display);
+        Assertions.assertEquals("1", display.getDisplayedNumberString());
+
+        // The results are rounded with the MathContext
+        engine.setFirstNumber(1.0);
+        engine.setSecondNumber(3.0);
+        engine.executeOperation(Operation.DIVISION);
+        engine.showResult(display);
+        Assertions.assertEquals("0.3333333333333333333333333333333333", display.getDisplayedNumberString());
+
+        engine.setMathContext(new MathContext(5, RoundingMode.HALF_EVEN));
+        engine.executeOperation(Operation.DIVISION);
+        engine.showResult(display);
+        Assertions.assertEquals("0.33333", display.getDisplayedNumberString());
+        engine.setFirstNumber(123456.0);
+        engine.setSecondNumber(1.0);
+        engine.executeOperation(Operation.ADDITION);
+        engine.showResult(display);
+        Assertions.assertEquals("123460", display.getDisplayedNumberString());
+
+        // An unlimited MathContext keeps every digit, except for the quotients that never end
+        engine.setMathContext(MathContext.UNLIMITED);
+        display.setDisplayedNumberString("12345678901234567890.123456789");
+        engine.setFirstNumber(display.getDisplayedNumberEntry());
+        display.setDisplayedNumberString("0.000000001");
+        engine.setSecondNumber(display.getDisplayedNumberEntry());
+        engine.executeOperation(Operation.SUBTRACTION);
+        engine.showResult(display);
+        Assertions.assertEquals("12345678901234567890.123456788", display.getDisplayedNumberString());
+        engine.setFirstNumber(2.0);
+        engine.setSecondNumber(3.0);
+        engine.executeOperation(Operation.DIVISION);
+        engine.showResult(display);
+        Assertions.assertEquals("0.6666666666666666666666666666666667", display.getDisplayedNumberString());
+
+        display.setDisplayedNumberString("0.0");
+        engine.setSecondNumber(display.getDisplayedNumberEntry());
+        engine.executeOperation(Operation.DIVISION);
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, engine.getError());
+    }
+
+    // Test that a decimal too large for a double is an overflow, and that a long decimal within range is not
+    @Test
+    void TestDecimalModeOverflow() {
+
+        CalculationEngine engine = new CalculationEngine();
+        engine.setNumberMode(NumberMode.DECIMAL);
+        engine.setFirstNumber(1e200);
+        engine.setSecondNumber(1e200);
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, engine.executeOperation(Operation.MULTIPLICATION));
+        Assertions.assertEquals(CalculationError.OVERFLOW, engine.getError());
+
+        // The unscaled value of the product has more than 308 digits, but the product itself is about 10^220
+        engine.setMathContext(MathContext.UNLIMITED);
+        CalculatorDisplay display = new CalculatorDisplay();
+        String factor = "12345678901234567890.123456789";
+        display.setDisplayedNumberString(factor);
+        engine.setFirstNumber(display.getDisplayedNumberEntry());
+        BigDecimal expected = new BigDecimal(factor);
+        for (int i = 0; i < 11; i++) {
+
+            display.setDisplayedNumberString(factor);
+            engine.setSecondNumber(display.getDisplayedNumberEntry());
+            engine.executeOperation(Operation.MULTIPLICATION);
+            engine.useResultAsFirstNumber();
+            expected = expected.multiply(new BigDecimal(factor));
+        }
+        Assertions.assertEquals(CalculationError.NONE, engine.getError());
+        Assertions.assertTrue(expected.unscaledValue().bitLength() > 1024);
+        Assertions.assertEquals(expected.doubleValue(), engine.getResult());
+    }
+
+    // Test the fractions of the RATIONAL mode, along with the BigIntegers the longs overflow into
+    @Test
+    void TestRationalMode() {
+
+        CalculationEngine engine = new CalculationEngine();
+        engine.setNumberMode(NumberMode.RATIONAL);
+        CalculatorDisplay display = new CalculatorDisplay();
+
+        // A third is shown as a fraction, and three of them are exactly 1
+        engine.setFirstNumber(1.0);
+        engine.setSecondNumber(3.0);
+        engine.executeOperation(Operation.DIVISION);
+        engine.showResult(display);
+        Assertions.assertEquals("1/3", display.getDisplayedNumberString());
+        engine.useResultAsFirstNumber();
+        Assertions.assertEquals(1.0, engine.executeOperation(Operation.MULTIPLICATION));
+        engine.showResult(display);
+        Assertions.assertEquals("1", display.getDisplayedNumberString());
+
+        // Decimals that come to an end are shown as decimals, and the fraction on the display is read back exactly
+        engine.setFirstNumber(0.1);
+        engine.setSecondNumber(0.2);
+        engine.executeOperation(Operation.ADDITION);
+        engine.showResult(display);
+        Assertions.assertEquals("0.3", display.getDisplayedNumberString());
+        display.setDisplayedNumberString("-2/3");
+        engine.setFirstNumber(display.getDisplayedNumberEntry());
+        display.setDisplayedNumberString("1.25");
+        engine.setSecondNumber(display.getDisplayedNumberEntry());
+        engine.executeOperation(Operation.SUBTRACTION);
+        engine.showResult(display);
+        Assertions.assertEquals("-23/12", display.getDisplayedNumberString());
+
+        // Numbers that overflow a long carry on as BigIntegers, and go back to longs when they fit again
+        engine.setFirstNumber(1.0);
+        engine.setSecondNumber(0x1p62);
+        engine.executeOperation(Operation.DIVISION);
+        engine.useResultAsFirstNumber();
+        engine.setSecondNumber(3.0);
+        engine.executeOperation(Operation.DIVISION);
+        engine.useResultAsFirstNumber();
+        engine.executeOperation(Operation.DIVISION);
+        engine.showResult(display);
+        Assertions.assertEquals("1/41505174165846491136", display.getDisplayedNumberString());
+        Assertions.assertEquals(1.0 / 41505174165846491136.0, engine.getResult());
+        engine.useResultAsFirstNumber();
+        engine.setSecondNumber(9.0);
+        Assertions.assertEquals(0x1p-62, engine.executeOperation(Operation.MULTIPLICATION));
+        engine.showResult(display);
+        Assertions.assertEquals("2.1684043449710088680149056017398834228515625E-19", display.getDisplayedNumberString());
+
+        // Numbers beyond the range of a double are read back from the display exactly, only Infinity is infinite
+        display.setDisplayedNumberString("1E+600");
+        engine.setFirstNumber(display.getDisplayedNumberEntry());
+        display.setDisplayedNumberString("1E+300");
+        engine.setSecondNumber(display.getDisplayedNumberEntry());
+        Assertions.assertEquals(1e300, engine.executeOperation(Operation.DIVISION));
+        Assertions.assertEquals(CalculationError.NONE, engine.getError());
+        engine.showResult(display);
+        Assertions.assertEquals("1E+300", display.getDisplayedNumberString());
+        display.setDisplayedNumberString("1" + "0".repeat(602) + "1/3" + "0".repeat(600));
+        engine.setFirstNumber(display.getDisplayedNumberEntry());
+        display.setDisplayedNumberString("3");
+        engine.setSecondNumber(display.getDisplayedNumberEntry());
+        Assertions.assertEquals(1000.0, engine.executeOperation(Operation.MULTIPLICATION));
+        engine.showResult(display);
+        Assertions.assertEquals("1000." + "0".repeat(599) + "1", display.getDisplayedNumberString());
+        display.setDisplayedNumberString("-Infinity");
+        engine.setFirstNumber(display.getDisplayedNumberEntry());
+        Assertions.assertEquals(Double.NEGATIVE_INFINITY, engine.executeOperation(Operation.MULTIPLICATION));
+
+        // A fraction beyond the range of a double is an overflow, the same as a decimal
+        engine.setFirstNumber(1e300);
+        engine.setSecondNumber(1e300);
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, engine.executeOperation(Operation.MULTIPLICATION));
+        Assertions.assertEquals(CalculationError.OVERFLOW, engine.getError());
+        engine.setSecondNumber(-1e300);
+        engine.executeOperation(Operation.DIVISION);
+        Assertions.assertEquals(CalculationError.NONE, engine.getError());
+
+        // The binary GCD agrees with the Euclidean one
+        Assertions.assertEquals(6, RationalArithmetic.gcd(48, 18));
+        Assertions.assertEquals(1, RationalArithmetic.gcd(Long.MAX_VALUE, 2));
+        Assertions.assertEquals(7, RationalArithmetic.gcd(0, 7));
+
+        engine.setFirstNumber(1.0);
+        engine.setSecondNumber(0.0);
+        engine.executeOperation(Operation.DIVISION);
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, engine.getError());
+    }
+
+    // Test the 64-bit words of the PROGRAMMER mode, and the operations of the mode on doubles
+    @Test
+    void TestProgrammerMode() {
+
+        CalculationEngine engine = new CalculationEngine();
+        engine.setNumberMode(NumberMode.PROGRAMMER);
+
+        engine.setFirstNumber(0b1100);
+        engine.setSecondNumber(0b1010);
+        Assertions.assertEquals(0b1000, engine.executeOperation(Operation.AND));
+        Assertions.assertEquals(0b1110, engine.executeOperation(Operation.OR));
+        Assertions.assertEquals(0b0110, engine.executeOperation(Operation.XOR));
+        Assertions.assertEquals(12 << 10, engine.executeOperation(Operation.SHIFT_LEFT));
+        Assertions.assertEquals(2, engine.executeOperation(Operation.MODULO));
+        Assertions.assertEquals(1, engine.executeOperation(Operation.DIVISION));
+
+        // The words wrap around like a register, and the shifts and rotations work on all 64 bits
+        engine.setFirstNumber(Long.MAX_VALUE);
+        engine.setSecondNumber(1);
+        Assertions.assertEquals(Long.MIN_VALUE, engine.executeOperation(Operation.ADDITION));
+        engine.useResultAsFirstNumber();
+        Assertions.assertEquals(0x1p62, engine.executeOperation(Operation.ROTATE_RIGHT));
+        engine.setFirstNumber(-16);
+        engine.setSecondNumber(2);
+        Assertions.assertEquals(-4, engine.executeOperation(Operation.SHIFT_RIGHT));
+        Assertions.assertEquals(-61, engine.executeOperation(Operation.ROTATE_LEFT));
+        engine.setSecondNumber(0);
+        engine.executeOperation(Operation.MODULO);
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, engine.getError());
+
+        // The other modes carry out the bitwise operations on the whole parts of the numbers
+        engine.setNumberMode(NumberMode.DOUBLE);
+        engine.setFirstNumber(7.5);
+        engine.setSecondNumber(2.0);
+        Assertions.assertEquals(1.5, engine.executeOperation(Operation.MODULO));
+        Assertions.assertEquals(28.0, engine.executeOperation(Operation.SHIFT_LEFT));
+        engine.setNumberMode(NumberMode.INTEGER);
+        engine.setFirstNumber(-7.0);
+        engine.setSecondNumber(3.0);
+        Assertions.assertEquals(-1.0, engine.executeOperation(Operation.MODULO));
+        Assertions.assertEquals(-6.0, engine.executeOperation(Operation.XOR));
+        engine.setNumberMode(NumberMode.RATIONAL);
+        engine.setFirstNumber(6.0);
+        engine.setSecondNumber(3.0);
+        Assertions.assertEquals(7.0, engine.executeOperation(Operation.OR));
+        engine.setSecondNumber(0.0);
+        engine.executeOperation(Operation.MODULO);
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, engine.getError());
+    }
+
+    // Test POWER with doubles, with the exact longs of the INTEGER mode and with the words of the PROGRAMMER mode
+    @Test
+    void TestPower() {
+
+        CalculationEngine engine = new CalculationEngine();
+        engine.setFirstNumber(2.0);
+        engine.setSecondNumber(10.0);
+        Assertions.assertEquals(1024.0, engine.executeOperation(Operation.POWER));
+        engine.setSecondNumber(-1.0);
+        Assertions.assertEquals(0.5, engine.executeOperation(Operation.POWER));
+        engine.setSecondNumber(0.5);
+        Assertions.assertEquals(StrictMath.sqrt(2.0), engine.executeOperation(Operation.POWER));
+
+        engine.setFirstNumber(0.0);
+        engine.setSecondNumber(-1.0);
+        engine.executeOperation(Operation.POWER);
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, engine.getError());
+        engine.setFirstNumber(10.0);
+        engine.setSecondNumber(400.0);
+        engine.executeOperation(Operation.POWER);
+        Assertions.assertEquals(CalculationError.OVERFLOW, engine.getError());
+        engine.setFirstNumber(-8.0);
+        engine.setSecondNumber(0.5);
+        engine.executeOperation(Operation.POWER);
+        Assertions.assertEquals(CalculationError.NOT_A_NUMBER, engine.getError());
+
+        // 3^39 has more digits than a double holds, 3^40 does not fit into a long
+        engine.setNumberMode(NumberMode.INTEGER);
+        CalculatorDisplay display = new CalculatorDisplay();
+        engine.setFirstNumber(3.0);
+        engine.setSecondNumber(39.0);
+        engine.executeOperation(Operation.POWER);
+        engine.showResult(display);
+        Assertions.assertEquals("4052555153018976267", display.getDisplayedNumberString());
+        engine.setSecondNumber(40.0);
+        Assertions.assertEquals(StrictMath.pow(3.0, 40.0), engine.executeOperation(Operation.POWER));
+        engine.setFirstNumber(2.0);
+        engine.setSecondNumber(-2.0);
+        Assertions.assertEquals(0.25, engine.executeOperation(Operation.POWER));
+
+        // The words wrap around, and negative powers drop to 0 like divisions
+        engine.setNumberMode(NumberMode.PROGRAMMER);
+        engine.setFirstNumber(3.0);
+        engine.setSecondNumber(41.0);
+        long expected = 1;
+        for (int i = 0; i < 41; i++) {
+
+            expected *= 3;
+        }
+        Assertions.assertEquals((double) expected, engine.executeOperation(Operation.POWER));
+        engine.setSecondNumber(-1.0);
+        Assertions.assertEquals(0.0, engine.executeOperation(Operation.POWER));
+        engine.setFirstNumber(-1.0);
+        engine.setSecondNumber(-3.0);
+        Assertions.assertEquals(-1.0, engine.executeOperation(Operation.POWER));
+        engine.setFirstNumber(0.0);
+        engine.executeOperation(Operation.POWER);
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, engine.getError());
+
+        // The other exact modes calculate powers with doubles
+        engine.setNumberMode(NumberMode.RATIONAL);
+        engine.setFirstNumber(2.0);
+        engine.setSecondNumber(-3.0);
+        Assertions.assertEquals(0.125, engine.executeOperation(Operation.POWER));
+        engine.setNumberMode(NumberMode.DECIMAL);
+        engine.setFirstNumber(1.5);
+        engine.setSecondNumber(2.0);
+        Assertions.assertEquals(2.25, engine.executeOperation(Operation.POWER));
+    }
+
+    // Test that the scientific functions are calculated by the backend of the function precision
+    @Test
+    void TestScientificFunctions() {
+
+        Assertions.assertEquals(3.0, CalculationEngine.calculate(ScientificFunction.SQUARE_ROOT, 9.0,
+                FunctionPrecision.STRICT));
+        Assertions.assertEquals(6.25, CalculationEngine.calculate(ScientificFunction.SQUARE, -2.5,
+                FunctionPrecision.FAST));
+        Assertions.assertEquals(1000.0, CalculationEngine.calculate(ScientificFunction.POWER_OF_TEN, 3.0,
+                FunctionPrecision.STRICT));
+        Assertions.assertEquals(StrictMath.log10(2.0), CalculationEngine.calculate(ScientificFunction.LOGARITHM, 2.0,
+                FunctionPrecision.STRICT));
+
+        CalculationEngine engine = new CalculationEngine();
+        Assertions.assertEquals(FunctionPrecision.STRICT, engine.getFunctionPrecision());
+        for (ScientificFunction function : ScientificFunction.values()) {
+
+            Assertions.assertEquals(CalculationEngine.calculate(function, 0.3, FunctionPrecision.STRICT),
+                    engine.applyFunction(function, 0.3), function.getName());
+        }
+
+        engine.setFunctionPrecision(FunctionPrecision.FAST);
+        Assertions.assertEquals(FastMath.sin(0.3), engine.applyFunction(ScientificFunction.SINE, 0.3));
+        Assertions.assertEquals(FastMath.acos(0.3), engine.applyFunction(ScientificFunction.ARCCOSINE, 0.3));
+        Assertions.assertEquals(FastMath.exp10(0.3), engine.applyFunction(ScientificFunction.POWER_OF_TEN, 0.3));
+
+        // The errors of the results
+        Assertions.assertEquals(CalculationError.INVALID_INPUT,
+                CalculationError.of(-1.0, engine.applyFunction(ScientificFunction.SQUARE_ROOT, -1.0)));
+        Assertions.assertEquals(CalculationError.INVALID_INPUT,
+                CalculationError.of(0.0, engine.applyFunction(ScientificFunction.NATURAL_LOGARITHM, 0.0)));
+        Assertions.assertEquals(CalculationError.INVALID_INPUT,
+                CalculationError.of(-10.0, engine.applyFunction(ScientificFunction.LOGARITHM, -10.0)));
+        Assertions.assertEquals(CalculationError.INVALID_INPUT,
+                CalculationError.of(2.0, engine.applyFunction(ScientificFunction.ARCSINE, 2.0)));
+        Assertions.assertEquals(CalculationError.OVERFLOW,
+                CalculationError.of(1000.0, engine.applyFunction(ScientificFunction.EXPONENTIAL, 1000.0)));
+        Assertions.assertEquals(CalculationError.NONE,
+                CalculationError.of(1.0, engine.applyFunction(ScientificFunction.ARCSINE, 1.0)));
+
+        // The arguments that are errors themselves stay what they are
+        Assertions.assertEquals(CalculationError.NOT_A_NUMBER,
+                CalculationError.of(Double.NaN, engine.applyFunction(ScientificFunction.SQUARE_ROOT, Double.NaN)));
+        Assertions.assertEquals(CalculationError.OVERFLOW, CalculationError.of(Double.POSITIVE_INFINITY,
+                engine.applyFunction(ScientificFunction.NATURAL_LOGARITHM, Double.POSITIVE_INFINITY)));
+        Assertions.assertEquals(ScientificFunction.POWER_OF_TEN, ScientificFunction.fromName("exp10"));
+        Assertions.assertNull(ScientificFunction.fromName("cot"));
+    }
+
+    // Test that the result can be carried over to the next operation of a chain
+    @Test
+    void TestUseResultAsFirstNumber() {
+
+        CalculationEngine engine = new CalculationEngine();
+        engine.setFirstNumber(10.0);
+        engine.setSecondNumber(5.0);
+        engine.executeOperation(Operation.MULTIPLICATION);
+
+        engine.useResultAsFirstNumber();
+        Assertions.assertEquals(50.0, engine.getFirstNumber());
+
+        engine.resetNumbers();
+        Assertions.assertEquals(0.0, engine.getFirstNumber());
+        Assertions.assertEquals(0.0, engine.getSecondNumber());
+        Assertions.assertEquals(0.0, engine.getResult());
+    }
+
+    // Test that the static facade works on the same engine
+    @Test
+    void TestFacadeUsesEngine() {
+
+        CalculationHandler.setFirstNumber(7.0);
+        Assertions.assertEquals(7.0, CalculationHandler.getEngine().getFirstNumber());
+
+        CalculationHandler.resetNumbers();
+    }
+
+    // Test that chains of operations do not allocate any memory once the code is warmed up
+    @Test
+    void TestOperationsDoNotAllocate() {
+
+        final int OPERATIONS = 1_000_000;
+        CalculationEngine engine = new CalculationEngine();
+        Operation[] operations = {Operation.ADDITION, Operation.SUBTRACTION,
+                Operation.MULTIPLICATION, Operation.DIVISION};
+
+        double checksum = assertAllocationFree(() -> runChain(engine, operations, OPERATIONS));
+        Assertions.assertFalse(Double.isNaN(checksum));
+    }
+
+    /* Assert that the work does not allocate any memory once the code is warmed up, and return the checksum
+    it gave (which the caller should check, so the work cannot be optimised away). The tests of the other
+    classes that must not allocate use it as well.*/
+    static double assertAllocationFree(DoubleSupplier work) {
+
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Warm up, so that the measured run does not include class loading or compilation
+        double checksum = work.getAsDouble();
+
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        checksum += work.getAsDouble();
+        long allocatedAfter = threadBean.getThreadAllocatedBytes(threadId);
+
+        // Allow for the few bytes the measurement itself may need, but nothing per operation
+        Assertions.assertTrue(allocatedAfter - allocatedBefore < 1024,
+                "Allocated " + (allocatedAfter - allocatedBefore) + " bytes");
+        return checksum;
+    }
+
+    // Drive the engine the way the Controller does when the user chains operations
+    private double runChain(CalculationEngine engine, Operation[] operations, int count) {
+
+        double checksum = 0.0;
+        for (int i = 0; i < count; i++) {
+
+            engine.setFirstNumber(i);
+            engine.setSecondNumber(i % 7 + 1);
+            checksum += engine.executeOperation(operations[i & 3]);
+            engine.useResultAsFirstNumber();
+        }
+        return checksum;
+    }
+}
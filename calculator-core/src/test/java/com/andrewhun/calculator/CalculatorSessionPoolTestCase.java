@@ -0,0 +1,117 @@
+/*
+* This file contains test cases for the CalculatorSessionPool class.
+ */
+package com.andrewhun.calculator;
+
+import java.util.List;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class CalculatorSessionPoolTestCase {
+
+    // Test that released sessions are cleared and handed out again
+    @Test
+    void TestSessionsAreRecycled() {
+
+        CalculatorSessionPool pool = new CalculatorSessionPool();
+
+        CalculatorSession session = pool.acquire();
+        session.setNumberMode(NumberMode.PROGRAMMER);
+        session.setRadix(Radix.HEXADECIMAL);
+        session.setEvaluationOrder(EvaluationOrder.OPERATOR_PRECEDENCE);
+        session.setFunctionPrecision(FunctionPrecision.FAST);
+        session.getEngine().setMathContext(MathContext.DECIMAL32);
+        CalculatorSessionTestCase.typeNumber(session, "42");
+        session.prepareForOperation(Operation.ADDITION);
+        pool.release(session);
+
+        CalculatorSession recycledSession = pool.acquire();
+        Assertions.assertSame(session, recycledSession);
+        Assertions.assertEquals("0", recycledSession.getDisplayedNumberString());
+        Assertions.assertEquals("", recycledSession.getTopDisplayString());
+        Assertions.assertEquals(Operation.NONE, recycledSession.getSelectedOperation());
+        Assertions.assertEquals(1, pool.getCreatedSessions());
+
+        // Every setting is back at the default of a new session
+        CalculatorSession newSession = new CalculatorSession();
+        Assertions.assertEquals(newSession.getNumberMode(), recycledSession.getNumberMode());
+        Assertions.assertEquals(newSession.getRadix(), recycledSession.getRadix());
+        Assertions.assertEquals(newSession.getEvaluationOrder(), recycledSession.getEvaluationOrder());
+        Assertions.assertEquals(newSession.getFunctionPrecision(), recycledSession.getFunctionPrecision());
+        Assertions.assertEquals(newSession.getEngine().getMathContext(), recycledSession.getEngine().getMathContext());
+        recycledSession.pasteText("2+3*4=");
+        Assertions.assertEquals("20", recycledSession.getDisplayedNumberString());
+    }
+
+    // Test that a pool can be filled up front
+    @Test
+    void TestInitialSessions() {
+
+        CalculatorSessionPool pool = new CalculatorSessionPool(1000);
+
+        Assertions.assertEquals(1000, pool.getCreatedSessions());
+        Assertions.assertEquals(1000, pool.getIdleSessions());
+    }
+
+    // Test that thousands of sessions can be driven from many threads at the same time
+    @Test
+    void TestConcurrentSessions() throws Exception {
+
+        final int THREADS = 16;
+        final int CALCULATIONS_PER_THREAD = 2000;
+
+        CalculatorSessionPool pool = new CalculatorSessionPool();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+
+        for (int thread = 0; thread < THREADS; thread++) {
+
+            final int threadNumber = thread;
+            tasks.add(() -> {
+
+                int failures = 0;
+                for (int i = 0; i < CALCULATIONS_PER_THREAD; i++) {
+
+                    // Calculate (threadNumber + i) * 2, keeping several sessions in use at once
+                    CalculatorSession firstSession = pool.acquire();
+                    CalculatorSession secondSession = pool.acquire();
+
+                    CalculatorSessionTestCase.typeNumber(firstSession, Integer.toString(threadNumber));
+                    firstSession.prepareForOperation(Operation.ADDITION);
+                    CalculatorSessionTestCase.typeNumber(secondSession, Integer.toString(i));
+                    CalculatorSessionTestCase.typeNumber(firstSession, Integer.toString(i));
+                    firstSession.prepareForOperation(Operation.MULTIPLICATION);
+                    CalculatorSessionTestCase.typeNumber(firstSession, "2");
+                    firstSession.calculateResult();
+
+                    if (!firstSession.getDisplayedNumberString().equals(Integer.toString((threadNumber + i) * 2))
+                            || !secondSession.getDisplayedNumberString().equals(Integer.toString(i))) {
+
+                        failures++;
+                    }
+                    pool.release(secondSession);
+                    pool.release(firstSession);
+                }
+                return failures;
+            });
+        }
+
+        int failures = 0;
+        for (Future<Integer> result : executor.invokeAll(tasks)) {
+
+            failures += result.get();
+        }
+        executor.shutdown();
+
+        Assertions.assertEquals(0, failures);
+
+        // Sessions should have been reused instead of being created for every calculation
+        Assertions.assertTrue(pool.getCreatedSessions() <= THREADS * 4);
+    }
+}
@@ -0,0 +1,458 @@
+/*
+* This file contains test cases for the CalculatorSession class. They drive sessions the same
+* way the buttons of the GUI do, but without starting JavaFX.
+ */
+package com.andrewhun.calculator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class CalculatorSessionTestCase {
+
+    // Type in a number one character at a time, the way the user would
+    static void typeNumber(CalculatorSession session, String number) {
+
+        for (char character : number.toCharArray()) {
+
+            if (character == '.') {
+
+                session.addDecimalPoint();
+            }
+            else {
+
+                session.enterDigit(String.valueOf(character));
+            }
+        }
+    }
+
+    // Test that digits, backspace, signs and decimal points work on a session
+    @Test
+    void TestNumberEntry() {
+
+        CalculatorSession session = new CalculatorSession();
+
+        typeNumber(session, "10.5");
+        Assertions.assertEquals("10.5", session.getDisplayedNumberString());
+        Assertions.assertEquals(DisplayState.CHANGED, session.getDisplayState());
+
+        session.changeSignOfNumber();
+        Assertions.assertEquals("-10.5", session.getDisplayedNumberString());
+
+        session.deleteDigit();
+        session.deleteDigit();
+        Assertions.assertEquals("-10", session.getDisplayedNumberString());
+
+        session.clearCalculator();
+        Assertions.assertEquals("0", session.getDisplayedNumberString());
+        Assertions.assertEquals(DisplayState.DEFAULT, session.getDisplayState());
+    }
+
+    // Test that chains of operations are calculated from left to right ((100 + 10) / 10 = 11)
+    @Test
+    void TestChainingOperations() {
+
+        CalculatorSession session = new CalculatorSession();
+
+        typeNumber(session, "100");
+        session.prepareForOperation(Operation.ADDITION);
+        typeNumber(session, "10");
+        session.prepareForOperation(Operation.DIVISION);
+
+        Assertions.assertEquals("100 + 10 / ", session.getTopDisplayString());
+        Assertions.assertEquals(110.0, session.getEngine().getFirstNumber());
+
+        typeNumber(session, "10");
+        session.calculateResult();
+
+        Assertions.assertEquals("11", session.getDisplayedNumberString());
+        Assertions.assertEquals("", session.getTopDisplayString());
+        Assertions.assertEquals(Operation.NONE, session.getSelectedOperation());
+    }
+
+    // Test that division by zero errors are caught by the session
+    @Test
+    void TestDivisionByZero() {
+
+        CalculatorSession session = new CalculatorSession();
+
+        typeNumber(session, "1");
+        session.prepareForOperation(Operation.DIVISION);
+        typeNumber(session, "0");
+        session.calculateResult();
+
+        Assertions.assertEquals("Error: Division by zero", session.getDisplayedNumberString());
+        Assertions.assertFalse(session.getDisplay().errorFreeCalculation());
+    }
+
+    // Test that errors are kept as a CalculationError, and that the next number replaces them
+    @Test
+    void TestCalculationErrors() {
+
+        CalculatorSession session = new CalculatorSession();
+
+        session.pasteText("5/0.00=");
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, session.getDisplay().getError());
+
+        // Multiplying 10^60 by itself six times goes beyond the largest double
+        String number = "1" + "0".repeat(60);
+        session.pasteText(number + ("*" + number).repeat(6) + "=");
+        Assertions.assertEquals("Error: Overflow", session.getDisplayedNumberString());
+        Assertions.assertEquals(CalculationError.OVERFLOW, session.getDisplay().getError());
+        Assertions.assertEquals(InputState.ERROR, session.getInputState());
+
+        session.enterDigit('4');
+        Assertions.assertTrue(session.getDisplay().errorFreeCalculation());
+        Assertions.assertEquals("4", session.getDisplayedNumberString());
+
+        session.pasteText("1/0");
+        session.calculateResult();
+        session.addDecimalPoint();
+        Assertions.assertEquals("0.", session.getDisplayedNumberString());
+        Assertions.assertEquals(CalculationError.NONE, session.getDisplay().getError());
+    }
+
+    // Test that the operators, the change of sign and backspace do not work with an error message, in every number mode
+    @Test
+    void TestInputAfterError() {
+
+        CalculatorSession session = new CalculatorSession();
+        for (NumberMode mode : NumberMode.values()) {
+
+            session.setNumberMode(mode);
+            session.pasteText("5/0=");
+            session.prepareForOperation(Operation.ADDITION);
+            session.changeSignOfNumber();
+            session.applyFunction(ScientificFunction.SQUARE_ROOT);
+            session.calculateResult();
+            Assertions.assertEquals("Error: Division by zero", session.getDisplayedNumberString(), mode.toString());
+            Assertions.assertEquals(InputState.ERROR, session.getInputState(), mode.toString());
+            Assertions.assertEquals(Operation.NONE, session.getSelectedOperation(), mode.toString());
+
+            // Backspace resets the display to 0, which the next operation can work with
+            session.deleteDigit();
+            Assertions.assertEquals("0", session.getDisplayedNumberString(), mode.toString());
+            Assertions.assertEquals(InputState.READY, session.getInputState(), mode.toString());
+            session.pasteText("5/0=");
+            session.pasteText("+");
+            session.pasteText("7+1=");
+            Assertions.assertEquals("8", session.getDisplayedNumberString(), mode.toString());
+        }
+    }
+
+    // Test that whole numbers typed in the integer mode keep all of their digits
+    @Test
+    void TestIntegerMode() {
+
+        CalculatorSession session = new CalculatorSession();
+        session.setNumberMode(NumberMode.INTEGER);
+
+        session.pasteText("123456789012345678+1=");
+        Assertions.assertEquals("123456789012345679", session.getDisplayedNumberString());
+
+        // The result of one calculation is the exact first number of the next one
+        session.pasteText("*10-9=");
+        Assertions.assertEquals("1234567890123456781", session.getDisplayedNumberString());
+
+        session.pasteText("7/2=");
+        Assertions.assertEquals("3.5", session.getDisplayedNumberString());
+
+        session.setNumberMode(NumberMode.DOUBLE);
+        session.pasteText("123456789012345678+1=");
+        Assertions.assertEquals("1.2345678901234568E17", session.getDisplayedNumberString());
+    }
+
+    // Test the DECIMAL mode with the numbers of a shopping list
+    @Test
+    void TestDecimalMode() {
+
+        CalculatorSession session = new CalculatorSession();
+        session.setNumberMode(NumberMode.DECIMAL);
+
+        session.pasteText("0.1+0.2=");
+        Assertions.assertEquals("0.3", session.getDisplayedNumberString());
+
+        session.pasteText("19.99+5.01*3-0.5=");
+        Assertions.assertEquals("74.5", session.getDisplayedNumberString());
+
+        // The result on the display is the first number of the next calculation
+        session.pasteText("/4=");
+        Assertions.assertEquals("18.625", session.getDisplayedNumberString());
+        session.pasteText("1.1*1.1=");
+        Assertions.assertEquals("1.21", session.getDisplayedNumberString());
+        session.pasteText("*1000000000000=");
+        Assertions.assertEquals("1210000000000", session.getDisplayedNumberString());
+
+        session.setNumberMode(NumberMode.DOUBLE);
+        session.pasteText("0.1+0.2=");
+        Assertions.assertEquals("0.30000000000000004", session.getDisplayedNumberString());
+    }
+
+    // Test that the RATIONAL mode keeps the fractions on the display exact from one calculation to the next
+    @Test
+    void TestRationalMode() {
+
+        CalculatorSession session = new CalculatorSession();
+        session.setNumberMode(NumberMode.RATIONAL);
+
+        session.pasteText("1/3=");
+        Assertions.assertEquals("1/3", session.getDisplayedNumberString());
+        session.pasteText("*3=");
+        Assertions.assertEquals("1", session.getDisplayedNumberString());
+
+        session.pasteText("1/3+1/6=");
+        Assertions.assertEquals("2/9", session.getDisplayedNumberString());
+        session.pasteText("-0.25=");
+        Assertions.assertEquals("-1/36", session.getDisplayedNumberString());
+        session.pasteText("*9=");
+        Assertions.assertEquals("-0.25", session.getDisplayedNumberString());
+
+        session.setNumberMode(NumberMode.DOUBLE);
+        session.pasteText("1/3*3=");
+        Assertions.assertEquals("1", session.getDisplayedNumberString());
+    }
+
+    // Test typing and showing the numbers of the PROGRAMMER mode in every radix
+    @Test
+    void TestProgrammerMode() {
+
+        CalculatorSession session = new CalculatorSession();
+        Assertions.assertThrows(IllegalStateException.class, () -> session.setRadix(Radix.HEXADECIMAL));
+        session.setNumberMode(NumberMode.PROGRAMMER);
+
+        // Digits of another radix and the decimal point are ignored
+        session.pasteText("12.5A");
+        Assertions.assertEquals("125", session.getDisplayedNumberString());
+        session.setRadix(Radix.HEXADECIMAL);
+        Assertions.assertEquals("7D", session.getDisplayedNumberString());
+        session.pasteText("&f0=");
+        Assertions.assertEquals("70", session.getDisplayedNumberString());
+        Assertions.assertEquals("1110000", session.getDisplay().getDisplayedWordString(Radix.BINARY));
+        Assertions.assertEquals("160", session.getDisplay().getDisplayedWordString(Radix.OCTAL));
+        Assertions.assertEquals("112", session.getDisplay().getDisplayedWordString(Radix.DECIMAL));
+
+        // Negative numbers are shown as their two's complement in every radix but DECIMAL
+        session.pasteText("0-1=");
+        Assertions.assertEquals("FFFFFFFFFFFFFFFF", session.getDisplayedNumberString());
+        session.setRadix(Radix.BINARY);
+        session.pasteText("1012");
+        Assertions.assertEquals("101", session.getDisplayedNumberString());
+        session.pasteText("<11=");
+        Assertions.assertEquals("101000", session.getDisplayedNumberString());
+        session.setRadix(Radix.DECIMAL);
+        Assertions.assertEquals("40", session.getDisplayedNumberString());
+        session.pasteText("%7=");
+        Assertions.assertEquals("5", session.getDisplayedNumberString());
+        session.pasteText("1|2^3&1=");
+        Assertions.assertEquals("0", session.getDisplayedNumberString());
+
+        // With operator precedence the operators follow the order of Java
+        session.setEvaluationOrder(EvaluationOrder.OPERATOR_PRECEDENCE);
+        session.pasteText("1|2^3&1=");
+        Assertions.assertEquals("3", session.getDisplayedNumberString());
+        session.pasteText("1+1<2*3=");
+        Assertions.assertEquals("128", session.getDisplayedNumberString());
+        session.pasteText("6%0=");
+        Assertions.assertEquals(CalculationError.DIVISION_BY_ZERO, session.getDisplay().getError());
+
+        // The other modes go back to DECIMAL, where the letters are not digits
+        session.setRadix(Radix.HEXADECIMAL);
+        session.setNumberMode(NumberMode.DOUBLE);
+        Assertions.assertEquals(Radix.DECIMAL, session.getRadix());
+        session.pasteText("1e3=");
+        Assertions.assertEquals("13", session.getDisplayedNumberString());
+    }
+
+    // Test applying the scientific functions to the first number, the second number and the results
+    @Test
+    void TestScientificFunctions() {
+
+        CalculatorSession session = new CalculatorSession();
+        session.pasteText("100");
+        session.applyFunction(ScientificFunction.LOGARITHM);
+        Assertions.assertEquals("2", session.getDisplayedNumberString());
+        Assertions.assertEquals(InputState.READY, session.getInputState());
+
+        // The result is the second number, and the next digit starts a new one
+        session.pasteText("+9");
+        session.applyFunction(ScientificFunction.SQUARE_ROOT);
+        Assertions.assertEquals(InputState.FUNCTION_RESULT, session.getInputState());
+        session.applyFunction(ScientificFunction.SQUARE);
+        session.pasteText("*3");
+        session.applyFunction(ScientificFunction.POWER_OF_TEN);
+        session.pasteText("=");
+        Assertions.assertEquals("11000", session.getDisplayedNumberString());
+
+        session.pasteText("25");
+        session.applyFunction(ScientificFunction.SQUARE_ROOT);
+        session.pasteText("7=");
+        Assertions.assertEquals("7", session.getDisplayedNumberString());
+
+        // An error resets the calculator, and functions are ignored while it is shown
+        session.pasteText("0");
+        session.applyFunction(ScientificFunction.NATURAL_LOGARITHM);
+        Assertions.assertEquals(CalculationError.INVALID_INPUT, session.getDisplay().getError());
+        Assertions.assertEquals("Error: Invalid input", session.getDisplayedNumberString());
+        session.applyFunction(ScientificFunction.COSINE);
+        Assertions.assertEquals(CalculationError.INVALID_INPUT, session.getDisplay().getError());
+
+        // The function precision of the engine is used
+        session.setFunctionPrecision(FunctionPrecision.FAST);
+        Assertions.assertEquals(FunctionPrecision.FAST, session.getEngine().getFunctionPrecision());
+        session.pasteText("0.5");
+        session.applyFunction(ScientificFunction.ARCTANGENT);
+        Assertions.assertEquals(FastMath.atan(0.5), session.getDisplay().getDisplayedNumber());
+
+        // The exact modes take the digits of the displayed result
+        session.setNumberMode(NumberMode.DECIMAL);
+        session.pasteText("2");
+        session.applyFunction(ScientificFunction.SQUARE_ROOT);
+        session.pasteText("*10=");
+        Assertions.assertEquals("14.142135623730951", session.getDisplayedNumberString());
+
+        // Functions are ignored in the PROGRAMMER mode
+        session.setNumberMode(NumberMode.PROGRAMMER);
+        session.pasteText("16");
+        session.applyFunction(ScientificFunction.SQUARE_ROOT);
+        Assertions.assertEquals("16", session.getDisplayedNumberString());
+        Assertions.assertEquals(InputState.FIRST_NUMBER, session.getInputState());
+    }
+
+    // Test that multiplications and divisions are carried out first in the OPERATOR_PRECEDENCE order
+    @Test
+    void TestOperatorPrecedence() {
+
+        CalculatorSession session = new CalculatorSession();
+        session.pasteText("2+3*4=");
+        Assertions.assertEquals("20", session.getDisplayedNumberString());
+
+        session.setEvaluationOrder(EvaluationOrder.OPERATOR_PRECEDENCE);
+        session.pasteText("2+3*4=");
+        Assertions.assertEquals("14", session.getDisplayedNumberString());
+        session.pasteText("2*3+4*5-6/2=");
+        Assertions.assertEquals("23", session.getDisplayedNumberString());
+        session.pasteText("1-2*3*4+5=");
+        Assertions.assertEquals("-18", session.getDisplayedNumberString());
+
+        // The top display shows the chain as it was typed
+        session.pasteText("2+3*4");
+        Assertions.assertEquals("2 + 3 * ", session.getTopDisplayString());
+        Assertions.assertEquals(Operation.MULTIPLICATION, session.getSelectedOperation());
+        session.clearCalculator();
+
+        // Replacing the operator of a waiting multiplication, and "=" right after an operator
+        session.pasteText("2+3*+4=");
+        Assertions.assertEquals("9", session.getDisplayedNumberString());
+        session.pasteText("2+3*=");
+        Assertions.assertEquals("5", session.getDisplayedNumberString());
+        session.pasteText("2+3*/4=");
+        Assertions.assertEquals("2.75", session.getDisplayedNumberString());
+
+        // Errors reset the waiting operations too
+        session.pasteText("1+2/0+3=");
+        Assertions.assertEquals("Error: Division by zero", session.getDisplayedNumberString());
+        Assertions.assertEquals(InputState.ERROR, session.getInputState());
+        session.pasteText("7-1=");
+        Assertions.assertEquals("6", session.getDisplayedNumberString());
+
+        // Powers come before multiplications, and are shown with an arrow on the top display
+        session.pasteText("2*3");
+        session.prepareForOperation(Operation.POWER);
+        session.pasteText("2");
+        Assertions.assertEquals("2 * 3 \u2191 ", session.getTopDisplayString());
+        session.pasteText("+1=");
+        Assertions.assertEquals("19", session.getDisplayedNumberString());
+
+        // A long chain, in the number mode of the session
+        session.setNumberMode(NumberMode.DECIMAL);
+        StringBuilder chain = new StringBuilder("0");
+        for (int i = 0; i < 1000; i++) {
+
+            chain.append("+0.1*3");
+        }
+        session.pasteText(chain.append('=').toString());
+        Assertions.assertEquals("300", session.getDisplayedNumberString());
+    }
+
+    // Test that two sessions do not share any state
+    @Test
+    void TestSessionsAreIndependent() {
+
+        CalculatorSession firstSession = new CalculatorSession();
+        CalculatorSession secondSession = new CalculatorSession();
+
+        typeNumber(firstSession, "5");
+        firstSession.prepareForOperation(Operation.MULTIPLICATION);
+        typeNumber(secondSession, "7");
+
+        Assertions.assertEquals("5 * ", firstSession.getTopDisplayString());
+        Assertions.assertEquals("", secondSession.getTopDisplayString());
+        Assertions.assertEquals("7", secondSession.getDisplayedNumberString());
+        Assertions.assertEquals(Operation.NONE, secondSession.getSelectedOperation());
+        Assertions.assertEquals(5.0, firstSession.getEngine().getFirstNumber());
+        Assertions.assertEquals(0.0, secondSession.getEngine().getFirstNumber());
+    }
+
+    // Test that keys typed on the keyboard do the same as the buttons
+    @Test
+    void TestPressKey() {
+
+        CalculatorSession session = new CalculatorSession();
+
+        for (char key : "12,5*2".toCharArray()) {
+
+            Assertions.assertTrue(session.pressKey(key));
+        }
+        Assertions.assertFalse(session.pressKey(' '));
+        Assertions.assertEquals("12.5 * ", session.getTopDisplayString());
+
+        session.pressKey('\b');
+        Assertions.assertEquals("0", session.getDisplayedNumberString());
+        session.pressKey('4');
+        session.pressKey('\n');
+        Assertions.assertEquals("50", session.getDisplayedNumberString());
+
+        session.pressKey('\u001b');
+        Assertions.assertEquals("0", session.getDisplayedNumberString());
+    }
+
+    // Test pasting expressions, columns of numbers and long texts
+    @Test
+    void TestPasteText() {
+
+        CalculatorSession session = new CalculatorSession();
+
+        Assertions.assertEquals(11, session.pasteText("1 + 2 * 3 ="));
+        Assertions.assertEquals("9", session.getDisplayedNumberString());
+
+        session.pasteText("12\r\n34\n");
+        Assertions.assertEquals("34", session.getDisplayedNumberString());
+
+        // The rest of the text is not applied after a division by zero
+        Assertions.assertEquals(4, session.pasteText("1/0+5"));
+        Assertions.assertEquals("Error: Division by zero", session.getDisplayedNumberString());
+
+        // 50000 ones added together, pasted as a single text of 100000 characters
+        StringBuilder text = new StringBuilder("1");
+        for (int i = 1; i < 50_000; i++) {
+
+            text.append("+1");
+        }
+        text.append('=');
+        session.clearCalculator();
+        Assertions.assertEquals(text.length(), session.pasteText(text));
+        Assertions.assertEquals("50000", session.getDisplayedNumberString());
+
+        // An interrupted thread stops pasting (the interrupt flag is left for the caller)
+        session.clearCalculator();
+        Thread.currentThread().interrupt();
+        try {
+
+            Assertions.assertEquals(0, session.pasteText(text));
+            Assertions.assertEquals("0", session.getDisplayedNumberString());
+        }
+        finally {
+
+            Assertions.assertTrue(Thread.interrupted());
+        }
+    }
+}
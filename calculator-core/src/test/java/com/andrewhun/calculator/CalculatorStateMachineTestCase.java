@@ -0,0 +1,207 @@
+/*
+* This file contains test cases for the CalculatorStateMachine class. Every state is reached with the
+* keys a user would press, and every input is tried in every state, so the whole transition table is
+* checked against the state the session actually ends up in.
+ */
+package com.andrewhun.calculator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class CalculatorStateMachineTestCase {
+
+    // Create a session in the given state, with numbers that let every action go the usual way
+    private static CalculatorSession sessionIn(InputState state) {
+
+        CalculatorSession session = new CalculatorSession();
+        switch (state) {
+
+            case FIRST_NUMBER:
+
+                session.pasteText("12");
+                break;
+
+            case OPERATOR_SELECTED:
+
+                session.pasteText("12/");
+                break;
+
+            case SECOND_NUMBER:
+
+                session.pasteText("12/34");
+                break;
+
+            case FUNCTION_RESULT:
+
+                session.pasteText("12/36");
+                session.applyFunction(ScientificFunction.SQUARE_ROOT);
+                break;
+
+            case ERROR:
+
+                session.pasteText("12/0=");
+                break;
+
+            default:
+                break;
+        }
+        Assertions.assertEquals(state, session.getInputState());
+        return session;
+    }
+
+    // Hand a single input to the session (a digit 5, a multiplication and a square root for the inputs that need them)
+    private static void apply(CalculatorSession session, CalculatorInput input) {
+
+        switch (input) {
+
+            case DIGIT:
+
+                session.enterDigit('5');
+                break;
+
+            case DECIMAL_POINT:
+
+                session.addDecimalPoint();
+                break;
+
+            case CHANGE_SIGN:
+
+                session.changeSignOfNumber();
+                break;
+
+            case BACKSPACE:
+
+                session.deleteDigit();
+                break;
+
+            case OPERATOR:
+
+                session.prepareForOperation(Operation.MULTIPLICATION);
+                break;
+
+            case EQUALS:
+
+                session.calculateResult();
+                break;
+
+            case FUNCTION:
+
+                session.applyFunction(ScientificFunction.SQUARE_ROOT);
+                break;
+
+            default:
+
+                session.clearCalculator();
+        }
+    }
+
+    // Test that every input leads to the state given by the table in every state
+    @Test
+    void TestEveryTransition() {
+
+        for (InputState state : InputState.values()) {
+
+            for (CalculatorInput input : CalculatorInput.values()) {
+
+                Assertions.assertNotNull(CalculatorStateMachine.action(state, input));
+
+                CalculatorSession session = sessionIn(state);
+                apply(session, input);
+                Assertions.assertEquals(CalculatorStateMachine.nextState(state, input, true), session.getInputState(),
+                        state + " and " + input);
+            }
+        }
+    }
+
+    // Test the transitions of the actions that cannot go the usual way
+    @Test
+    void TestFallbackTransitions() {
+
+        // Deleting the last digit of the number
+        CalculatorSession session = new CalculatorSession();
+        session.pasteText("7+8\b");
+        Assertions.assertEquals(InputState.OPERATOR_SELECTED, session.getInputState());
+        Assertions.assertEquals("0", session.getDisplayedNumberString());
+
+        // Changing the sign when only the minus sign is left
+        session.clearCalculator();
+        session.enterDigit('3');
+        session.changeSignOfNumber();
+        session.deleteDigit();
+        session.changeSignOfNumber();
+        Assertions.assertEquals(InputState.READY, session.getInputState());
+        Assertions.assertEquals("0", session.getDisplayedNumberString());
+
+        // A second decimal point
+        session.pasteText("1..");
+        Assertions.assertEquals(InputState.FIRST_NUMBER, session.getInputState());
+        Assertions.assertEquals("1.", session.getDisplayedNumberString());
+
+        // Dividing by zero in the middle of a chain
+        session.clearCalculator();
+        session.pasteText("8/0");
+        session.prepareForOperation(Operation.ADDITION);
+        Assertions.assertEquals(InputState.ERROR, session.getInputState());
+        Assertions.assertEquals(Operation.NONE, session.getSelectedOperation());
+        Assertions.assertEquals("Error: Division by zero", session.getDisplayedNumberString());
+
+        // The next operator is ignored instead of taking the message as a number
+        session.prepareForOperation(Operation.ADDITION);
+        Assertions.assertEquals(InputState.ERROR, session.getInputState());
+        Assertions.assertEquals("", session.getTopDisplayString());
+
+        // A function applied to a number outside of its domain
+        session.clearCalculator();
+        session.pasteText("8*4");
+        session.changeSignOfNumber();
+        session.applyFunction(ScientificFunction.SQUARE_ROOT);
+        Assertions.assertEquals(InputState.ERROR, session.getInputState());
+        Assertions.assertEquals(Operation.NONE, session.getSelectedOperation());
+        Assertions.assertEquals("Error: Invalid input", session.getDisplayedNumberString());
+
+        // "=" after an error in the second number
+        session.clearCalculator();
+        session.pasteText("8/0=");
+        Assertions.assertEquals(InputState.ERROR, session.getInputState());
+    }
+
+    // Test that the state follows the setters of the session
+    @Test
+    void TestStateOfSession() {
+
+        CalculatorSession session = new CalculatorSession();
+        Assertions.assertEquals(InputState.READY, session.getInputState());
+
+        session.setDisplayState(DisplayState.CHANGED);
+        Assertions.assertEquals(InputState.FIRST_NUMBER, session.getInputState());
+
+        session.setSelectedOperation(Operation.SUBTRACTION);
+        Assertions.assertEquals(InputState.SECOND_NUMBER, session.getInputState());
+        Assertions.assertEquals(DisplayState.CHANGED, session.getInputState().getDisplayState());
+        Assertions.assertTrue(session.getInputState().isOperationSelected());
+
+        session.setDisplayState(DisplayState.FUNCTION_RESULT);
+        Assertions.assertEquals(InputState.FUNCTION_RESULT, session.getInputState());
+
+        session.setSelectedOperation(Operation.NONE);
+        Assertions.assertEquals(InputState.READY, session.getInputState());
+
+        // An error on the display, however it got there
+        session.getDisplay().setDisplayedNumberString(CalculationError.OVERFLOW.getMessage());
+        Assertions.assertEquals(InputState.ERROR, session.getInputState());
+    }
+
+    // Test the keys of the keyboard
+    @Test
+    void TestKeyInputs() {
+
+        Assertions.assertEquals(CalculatorInput.DIGIT, CalculatorStateMachine.inputForKey('0'));
+        Assertions.assertEquals(CalculatorInput.DECIMAL_POINT, CalculatorStateMachine.inputForKey(','));
+        Assertions.assertEquals(CalculatorInput.OPERATOR, CalculatorStateMachine.inputForKey('/'));
+        Assertions.assertEquals(Operation.DIVISION, CalculatorStateMachine.operationForKey('/'));
+        Assertions.assertEquals(Operation.NONE, CalculatorStateMachine.operationForKey('9'));
+        Assertions.assertEquals(CalculatorInput.CLEAR, CalculatorStateMachine.inputForKey('\u001b'));
+        Assertions.assertNull(CalculatorStateMachine.inputForKey(' '));
+        Assertions.assertNull(CalculatorStateMachine.inputForKey('é'));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+* This file contains test cases for the DecimalAccumulator class.
+ */
+package com.andrewhun.calculator;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class DecimalAccumulatorTestCase {
+
+    // Feed the characters of a number to the accumulator
+    static DecimalAccumulator accumulate(DecimalAccumulator accumulator, String number) {
+
+        accumulator.reset();
+        for (char character : number.toCharArray()) {
+
+            if (character == '-') {
+
+                accumulator.setNegative(true);
+            }
+            else if (character == '.') {
+
+                accumulator.addDecimalPoint();
+            }
+            else {
+
+                accumulator.appendDigit(character - '0');
+            }
+        }
+        return accumulator;
+    }
+
+    // Test some typical numbers
+    @Test
+    void TestSimpleNumbers() {
+
+        DecimalAccumulator accumulator = new DecimalAccumulator();
+
+        Assertions.assertEquals(12.5, accumulate(accumulator, "12.5").toDouble());
+        Assertions.assertEquals(-0.001, accumulate(accumulator, "-0.001").toDouble());
+        Assertions.assertEquals(100.0, accumulate(accumulator, "100.").toDouble());
+        Assertions.assertTrue(accumulate(accumulator, "0.000").isZero());
+        Assertions.assertEquals(Double.doubleToLongBits(-0.0),
+                Double.doubleToLongBits(accumulate(accumulator, "-0").toDouble()));
+    }
+
+    // Test that the fast path is only used where it gives the exact result
+    @Test
+    void TestFastPathLimits() {
+
+        DecimalAccumulator accumulator = new DecimalAccumulator();
+
+        Assertions.assertTrue(accumulate(accumulator, "9007199254740992").fitsFastPath());
+        Assertions.assertFalse(accumulate(accumulator, "9007199254740993").fitsFastPath());
+        Assertions.assertFalse(accumulate(accumulator, "1234567890123456789012").fitsFastPath());
+
+        accumulate(accumulator, "1");
+        accumulator.addExponent(23);
+        Assertions.assertFalse(accumulator.fitsFastPath());
+    }
+
+    // Test that fast path results are identical to the ones of Double.parseDouble
+    @Test
+    void TestFastPathMatchesParseDouble() {
+
+        Random random = new Random(42);
+        DecimalAccumulator accumulator = new DecimalAccumulator();
+
+        for (int i = 0; i < 100_000; i++) {
+
+            String number = Long.toString(random.nextLong() % 10_000_000_000_000L);
+            int decimalPlaces = random.nextInt(number.length());
+            number = number.substring(0, number.length() - decimalPlaces) + "."
+                    + number.substring(number.length() - decimalPlaces);
+
+            accumulate(accumulator, number);
+            if (accumulator.fitsFastPath()) {
+
+                Assertions.assertEquals(Double.doubleToLongBits(Double.parseDouble(number)),
+                        Double.doubleToLongBits(accumulator.toDouble()), number);
+            }
+        }
+    }
+
+    // Test numbers outside of the fast path, with up to 18 digits and exponents beyond the range of doubles
+    @Test
+    void TestEiselLemireMatchesParseDouble() {
+
+        Random random = new Random(1074);
+        DecimalAccumulator accumulator = new DecimalAccumulator();
+        int converted = 0;
+
+        for (int i = 0; i < 1_000_000; i++) {
+
+            String number = Long.toString(random.nextLong() & Long.MAX_VALUE);
+            number = number.substring(0, 1 + random.nextInt(Math.min(18, number.length())));
+            int exponent = random.nextInt(700) - 350;
+
+            accumulate(accumulator, number);
+            accumulator.addExponent(exponent);
+            double value = accumulator.toDouble();
+
+            // NaN means the number has to be parsed from its text
+            if (!Double.isNaN(value)) {
+
+                Assertions.assertEquals(Double.doubleToLongBits(Double.parseDouble(number + "E" + exponent)),
+                        Double.doubleToLongBits(value), number + "E" + exponent);
+                converted++;
+            }
+        }
+        Assertions.assertTrue(converted > 800_000, "Only " + converted + " numbers were converted");
+    }
+
+    // Test taking back digits and the decimal point
+    @Test
+    void TestRemoveLastDigit() {
+
+        DecimalAccumulator accumulator = accumulate(new DecimalAccumulator(), "105.25");
+
+        Assertions.assertTrue(accumulator.removeLastDigit());
+        Assertions.assertEquals(105.2, accumulator.toDouble());
+        Assertions.assertTrue(accumulator.removeLastDigit());
+        accumulator.removeDecimalPoint();
+        Assertions.assertTrue(accumulator.removeLastDigit());
+        Assertions.assertEquals(10.0, accumulator.toDouble());
+
+        accumulate(accumulator, "1234567890123456789");
+        Assertions.assertFalse(accumulator.removeLastDigit());
+    }
+}
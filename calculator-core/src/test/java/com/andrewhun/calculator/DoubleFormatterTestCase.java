@@ -0,0 +1,117 @@
+/*
+* This file contains test cases for the DoubleFormatter class.
+ */
+package com.andrewhun.calculator;
+
+import java.util.Random;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class DoubleFormatterTestCase {
+
+    // Test the layout of whole numbers, decimals, very large and small numbers and the special values
+    @Test
+    void TestLayout() {
+
+        DoubleFormatter formatter = new DoubleFormatter();
+
+        Assertions.assertEquals("0", formatter.toString(0.0));
+        Assertions.assertEquals("-0", formatter.toString(-0.0));
+        Assertions.assertEquals("42", formatter.toString(42.0));
+        Assertions.assertEquals("-9999999", formatter.toString(-9999999.0));
+        Assertions.assertEquals("12.5", formatter.toString(12.5));
+        Assertions.assertEquals("0.30000000000000004", formatter.toString(0.1 + 0.2));
+        Assertions.assertEquals("0.001", formatter.toString(0.001));
+        Assertions.assertEquals("9.999E-4", formatter.toString(0.0009999));
+        Assertions.assertEquals("1.0E7", formatter.toString(1e7));
+        Assertions.assertEquals("1.25E10", formatter.toString(1.25e10));
+        Assertions.assertEquals("1.7976931348623157E308", formatter.toString(Double.MAX_VALUE));
+        Assertions.assertEquals("4.9E-324", formatter.toString(Double.MIN_VALUE));
+        Assertions.assertEquals("NaN", formatter.toString(Double.NaN));
+        Assertions.assertEquals("Infinity", formatter.toString(Double.POSITIVE_INFINITY));
+        Assertions.assertEquals("-Infinity", formatter.toString(Double.NEGATIVE_INFINITY));
+    }
+
+    // Test that whole numbers are written with all of their digits, like Long.toString
+    @Test
+    void TestFormatLong() {
+
+        DoubleFormatter formatter = new DoubleFormatter();
+        long[] values = {0, 7, -7, 1234567890123456789L, Long.MAX_VALUE, Long.MIN_VALUE};
+
+        for (long value : values) {
+
+            int length = formatter.format(value);
+            Assertions.assertEquals(Long.toString(value), new String(formatter.getCharacters(), 0, length));
+        }
+    }
+
+    // Test a number older versions of Double.toString do not write with the fewest digits
+    @Test
+    void TestShortest() {
+
+        Assertions.assertEquals("1.0E23", new DoubleFormatter().toString(1e23));
+        Assertions.assertEquals("2.0E-323", new DoubleFormatter().toString(2e-323));
+    }
+
+    /* Test random doubles: the text has to read back as the same double and must not have more digits
+    than Double.toString gives. Where the two differ (never from Java 19 on, where Double.toString uses
+    the same algorithm), the formatter has to be the shorter or the more exact of the two.*/
+    @Test
+    void TestRandomDoubles() {
+
+        Random random = new Random(2018);
+        DoubleFormatter formatter = new DoubleFormatter();
+
+        for (int i = 0; i < 1_000_000; i++) {
+
+            double value = (i & 1) == 0 ? Double.longBitsToDouble(random.nextLong())
+                    : (random.nextInt(2_000_000) - 1_000_000) / Math.pow(10, random.nextInt(12));
+            if (Double.isNaN(value)) {
+
+                continue;
+            }
+
+            String text = formatter.toString(value);
+            String expected = Double.toString(value);
+            if (expected.endsWith(".0")) {
+
+                expected = expected.substring(0, expected.length() - 2);
+            }
+
+            Assertions.assertEquals(Double.doubleToLongBits(value), Double.doubleToLongBits(Double.parseDouble(text)), text);
+            if (!text.equals(expected)) {
+
+                // With the same number of digits, the one closer to the exact value has to be chosen
+                Assertions.assertTrue(significantDigits(text) <= significantDigits(expected), expected + " " + text);
+                if (significantDigits(text) == significantDigits(expected)) {
+
+                    BigDecimal exactValue = new BigDecimal(value);
+                    Assertions.assertTrue(new BigDecimal(text).subtract(exactValue).abs()
+                            .compareTo(new BigDecimal(expected).subtract(exactValue).abs()) <= 0, expected + " " + text);
+                }
+            }
+        }
+    }
+
+    // Test that the display shows a result the same way, whether it gets the double or its text
+    @Test
+    void TestShowResult() {
+
+        CalculatorDisplay display = new CalculatorDisplay();
+
+        for (double result : new double[] {5.0, -0.5, 1.0E10, 3.14159, -0.0}) {
+
+            display.showResult(Double.toString(result));
+            String fromText = display.getDisplayedNumberString();
+            display.showResult(result);
+            Assertions.assertEquals(fromText, display.getDisplayedNumberString());
+        }
+    }
+
+    private static int significantDigits(String text) {
+
+        return new BigDecimal(text).stripTrailingZeros().precision();
+    }
+}
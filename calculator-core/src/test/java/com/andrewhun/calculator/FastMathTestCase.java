@@ -0,0 +1,121 @@
+/*
+* This file contains test cases for the FastMath class. The results are compared to StrictMath on random
+* arguments spread over the ranges the functions are used in, and the bounds are the ones given in FastMath.
+ */
+package com.andrewhun.calculator;
+
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class FastMathTestCase {
+
+    private static final int SAMPLES = 200_000;
+
+    // The distance between two doubles, in units in the last place (0 for two NaNs)
+    static long ulpsBetween(double first, double second) {
+
+        if (Double.isNaN(first) && Double.isNaN(second)) {
+
+            return 0;
+        }
+        long firstBits = Double.doubleToLongBits(first);
+        long secondBits = Double.doubleToLongBits(second);
+
+        // Order the negative doubles below the positive ones, so the bits can be subtracted
+        firstBits = firstBits < 0 ? Long.MIN_VALUE - firstBits : firstBits;
+        secondBits = secondBits < 0 ? Long.MIN_VALUE - secondBits : secondBits;
+        return Math.abs(firstBits - secondBits);
+    }
+
+    // Compare the two functions on random arguments made from numbers between -1 and 1
+    private static void assertWithinUlps(long bound, DoubleUnaryOperator fast, DoubleUnaryOperator strict,
+                                         DoubleUnaryOperator argument) {
+
+        Random random = new Random(25);
+        for (int i = 0; i < SAMPLES; i++) {
+
+            double x = argument.applyAsDouble(random.nextDouble() * 2.0 - 1.0);
+            double expected = strict.applyAsDouble(x);
+            double actual = fast.applyAsDouble(x);
+            Assertions.assertTrue(ulpsBetween(expected, actual) <= bound,
+                    "Expected " + expected + " for " + x + ", got " + actual);
+        }
+    }
+
+    // Test the exponential functions and the logarithms
+    @Test
+    void TestExponentialsAndLogarithms() {
+
+        assertWithinUlps(1, FastMath::exp, StrictMath::exp, x -> x * 708.0);
+        assertWithinUlps(1, FastMath::exp, StrictMath::exp, x -> x);
+        assertWithinUlps(1, FastMath::exp10, x -> StrictMath.pow(10.0, x), x -> x * 307.0);
+        assertWithinUlps(1, FastMath::log, StrictMath::log, x -> Math.exp(x * 700.0));
+        assertWithinUlps(1, FastMath::log, StrictMath::log, x -> 1.0 + x * 0.01);
+        assertWithinUlps(2, FastMath::log10, StrictMath::log10, x -> Math.exp(x * 700.0));
+        assertWithinUlps(2, FastMath::log10, StrictMath::log10, x -> 1.0 + x * 0.01);
+    }
+
+    // Test the trigonometric functions, next to 0 and further away from it
+    @Test
+    void TestTrigonometricFunctions() {
+
+        assertWithinUlps(1, FastMath::sin, StrictMath::sin, x -> x * 10.0);
+        assertWithinUlps(1, FastMath::sin, StrictMath::sin, x -> x * 65536.0);
+        assertWithinUlps(1, FastMath::cos, StrictMath::cos, x -> x * 10.0);
+        assertWithinUlps(1, FastMath::cos, StrictMath::cos, x -> x * 65536.0);
+        assertWithinUlps(2, FastMath::tan, StrictMath::tan, x -> x * 10.0);
+        assertWithinUlps(2, FastMath::tan, StrictMath::tan, x -> x * 65536.0);
+
+        // Beyond the fast range the results are the ones of StrictMath
+        Assertions.assertEquals(StrictMath.sin(1e6), FastMath.sin(1e6));
+        Assertions.assertEquals(StrictMath.cos(-1e300), FastMath.cos(-1e300));
+    }
+
+    // Test the inverse trigonometric functions, next to the ends of their ranges as well
+    @Test
+    void TestInverseFunctions() {
+
+        assertWithinUlps(1, FastMath::atan, StrictMath::atan, x -> x * 2.0);
+        assertWithinUlps(1, FastMath::atan, StrictMath::atan, x -> Math.tan(x * 1.57));
+        assertWithinUlps(2, FastMath::asin, StrictMath::asin, x -> x);
+        assertWithinUlps(2, FastMath::asin, StrictMath::asin, x -> Math.copySign(1.0 - Math.abs(x) * 1e-3, x));
+        assertWithinUlps(2, FastMath::acos, StrictMath::acos, x -> x);
+        assertWithinUlps(2, FastMath::acos, StrictMath::acos, x -> Math.copySign(1.0 - Math.abs(x) * 1e-3, x));
+    }
+
+    // Test that NaN, the infinities and the signed zeros give the same results as StrictMath
+    @Test
+    void TestSpecialValues() {
+
+        double[] values = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.0, -0.0,
+                Double.MIN_VALUE, -Double.MIN_VALUE};
+        for (double value : values) {
+
+            Assertions.assertEquals(StrictMath.exp(value), FastMath.exp(value), "exp " + value);
+            Assertions.assertEquals(StrictMath.pow(10.0, value), FastMath.exp10(value), "exp10 " + value);
+            Assertions.assertEquals(StrictMath.log(value), FastMath.log(value), "log " + value);
+            Assertions.assertEquals(StrictMath.log10(value), FastMath.log10(value), "log10 " + value);
+            Assertions.assertEquals(StrictMath.sin(value), FastMath.sin(value), "sin " + value);
+            Assertions.assertEquals(StrictMath.cos(value), FastMath.cos(value), "cos " + value);
+            Assertions.assertEquals(StrictMath.tan(value), FastMath.tan(value), "tan " + value);
+            Assertions.assertEquals(StrictMath.atan(value), FastMath.atan(value), "atan " + value);
+            Assertions.assertEquals(StrictMath.asin(value), FastMath.asin(value), "asin " + value);
+            Assertions.assertEquals(StrictMath.acos(value), FastMath.acos(value), "acos " + value);
+        }
+    }
+
+    // Test that the powers of ten a double holds and their logarithms are exact
+    @Test
+    void TestPowersOfTen() {
+
+        double power = 1.0;
+        for (int exponent = 0; exponent <= 22; exponent++) {
+
+            Assertions.assertEquals(power, FastMath.exp10(exponent));
+            Assertions.assertEquals(exponent, FastMath.log10(power));
+            power *= 10.0;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/*
+* This file contains test cases for the NumberEntryBuffer class.
+ */
+package com.andrewhun.calculator;
+
+import java.util.Random;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class NumberEntryBufferTestCase {
+
+    // Test typing, deleting and changing the sign of a number
+    @Test
+    void TestEditing() {
+
+        NumberEntryBuffer buffer = new NumberEntryBuffer();
+        buffer.setText("12");
+        buffer.append('.');
+        buffer.append('5');
+        buffer.setNegative(true);
+        Assertions.assertEquals("-12.5", buffer.getText());
+        Assertions.assertTrue(buffer.hasDecimalPoint());
+
+        buffer.deleteLast();
+        buffer.deleteLast();
+        Assertions.assertFalse(buffer.hasDecimalPoint());
+        Assertions.assertEquals("-12", buffer.getText());
+        Assertions.assertTrue(buffer.textEquals("-12"));
+        Assertions.assertFalse(buffer.textEquals("12"));
+
+        buffer.deleteLast();
+        buffer.deleteLast();
+        Assertions.assertEquals("-", buffer.getText());
+        Assertions.assertEquals(1, buffer.textLength());
+        buffer.deleteLast();
+        Assertions.assertEquals("", buffer.getText());
+    }
+
+    // Test that whole numbers are recognized as longs, up to the limits of a long
+    @Test
+    void TestLongValue() {
+
+        NumberEntryBuffer buffer = new NumberEntryBuffer();
+        String[] longs = {"0", "-15", "9007199254740993", "9223372036854775807", "-9223372036854775808",
+                "00000000000000000001", "-0009223372036854775808", "0000"};
+        String[] notLongs = {"1.5", "3.", "9223372036854775808", "-9223372036854775809", "12345678901234567890",
+                "0009223372036854775808", "-", "Error: Division by zero"};
+
+        for (String text : longs) {
+
+            buffer.setText(text);
+            Assertions.assertTrue(buffer.isLong(), text);
+            Assertions.assertEquals(Long.parseLong(text), buffer.toLong());
+        }
+        for (String text : notLongs) {
+
+            buffer.setText(text);
+            Assertions.assertFalse(buffer.isLong(), text);
+        }
+
+        // Results keep their exact value
+        char[] digits = "1.0E10".toCharArray();
+        buffer.setNumber(1e10, digits, digits.length);
+        Assertions.assertTrue(buffer.isLong());
+        Assertions.assertEquals(10_000_000_000L, buffer.toLong());
+
+        digits = "9007199254740993".toCharArray();
+        buffer.setDigits(digits, digits.length);
+        Assertions.assertEquals(9007199254740993L, buffer.toLong());
+        Assertions.assertEquals(9007199254740992.0, buffer.getValue());
+    }
+
+    // Test that the value and its error hold the number to about twice the digits of a double
+    @Test
+    void TestValueError() {
+
+        NumberEntryBuffer buffer = new NumberEntryBuffer();
+        String[] numbers = {"0.1", "-2.3", "123456.789", "0.000000000000001", "12345678901234567890.123", "1.0E-5"};
+
+        for (String text : numbers) {
+
+            buffer.setText(text);
+            BigDecimal sum = new BigDecimal(buffer.getValue()).add(new BigDecimal(buffer.getValueError()));
+            BigDecimal difference = sum.subtract(new BigDecimal(text)).abs();
+            Assertions.assertTrue(difference.compareTo(new BigDecimal(text).abs().movePointLeft(31)) < 0, text);
+        }
+
+        buffer.setText("0.5");
+        Assertions.assertEquals(0.0, buffer.getValueError());
+        char[] digits = "0.1".toCharArray();
+        buffer.setNumber(0.1, digits, digits.length);
+        Assertions.assertEquals(0.0, buffer.getValueError());
+    }
+
+    // Test that the numbers a double holds exactly are recognized, and that every number becomes the right decimal
+    @Test
+    void TestExactValue() {
+
+        NumberEntryBuffer buffer = new NumberEntryBuffer();
+        String[] exactNumbers = {"0", "-2.5", "0.375", "0.", "123456789012345", "0.0009765625"};
+        String[] inexactNumbers = {"0.1", "-2.3", "9007199254740993", "1234567890123456", "1.0E10", "-"};
+
+        for (String text : exactNumbers) {
+
+            buffer.setText(text);
+            Assertions.assertTrue(buffer.hasExactValue(), text);
+            Assertions.assertEquals(0, new BigDecimal(buffer.getValue()).compareTo(buffer.toBigDecimal()), text);
+        }
+        for (String text : inexactNumbers) {
+
+            buffer.setText(text);
+            Assertions.assertFalse(buffer.hasExactValue(), text);
+        }
+
+        buffer.setText("-0.1");
+        Assertions.assertEquals(new BigDecimal("-0.1"), buffer.toBigDecimal());
+    }
+
+    // Test the short decimals and the fractions the RATIONAL mode reads from the display
+    @Test
+    void TestFractions() {
+
+        NumberEntryBuffer buffer = new NumberEntryBuffer();
+
+        buffer.setText("-12.5");
+        Assertions.assertTrue(buffer.isShortDecimal());
+        Assertions.assertEquals(-125, buffer.getUnscaledValue());
+        Assertions.assertEquals(1, buffer.getDecimalPlaces());
+        buffer.setText("0.00000000000000001");
+        Assertions.assertTrue(buffer.isShortDecimal());
+        Assertions.assertEquals(1, buffer.getUnscaledValue());
+        Assertions.assertEquals(17, buffer.getDecimalPlaces());
+
+        for (String text : new String[] {"1234567890123456789", "1.0E10", "-", "2/3"}) {
+
+            buffer.setText(text);
+            Assertions.assertFalse(buffer.isShortDecimal(), text);
+        }
+
+        buffer.setText("-2/3");
+        Assertions.assertEquals(-2.0 / 3.0, buffer.getValue());
+    }
+
+    // Test that text set from the outside is taken apart correctly, however long it is
+    @Test
+    void TestSetText() {
+
+        NumberEntryBuffer buffer = new NumberEntryBuffer();
+        buffer.setText("-0.25");
+        Assertions.assertTrue(buffer.isNegative());
+        Assertions.assertTrue(buffer.hasDecimalPoint());
+        Assertions.assertEquals(4, buffer.digitCount());
+
+        String longMessage = "x".repeat(NumberEntryBuffer.CAPACITY * 2);
+        buffer.setText(longMessage);
+        Assertions.assertEquals(longMessage, buffer.getText());
+        Assertions.assertTrue(buffer.textEquals(longMessage));
+    }
+
+    // Test that digits beyond the capacity of the buffer are ignored
+    @Test
+    void TestCapacity() {
+
+        NumberEntryBuffer buffer = new NumberEntryBuffer();
+        buffer.setText("1");
+        for (int i = 0; i < NumberEntryBuffer.CAPACITY * 2; i++) {
+
+            buffer.append('9');
+        }
+        Assertions.assertEquals(NumberEntryBuffer.CAPACITY, buffer.digitCount());
+    }
+
+    /* Test that the value followed along while typing is exactly the one Double.parseDouble gives for the
+    text, after every keystroke of millions of random inputs (including the errors for text like "-").
+    The inputs are a mix of short numbers, numbers with many digits on either side of the decimal point
+    and numbers with a lot of zeros, with some sign changes and deletions mixed in.*/
+    @Test
+    void TestValueMatchesParseDouble() {
+
+        final int INPUTS = 1_000_000;
+        Random random = new Random(2011);
+        NumberEntryBuffer buffer = new NumberEntryBuffer();
+        long keystrokes = 0;
+
+        for (int i = 0; i < INPUTS; i++) {
+
+            buffer.setText("0");
+            int length = 1 + random.nextInt(i % 4 == 0 ? NumberEntryBuffer.CAPACITY + 4 : 12);
+            int zeroChance = random.nextInt(4) == 0 ? 80 : 10;
+
+            for (int j = 0; j < length; j++) {
+
+                int key = random.nextInt(100);
+                if (key < 3) {
+
+                    buffer.setNegative(!buffer.isNegative());
+                }
+                else if (key < 8) {
+
+                    buffer.deleteLast();
+                }
+                else if (key < 12 && !buffer.hasDecimalPoint()) {
+
+                    buffer.append('.');
+                }
+                else {
+
+                    buffer.append(random.nextInt(100) < zeroChance ? '0' : (char) ('1' + random.nextInt(9)));
+                }
+                Assertions.assertEquals(parse(buffer.getText()), value(buffer), buffer.getText());
+                keystrokes++;
+            }
+        }
+        Assertions.assertTrue(keystrokes > INPUTS);
+    }
+
+    // Test that results keep their exact value, also after they are edited
+    @Test
+    void TestResultValue() {
+
+        CalculatorDisplay display = new CalculatorDisplay();
+        double[] results = {0.1 + 0.2, -0.0, 1.0E10, 12345.678, Double.NaN, Double.NEGATIVE_INFINITY};
+
+        for (double result : results) {
+
+            display.showResult(result);
+            Assertions.assertEquals(Double.doubleToLongBits(result), Double.doubleToLongBits(display.getDisplayedNumber()));
+            display.addMinusSign();
+            Assertions.assertEquals(parse(display.getDisplayedNumberString()), value(display));
+            display.deleteDigit();
+            Assertions.assertEquals(parse(display.getDisplayedNumberString()), value(display));
+        }
+    }
+
+    // Describe the outcome of parsing the text, so results and exceptions can be compared
+    private static String parse(String text) {
+
+        try {
+
+            return Long.toHexString(Double.doubleToRawLongBits(Double.parseDouble(text)));
+        }
+        catch (NumberFormatException exception) {
+
+            return "NumberFormatException";
+        }
+    }
+
+    private static String value(NumberEntryBuffer buffer) {
+
+        try {
+
+            return Long.toHexString(Double.doubleToRawLongBits(buffer.getValue()));
+        }
+        catch (NumberFormatException exception) {
+
+            return "NumberFormatException";
+        }
+    }
+
+    private static String value(CalculatorDisplay display) {
+
+        try {
+
+            return Long.toHexString(Double.doubleToRawLongBits(display.getDisplayedNumber()));
+        }
+        catch (NumberFormatException exception) {
+
+            return "NumberFormatException";
+        }
+    }
+
+    // Test that typing and deleting digits does not allocate memory as long as nobody asks for the text
+    @Test
+    void TestEditingDoesNotAllocate() {
+
+        final int KEYSTROKES = 1_000_000;
+        CalculatorDisplay display = new CalculatorDisplay();
+
+        double checksum = CalculationEngineTestCase.assertAllocationFree(() -> typeAndDelete(display, KEYSTROKES));
+        Assertions.assertTrue(checksum > 0);
+    }
+
+    // Type a number with a decimal point, flip its sign and delete it again, over and over
+    private int typeAndDelete(CalculatorDisplay display, int keystrokes) {
+
+        int checksum = 0;
+        for (int i = 0; i < keystrokes; i += 8) {
+
+            display.replaceNumber("1");
+            display.appendDigit("2");
+            display.addDecimalPoint();
+            display.appendDigit('5');
+            display.addMinusSign();
+            checksum += display.hasNoDecimalPoint() ? 0 : 1;
+            display.removeMinusSign();
+            display.deleteDigit();
+            display.deleteDigit();
+            checksum += display.isLastDigit() ? 0 : 1;
+        }
+        return checksum;
+    }
+}
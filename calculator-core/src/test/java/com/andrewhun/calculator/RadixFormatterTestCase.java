@@ -0,0 +1,90 @@
+/*
+* This file contains test cases for the RadixFormatter class.
+ */
+package com.andrewhun.calculator;
+
+import java.util.Random;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class RadixFormatterTestCase {
+
+    // Test that every radix gives the same digits as the methods of Long (the unsigned bits for all but DECIMAL)
+    @Test
+    void TestFormat() {
+
+        RadixFormatter formatter = new RadixFormatter();
+        Random random = new Random(24);
+        long[] values = new long[1000];
+        values[0] = 0;
+        values[1] = -1;
+        values[2] = Long.MIN_VALUE;
+        values[3] = Long.MAX_VALUE;
+        values[4] = 99;
+        values[5] = -100;
+        for (int i = 6; i < values.length; i++) {
+
+            values[i] = random.nextLong() >> random.nextInt(64);
+        }
+
+        for (long value : values) {
+
+            Assertions.assertEquals(Long.toBinaryString(value), format(formatter, value, Radix.BINARY));
+            Assertions.assertEquals(Long.toOctalString(value), format(formatter, value, Radix.OCTAL));
+            Assertions.assertEquals(Long.toString(value), format(formatter, value, Radix.DECIMAL));
+            Assertions.assertEquals(Long.toHexString(value).toUpperCase(Locale.ROOT),
+                    format(formatter, value, Radix.HEXADECIMAL));
+        }
+    }
+
+    // Test that only the digits of the radix are taken, in either case
+    @Test
+    void TestDigitValue() {
+
+        Assertions.assertEquals(1, RadixFormatter.digitValue('1', Radix.BINARY));
+        Assertions.assertEquals(-1, RadixFormatter.digitValue('2', Radix.BINARY));
+        Assertions.assertEquals(7, RadixFormatter.digitValue('7', Radix.OCTAL));
+        Assertions.assertEquals(-1, RadixFormatter.digitValue('8', Radix.OCTAL));
+        Assertions.assertEquals(-1, RadixFormatter.digitValue('A', Radix.DECIMAL));
+        Assertions.assertEquals(10, RadixFormatter.digitValue('a', Radix.HEXADECIMAL));
+        Assertions.assertEquals(15, RadixFormatter.digitValue('F', Radix.HEXADECIMAL));
+        Assertions.assertEquals(-1, RadixFormatter.digitValue('G', Radix.HEXADECIMAL));
+        Assertions.assertEquals(-1, RadixFormatter.digitValue('é', Radix.HEXADECIMAL));
+    }
+
+    // Test that writing the displayed number in every radix does not allocate any memory once the code is warmed up
+    @Test
+    void TestFormatDoesNotAllocate() {
+
+        final int NUMBERS = 1_000_000;
+        CalculatorDisplay display = new CalculatorDisplay();
+        char[] digits = new char[64];
+
+        double checksum = CalculationEngineTestCase.assertAllocationFree(() -> showInEveryRadix(display, digits, NUMBERS));
+        Assertions.assertTrue(checksum > 0);
+    }
+
+    // Show a number, switch the radix of the display and write the number in every radix, over and over
+    private long showInEveryRadix(CalculatorDisplay display, char[] digits, int count) {
+
+        Radix[] radices = Radix.values();
+        long checksum = 0;
+        for (int i = 0; i < count; i++) {
+
+            display.showWord(i * 0x9E3779B97F4A7C15L);
+            display.setRadix(radices[i & 3]);
+            for (Radix radix : radices) {
+
+                checksum += display.writeDisplayedWord(radix, digits);
+            }
+        }
+        return checksum;
+    }
+
+    private static String format(RadixFormatter formatter, long value, Radix radix) {
+
+        int length = formatter.format(value, radix);
+        return new String(formatter.getCharacters(), 0, length);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+* This file contains test cases for the TopDisplayHistory class.
+ */
+package com.andrewhun.calculator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class TopDisplayHistoryTestCase {
+
+    // Test adding entries and replacing the last operation
+    @Test
+    void TestAddAndReplace() {
+
+        TopDisplayHistory history = new TopDisplayHistory();
+        Assertions.assertTrue(history.isEmpty());
+        Assertions.assertEquals("", history.getText());
+
+        history.add("12", Operation.ADDITION);
+        history.add("-3.5", Operation.MULTIPLICATION);
+        Assertions.assertEquals("12 + -3.5 * ", history.getText());
+
+        history.replaceLastOperation(Operation.DIVISION);
+        Assertions.assertEquals("12 + -3.5 / ", history.getText());
+        Assertions.assertFalse(history.isEmpty());
+
+        history.clear();
+        Assertions.assertTrue(history.isEmpty());
+        Assertions.assertEquals("", history.getText());
+    }
+
+    // Test that text set from the outside is split into entries
+    @Test
+    void TestSetText() {
+
+        TopDisplayHistory history = new TopDisplayHistory();
+
+        history.setText("100 - -5 * ");
+        history.replaceLastOperation(Operation.SUBTRACTION);
+        Assertions.assertEquals("100 - -5 - ", history.getText());
+
+        history.setText("Not empty!");
+        Assertions.assertFalse(history.isEmpty());
+        history.add("1", Operation.ADDITION);
+        Assertions.assertEquals("Not empty!1 + ", history.getText());
+    }
+
+    // Test that only the end of a long chain is built for the label
+    @Test
+    void TestVisibleText() {
+
+        TopDisplayHistory history = new TopDisplayHistory();
+        history.add("1", Operation.ADDITION);
+        Assertions.assertEquals("1 + ", history.getVisibleText(10));
+
+        for (int i = 2; i <= 5; i++) {
+
+            history.add(Integer.toString(i), Operation.ADDITION);
+        }
+        Assertions.assertEquals(TopDisplayHistory.ELLIPSIS + "4 + 5 + ", history.getVisibleText(10));
+
+        history.add("123456789012", Operation.MULTIPLICATION);
+        Assertions.assertEquals(TopDisplayHistory.ELLIPSIS + "9012 * ", history.getVisibleText(8));
+
+        // The ellipsis counts as well, even when whole entries would fill the label exactly
+        history.clear();
+        for (int i = 0; i < 5; i++) {
+
+            history.add("1234567", Operation.ADDITION);
+        }
+        Assertions.assertEquals(TopDisplayHistory.ELLIPSIS + "234567 + ", history.getVisibleText(10));
+        for (int maxCharacters = 1; maxCharacters <= 60; maxCharacters++) {
+
+            Assertions.assertTrue(history.getVisibleText(maxCharacters).length() <= maxCharacters);
+        }
+    }
+
+    // Test that a long chain keeps every entry, and only its visible text is cut short
+    @Test
+    void TestLongChain() {
+
+        TopDisplayHistory history = new TopDisplayHistory();
+        for (int i = 0; i < 100_000; i++) {
+
+            history.add(Integer.toString(i), Operation.SUBTRACTION);
+        }
+
+        String text = history.getText();
+        Assertions.assertTrue(text.startsWith("0 - 1 - 2 - "));
+        Assertions.assertTrue(text.endsWith("99998 - 99999 - "));
+        Assertions.assertEquals(TopDisplayHistory.ELLIPSIS + "99998 - 99999 - ", history.getVisibleText(20));
+
+        history.replaceLastOperation(Operation.ADDITION);
+        Assertions.assertTrue(history.getText().endsWith("99998 - 99999 + "));
+
+        history.clear();
+        Assertions.assertTrue(history.isEmpty());
+        history.add("1", Operation.ADDITION);
+        Assertions.assertEquals("1 + ", history.getText());
+    }
+}
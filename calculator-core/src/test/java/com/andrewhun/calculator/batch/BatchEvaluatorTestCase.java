@@ -0,0 +1,186 @@
+/*
+* This file contains test cases for the BatchEvaluator class.
+ */
+package com.andrewhun.calculator.batch;
+
+import java.util.List;
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.io.IOException;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.WritableByteChannel;
+import org.junit.jupiter.api.Test;
+import com.andrewhun.calculator.FastMath;
+import com.andrewhun.calculator.NumberMode;
+import com.andrewhun.calculator.EvaluationOrder;
+import com.andrewhun.calculator.FunctionPrecision;
+import org.junit.jupiter.api.Assertions;
+
+public class BatchEvaluatorTestCase {
+
+    // Anything that evaluates a file of calculations, like BatchEvaluator.evaluate
+    interface Evaluation {
+
+        long evaluate(FileChannel input, WritableByteChannel output) throws IOException;
+    }
+
+    static String evaluate(BatchEvaluator evaluator, String input) throws IOException {
+
+        return evaluate(evaluator::evaluate, input);
+    }
+
+    // Write the input to a temporary file, evaluate it and return the output
+    static String evaluate(Evaluation evaluator, String input) throws IOException {
+
+        Path inputFile = Files.createTempFile("calculations", ".txt");
+        try {
+
+            Files.write(inputFile, input.getBytes(StandardCharsets.UTF_8));
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            try (FileChannel inputChannel = FileChannel.open(inputFile);
+                 WritableByteChannel outputChannel = Channels.newChannel(output)) {
+
+                evaluator.evaluate(inputChannel, outputChannel);
+            }
+            return output.toString(StandardCharsets.US_ASCII);
+        }
+        finally {
+
+            Files.delete(inputFile);
+        }
+    }
+
+    // Test that a long sum does not pile up rounding errors in the DOUBLE_DOUBLE mode
+    @Test
+    void TestDoubleDoubleMode() throws IOException {
+
+        String input = "0.1" + " + 0.1".repeat(9) + "\n1 / 3 * 3\n1 / 0\n";
+        Assertions.assertEquals("0.9999999999999999\n1\nError: Division by zero\n", evaluate(new BatchEvaluator(), input));
+
+        BatchEvaluator evaluator = new BatchEvaluator();
+        evaluator.setNumberMode(NumberMode.DOUBLE_DOUBLE);
+        Assertions.assertEquals("1\n1\nError: Division by zero\n", evaluate(evaluator, input));
+    }
+
+    // Test that lines are evaluated from left to right, like the calculator does
+    @Test
+    void TestEvaluateLines() throws IOException {
+
+        String output = evaluate(new BatchEvaluator(), "1 + 2\n100 + 10 / 10\n2 + 3 * 4\n-1.5 * -2\n0.1 + 0.2\n");
+
+        Assertions.assertEquals("3\n11\n20\n3\n0.30000000000000004\n", output);
+    }
+
+    // Test the special cases: trailing operators, empty lines, errors and scientific notation
+    @Test
+    void TestSpecialLines() throws IOException {
+
+        String output = evaluate(new BatchEvaluator(),
+                "5 * \n\n1 / 0\n1 / 0. + 3\n7 # 2\nabc\n1.0E10 * 10\n2.5E-5 + 0\n1 - 3");
+
+        List<String> lines = List.of(output.split("\n", -1));
+        Assertions.assertEquals("5", lines.get(0));
+        Assertions.assertEquals("", lines.get(1));
+        Assertions.assertEquals(BatchEvaluator.DIVISION_BY_ZERO_MESSAGE, lines.get(2));
+        Assertions.assertEquals(BatchEvaluator.DIVISION_BY_ZERO_MESSAGE, lines.get(3));
+        Assertions.assertEquals(BatchEvaluator.INVALID_EXPRESSION_MESSAGE, lines.get(4));
+        Assertions.assertEquals(BatchEvaluator.INVALID_EXPRESSION_MESSAGE, lines.get(5));
+        Assertions.assertEquals("1.0E11", lines.get(6));
+        Assertions.assertEquals("2.5E-5", lines.get(7));
+        Assertions.assertEquals("-2", lines.get(8));
+        Assertions.assertEquals(10, lines.size());
+    }
+
+    // Test that the operations are carried out in the order of their precedence when it is selected
+    @Test
+    void TestOperatorPrecedence() throws IOException {
+
+        String input = "2 + 3 * 4\n1 + 2 * 3 - 4 / 2\n2 + 3 * \n1 + 1 / 0 * 2\n2 | 1 < 2\n2 * 3 ** 2\n0 ** -1\n";
+        Assertions.assertEquals("20\n2.5\n5\nError: Division by zero\n12\n36\nError: Division by zero\n",
+                evaluate(new BatchEvaluator(), input));
+
+        BatchEvaluator evaluator = new BatchEvaluator();
+        evaluator.setEvaluationOrder(EvaluationOrder.OPERATOR_PRECEDENCE);
+        Assertions.assertEquals("14\n5\n5\nError: Division by zero\n6\n18\nError: Division by zero\n",
+                evaluate(evaluator, input));
+    }
+
+    // Test the operators of the PROGRAMMER mode, on the 64-bit words of that mode
+    @Test
+    void TestProgrammerOperators() throws IOException {
+
+        BatchEvaluator evaluator = new BatchEvaluator();
+        evaluator.setNumberMode(NumberMode.PROGRAMMER);
+        String output = evaluate(evaluator, "12 & 10 | 1\n12 ^ 10\n1 < 10 > 2\n7 % 3\n-7 % 0\n");
+
+        Assertions.assertEquals("9\n6\n256\n1\nError: Division by zero\n", output);
+
+        // The rotations and POWER are written with the symbols of the top display
+        output = evaluate(evaluator, "1 \u00ab 3\n1 \u00bb 1 \u00bb 63\n3 \u2191 4 \u00ab 1\n-1 \u00bb 4 & 15\n1 \u00ab\n1 \u00ac 2\n");
+        Assertions.assertEquals("8\n1\n162\n15\n1\n" + BatchEvaluator.INVALID_EXPRESSION_MESSAGE + "\n", output);
+    }
+
+    // Test that every kind of calculation error is reported on its own line
+    @Test
+    void TestCalculationErrors() throws IOException {
+
+        String output = evaluate(new BatchEvaluator(), "1E300 * 1E300 + 1\n1E400 - 1E400\n0 / 0\n-4 / -0.0 * 2\n");
+
+        Assertions.assertEquals("Error: Overflow\nError: Result is not a number\nError: Division by zero\n"
+                + "Error: Division by zero\n", output);
+    }
+
+    // Test the functions written before the numbers, and the errors they can end with
+    @Test
+    void TestScientificFunctions() throws IOException {
+
+        String output = evaluate(new BatchEvaluator(),
+                "sqrt 16 + sqr 3\nexp10 2 * log 1000\nsqrt -1\n2 + ln 0\nfoo 2\nsqrt16\nsqrt\n\tsin  cos 0\n");
+
+        List<String> lines = List.of(output.split("\n", -1));
+        Assertions.assertEquals("13", lines.get(0));
+        Assertions.assertEquals("300", lines.get(1));
+        Assertions.assertEquals("Error: Invalid input", lines.get(2));
+        Assertions.assertEquals("Error: Invalid input", lines.get(3));
+        Assertions.assertEquals(BatchEvaluator.INVALID_EXPRESSION_MESSAGE, lines.get(4));
+        Assertions.assertEquals(BatchEvaluator.INVALID_EXPRESSION_MESSAGE, lines.get(5));
+        Assertions.assertEquals(BatchEvaluator.INVALID_EXPRESSION_MESSAGE, lines.get(6));
+        Assertions.assertEquals(Double.toString(FastMath.sin(1.0)), lines.get(7));
+
+        // The functions are calculated by FastMath unless the evaluator is told otherwise
+        BatchEvaluator evaluator = new BatchEvaluator();
+        Assertions.assertEquals(FunctionPrecision.FAST, evaluator.getFunctionPrecision());
+        evaluator.setFunctionPrecision(FunctionPrecision.STRICT);
+        Assertions.assertEquals(StrictMath.exp(0.7) + "\n", evaluate(evaluator, "exp 0.7\n"));
+    }
+
+    // Test that numbers with too many digits for the fast path are still parsed correctly
+    @Test
+    void TestLongNumbers() throws IOException {
+
+        String number = "3.14159265358979323846264338327950288";
+        String output = evaluate(new BatchEvaluator(), number + " * 1\n");
+
+        Assertions.assertEquals(Double.toString(Double.parseDouble(number)) + "\n", output);
+    }
+
+    // Test that lines crossing the boundary between two mapped windows are evaluated correctly
+    @Test
+    void TestSmallWindows() throws IOException {
+
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+
+            input.append(i).append(" + ").append(i).append(" * 2\r\n");
+            expected.append((i + i) * 2).append('\n');
+        }
+
+        Assertions.assertEquals(expected.toString(), evaluate(new BatchEvaluator(24), input.toString()));
+        Assertions.assertThrows(IOException.class, () -> evaluate(new BatchEvaluator(4), "123456789 + 1\n2\n"));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+* This file contains test cases for the ParallelBatchEvaluator class.
+ */
+package com.andrewhun.calculator.batch;
+
+import java.util.Random;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.concurrent.ForkJoinPool;
+import java.nio.channels.WritableByteChannel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import com.andrewhun.calculator.EvaluationOrder;
+
+public class ParallelBatchEvaluatorTestCase {
+
+    // Test that splitting the input into many small chunks gives the same output as the sequential evaluator
+    @Test
+    void TestSameOutputAsSequential() throws IOException {
+
+        Random random = new Random(7);
+        String[] operators = {" + ", " - ", " * ", " / "};
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+
+            input.append(i % 5 == 0 ? "sqrt " : "").append(random.nextInt(1000) - 500).append('.').append(random.nextInt(100));
+            for (int j = random.nextInt(4); j > 0; j--) {
+
+                input.append(operators[random.nextInt(4)]).append(random.nextInt(20));
+            }
+            input.append(i % 7 == 0 ? "\r\n" : "\n");
+        }
+        input.append("\n1 / 0\nabc\n5 * ");
+
+        String expected = BatchEvaluatorTestCase.evaluate(new BatchEvaluator(), input.toString());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+
+            for (int chunkSize : new int[] {1, 100, 4096, ParallelBatchEvaluator.DEFAULT_CHUNK_SIZE}) {
+
+                String output = evaluate(new ParallelBatchEvaluator(pool, chunkSize), input.toString());
+                Assertions.assertEquals(expected, output, "chunk size " + chunkSize);
+            }
+        }
+        finally {
+
+            pool.shutdown();
+        }
+    }
+
+    // Test that an empty input and an input without a final line break are handled
+    @Test
+    void TestEdgeCases() throws IOException {
+
+        ParallelBatchEvaluator evaluator = new ParallelBatchEvaluator();
+
+        Assertions.assertEquals("", evaluate(evaluator, ""));
+        Assertions.assertEquals("3\n", evaluate(evaluator, "1 + 2"));
+        Assertions.assertEquals("\n\n", evaluate(evaluator, "\n\n"));
+    }
+
+    // Test that the evaluation order is handed to the evaluators of the workers
+    @Test
+    void TestEvaluationOrder() throws IOException {
+
+        ParallelBatchEvaluator evaluator = new ParallelBatchEvaluator();
+        evaluator.setEvaluationOrder(EvaluationOrder.OPERATOR_PRECEDENCE);
+        Assertions.assertEquals("14\n", evaluate(evaluator, "2 + 3 * 4\n"));
+
+        evaluator.setEvaluationOrder(EvaluationOrder.LEFT_TO_RIGHT);
+        Assertions.assertEquals("20\n", evaluate(evaluator, "2 + 3 * 4\n"));
+    }
+
+    // Test that a failure other than an I/O error ends the run, and that the evaluator still works afterwards
+    @Test
+    void TestFailedRun() throws IOException {
+
+        WritableByteChannel failingOutput = Channels.newChannel(new OutputStream() {
+
+            @Override
+            public void write(int b) {
+
+                throw new IllegalStateException("The output is closed");
+            }
+        });
+
+        String input = "1 + 2\n".repeat(1000);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+
+            ParallelBatchEvaluator evaluator = new ParallelBatchEvaluator(pool, 6);
+            Assertions.assertThrows(IllegalStateException.class, () -> BatchEvaluatorTestCase.evaluate(
+                    (inputChannel, outputChannel) -> evaluator.evaluate(inputChannel, failingOutput), input));
+            Assertions.assertEquals("3\n".repeat(1000), evaluate(evaluator, input));
+        }
+        finally {
+
+            pool.shutdown();
+        }
+    }
+
+    // Evaluate the input with the parallel evaluator, reusing the temporary file helper of the sequential tests
+    private static String evaluate(ParallelBatchEvaluator evaluator, String input) throws IOException {
+
+        return BatchEvaluatorTestCase.evaluate(evaluator::evaluate, input);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+* This file contains test cases for the ExpressionCompiler and CompiledExpression classes.
+ */
+package com.andrewhun.calculator.expression;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+import com.andrewhun.calculator.EvaluationOrder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class ExpressionCompilerTestCase {
+
+    private static final String[] OPERATORS = {" + ", " - ", " * ", " / ", " % ", " & ", " | ", " ^ ", " < ", " > ",
+            " \u00ab ", " \u00bb ", " \u2191 "};
+
+    // Test a compiled expression with placeholders
+    @Test
+    void TestCompiledExpression() {
+
+        CompiledExpression expression = ExpressionCompiler.compile("price * 1 + tax * count");
+
+        Assertions.assertEquals(List.of("price", "tax", "count"), expression.getPlaceholderNames());
+        Assertions.assertEquals((10.0 + 2.5) * 3, expression.evaluate(10.0, 2.5, 3));
+        Assertions.assertEquals((1.0 + 1.0) * 1, expression.evaluate(1.0, 1.0, 1.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> expression.evaluate(1.0));
+        Assertions.assertEquals(7.0, ExpressionCompiler.compile("3 + 4").evaluate());
+    }
+
+    // Test that every kind of division by zero is still reported after compiling
+    @Test
+    void TestDivisionByZero() {
+
+        Assertions.assertThrows(ArithmeticException.class, () -> ExpressionCompiler.compile("1 / 0").evaluate());
+        Assertions.assertThrows(ArithmeticException.class, () -> ExpressionCompiler.compile("x / 0").evaluate(2));
+        Assertions.assertThrows(ArithmeticException.class, () -> ExpressionCompiler.compile("1 / x").evaluate(0));
+        Assertions.assertThrows(ArithmeticException.class, () -> ExpressionCompiler.compile("x / y").evaluate(1, 0));
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> ExpressionCompiler.compile("x + 1 / x").evaluate(0));
+        Assertions.assertThrows(ArithmeticException.class, () -> ExpressionCompiler.compile("x % 0").evaluate(2));
+        Assertions.assertThrows(ArithmeticException.class, () -> ExpressionCompiler.compile("x \u2191 -2").evaluate(0));
+    }
+
+    // Test the operations beyond the basic four, in both evaluation orders
+    @Test
+    void TestOtherOperations() {
+
+        CompiledExpression expression = ExpressionCompiler.compile("x % 4 + 1 < 2 \u2191 y", EvaluationOrder.OPERATOR_PRECEDENCE);
+        Assertions.assertEquals((double) ((long) (7 % 4 + 1) << 8), expression.evaluate(7, 3));
+        Assertions.assertEquals(Math.pow((7 % 4 + 1) << 2, 3), ExpressionCompiler.compile("x % 4 + 1 < 2 \u2191 y").evaluate(7, 3));
+        Assertions.assertEquals((double) Long.rotateLeft(5, 62), ExpressionCompiler.compile("x \u00ab 62").evaluate(5));
+    }
+
+    // Test that a chain too long for nested nodes is compiled into a loop
+    @Test
+    void TestLongChain() {
+
+        CompiledExpression expression = ExpressionCompiler.compile("x" + " + x * 2 - 1".repeat(50_000),
+                EvaluationOrder.OPERATOR_PRECEDENCE);
+        Assertions.assertEquals(3.0 + 50_000 * 5.0, expression.evaluate(3));
+        Assertions.assertThrows(ArithmeticException.class, () -> ExpressionCompiler.compile(
+                "x" + " + 1".repeat(1_000) + " / x").evaluate(0));
+    }
+
+    // Test that compiled expressions give exactly the same results as the syntax tree they come from
+    @Test
+    void TestSameResultsAsSyntaxTree() {
+
+        Random random = new Random(11);
+        ExpressionParser[] parsers = {new ExpressionParser(), new ExpressionParser(EvaluationOrder.OPERATOR_PRECEDENCE)};
+        String[] operands = {"x", "y", "z", "2", "0.1", "-3.5", "1", "0"};
+
+        for (int i = 0; i < 2000; i++) {
+
+            StringBuilder calculation = new StringBuilder(operands[random.nextInt(operands.length)]);
+            for (int j = random.nextInt(6); j >= 0; j--) {
+
+                calculation.append(OPERATORS[random.nextInt(OPERATORS.length)]).append(operands[random.nextInt(operands.length)]);
+            }
+
+            ExpressionParser parser = parsers[random.nextInt(parsers.length)];
+            Expression expression = parser.parse(calculation.toString());
+            CompiledExpression compiled = ExpressionCompiler.compile(expression, parser.getPlaceholderNames());
+            double[] arguments = {random.nextDouble() * 10 - 5, random.nextInt(3), -0.0};
+
+            Assertions.assertEquals(result(() -> expression.evaluate(arguments)),
+                    result(() -> compiled.evaluate(arguments)), calculation.toString());
+        }
+    }
+
+    // Describe the outcome of an evaluation, so results and errors can be compared with each other
+    private static String result(DoubleSupplier evaluation) {
+
+        try {
+
+            return Long.toHexString(Double.doubleToLongBits(evaluation.getAsDouble()));
+        }
+        catch (ArithmeticException exception) {
+
+            return exception.getMessage();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+* This file contains test cases for the ExpressionParser class and the syntax tree it builds.
+ */
+package com.andrewhun.calculator.expression;
+
+import java.util.List;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.EvaluationOrder;
+import com.andrewhun.calculator.CalculatorSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class ExpressionParserTestCase {
+
+    // Test that operations are carried out from left to right, like in the calculator
+    @Test
+    void TestLeftToRight() {
+
+        ExpressionParser parser = new ExpressionParser();
+
+        Assertions.assertEquals(-31.0, parser.parse("12 + 3.5 * -2").evaluate(new double[0]));
+        Assertions.assertEquals("((12.0 + 3.5) * -2.0)", parser.parse("12 + 3.5 * -2").toString());
+        Assertions.assertEquals(0.5, parser.parse("2 / ").evaluate(new double[0]) / 4);
+        Assertions.assertEquals(1.0E10, parser.parse("1.0E10").evaluate(new double[0]));
+    }
+
+    // Test that placeholders get their indexes in the order they first appear
+    @Test
+    void TestPlaceholders() {
+
+        ExpressionParser parser = new ExpressionParser();
+        Expression expression = parser.parse("x - rate * x / y2");
+
+        Assertions.assertEquals(List.of("x", "rate", "y2"), parser.getPlaceholderNames());
+        Assertions.assertEquals(((10 - 0.5) * 10) / 4, expression.evaluate(new double[] {10, 0.5, 4}));
+    }
+
+    // Test that invalid calculations are rejected
+    @Test
+    void TestInvalidCalculations() {
+
+        ExpressionParser parser = new ExpressionParser();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse(""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse("1 $ 2"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse("1 ** 2"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse("1/3 + 1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse("1 + + 2"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse("1.5.2 * 3"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse("0x10 + 1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse("x$ + 1"));
+    }
+
+    // Test that the top display of every operator gives the same result as the session it comes from
+    @Test
+    void TestTopDisplayOperators() {
+
+        CalculatorSession session = new CalculatorSession();
+        session.pasteText("7%4+2.5");
+        assertSameResult(session, "7 % 4 + 2.5");
+
+        session.pasteText("12&10|1^3");
+        assertSameResult(session, "12 & 10 | 1 ^ 3");
+
+        session.pasteText("13<3>1");
+        assertSameResult(session, "13 < 3 > 1");
+
+        session.pasteText("5\u00ab62\u00bb3");
+        assertSameResult(session, "5 \u00ab 62 \u00bb 3");
+
+        session.pasteText("2");
+        session.prepareForOperation(Operation.POWER);
+        session.pasteText("10-1");
+        assertSameResult(session, "2 \u2191 10 - 1");
+    }
+
+    // Test that the top display of a session that calculates with operator precedence is parsed in the same order
+    @Test
+    void TestTopDisplayWithPrecedence() {
+
+        CalculatorSession session = new CalculatorSession();
+        session.setEvaluationOrder(EvaluationOrder.OPERATOR_PRECEDENCE);
+        session.pasteText("2+3*4");
+        Assertions.assertEquals(14.0, assertSameResult(session, "2 + 3 * 4"));
+
+        session.pasteText("1+6/4%5-2<1|8&12^3");
+        assertSameResult(session, "1 + 6 / 4 % 5 - 2 < 1 | 8 & 12 ^ 3");
+
+        session.pasteText("2+3*2");
+        session.prepareForOperation(Operation.POWER);
+        session.pasteText("3-1");
+        Assertions.assertEquals(25.0, assertSameResult(session, "2 + 3 * 2 \u2191 3 - 1"));
+
+        // The same text means something else from left to right
+        Assertions.assertEquals(20.0, new ExpressionParser().parse("2 + 3 * 4").evaluate(new double[0]));
+    }
+
+    // Test that the top display of a long chain can be parsed back, but not the part of it shown on the label
+    @Test
+    void TestTopDisplayOfLongChain() {
+
+        ExpressionParser parser = new ExpressionParser();
+        CalculatorSession session = new CalculatorSession();
+        session.pasteText("1" + "+1".repeat(20_000));
+        Expression expression = parser.parse(session.getTopDisplayString());
+        Assertions.assertEquals(20_000.0, expression.evaluate(new double[0]));
+        Assertions.assertTrue(expression.toString().endsWith(" + 1.0)"));
+
+        // The visible text starts with an ellipsis, and is rejected instead of giving a wrong value
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(session.getVisibleTopDisplayString(40)));
+    }
+
+    // Test constant folding and division by zero
+    @Test
+    void TestFold() {
+
+        ExpressionParser parser = new ExpressionParser();
+
+        Assertions.assertEquals("((6.0 + x) / 4.0)", parser.parse("2 * 3 + x / 4").fold().toString());
+        Assertions.assertEquals("x", parser.parse("x * 1 - 0 / 1").fold().toString());
+        Assertions.assertEquals("(x + 0.0)", parser.parse("x + 0").fold().toString());
+        Assertions.assertEquals("(1.0 / 0.0)", parser.parse("1 / 0").fold().toString());
+        Assertions.assertTrue(parser.parse("1 + 2 * 3 / 4").fold().isConstant());
+
+        Expression divisionByZero = parser.parse("5 / x");
+        ArithmeticException exception = Assertions.assertThrows(ArithmeticException.class,
+                () -> divisionByZero.evaluate(new double[] {0.0}));
+        Assertions.assertEquals(Expression.DIVISION_BY_ZERO_MESSAGE, exception.getMessage());
+
+        // So are the other operations the calculator reports as a division by zero
+        Assertions.assertEquals("(1.0 % 0.0)", parser.parse("1 % 0").fold().toString());
+        Assertions.assertThrows(ArithmeticException.class, () -> parser.parse("0 \u2191 -1").evaluate(new double[0]));
+    }
+
+    /* Parse the chain on the display (the top display and the number being typed) in the order of the session,
+    press "=" and check that the session got the same result. The result is handed back.*/
+    private static double assertSameResult(CalculatorSession session, String expectedChain) {
+
+        String chain = session.getTopDisplayString() + session.getDisplayedNumberString();
+        Assertions.assertEquals(expectedChain, chain);
+
+        ExpressionParser parser = new ExpressionParser(session.getEvaluationOrder());
+        double result = parser.parse(chain).evaluate(new double[0]);
+        session.calculateResult();
+        Assertions.assertEquals(session.getDisplay().getDisplayedNumber(), result, chain);
+        Assertions.assertEquals(result, ExpressionCompiler.compile(chain, session.getEvaluationOrder()).evaluate(), chain);
+
+        session.clearCalculator();
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+#!/bin/sh
+#
+# Builds a runtime image of the calculator with jlink, together with the class data sharing archives
+# that let it start quickly. It is run by "mvn -Pruntime-image package" (from the calculator-gui folder
+# or the root of the project), after the application jar and its dependencies are in the target folder.
+#
+#   1. The image contains the calculator modules and only the JDK and JavaFX modules they need
+#      (javafx.fxml is not one of them, since the window is built by the generated CalculatorScene).
+#   2. The default CDS archive of the image is created for the JDK classes (bin/java -Xshare:dump).
+#   3. A training run of the calculator (started with -Dcalculator.startupCheck=true, so it exits after
+#      the first frame) records every class it loads, JavaFX and com.andrewhun.calculator included,
+#      into lib/calculator.jsa. The bin/calculator launcher starts the application with that archive.
+#   4. The image is started a few more times to measure the time from the start of the process to
+#      the first frame, which has to stay under STARTUP_TARGET_MS (1000 ms by default).
+#
+# Steps 3 and 4 need a display (xvfb is fine) and a JDK of version 13 or newer for the dynamic archive.
+# Without them the image is still built, only without the application archive, and its start is not
+# measured. With them, a run that does not report its first frame (because the calculator crashed, for
+# example) fails the build just like a start that is too slow.
+
+set -e
+cd "$(dirname "$0")"
+
+JAVA_HOME=${JAVA_HOME:-$(dirname "$(dirname "$(readlink -f "$(command -v java)")")")}
+STARTUP_TARGET_MS=${STARTUP_TARGET_MS:-1000}
+MAIN_MODULE=com.andrewhun.calculator.gui/com.andrewhun.calculator.gui.Main
+MODULES=target/modules
+IMAGE=target/runtime
+
+# The JavaFX jars without a platform classifier are empty placeholders, which would clash with the real ones
+for jar in "$MODULES"/javafx-*.jar; do
+    case "$(basename "$jar")" in
+        javafx-*-[0-9]*.[0-9]*-*.jar) ;;
+        *) rm -f "$jar" ;;
+    esac
+done
+cp target/calculator-gui-*.jar "$MODULES"
+
+rm -rf "$IMAGE"
+"$JAVA_HOME/bin/jlink" \
+    --module-path "$JAVA_HOME/jmods:$MODULES" \
+    --add-modules com.andrewhun.calculator.gui \
+    --strip-debug --no-header-files --no-man-pages --compress=2 \
+    --output "$IMAGE"
+
+if "$IMAGE/bin/java" --list-modules | grep -q '^javafx\.fxml'; then
+    echo "javafx.fxml ended up in the runtime image, but the calculator should not need it"
+    exit 1
+fi
+
+"$IMAGE/bin/java" -Xshare:dump > /dev/null
+
+# The launcher uses the application archive if there is one, and starts normally otherwise
+cat > "$IMAGE/bin/calculator" <<LAUNCHER
+#!/bin/sh
+DIR=\$(dirname "\$0")
+exec "\$DIR/java" -XX:SharedArchiveFile="\$DIR/../lib/calculator.jsa" -Xshare:auto \$JAVA_OPTS -m $MAIN_MODULE "\$@"
+LAUNCHER
+chmod +x "$IMAGE/bin/calculator"
+
+if [ -z "$DISPLAY" ]; then
+    echo "No display, the image was built without the application CDS archive"
+    exit 0
+fi
+if ! "$IMAGE/bin/java" -XX:ArchiveClassesAtExit=/dev/null -version > /dev/null 2>&1; then
+    echo "The JDK cannot create dynamic CDS archives, the image was built without the application archive"
+    exit 0
+fi
+
+"$IMAGE/bin/java" -XX:ArchiveClassesAtExit="$IMAGE/lib/calculator.jsa" -Dcalculator.startupCheck=true -m "$MAIN_MODULE"
+
+# Measure the start of the finished image, taking the best of three runs
+best=
+for run in 1 2 3; do
+    millis=$(JAVA_OPTS=-Dcalculator.startupCheck=true "$IMAGE/bin/calculator" | sed -n 's/^First frame after \([0-9]*\) ms$/\1/p')
+    if [ -z "$millis" ]; then
+        echo "The calculator did not report its first frame (run $run), so its start could not be measured"
+        exit 1
+    fi
+    echo "Launch to first frame: $millis ms"
+    if [ -z "$best" ] || [ "$millis" -lt "$best" ]; then
+        best=$millis
+    fi
+done
+
+if [ "$best" -gt "$STARTUP_TARGET_MS" ]; then
+    echo "The calculator took $best ms to its first frame, the target is $STARTUP_TARGET_MS ms"
+    exit 1
+fi
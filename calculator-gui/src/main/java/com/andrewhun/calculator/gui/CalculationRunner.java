@@ -0,0 +1,256 @@
+/*
+* This file contains the CalculationRunner class, which carries out the user's actions away from the
+* JavaFX Application Thread. The Controller hands every action (typing a digit just like pressing "=")
+* to the runner, which puts it on a queue served by a single background thread, so the actions are
+* carried out one at a time and in the order the user made them, while the event thread only has to
+* add them to the queue. Once an action is done, the display strings of the session are copied into
+* a display update, which is the only way the labels ever get their text. The update also holds the
+* number mode, the radix and the evaluation order of the session, and in the PROGRAMMER mode the
+* displayed number in every radix, so the window never shows settings that belong to another moment
+* than its numbers.
+*   The labels are rendered at most once per pulse (once per frame): an AnimationTimer runs while
+* there are actions that are not shown yet, and every time it fires it takes the latest display
+* update, if there is a new one. A burst of input (thousands of keystrokes pasted or scripted at
+* once) therefore costs a single layout per frame, and the updates in between are simply replaced
+* by newer ones without ever touching the labels. The timer stops once the last action is shown, so
+* an idle calculator does not ask for any pulses.
+*   Actions that the user has made meaningless (for example everything before pressing "C") can be
+* cancelled: the ones that have not started yet are skipped, and the one that is running is interrupted.
+* Only a paste looks at the interrupt (see CalculatorSession.pasteText), since every other action is a
+* single step of the session anyway.
+*   An action that fails with an exception does not take the background thread down with it. The
+* exception is reported to the uncaught exception handler of the thread (which prints it by default),
+* and the session is cleared and shows CalculationError.FAILURE, so the user can go on like after any
+* other error.
+*   A busy indicator is shown when the actions take longer than a frame to finish, and hidden as soon
+* as the last of them is shown on the display.
+ */
+package com.andrewhun.calculator.gui;
+
+import javafx.scene.Node;
+import java.util.function.Consumer;
+import java.util.concurrent.Executors;
+import javafx.animation.AnimationTimer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import com.andrewhun.calculator.Radix;
+import com.andrewhun.calculator.NumberMode;
+import com.andrewhun.calculator.EvaluationOrder;
+import com.andrewhun.calculator.CalculationError;
+import com.andrewhun.calculator.CalculatorSession;
+
+class CalculationRunner {
+
+    // The time actions can take before the busy indicator shows up (about one frame at 60 frames per second)
+    private static final long BUSY_INDICATOR_DELAY = 16_000_000L;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+
+        Thread thread = new Thread(runnable, "calculator-evaluation");
+
+        // The application should be able to exit without shutting the runner down
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Receives the display updates on the event thread
+    private final Consumer<DisplayUpdate> display;
+    private final int topDisplayCharacters;
+    private final Node busyIndicator;
+
+    // The number of the latest action handed to the runner
+    private final AtomicLong submittedActions = new AtomicLong();
+
+    // The last cancelled action, and the running one (0 if none) with its thread (guarded by the runner itself)
+    private long cancelledActions;
+    private long runningAction;
+    private Thread worker;
+
+    // The display strings of the latest action that are not rendered yet, or null if there are none
+    private final AtomicReference<DisplayUpdate> pendingUpdate = new AtomicReference<>();
+
+    // The number of the last action shown on the labels (guarded by the runner itself)
+    private long shownActions;
+
+    // Only used on the event thread: whether the timer runs, and since when
+    private boolean rendering;
+    private long renderingSince;
+
+    private final AnimationTimer renderer = new AnimationTimer() {
+
+        @Override
+        public void handle(long now) {
+
+            render(now);
+        }
+    };
+
+    CalculationRunner(Consumer<DisplayUpdate> display, int topDisplayCharacters, Node busyIndicator) {
+
+        this.display = display;
+        this.topDisplayCharacters = topDisplayCharacters;
+        this.busyIndicator = busyIndicator;
+    }
+
+    // Carry out the action on the session in the background (must be called from the event thread)
+    void submit(CalculatorSession session, Consumer<CalculatorSession> action) {
+
+        long actionNumber = submittedActions.incrementAndGet();
+        if (!rendering) {
+
+            rendering = true;
+            renderingSince = System.nanoTime();
+            renderer.start();
+        }
+
+        executor.execute(() -> {
+
+            try {
+
+                if (startAction(actionNumber)) {
+
+                    action.accept(session);
+                }
+            }
+            catch (RuntimeException exception) {
+
+                reportFailure(session, exception);
+            }
+
+            // Show the session even if the action failed, so the busy indicator goes away
+            finally {
+
+                finishAction();
+
+                // Leave showing the session to the next action, if there is one already
+                if (actionNumber == submittedActions.get()) {
+
+                    pendingUpdate.set(new DisplayUpdate(actionNumber, session, topDisplayCharacters));
+                }
+            }
+        });
+    }
+
+    // Skip every action handed to the runner so far that has not been carried out yet, and interrupt the running one
+    synchronized void cancelPendingActions() {
+
+        cancelledActions = submittedActions.get();
+        if (runningAction != 0) {
+
+            worker.interrupt();
+        }
+    }
+
+    // Find out if the action should be carried out, and remember it as the running one if so
+    private synchronized boolean startAction(long actionNumber) {
+
+        if (actionNumber <= cancelledActions) {
+
+            return false;
+        }
+        runningAction = actionNumber;
+        worker = Thread.currentThread();
+        return true;
+    }
+
+    // Forget the running action, and clear an interrupt that was meant for it, so the next action is not affected
+    private synchronized void finishAction() {
+
+        runningAction = 0;
+        Thread.interrupted();
+    }
+
+    // Report the exception of a failed action, and start the session over with an error the user can see
+    private static void reportFailure(CalculatorSession session, RuntimeException exception) {
+
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+
+        session.clearCalculator();
+        session.getDisplay().showError(CalculationError.FAILURE);
+    }
+
+    /* Wait until every action handed to the runner so far has been carried out and shown on the labels
+    (used by the tests, must not be called from the event thread)*/
+    void awaitActions() throws InterruptedException {
+
+        long lastAction = submittedActions.get();
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(latch::countDown);
+        latch.await();
+
+        synchronized (this) {
+
+            while (shownActions < lastAction) {
+
+                wait();
+            }
+        }
+    }
+
+    // Render the latest display update once per pulse, and stop the timer when everything is shown
+    private void render(long now) {
+
+        DisplayUpdate update = pendingUpdate.getAndSet(null);
+        if (update != null) {
+
+            display.accept(update);
+            synchronized (this) {
+
+                shownActions = update.actionNumber;
+                notifyAll();
+            }
+        }
+
+        if (update != null && update.actionNumber == submittedActions.get()) {
+
+            renderer.stop();
+            rendering = false;
+            busyIndicator.setVisible(false);
+        }
+        else if (now - renderingSince > BUSY_INDICATOR_DELAY) {
+
+            busyIndicator.setVisible(true);
+        }
+    }
+
+    // The display strings and the settings of the session after an action, copied on the background thread
+    static class DisplayUpdate {
+
+        private final long actionNumber;
+        final String displayedNumber;
+        final String topDisplay;
+        final NumberMode numberMode;
+        final Radix radix;
+        final EvaluationOrder evaluationOrder;
+
+        // The displayed number in each radix (indexed by the ordinal), only in the PROGRAMMER mode without an error
+        private final String[] words = new String[Radix.values().length];
+
+        DisplayUpdate(long actionNumber, CalculatorSession session, int topDisplayCharacters) {
+
+            this.actionNumber = actionNumber;
+            displayedNumber = session.getDisplayedNumberString();
+            topDisplay = session.getVisibleTopDisplayString(topDisplayCharacters);
+            numberMode = session.getNumberMode();
+            radix = session.getRadix();
+            evaluationOrder = session.getEvaluationOrder();
+
+            // An error message is not a word
+            boolean showWords = numberMode == NumberMode.PROGRAMMER
+                    && session.getDisplay().getError() == CalculationError.NONE;
+            for (Radix wordRadix : Radix.values()) {
+
+                words[wordRadix.ordinal()] = showWords ? session.getDisplay().getDisplayedWordString(wordRadix) : "";
+            }
+        }
+
+        // The displayed number in the given radix, or an empty string if it is not shown
+        String getWord(Radix wordRadix) {
+
+            return words[wordRadix.ordinal()];
+        }
+    }
+}
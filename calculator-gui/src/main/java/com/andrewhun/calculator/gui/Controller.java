@@ -0,0 +1,426 @@
+/*
+*   This file contains the Controller class, which connects the window of this calculator app to a
+* CalculatorSession. Different types of user interactions are handled by different functions, and none of
+* them keeps any state of the calculation: each one forwards the user's action to the session and then shows
+* the session's display strings to the user.
+*
+* The general layout of the program:
+*   The state of a calculation (the selected operation, the state of the display, the numbers and the display
+* strings) is owned by a CalculatorSession, and so is the logic that reacts to the buttons. The session keeps
+* its display strings in a CalculatorDisplay and does the actual calculations with a CalculationEngine, which
+* uses primitive doubles in the DOUBLE number mode and exact numbers in the others (see NumberMode). The
+* Controller is bound to one session. By default it is the session behind the static DisplayHandler and
+* CalculationHandler facades (which are only kept for the code that still uses them), so a second window (or
+* any other code) should create a session of its own.
+*   The handlers do not touch the session on the JavaFX Application Thread. They hand the user's action to a
+* CalculationRunner, which carries it out in the background and brings the display strings back to the labels,
+* so the window keeps responding while a calculation is running. The labels are only set once per frame, from
+* the display strings of the latest action, however many actions were carried out in that frame. Pressing "C"
+* cancels the actions that are still waiting and stops a paste that is still running, since clearing the
+* calculator would throw away their results anyway.
+*   The keys below the scientific functions belong to the PROGRAMMER number mode: the hexadecimal digits, the
+* remainder, the bitwise operations, the shifts and the rotations. Two buttons step through the number modes and
+* the radices (which can only be changed in the PROGRAMMER mode), and show the ones in use. In the PROGRAMMER mode
+* the displayed number is also shown in every radix, below the display. The last button switches the evaluation
+* order between LEFT_TO_RIGHT, like a pocket calculator, and OPERATOR_PRECEDENCE, so "2 + 3 * 4 =" gives 14.
+*   Besides the buttons, the calculator can be used with the keyboard. Keys are handed to the session as
+* characters (pressKey), without looking up the button that belongs to them, and a text pasted from the
+* clipboard is handed over as a whole (pasteText), so a long paste is a single action instead of one
+* event per character.
+*
+* The main caveat of the design:
+*   The most glaring issue with this program lies in the way the display is handled. Since the session is not a
+* controller, it has no direct access to the FXML display objects. This means that the Controller class has to
+* copy the display strings of the session to the labels after the actions that change them. This hurts the
+* encapsulation of both classes and means that they are tightly coupled. Also, it is assumed that the labels
+* and the display strings of the session contain the same values at any given time. This cannot be enforced
+* easily however, thus this element of the application is prone to errors. Please proceed with caution if you
+* wish to modify or expand (or both) it.
+*   I considered a different approach, one which uses multiple controllers and FXML files, and relies on
+* controller to controller communication. I have decided against using it, however. I find that solution to
+* be an "overkill" for such a small application as this. That being said, for bigger programs
+*(bigger interface, multiple tabs, etc.) I would definitely opt for that solution.
+*
+* On the topic of using Doubles for calculation.
+*   The calculator started out calculating with Doubles only, for the sake of reduced complexity. The DOUBLE number
+* mode still does (with primitive doubles), and it is the default, but the other number modes keep their numbers
+* exactly (see NumberMode), so the rounding errors of doubles can be avoided where they matter.
+ */
+package com.andrewhun.calculator.gui;
+
+import javafx.fxml.FXML;
+import javafx.event.Event;
+import javafx.scene.control.Label;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.Clipboard;
+import javafx.scene.control.Button;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyCodeCombination;
+import java.util.function.Consumer;
+import javafx.scene.control.ProgressIndicator;
+import com.andrewhun.calculator.Radix;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.NumberMode;
+import com.andrewhun.calculator.EvaluationOrder;
+import com.andrewhun.calculator.DisplayState;
+import com.andrewhun.calculator.DisplayHandler;
+import com.andrewhun.calculator.CalculatorSession;
+import com.andrewhun.calculator.CalculationHandler;
+import com.andrewhun.calculator.ScientificFunction;
+import com.andrewhun.calculator.scene.GenerateScene;
+
+// The window is built by the generated CalculatorScene class, so the fields set from the FXML file are not private
+@GenerateScene(fxml = "fxml/calculator.fxml", className = "CalculatorScene")
+public class Controller {
+
+     // The calculation this Controller shows to the user
+     private volatile CalculatorSession session =
+             new CalculatorSession(CalculationHandler.getEngine(), DisplayHandler.getDisplay());
+
+     // The main display, containing the number currently in the focus of the application
+     @FXML Label displayedNumber;
+
+     /* The secondary display, containing the chain of operations and earlier values that belong to the
+     current calculation.*/
+    @FXML Label topDisplay;
+
+    /* The most characters of the chain handed to the top display. The label cuts off whatever does
+    not fit its width at the left (see the FXML file), so this only has to be a bit more than fits.*/
+    private static final int TOP_DISPLAY_CHARACTERS = 48;
+
+    // The displayed number in every radix, in the PROGRAMMER mode
+    @FXML Label hexadecimalWord;
+    @FXML Label decimalWord;
+    @FXML Label octalWord;
+    @FXML Label binaryWord;
+
+    // The buttons that change the number mode, the radix and the evaluation order, showing the ones in use
+    @FXML Button numberModeBtn;
+    @FXML Button radixBtn;
+    @FXML Button evaluationOrderBtn;
+
+    // Shown next to the displayed number while a calculation takes longer than a frame
+    @FXML ProgressIndicator busyIndicator;
+
+    // Carries out the user's actions in the background
+    private CalculationRunner runner;
+
+    // The root of the window, whose scene receives the keys typed by the user
+    @FXML AnchorPane calculatorPane;
+
+    // The usual shortcuts for pasting (Ctrl+V, or Cmd+V on a Mac, and Shift+Insert)
+    private static final KeyCombination PASTE = new KeyCodeCombination(KeyCode.V, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination PASTE_WITH_INSERT =
+            new KeyCodeCombination(KeyCode.INSERT, KeyCombination.SHIFT_DOWN);
+
+    // Set up the runner and the keyboard once the labels are loaded (called by the generated scene or the FXMLLoader)
+    @FXML
+    public void initialize() {
+
+        runner = new CalculationRunner(this::showUpdate, TOP_DISPLAY_CHARACTERS, busyIndicator);
+
+        // Listen to the keys on the whole scene, so they work whichever button has the focus
+        calculatorPane.sceneProperty().addListener((observable, oldScene, newScene) -> {
+
+            if (newScene != null) {
+
+                listenToKeyboard(newScene);
+            }
+        });
+    }
+
+    // Create getters and setters for the status variables
+    public Operation getSelectedOperation() {
+
+        return session.getSelectedOperation();
+    }
+
+    public void setSelectedOperation(Operation newOperation) {
+
+        session.setSelectedOperation(newOperation);
+    }
+
+    public DisplayState getDisplayState() {
+
+        return session.getDisplayState();
+    }
+
+    public void setDisplayState(DisplayState newState) {
+
+        session.setDisplayState(newState);
+    }
+
+    public CalculatorSession getSession() {
+
+        return session;
+    }
+
+    // Bind the Controller to another session and show that session's display to the user
+    public void bindSession(CalculatorSession newSession) {
+
+        session = newSession;
+
+        // Nothing to do but show the new session, once the actions for the old one are done
+        submit(session -> { });
+    }
+
+    // React to the "digit buttons" being pushed
+    public void selectActionForDigits(Event event) {
+
+        // Find out which button did the user press
+        Button digitButton = (Button) event.getSource();
+        char selectedDigit = digitButton.getText().charAt(0);
+
+        // Typed like a key, so the digits that do not belong to the radix (such as "A" or "9" in OCTAL) are ignored
+        submit(session -> session.pressKey(selectedDigit));
+    }
+
+    // React to the buttons of the scientific functions, whose text is the name of the function
+    public void selectActionForFunctions(Event event) {
+
+        Button functionButton = (Button) event.getSource();
+        ScientificFunction function = ScientificFunction.fromName(functionButton.getText());
+
+        submit(session -> session.applyFunction(function));
+    }
+
+    // React to the backspace button being pushed
+    public void selectActionForBackspace() {
+
+        submit(CalculatorSession::deleteDigit);
+    }
+
+    // Add or remove the minus sign to/from the displayed number
+    public void changeSignOfNumber() {
+
+        submit(CalculatorSession::changeSignOfNumber);
+    }
+
+    // React to the "decimal point button" being pushed
+    public void addDecimalPoint() {
+
+        submit(CalculatorSession::addDecimalPoint);
+    }
+    /*
+     * The "initiateOperation" functions below are used instead of doing a string comparison
+     * ("if the button pressed had a + sign as its text value then the user wants to add numbers together.. etc.")
+     * So basically they just let the prepareForOperation function know which operation does it need to handle.
+     * I find this solution to be less complex than the string comparison, but this is my subjective opinion.
+     */
+
+    // React to the "+" button being pressed
+    public void initiateAddition() { prepareForOperation(Operation.ADDITION); }
+
+    // React to the "-" button being pressed
+    public void initiateSubtraction() { prepareForOperation(Operation.SUBTRACTION); }
+
+    // React to the "*" button being pressed
+    public void initiateMultiplication() { prepareForOperation(Operation.MULTIPLICATION); }
+
+    // React to the "/" button being pressed
+    public void initiateDivision() { prepareForOperation(Operation.DIVISION); }
+
+    // React to the "x^y" button being pressed
+    public void initiatePower() { prepareForOperation(Operation.POWER); }
+
+    // React to the "%" button being pressed
+    public void initiateModulo() { prepareForOperation(Operation.MODULO); }
+
+    // React to the "&" button being pressed
+    public void initiateAnd() { prepareForOperation(Operation.AND); }
+
+    // React to the "|" button being pressed
+    public void initiateOr() { prepareForOperation(Operation.OR); }
+
+    // React to the "^" button being pressed
+    public void initiateXor() { prepareForOperation(Operation.XOR); }
+
+    // React to the "<<" button being pressed
+    public void initiateShiftLeft() { prepareForOperation(Operation.SHIFT_LEFT); }
+
+    // React to the ">>" button being pressed
+    public void initiateShiftRight() { prepareForOperation(Operation.SHIFT_RIGHT); }
+
+    // React to the "rol" button being pressed
+    public void initiateRotateLeft() { prepareForOperation(Operation.ROTATE_LEFT); }
+
+    // React to the "ror" button being pressed
+    public void initiateRotateRight() { prepareForOperation(Operation.ROTATE_RIGHT); }
+
+    // Switch to the next number mode, which starts over with a clear calculator
+    public void changeNumberMode() {
+
+        submit(session -> {
+
+            NumberMode[] modes = NumberMode.values();
+            session.setNumberMode(modes[(session.getNumberMode().ordinal() + 1) % modes.length]);
+        });
+    }
+
+    // Switch to the next radix, if the PROGRAMMER mode is in use (the other modes only have DECIMAL)
+    public void changeRadix() {
+
+        submit(session -> {
+
+            if (session.getNumberMode() == NumberMode.PROGRAMMER) {
+
+                Radix[] radices = Radix.values();
+                session.setRadix(radices[(session.getRadix().ordinal() + 1) % radices.length]);
+            }
+        });
+    }
+
+    // Switch between the evaluation orders, which starts over with a clear calculator
+    public void changeEvaluationOrder() {
+
+        submit(session -> session.setEvaluationOrder(session.getEvaluationOrder() == EvaluationOrder.LEFT_TO_RIGHT
+                ? EvaluationOrder.OPERATOR_PRECEDENCE : EvaluationOrder.LEFT_TO_RIGHT));
+    }
+
+    // Prepare the display for the next number
+    public void setupDisplayForNextNumber(Operation nextOperation) {
+
+        submit(session -> session.setupDisplayForNextNumber(nextOperation));
+    }
+
+    /* Change the operation that was selected earlier to match the last choice the user made
+    and change the top display to show the correct operation to the user*/
+
+    public void changeOperation(Operation newOperation) {
+
+       submit(session -> session.changeOperation(newOperation));
+    }
+
+    /* Set up the calculator for executing the selected operation, or initiate the execution of
+    an earlier operation if the user is chaining multiple operations in a calculation */
+    public void prepareForOperation(Operation newOperation) {
+
+        submit(session -> session.prepareForOperation(newOperation));
+    }
+
+    // Execute the selected operation and set up for the next task
+    public void executeOperation(Operation newOperation) {
+
+        submit(session -> session.executeOperation(newOperation));
+    }
+
+    // Calculate the final result of the calculation when the "=" button is pressed
+    public void calculateResult() {
+
+        submit(CalculatorSession::calculateResult);
+    }
+
+    // Reset the calculator to its default state, except for the displayed number
+    public void resetCalculator() {
+
+        submit(CalculatorSession::resetCalculator);
+    }
+
+    // Erase all information regarding the current calculation when the "C" button is pressed
+    public void clearCalculator() {
+
+        // Whatever is still waiting to be calculated would be cleared right away
+        runner.cancelPendingActions();
+        submit(CalculatorSession::clearCalculator);
+    }
+
+    // Hand the text on the clipboard to the session, as if all of its characters had been typed in
+    public void pasteFromClipboard() {
+
+        String text = Clipboard.getSystemClipboard().getString();
+        if (text != null) {
+
+            submit(session -> session.pasteText(text));
+        }
+    }
+
+    // React to the keys that do not type a character (backspace, escape, delete, enter) and to pasting
+    private void handleKeyPressed(KeyEvent event) {
+
+        if (PASTE.match(event) || PASTE_WITH_INSERT.match(event)) {
+
+            pasteFromClipboard();
+            event.consume();
+            return;
+        }
+
+        switch (event.getCode()) {
+
+            case BACK_SPACE:
+
+                selectActionForBackspace();
+                break;
+
+            case ESCAPE:
+            case DELETE:
+
+                clearCalculator();
+                break;
+
+            // Consumed, so it does not press the button that has the focus as well
+            case ENTER:
+
+                calculateResult();
+                break;
+
+            // Characters are handled once they are typed, whichever keys the keyboard layout needs for them
+            default:
+
+                return;
+        }
+        event.consume();
+    }
+
+    // React to a character being typed (digits, the decimal point, operators and "=")
+    private void handleKeyTyped(KeyEvent event) {
+
+        String character = event.getCharacter();
+        if (character.length() != 1 || event.isShortcutDown()) {
+
+            return;
+        }
+
+        // Control characters come from keys that were already handled when they were pressed
+        char key = character.charAt(0);
+        if (key >= ' ') {
+
+            submit(session -> session.pressKey(key));
+            event.consume();
+        }
+    }
+
+    private void listenToKeyboard(Scene scene) {
+
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, this::handleKeyPressed);
+        scene.addEventFilter(KeyEvent.KEY_TYPED, this::handleKeyTyped);
+    }
+
+    // Wait until the actions of the user so far have been carried out (the labels are updated a bit later)
+    void awaitCalculations() throws InterruptedException {
+
+        runner.awaitActions();
+    }
+
+    // Hand the action to the runner, together with the session it belongs to
+    private void submit(Consumer<CalculatorSession> action) {
+
+        runner.submit(session, action);
+    }
+
+    // Show the display strings and the settings of the session to the user
+    private void showUpdate(CalculationRunner.DisplayUpdate update) {
+
+        displayedNumber.setText(update.displayedNumber);
+        topDisplay.setText(update.topDisplay);
+        numberModeBtn.setText(update.numberMode.name());
+        radixBtn.setText(update.radix.name());
+        evaluationOrderBtn.setText(update.evaluationOrder.name());
+        hexadecimalWord.setText(update.getWord(Radix.HEXADECIMAL));
+        decimalWord.setText(update.getWord(Radix.DECIMAL));
+        octalWord.setText(update.getWord(Radix.OCTAL));
+        binaryWord.setText(update.getWord(Radix.BINARY));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+* This file contains the Main class of a GUI calculator application, that is capable of performing
+* the four basic operations (addition, subtraction, multiplication and division), powers, scientific
+* functions and the operations of a programmer's calculator, with several kinds of numbers.
+* This class is responsible for starting up the application using calculator.fxml for the visuals.
+* The FXML file is not loaded when the application starts: the CalculatorScene class, generated from it
+* while compiling, builds the same window with plain Java code, which saves the XML parsing and the
+* reflection of the FXMLLoader (javafx.fxml is not even part of the runtime image). The startup benchmark
+* still loads the FXML file with an FXMLLoader of its own, for comparison.
+*   Started with -Dcalculator.startupCheck=true, the application reports the time from the start of the
+* process to its first frame and exits right away. The runtime image script uses this for the training
+* run that records the class data sharing archive, and for measuring the start of the finished image.
+* This class is NOT responsible for handling user interactions; the Controller class has that responsibility.
+ */
+
+package com.andrewhun.calculator.gui;
+
+import java.time.Instant;
+import java.time.Duration;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.scene.Parent;
+import javafx.application.Platform;
+import javafx.application.Application;
+
+public class Main extends Application {
+
+    private static Controller controller;
+
+    private static final String STARTUP_CHECK_PROPERTY = "calculator.startupCheck";
+
+    @Override
+    public void start(Stage primaryStage) throws Exception{
+        Parent root = createRoot();
+
+        primaryStage.setTitle("CalculatorGUI");
+        primaryStage.setScene(new Scene(root, 300, 665));
+        if (Boolean.getBoolean(STARTUP_CHECK_PROPERTY)) {
+
+            exitAfterFirstFrame(primaryStage.getScene());
+        }
+        primaryStage.show();
+    }
+
+    public static void main(String[] args) {
+        Application.launch(args);
+    }
+
+    // Build the window with the code generated from calculator.fxml
+    public static Parent createRoot() {
+
+        controller = new Controller();
+        return CalculatorScene.build(controller);
+    }
+
+    // Report the time it took to get to the first frame, then exit (the first frame is drawn right after the layout)
+    private static void exitAfterFirstFrame(Scene scene) {
+
+        scene.addPostLayoutPulseListener(new Runnable() {
+
+            @Override
+            public void run() {
+
+                scene.removePostLayoutPulseListener(this);
+                Instant processStart = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+                System.out.println("First frame after " + Duration.between(processStart, Instant.now()).toMillis() + " ms");
+                Platform.exit();
+            }
+        });
+    }
+
+    // Grant access to the Controller class for testing purposes
+    public static Controller getController() {
+
+        return controller;
+    }
+}
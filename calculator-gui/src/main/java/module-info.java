@@ -0,0 +1,21 @@
+/*
+* The module of the JavaFX application. The only JavaFX module it needs is javafx.controls, which brings
+* javafx.graphics and javafx.base along. The window is built by the generated CalculatorScene class, so
+* javafx.fxml is only needed to compile the @FXML annotations of the Controller; it is not required at
+* runtime and jlink leaves it (and the java.scripting and java.xml modules it needs) out of the image.
+* The startup benchmark, which still loads the FXML file for comparison, brings javafx.fxml along itself.
+ */
+module com.andrewhun.calculator.gui {
+
+    requires com.andrewhun.calculator.core;
+    requires javafx.controls;
+    requires static javafx.fxml;
+
+    // Only the annotation on the Controller, which is gone once the application is compiled
+    requires static com.andrewhun.calculator.scene;
+
+    // JavaFX creates the Main class, and the FXMLLoader (when there is one) sets the @FXML fields of the Controller
+    exports com.andrewhun.calculator.gui to javafx.graphics;
+    opens com.andrewhun.calculator.gui to javafx.fxml;
+    opens fxml to javafx.fxml;
+}
@@ -8,10 +8,26 @@
 * focuses on the internal working of the Controller class (especially focusing on the status
 * variables, as well as the variables of the DisplayHandler and CalculationHandler classes).
  */
-package com.andrewhun.calculator;
+package com.andrewhun.calculator.gui;
 
 import org.junit.jupiter.api.Test;
+import javafx.scene.input.KeyCode;
+import javafx.scene.control.Label;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.beans.value.ChangeListener;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
+import static org.testfx.api.FxAssert.verifyThat;
+import static org.testfx.matcher.control.LabeledMatchers.hasText;
+import com.andrewhun.calculator.Radix;
+import com.andrewhun.calculator.Operation;
+import com.andrewhun.calculator.NumberMode;
+import com.andrewhun.calculator.EvaluationOrder;
+import com.andrewhun.calculator.DisplayState;
+import com.andrewhun.calculator.CalculatorSession;
+import com.andrewhun.calculator.DisplayHandler;
+import com.andrewhun.calculator.CalculationHandler;
 
 public class ControllerTestCase extends TestFXBaseClass {
 
@@ -490,4 +506,279 @@ public class ControllerTestCase extends TestFXBaseClass {
         Assertions.assertEquals("0 + ", DisplayHandler.getTopDisplayString());
         Assertions.assertEquals(ZERO, CalculationHandler.getFirstNumber());
     }
+
+    // Test that actions are carried out in the order they were made, and only the last one is shown
+    @Test
+    void TestActionsAreCarriedOutInOrder() {
+
+        controller = Main.getController();
+
+        interact(() -> {
+
+            for (int i = 0; i < 1000; i++) {
+
+                controller.prepareForOperation(Operation.ADDITION);
+                controller.setupDisplayForNextNumber(Operation.ADDITION);
+            }
+            controller.calculateResult();
+        });
+        awaitCalculations();
+
+        Assertions.assertEquals(DEFAULT_DISPLAY_VALUE, DisplayHandler.getDisplayedNumberString());
+        Assertions.assertEquals(EMPTY, DisplayHandler.getTopDisplayString());
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText(DEFAULT_DISPLAY_VALUE));
+        verifyThat(BUSY_INDICATOR_ID_TAG, node -> !node.isVisible());
+    }
+
+    // Test that clearing the calculator skips the actions that are still waiting
+    @Test
+    void TestClearCancelsPendingActions() {
+
+        controller = Main.getController();
+
+        clickOn(ONE_BUTTON_ID_TAG);
+        interact(() -> {
+
+            for (int i = 0; i < 1000; i++) {
+
+                controller.selectActionForBackspace();
+                controller.addDecimalPoint();
+            }
+            controller.clearCalculator();
+        });
+        awaitCalculations();
+
+        Assertions.assertEquals(DEFAULT_DISPLAY_VALUE, DisplayHandler.getDisplayedNumberString());
+        Assertions.assertEquals(DisplayState.DEFAULT, controller.getDisplayState());
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText(DEFAULT_DISPLAY_VALUE));
+    }
+
+    // Test that a burst of input only changes the label a few times (at most once per frame)
+    @Test
+    void TestDisplayIsRenderedOncePerPulse() {
+
+        controller = Main.getController();
+        Label displayedNumber = lookup(DISPLAYED_NUMBER_ID_TAG).query();
+        AtomicInteger changes = new AtomicInteger();
+        ChangeListener<String> listener = (observable, oldText, newText) -> changes.incrementAndGet();
+
+        clickOn(ONE_BUTTON_ID_TAG);
+        interact(() -> {
+
+            displayedNumber.textProperty().addListener(listener);
+            for (int i = 0; i < 1000; i++) {
+
+                controller.addDecimalPoint();
+                controller.selectActionForBackspace();
+            }
+        });
+        awaitCalculations();
+        interact(() -> displayedNumber.textProperty().removeListener(listener));
+
+        Assertions.assertEquals("1", displayedNumber.getText());
+        Assertions.assertTrue(changes.get() < 100, changes.get() + " changes for 2000 actions");
+    }
+
+    // Test that the buttons of the scientific functions apply their function to the displayed number
+    @Test
+    void TestSelectActionForFunctions() {
+
+        controller = Main.getController();
+
+        clickOn(ONE_BUTTON_ID_TAG);
+        clickOn(ZERO_BUTTON_ID_TAG);
+        clickOn(ZERO_BUTTON_ID_TAG);
+        clickOn(SQUARE_ROOT_BUTTON_ID_TAG);
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText("10"));
+        Assertions.assertEquals(DisplayState.DEFAULT, controller.getDisplayState());
+
+        clickOn(PLUS_BUTTON_ID_TAG);
+        clickOn(ONE_BUTTON_ID_TAG);
+        clickOn(SQUARE_ROOT_BUTTON_ID_TAG);
+        Assertions.assertEquals(DisplayState.FUNCTION_RESULT, controller.getDisplayState());
+        clickOn(EQUALS_BUTTON_ID_TAG);
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText("11"));
+    }
+
+    // Test typing a calculation on the keyboard
+    @Test
+    void TestKeyboardInput() {
+
+        write("12+3");
+        type(KeyCode.ENTER);
+        awaitCalculations();
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText("15"));
+
+        write("45");
+        type(KeyCode.BACK_SPACE);
+        awaitCalculations();
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText("4"));
+
+        type(KeyCode.ESCAPE);
+        awaitCalculations();
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText(DEFAULT_DISPLAY_VALUE));
+    }
+
+    // Test that a long text on the clipboard is pasted as a whole
+    @Test
+    void TestPasteFromClipboard() {
+
+        controller = Main.getController();
+
+        StringBuilder text = new StringBuilder("1");
+        for (int i = 1; i < 50_000; i++) {
+
+            text.append("+1");
+        }
+        text.append('=');
+
+        interact(() -> {
+
+            ClipboardContent content = new ClipboardContent();
+            content.putString(text.toString());
+            Clipboard.getSystemClipboard().setContent(content);
+            controller.pasteFromClipboard();
+        });
+        awaitCalculations();
+
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText("50000"));
+        Assertions.assertEquals(EMPTY, DisplayHandler.getTopDisplayString());
+    }
+
+    // Test the keys of the PROGRAMMER mode, the mode and radix buttons and the displayed number in every radix
+    @Test
+    void TestProgrammerMode() {
+
+        controller = Main.getController();
+
+        // DOUBLE, INTEGER, DECIMAL, DOUBLE_DOUBLE, RATIONAL, PROGRAMMER
+        for (int i = 0; i < 5; i++) {
+
+            clickOn(NUMBER_MODE_BUTTON_ID_TAG);
+        }
+        Assertions.assertEquals(NumberMode.PROGRAMMER, controller.getSession().getNumberMode());
+        verifyThat(NUMBER_MODE_BUTTON_ID_TAG, hasText("PROGRAMMER"));
+
+        // "A" is not a digit in DECIMAL
+        clickOn(HEX_DIGIT_A_ID_TAG);
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText(DEFAULT_DISPLAY_VALUE));
+
+        // BINARY, OCTAL, DECIMAL, HEXADECIMAL
+        clickOn(RADIX_BUTTON_ID_TAG);
+        Assertions.assertEquals(Radix.HEXADECIMAL, controller.getSession().getRadix());
+        verifyThat(RADIX_BUTTON_ID_TAG, hasText("HEXADECIMAL"));
+
+        clickOn(HEX_DIGIT_A_ID_TAG);
+        verifyThat(HEXADECIMAL_WORD_ID_TAG, hasText("A"));
+        verifyThat(BINARY_WORD_ID_TAG, hasText("1010"));
+
+        // A rol 1 is 14, and 14 & 10 is 10
+        clickOn(ROTATE_LEFT_BUTTON_ID_TAG);
+        clickOn(ONE_BUTTON_ID_TAG);
+        clickOn(AND_BUTTON_ID_TAG);
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText("14"));
+
+        clickOn(ONE_BUTTON_ID_TAG);
+        clickOn(ZERO_BUTTON_ID_TAG);
+        clickOn(EQUALS_BUTTON_ID_TAG);
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText("10"));
+        verifyThat(BINARY_WORD_ID_TAG, hasText("10000"));
+
+        // Back to DOUBLE, where the radix is DECIMAL again and the words are not shown
+        clickOn(NUMBER_MODE_BUTTON_ID_TAG);
+        Assertions.assertEquals(NumberMode.DOUBLE, controller.getSession().getNumberMode());
+        verifyThat(RADIX_BUTTON_ID_TAG, hasText("DECIMAL"));
+        verifyThat(HEXADECIMAL_WORD_ID_TAG, hasText(EMPTY));
+
+        // The radix stays DECIMAL outside the PROGRAMMER mode
+        clickOn(RADIX_BUTTON_ID_TAG);
+        Assertions.assertEquals(Radix.DECIMAL, controller.getSession().getRadix());
+    }
+
+    // Test that the evaluation order button switches between the orders and shows the one in use
+    @Test
+    void TestChangeEvaluationOrder() {
+
+        controller = Main.getController();
+
+        clickOn(EVALUATION_ORDER_BUTTON_ID_TAG);
+        Assertions.assertEquals(EvaluationOrder.OPERATOR_PRECEDENCE, controller.getSession().getEvaluationOrder());
+        verifyThat(EVALUATION_ORDER_BUTTON_ID_TAG, hasText("OPERATOR_PRECEDENCE"));
+
+        clickOn(ONE_BUTTON_ID_TAG);
+        clickOn(ONE_BUTTON_ID_TAG);
+        clickOn(PLUS_BUTTON_ID_TAG);
+        clickOn(ONE_BUTTON_ID_TAG);
+        clickOn(ASTERISK_BUTTON_ID_TAG);
+        clickOn(ONE_BUTTON_ID_TAG);
+        clickOn(ZERO_BUTTON_ID_TAG);
+        clickOn(EQUALS_BUTTON_ID_TAG);
+
+        // 11 + 1 * 10 is 21 with the precedences, and would be 120 from left to right
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText("21"));
+
+        clickOn(EVALUATION_ORDER_BUTTON_ID_TAG);
+        Assertions.assertEquals(EvaluationOrder.LEFT_TO_RIGHT, controller.getSession().getEvaluationOrder());
+        verifyThat(EVALUATION_ORDER_BUTTON_ID_TAG, hasText("LEFT_TO_RIGHT"));
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText(DEFAULT_DISPLAY_VALUE));
+    }
+
+    // Test that the power button raises the first number to the power of the second
+    @Test
+    void TestInitiatePower() {
+
+        controller = Main.getController();
+
+        clickOn(ONE_BUTTON_ID_TAG);
+        clickOn(ZERO_BUTTON_ID_TAG);
+        clickOn(POWER_BUTTON_ID_TAG);
+        clickOn(ONE_BUTTON_ID_TAG);
+        clickOn(ZERO_BUTTON_ID_TAG);
+        Assertions.assertEquals(Operation.POWER, controller.getSelectedOperation());
+        verifyThat(TOP_DISPLAY_ID_TAG, hasText("10 \u2191 "));
+
+        clickOn(EQUALS_BUTTON_ID_TAG);
+        verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText("1.0E10"));
+    }
+
+    // Test that an action failing with an exception shows an error, and the calculator can still be used after it
+    @Test
+    void TestFailedAction() {
+
+        controller = Main.getController();
+        CalculatorSession originalSession = controller.getSession();
+
+        // A session whose first key fails
+        AtomicInteger keys = new AtomicInteger();
+        CalculatorSession failingSession = new CalculatorSession() {
+
+            @Override
+            public boolean pressKey(char key) {
+
+                if (keys.getAndIncrement() == 0) {
+
+                    throw new IllegalStateException("Test failure");
+                }
+                return super.pressKey(key);
+            }
+        };
+        interact(() -> controller.bindSession(failingSession));
+
+        try {
+
+            clickOn(ONE_BUTTON_ID_TAG);
+            verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText("Error: Calculation failed"));
+
+            clickOn(ONE_BUTTON_ID_TAG);
+            clickOn(PLUS_BUTTON_ID_TAG);
+            clickOn(ONE_BUTTON_ID_TAG);
+            clickOn(EQUALS_BUTTON_ID_TAG);
+            verifyThat(DISPLAYED_NUMBER_ID_TAG, hasText("2"));
+        }
+        finally {
+
+            interact(() -> controller.bindSession(originalSession));
+            awaitCalculations();
+        }
+    }
 }
@@ -1,7 +1,7 @@
 /*
 * This file contains the integration tests for the CalculatorGui application.
  */
-package com.andrewhun.calculator;
+package com.andrewhun.calculator.gui;
 
 import org.junit.jupiter.api.Test;
 import static org.testfx.api.FxAssert.verifyThat;
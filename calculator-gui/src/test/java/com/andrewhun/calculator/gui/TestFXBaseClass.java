@@ -1,14 +1,17 @@
 /*
 * This file contains the TestFXBaseClass, which serves as the base for the two
 * test cases using TestFX: MainTestCase and ControllerTestCase. The class contains a lot of
-* named constants and a few methods (start, setUp and tearDown)
+* named constants and a few methods (start, setUp and tearDown). Clicking on a button also waits for
+* the Controller to carry out the action in the background and to show the result on the labels.
  */
-package com.andrewhun.calculator;
+package com.andrewhun.calculator.gui;
 
 import javafx.stage.Stage;
 import org.testfx.api.FxToolkit;
 import javafx.scene.input.KeyCode;
+import org.testfx.api.FxRobotInterface;
 import javafx.scene.input.MouseButton;
+import org.testfx.util.WaitForAsyncUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.testfx.framework.junit5.ApplicationTest;
@@ -26,8 +29,19 @@ public class TestFXBaseClass extends ApplicationTest {
     final String MINUS_BUTTON_ID_TAG = "#minusBtn";
     final String ASTERISK_BUTTON_ID_TAG = "#asterisk";
     final String SLASH_BUTTON_ID_TAG = "#slash";
+    final String POWER_BUTTON_ID_TAG = "#powerBtn";
     final String DECIMAL_POINT_ID_TAG = "#decimalPoint";
     final String EQUALS_BUTTON_ID_TAG = "#equalsBtn";
+    final String SQUARE_ROOT_BUTTON_ID_TAG = "#sqrtBtn";
+    final String BUSY_INDICATOR_ID_TAG = "#busyIndicator";
+    final String HEX_DIGIT_A_ID_TAG = "#hexDigitA";
+    final String AND_BUTTON_ID_TAG = "#andBtn";
+    final String ROTATE_LEFT_BUTTON_ID_TAG = "#rotateLeftBtn";
+    final String NUMBER_MODE_BUTTON_ID_TAG = "#numberModeBtn";
+    final String RADIX_BUTTON_ID_TAG = "#radixBtn";
+    final String EVALUATION_ORDER_BUTTON_ID_TAG = "#evaluationOrderBtn";
+    final String HEXADECIMAL_WORD_ID_TAG = "#hexadecimalWord";
+    final String BINARY_WORD_ID_TAG = "#binaryWord";
 
     final String DEFAULT_DISPLAY_VALUE = "0";
     final String EMPTY = "";
@@ -36,6 +50,28 @@ public class TestFXBaseClass extends ApplicationTest {
     public void start(Stage stage) throws Exception {
         new Main().start(stage);
     }
+    // Click on the button, then wait until its action is done and shown on the display
+    @Override
+    public FxRobotInterface clickOn(String query, MouseButton... buttons) {
+
+        FxRobotInterface robot = super.clickOn(query, buttons);
+        awaitCalculations();
+        return robot;
+    }
+
+    void awaitCalculations() {
+
+        try {
+
+            Main.getController().awaitCalculations();
+        }
+        catch (InterruptedException exception) {
+
+            Thread.currentThread().interrupt();
+        }
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
     @BeforeEach
     void setUp() {
 
@@ -0,0 +1,23 @@
+/*
+* This file contains the GenerateScene annotation. Putting it on a controller class makes the
+* SceneGenerator turn the given FXML file into a class (in the package of the controller) with a
+* static build method, which creates the same scene as the FXMLLoader would and wires it to the
+* controller given to it, without reading the FXML file or using reflection at runtime.
+ */
+package com.andrewhun.calculator.scene;
+
+import java.lang.annotation.Target;
+import java.lang.annotation.Retention;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.RetentionPolicy;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateScene {
+
+    // The FXML file, relative to the root of the resources (for example "fxml/calculator.fxml")
+    String fxml();
+
+    // The simple name of the generated class
+    String className();
+}
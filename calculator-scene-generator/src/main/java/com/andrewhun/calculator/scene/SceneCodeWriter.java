@@ -0,0 +1,561 @@
+/*
+* This file contains the SceneCodeWriter class, which turns the elements of an FXML file into Java
+* statements, doing at compile time what the FXMLLoader does every time the application starts:
+*   - every element becomes a local variable holding a new object of the imported class (created with
+*     its @NamedArg constructor if the class has no constructor without arguments),
+*   - attributes become calls to the setters, with the text converted to the type of the setter
+*     (numbers, booleans, strings and enum constants),
+*   - attributes like GridPane.columnIndex become calls to the static setters of that class,
+*   - property elements (such as <children>) add their elements to the list of the property, or pass
+*     the single element to the setter,
+*   - an fx:id becomes the id of the node, and is assigned to the field of the controller with the
+*     same name, if there is one,
+*   - handlers such as onAction="#calculateResult" become lambdas calling the controller's method,
+*     with or without the event, depending on the parameters of the method.
+* The types are looked up with the Elements and Types of the compiler, so there is no reflection and
+* the JavaFX classes do not have to be on the class path of the generator itself. The generated code
+* uses qualified class names, which saves it from having to manage imports.
+ */
+package com.andrewhun.calculator.scene;
+
+import java.util.Map;
+import java.util.List;
+import java.util.Locale;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.ProcessingInstruction;
+import javax.lang.model.util.Types;
+import javax.lang.model.util.Elements;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.AnnotationValue;
+import javax.annotation.processing.ProcessingEnvironment;
+
+class SceneCodeWriter {
+
+    // The namespaces of the fx: attributes and of the xmlns declarations
+    private static final String FXML_NAMESPACE = "http://javafx.com/fxml";
+    private static final String XMLNS_NAMESPACE = "http://www.w3.org/2000/xmlns/";
+
+    private static final String NAMED_ARG = "javafx.beans.NamedArg";
+    private static final String INDENT = "        ";
+
+    private final Elements elements;
+    private final Types types;
+    private final TypeElement controller;
+    private final String fxmlName;
+
+    // The imported classes of the FXML file, by their simple names
+    private final Map<String, String> imports = new HashMap<>();
+
+    private final StringBuilder body = new StringBuilder();
+    private int nodeCount;
+
+    SceneCodeWriter(ProcessingEnvironment environment, TypeElement controller, String fxmlName) {
+
+        this.elements = environment.getElementUtils();
+        this.types = environment.getTypeUtils();
+        this.controller = controller;
+        this.fxmlName = fxmlName;
+    }
+
+    // Write the source code of the class that builds the scene of the document
+    String write(String packageName, String className, Document document) {
+
+        readImports(document);
+        Element root = document.getDocumentElement();
+        checkController(root);
+
+        String rootVariable = writeElement(root);
+        ExecutableElement initialize = findMethod(controller, "initialize", 0);
+        if (initialize != null) {
+
+            addLine("controller.initialize();");
+        }
+
+        StringBuilder code = new StringBuilder();
+        code.append("/*\n");
+        code.append("* Generated by the SceneGenerator from ").append(fxmlName).append(". Change the FXML file instead of\n");
+        code.append("* this one, the class is written again every time the application is compiled.\n");
+        code.append(" */\n");
+        if (!packageName.isEmpty()) {
+
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        code.append("final class ").append(className).append(" {\n\n");
+        code.append("    private ").append(className).append("() {\n    }\n\n");
+        code.append("    // Build the scene and wire it to the controller, the same way FXMLLoader.load() would\n");
+        code.append("    static ").append(qualifiedName(root)).append(" build(")
+                .append(controller.getQualifiedName()).append(" controller) {\n\n");
+        code.append(body);
+        code.append(INDENT).append("return ").append(rootVariable).append(";\n");
+        code.append("    }\n");
+        code.append("}\n");
+        return code.toString();
+    }
+
+    // Collect the <?import ...?> instructions at the top of the document
+    private void readImports(Document document) {
+
+        NodeList nodes = document.getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+
+            Node node = nodes.item(i);
+            if (node.getNodeType() == Node.PROCESSING_INSTRUCTION_NODE) {
+
+                ProcessingInstruction instruction = (ProcessingInstruction) node;
+                if (!instruction.getTarget().equals("import")) {
+
+                    continue;
+                }
+                String className = instruction.getData().trim();
+                if (className.endsWith("*")) {
+
+                    throw new IllegalArgumentException("imports with wildcards are not supported: " + className);
+                }
+                imports.put(className.substring(className.lastIndexOf('.') + 1), className);
+            }
+        }
+    }
+
+    // Make sure the FXML file belongs to the annotated controller
+    private void checkController(Element root) {
+
+        NamedNodeMap attributes = root.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+
+            Attr attribute = (Attr) attributes.item(i);
+            String namespace = attribute.getNamespaceURI();
+            if (namespace != null && namespace.startsWith(FXML_NAMESPACE) && attribute.getLocalName().equals("controller")
+                    && !attribute.getValue().equals(controller.getQualifiedName().toString())) {
+
+                throw new IllegalArgumentException("the controller of the file is " + attribute.getValue());
+            }
+        }
+    }
+
+    // Write the statements creating the element and everything inside it, and return the name of its variable
+    private String writeElement(Element element) {
+
+        String typeName = qualifiedName(element);
+        TypeElement type = elements.getTypeElement(typeName);
+        if (type == null) {
+
+            throw new IllegalArgumentException("class " + typeName + " cannot be found");
+        }
+
+        // Sort the attributes into fx:id, properties and static properties
+        String fxId = null;
+        Map<String, String> properties = new LinkedHashMap<>();
+        Map<String, String> staticProperties = new LinkedHashMap<>();
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+
+            Attr attribute = (Attr) attributes.item(i);
+            String namespace = attribute.getNamespaceURI();
+            if (XMLNS_NAMESPACE.equals(namespace)) {
+
+                continue;
+            }
+            if (namespace != null && namespace.startsWith(FXML_NAMESPACE)) {
+
+                if (attribute.getLocalName().equals("id")) {
+
+                    fxId = attribute.getValue();
+                }
+                else if (!attribute.getLocalName().equals("controller")) {
+
+                    throw new IllegalArgumentException("fx:" + attribute.getLocalName() + " is not supported");
+                }
+                continue;
+            }
+            if (attribute.getName().contains(".")) {
+
+                staticProperties.put(attribute.getName(), attribute.getValue());
+            }
+            else {
+
+                properties.put(attribute.getName(), attribute.getValue());
+            }
+        }
+
+        String variable = fxId != null ? fxId : decapitalize(type.getSimpleName().toString()) + ++nodeCount;
+        addLine(typeName + " " + variable + " = " + writeConstructor(type, properties) + ";");
+
+        if (fxId != null) {
+
+            addLine(variable + ".setId(" + stringLiteral(fxId) + ");");
+            injectField(fxId, type);
+        }
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+
+            if (property.getKey().startsWith("on") && property.getValue().startsWith("#")) {
+
+                writeHandler(variable, type, property.getKey(), property.getValue().substring(1));
+            }
+            else {
+
+                ExecutableElement setter = findSetter(type, property.getKey());
+                String value = literal(setter.getParameters().get(0).asType(), property.getValue());
+                addLine(variable + "." + setter.getSimpleName() + "(" + value + ");");
+            }
+        }
+        for (Map.Entry<String, String> property : staticProperties.entrySet()) {
+
+            writeStaticProperty(variable, property.getKey(), property.getValue());
+        }
+
+        // Property elements, such as <children> or <font>
+        for (Element propertyElement : childElements(element)) {
+
+            if (Character.isUpperCase(propertyElement.getLocalName().charAt(0))) {
+
+                throw new IllegalArgumentException("<" + propertyElement.getLocalName() + "> has to be put in a property"
+                        + " element of <" + element.getLocalName() + ">, default properties are not supported");
+            }
+            writePropertyElement(variable, type, propertyElement);
+        }
+        return variable;
+    }
+
+    // Call the constructor without arguments, or the one whose named arguments are all given as attributes
+    private String writeConstructor(TypeElement type, Map<String, String> properties) {
+
+        ExecutableElement bestConstructor = null;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+
+            if (!constructor.getModifiers().contains(Modifier.PUBLIC)) {
+
+                continue;
+            }
+            if (constructor.getParameters().isEmpty()) {
+
+                return "new " + type.getQualifiedName() + "()";
+            }
+            boolean allArgumentsGiven = true;
+            for (VariableElement parameter : constructor.getParameters()) {
+
+                String name = namedArgument(parameter);
+                allArgumentsGiven &= name != null && properties.containsKey(name);
+            }
+            if (allArgumentsGiven && (bestConstructor == null
+                    || constructor.getParameters().size() > bestConstructor.getParameters().size())) {
+
+                bestConstructor = constructor;
+            }
+        }
+        if (bestConstructor == null) {
+
+            throw new IllegalArgumentException(type.getQualifiedName() + " has no constructor for the given attributes");
+        }
+
+        List<String> arguments = new ArrayList<>();
+        for (VariableElement parameter : bestConstructor.getParameters()) {
+
+            arguments.add(literal(parameter.asType(), properties.remove(namedArgument(parameter))));
+        }
+        return "new " + type.getQualifiedName() + "(" + String.join(", ", arguments) + ")";
+    }
+
+    // Set the node on the controller's field with the same name as its fx:id, if the controller has one
+    private void injectField(String fxId, TypeElement type) {
+
+        for (VariableElement field : ElementFilter.fieldsIn(controller.getEnclosedElements())) {
+
+            if (!field.getSimpleName().contentEquals(fxId)) {
+
+                continue;
+            }
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+
+                throw new IllegalArgumentException("the field " + fxId + " of the controller must not be private");
+            }
+            if (!types.isAssignable(type.asType(), field.asType())) {
+
+                throw new IllegalArgumentException("the field " + fxId + " of the controller cannot hold a "
+                        + type.getSimpleName());
+            }
+            addLine("controller." + fxId + " = " + fxId + ";");
+        }
+    }
+
+    // Call the controller's method from the event handler, passing the event on if the method takes it
+    private void writeHandler(String variable, TypeElement type, String property, String methodName) {
+
+        ExecutableElement method = findMethod(controller, methodName, 1);
+        String call = "controller." + methodName + "(event)";
+        if (method == null) {
+
+            method = findMethod(controller, methodName, 0);
+            call = "controller." + methodName + "()";
+        }
+        if (method == null) {
+
+            throw new IllegalArgumentException("the controller has no method " + methodName);
+        }
+        addLine(variable + "." + findSetter(type, property).getSimpleName() + "(event -> " + call + ");");
+    }
+
+    // Call the static setter of a property such as GridPane.columnIndex
+    private void writeStaticProperty(String variable, String name, String value) {
+
+        String ownerName = name.substring(0, name.lastIndexOf('.'));
+        String property = name.substring(name.lastIndexOf('.') + 1);
+        String qualifiedOwnerName = imports.getOrDefault(ownerName, ownerName);
+        TypeElement owner = elements.getTypeElement(qualifiedOwnerName);
+        if (owner == null) {
+
+            throw new IllegalArgumentException("class " + ownerName + " cannot be found");
+        }
+
+        String setterName = "set" + capitalize(property);
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(owner))) {
+
+            if (method.getSimpleName().contentEquals(setterName) && method.getModifiers().contains(Modifier.STATIC)
+                    && method.getParameters().size() == 2) {
+
+                String literal = literal(method.getParameters().get(1).asType(), value);
+                addLine(qualifiedOwnerName + "." + setterName + "(" + variable + ", " + literal + ");");
+                return;
+            }
+        }
+        throw new IllegalArgumentException(ownerName + " has no static property " + property);
+    }
+
+    // Add the elements of a list property, or set the element of a single valued one
+    private void writePropertyElement(String variable, TypeElement type, Element propertyElement) {
+
+        String property = propertyElement.getLocalName();
+        List<String> values = new ArrayList<>();
+        for (Element valueElement : childElements(propertyElement)) {
+
+            values.add(writeElement(valueElement));
+        }
+
+        ExecutableElement getter = findMethod(type, "get" + capitalize(property), 0);
+        TypeElement collection = elements.getTypeElement("java.util.Collection");
+        if (getter != null && types.isAssignable(types.erasure(getter.getReturnType()), types.erasure(collection.asType()))) {
+
+            for (String value : values) {
+
+                addLine(variable + "." + getter.getSimpleName() + "().add(" + value + ");");
+            }
+            return;
+        }
+
+        if (values.size() != 1) {
+
+            throw new IllegalArgumentException("<" + property + "> needs exactly one element");
+        }
+        addLine(variable + "." + findSetter(type, property).getSimpleName() + "(" + values.get(0) + ");");
+    }
+
+    // Turn the text of an attribute into a Java literal of the given type
+    private String literal(TypeMirror type, String value) {
+
+        try {
+
+            switch (type.getKind()) {
+
+                case DOUBLE:
+
+                    return Double.toString(Double.parseDouble(value));
+
+                case FLOAT:
+
+                    return Float.parseFloat(value) + "f";
+
+                case INT:
+
+                    return Integer.toString(Integer.parseInt(value));
+
+                case LONG:
+
+                    return Long.parseLong(value) + "L";
+
+                case BOOLEAN:
+
+                    return Boolean.toString(Boolean.parseBoolean(value));
+
+                case DECLARED:
+
+                    return declaredLiteral((TypeElement) types.asElement(type), value);
+
+                default:
+
+                    break;
+            }
+        }
+        catch (NumberFormatException exception) {
+
+            throw new IllegalArgumentException("\"" + value + "\" is not a valid " + type);
+        }
+        throw new IllegalArgumentException("\"" + value + "\" cannot be turned into a " + type);
+    }
+
+    // Strings, the boxed numbers and booleans and enum constants
+    private String declaredLiteral(TypeElement type, String value) {
+
+        switch (type.getQualifiedName().toString()) {
+
+            case "java.lang.String":
+            case "java.lang.Object":
+
+                return stringLiteral(value);
+
+            case "java.lang.Double":
+
+                return Double.toString(Double.parseDouble(value));
+
+            case "java.lang.Integer":
+
+                return Integer.toString(Integer.parseInt(value));
+
+            case "java.lang.Boolean":
+
+                return Boolean.toString(Boolean.parseBoolean(value));
+
+            default:
+
+                break;
+        }
+
+        // Enum constants are written in upper case, like the FXMLLoader accepts "center" for Pos.CENTER
+        if (type.getKind() == ElementKind.ENUM) {
+
+            String constant = value.toUpperCase(Locale.ROOT);
+            for (javax.lang.model.element.Element member : type.getEnclosedElements()) {
+
+                if (member.getKind() == ElementKind.ENUM_CONSTANT && member.getSimpleName().contentEquals(constant)) {
+
+                    return type.getQualifiedName() + "." + constant;
+                }
+            }
+        }
+        throw new IllegalArgumentException("\"" + value + "\" cannot be turned into a " + type.getQualifiedName());
+    }
+
+    private static String stringLiteral(String value) {
+
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+
+            char character = value.charAt(i);
+            if (character == '"' || character == '\\') {
+
+                literal.append('\\').append(character);
+            }
+            else if (character < ' ' || character > '~') {
+
+                literal.append(String.format("\\u%04x", (int) character));
+            }
+            else {
+
+                literal.append(character);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private ExecutableElement findSetter(TypeElement type, String property) {
+
+        ExecutableElement setter = findMethod(type, "set" + capitalize(property), 1);
+        if (setter == null) {
+
+            throw new IllegalArgumentException(type.getSimpleName() + " has no property " + property);
+        }
+        return setter;
+    }
+
+    // Find a method of the type (or one of its superclasses) that can be called from the generated code
+    private ExecutableElement findMethod(TypeElement type, String name, int parameterCount) {
+
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameterCount
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+
+                return method;
+            }
+        }
+        return null;
+    }
+
+    // The value of the @NamedArg annotation of a constructor parameter, or null if it has none
+    private static String namedArgument(VariableElement parameter) {
+
+        for (AnnotationMirror annotation : parameter.getAnnotationMirrors()) {
+
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(NAMED_ARG)) {
+
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+                        : annotation.getElementValues().entrySet()) {
+
+                    if (value.getKey().getSimpleName().contentEquals("value")) {
+
+                        return (String) value.getValue().getValue();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private String qualifiedName(Element element) {
+
+        String className = imports.get(element.getLocalName());
+        if (className == null) {
+
+            throw new IllegalArgumentException("<" + element.getLocalName() + "> is not imported");
+        }
+        return className;
+    }
+
+    private static List<Element> childElements(Element element) {
+
+        List<Element> children = new ArrayList<>();
+        NodeList nodes = element.getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+
+            Node node = nodes.item(i);
+            if (node.getNodeType() == Node.ELEMENT_NODE) {
+
+                children.add((Element) node);
+            }
+            else if (node.getNodeType() == Node.TEXT_NODE && !node.getTextContent().trim().isEmpty()) {
+
+                throw new IllegalArgumentException("text inside <" + element.getLocalName() + "> is not supported");
+            }
+        }
+        return children;
+    }
+
+    private void addLine(String line) {
+
+        body.append(INDENT).append(line).append('\n');
+    }
+
+    private static String capitalize(String name) {
+
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String decapitalize(String name) {
+
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
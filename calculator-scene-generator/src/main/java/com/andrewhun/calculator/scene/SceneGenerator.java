@@ -0,0 +1,85 @@
+/*
+* This file contains the SceneGenerator class, the annotation processor behind GenerateScene. For
+* every controller with the annotation it reads the FXML file from the compiled resources (Maven
+* copies the resources before compiling, so the file is already there) and writes the Java code
+* for the scene with a SceneCodeWriter.
+*   Anything the generator does not understand (a missing setter, a handler method that does not
+* exist, a private field for an fx:id) is reported as a compile error on the controller, so a
+* mistake in the FXML file breaks the build instead of the start of the application.
+ */
+package com.andrewhun.calculator.scene;
+
+import java.util.Set;
+import java.io.Writer;
+import java.io.InputStream;
+import java.io.IOException;
+import org.w3c.dom.Document;
+import javax.tools.FileObject;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import org.xml.sax.SAXException;
+
+@SupportedAnnotationTypes("com.andrewhun.calculator.scene.GenerateScene")
+public class SceneGenerator extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(GenerateScene.class)) {
+
+            TypeElement controller = (TypeElement) element;
+            GenerateScene annotation = controller.getAnnotation(GenerateScene.class);
+
+            try {
+
+                generateScene(controller, annotation);
+            }
+            catch (IllegalArgumentException | IOException | SAXException | ParserConfigurationException exception) {
+
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        annotation.fxml() + ": " + exception.getMessage(), controller);
+            }
+        }
+        return true;
+    }
+
+    // Read the FXML file of the controller and write the class that builds its scene
+    private void generateScene(TypeElement controller, GenerateScene annotation)
+            throws IOException, SAXException, ParserConfigurationException {
+
+        Document document;
+        FileObject fxml = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", annotation.fxml());
+        try (InputStream input = fxml.openInputStream()) {
+
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            document = factory.newDocumentBuilder().parse(input);
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(controller).getQualifiedName().toString();
+        SceneCodeWriter codeWriter = new SceneCodeWriter(processingEnv, controller, annotation.fxml());
+        String code = codeWriter.write(packageName, annotation.className(), document);
+
+        String qualifiedName = packageName.isEmpty() ? annotation.className() : packageName + "." + annotation.className();
+        JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedName, controller);
+        try (Writer writer = sourceFile.openWriter()) {
+
+            writer.write(code);
+        }
+    }
+}
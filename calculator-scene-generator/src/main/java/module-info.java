@@ -0,0 +1,12 @@
+/*
+* The module of the scene generator, an annotation processor that is only used while compiling.
+ */
+module com.andrewhun.calculator.scene {
+
+    requires java.xml;
+    requires java.compiler;
+
+    exports com.andrewhun.calculator.scene;
+
+    provides javax.annotation.processing.Processor with com.andrewhun.calculator.scene.SceneGenerator;
+}
@@ -1,7 +0,0 @@
-package com.andrewhun.calculator;
-/*
-* This enum contains the two possible states the calculator's display can have:
-* either it is default (displaying 0, the result of a calculation or an error message)
-* or it is changed, meaning the user is in the middle of a calculation (presumably).
- */
-public enum DisplayState {DEFAULT, CHANGED}
@@ -1,7 +0,0 @@
-package com.andrewhun.calculator;
-/*
-This enum contains the operations the calculator can carry out.
-NONE refers to the state where the user has not yet pressed any
-of the operator buttons in the current calculation.
- */
-public enum Operation {ADDITION, SUBTRACTION, MULTIPLICATION, DIVISION, NONE}